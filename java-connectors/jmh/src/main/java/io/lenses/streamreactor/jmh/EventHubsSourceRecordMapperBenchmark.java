@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.lenses.streamreactor.connect.azure.eventhubs.mapping.SourceRecordMapper;
+
+/**
+ * Maps a single Event Hubs consumer record, with a configurable number of headers, to a SourceRecord.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventHubsSourceRecordMapperBenchmark {
+
+  @Param({"0", "5"})
+  private int headerCount;
+
+  @Param({"1024"})
+  private int payloadBytes;
+
+  private ConsumerRecord<byte[], byte[]> consumerRecord;
+
+  private Map<String, String> partitionKey;
+
+  private Map<String, Object> offset;
+
+  @Setup
+  public void setUp() {
+    RecordHeaders headers = new RecordHeaders();
+    for (int i = 0; i < headerCount; i++) {
+      headers.add("header" + i, ("value" + i).getBytes());
+    }
+    consumerRecord =
+        new ConsumerRecord<>("input-hub", 0, 1234L, 1_700_000_000_000L, TimestampType.CREATE_TIME,
+            16, payloadBytes, "key-0123456789ab".getBytes(), SyntheticData.bytes(payloadBytes), headers,
+            Optional.empty());
+    partitionKey = Map.of("topic", "input-hub", "partition", "0");
+    offset = Map.of("OFFSET", 1234L);
+  }
+
+  @Benchmark
+  public SourceRecord mapSourceRecordIncludingHeaders() {
+    return SourceRecordMapper.mapSourceRecordIncludingHeaders(consumerRecord, partitionKey, offset, "output-topic",
+        Schema.OPTIONAL_BYTES_SCHEMA, Schema.OPTIONAL_BYTES_SCHEMA);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.lenses.kcql.Kcql;
+
+/**
+ * Parses representative KCQL statements, from a bare topic mapping to one with fields, partitioning and properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KcqlParseBenchmark {
+
+  @Param({
+      "INSERT INTO target SELECT * FROM source",
+      "INSERT INTO target SELECT * FROM source PROPERTIES('batch.size'=1000,'cache.ttl'=3600000,'queue.max'=10000)",
+      "INSERT INTO bucket:prefix SELECT a, b.c AS d FROM source PARTITIONBY a, _header.h STOREAS AVRO "
+          + "PROPERTIES('flush.count'=5000,'flush.interval'=60)"
+  })
+  private String statement;
+
+  @Benchmark
+  public Kcql parse() {
+    return Kcql.parse(statement);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.google.pubsub.v1.PubsubMessage;
+
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.MappingConfig;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.SourceRecordConverter;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.headers.HeaderMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.headers.MinimalAndMessageAttributesHeaderMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.headers.MinimalHeaderMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.key.CompatibilityKeyMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.key.KeyMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.key.MessageIdKeyMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.value.CompatibilityValueMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.value.MessageValueMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.value.ValueMapper;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.subscriber.PubSubMessageData;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.subscriber.PubSubSourceOffset;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.subscriber.PubSubSourcePartition;
+
+/**
+ * Converts a batch of Pub/Sub messages to SourceRecords for every combination of key, value and header mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PubSubSourceRecordConverterBenchmark {
+
+  @Param({"messageId", "compatibility"})
+  private String keyMapper;
+
+  @Param({"message", "compatibility"})
+  private String valueMapper;
+
+  @Param({"minimal", "minimalAndAttributes"})
+  private String headerMapper;
+
+  @Param({"100"})
+  private int batchSize;
+
+  @Param({"1024"})
+  private int payloadBytes;
+
+  private SourceRecordConverter converter;
+
+  private List<PubSubMessageData> messages;
+
+  @Setup
+  public void setUp() {
+    converter = new SourceRecordConverter(new MappingConfig(keyMapper(), valueMapper(), headerMapper()));
+    PubSubSourcePartition partition = new PubSubSourcePartition("project", "topic", "subscription");
+    ByteString payload = ByteString.copyFrom(SyntheticData.bytes(payloadBytes));
+    messages =
+        IntStream.range(0, batchSize)
+            .mapToObj(i -> new PubSubMessageData(
+                partition,
+                new PubSubSourceOffset("message-" + i),
+                PubsubMessage.newBuilder()
+                    .setMessageId("message-" + i)
+                    .setData(payload)
+                    .setPublishTime(Timestamp.newBuilder().setSeconds(1_700_000_000L + i))
+                    .putAllAttributes(Map.of("attribute1", "value1", "attribute2", "value2"))
+                    .build(),
+                "target-topic"))
+            .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Benchmark
+  public List<SourceRecord> convertAll() {
+    return converter.convertAll(messages);
+  }
+
+  private KeyMapper keyMapper() {
+    return "compatibility".equals(keyMapper) ? new CompatibilityKeyMapper() : new MessageIdKeyMapper();
+  }
+
+  private ValueMapper valueMapper() {
+    return "compatibility".equals(valueMapper) ? new CompatibilityValueMapper() : new MessageValueMapper();
+  }
+
+  private HeaderMapper headerMapper() {
+    return "minimal".equals(headerMapper) ? new MinimalHeaderMapper() : new MinimalAndMessageAttributesHeaderMapper();
+  }
+}
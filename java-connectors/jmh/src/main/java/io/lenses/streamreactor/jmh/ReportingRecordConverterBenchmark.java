@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cyclops.control.Option;
+import io.lenses.streamreactor.connect.reporting.ReportingMessagesConfig;
+import io.lenses.streamreactor.connect.reporting.model.ConnectorSpecificRecordData;
+import io.lenses.streamreactor.connect.reporting.model.RecordConverter;
+import io.lenses.streamreactor.connect.reporting.model.ReportingRecord;
+
+/**
+ * Converts a reporting record, with a single connector specific header, to the record sent to the reporting topic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportingRecordConverterBenchmark {
+
+  private static final byte[] ENDPOINT_BYTES = "http://endpoint.local".getBytes();
+
+  @Param({"1024"})
+  private int payloadBytes;
+
+  private RecordConverter<ConnectorSpecificRecordData> converter;
+
+  private ReportingRecord<ConnectorSpecificRecordData> reportingRecord;
+
+  @Setup
+  public void setUp() {
+    converter =
+        new RecordConverter<>(new ReportingMessagesConfig("reporting", Option.none()),
+            specific -> Stream.of(new RecordHeader("endpoint", ENDPOINT_BYTES)));
+    reportingRecord =
+        new ReportingRecord<>(new TopicPartition("topic", 1), 1234L, 1_700_000_000_000L, "http://endpoint.local",
+            SyntheticData.json(payloadBytes), new ConnectorSpecificRecordData() {
+            });
+  }
+
+  @Benchmark
+  public Option<ProducerRecord<byte[], String>> convert() {
+    return converter.convert(reportingRecord);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+
+import io.lenses.streamreactor.connect.azure.servicebus.mapping.ServiceBusToSourceRecordMapper;
+import io.lenses.streamreactor.connect.azure.servicebus.mapping.SinkRecordToServiceBusMapper;
+import io.lenses.streamreactor.connect.azure.servicebus.sink.ServiceBusMessageWrapper;
+
+/**
+ * Maps Service Bus messages to SourceRecords and SinkRecords to Service Bus messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBusMappersBenchmark {
+
+  @Param({"1024"})
+  private int payloadBytes;
+
+  private ServiceBusReceivedMessage receivedMessage;
+
+  private SinkRecord sinkRecord;
+
+  @Setup
+  public void setUp() {
+    receivedMessage = ServiceBusReceivedMessageFactory.create("message-id", SyntheticData.bytes(payloadBytes));
+    sinkRecord =
+        new SinkRecord("input-topic", 0, Schema.STRING_SCHEMA, "message-id", Schema.STRING_SCHEMA,
+            SyntheticData.json(payloadBytes), 1234L);
+  }
+
+  @Benchmark
+  public SourceRecord serviceBusToSourceRecord() {
+    return ServiceBusToSourceRecordMapper.mapSingleServiceBusMessage(receivedMessage, "output-topic");
+  }
+
+  @Benchmark
+  public ServiceBusMessageWrapper sinkRecordToServiceBus() {
+    return SinkRecordToServiceBusMapper.mapToServiceBus(sinkRecord);
+  }
+}
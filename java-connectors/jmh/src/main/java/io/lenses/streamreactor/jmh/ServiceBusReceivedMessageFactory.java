@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.azure.core.amqp.models.AmqpAnnotatedMessage;
+import com.azure.core.amqp.models.AmqpMessageBody;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+
+/**
+ * Builds {@link ServiceBusReceivedMessage}s for benchmarks. The SDK has no public way to create received messages
+ * outside its AMQP receive path, so they are stub-only mocks (no invocation recording) returning fixed values, the
+ * same way the connector's unit tests build them. Each getter call carries a small constant stub overhead, so
+ * results are meant to be compared between runs rather than read as absolute mapping cost.
+ */
+final class ServiceBusReceivedMessageFactory {
+
+  private ServiceBusReceivedMessageFactory() {
+  }
+
+  static ServiceBusReceivedMessage create(String messageId, byte[] body) {
+    ServiceBusReceivedMessage message = mock(ServiceBusReceivedMessage.class, withSettings().stubOnly());
+    when(message.getMessageId()).thenReturn(messageId);
+    when(message.getContentType()).thenReturn("application/json");
+    when(message.getCorrelationId()).thenReturn("correlation-" + messageId);
+    when(message.getPartitionKey()).thenReturn("partition-key");
+    when(message.getDeliveryCount()).thenReturn(1L);
+    when(message.getEnqueuedTime()).thenReturn(OffsetDateTime.now());
+    when(message.getLockedUntil()).thenReturn(OffsetDateTime.now().plusMinutes(1));
+    when(message.getLockToken()).thenReturn(UUID.randomUUID().toString());
+    when(message.getTimeToLive()).thenReturn(Duration.ofMinutes(10));
+    AmqpAnnotatedMessage raw = mock(AmqpAnnotatedMessage.class, withSettings().stubOnly());
+    when(raw.getBody()).thenReturn(AmqpMessageBody.fromData(body));
+    when(message.getRawAmqpMessage()).thenReturn(raw);
+    return message;
+  }
+}
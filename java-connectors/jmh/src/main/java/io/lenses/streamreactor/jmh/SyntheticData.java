@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.jmh;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic inputs shared by the benchmarks.
+ */
+final class SyntheticData {
+
+  private static final long SEED = 42L;
+
+  private SyntheticData() {
+  }
+
+  static byte[] bytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random(SEED).nextBytes(bytes);
+    return bytes;
+  }
+
+  static String json(int size) {
+    StringBuilder builder = new StringBuilder(size + 32).append("{\"payload\":\"");
+    Random random = new Random(SEED);
+    while (builder.length() < size) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    return builder.append("\"}").toString();
+  }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * JMH benchmarks for the record mapping hot paths of the Java connectors. Run them with {@code gradle :jmh:jmh},
+ * optionally selecting benchmarks with {@code -Pjmh.includes=<regex>}; results include ops/sec and
+ * {@code gc.alloc.rate.norm} (bytes allocated per op).
+ */
+package io.lenses.streamreactor.jmh;
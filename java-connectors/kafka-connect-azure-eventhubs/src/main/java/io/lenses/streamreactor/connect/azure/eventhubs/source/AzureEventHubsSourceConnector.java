@@ -19,6 +19,7 @@ import static io.lenses.streamreactor.common.util.AsciiArtPrinter.printAsciiHead
 import static io.lenses.streamreactor.common.util.EitherUtils.unpackOrThrow;
 
 import io.lenses.streamreactor.common.exception.ConnectorStartupException;
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.eventhubs.config.AzureEventHubsConfigConstants;
 import io.lenses.streamreactor.connect.azure.eventhubs.config.AzureEventHubsSourceConfig;
@@ -63,7 +64,7 @@ public class AzureEventHubsSourceConnector extends SourceConnector {
     List<Map<String, String>> taskConfigs = new ArrayList<>(maxTasks);
 
     IntStream.range(0, maxTasks).forEach(task -> taskConfigs.add(configProperties));
-    return taskConfigs;
+    return MetricsRegistrar.withTaskIds(taskConfigs);
   }
 
   @Override
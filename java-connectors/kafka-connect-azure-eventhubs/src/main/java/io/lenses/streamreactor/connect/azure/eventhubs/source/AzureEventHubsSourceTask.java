@@ -21,6 +21,8 @@ import static java.util.Optional.ofNullable;
 import cyclops.control.Either;
 import io.lenses.kcql.Kcql;
 import io.lenses.streamreactor.common.exception.StreamReactorException;
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import io.lenses.streamreactor.common.util.EitherUtils;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.eventhubs.config.AzureEventHubsConfigConstants;
@@ -30,10 +32,13 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.stream.Collectors;
+import javax.management.ObjectName;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.apache.kafka.connect.storage.OffsetStorageReader;
@@ -50,6 +55,8 @@ public class AzureEventHubsSourceTask extends SourceTask {
   private final JarManifest jarManifest;
   private EventHubsKafkaConsumerController eventHubsKafkaConsumerController;
   private BlockingQueueProducerProvider blockingQueueProducerProvider;
+  private final SourceTaskMetrics metrics = new SourceTaskMetrics();
+  private Optional<ObjectName> metricsName = Optional.empty();
 
   public AzureEventHubsSourceTask() {
     jarManifest =
@@ -88,7 +95,9 @@ public class AzureEventHubsSourceTask extends SourceTask {
     KafkaByteBlockingQueuedProducer producer =
         blockingQueueProducerProvider.createProducer(azureEventHubsSourceConfig, recordsQueue, inputToOutputTopics);
     EventHubsKafkaConsumerController kafkaConsumerController =
-        new EventHubsKafkaConsumerController(producer, recordsQueue, inputToOutputTopics);
+        new EventHubsKafkaConsumerController(producer, recordsQueue, inputToOutputTopics, metrics);
+    metricsName =
+        MetricsRegistrar.register(metrics, "eventhubs-source", props);
     initialize(kafkaConsumerController, azureEventHubsSourceConfig);
   }
 
@@ -115,9 +124,16 @@ public class AzureEventHubsSourceTask extends SourceTask {
     return poll.isEmpty() ? null : poll;
   }
 
+  @Override
+  public void commitRecord(SourceRecord sourceRecord, RecordMetadata metadata) {
+    metrics.recordAck(sourceRecord);
+  }
+
   @Override
   public void stop() {
     ofNullable(eventHubsKafkaConsumerController)
         .ifPresent(consumerController -> consumerController.close(closeTimeout));
+    metricsName.ifPresent(name -> MetricsRegistrar.unregister(name, metrics));
+    metricsName = Optional.empty();
   }
 }
@@ -30,6 +30,7 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.connect.source.SourceRecord;
 
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import io.lenses.streamreactor.connect.azure.eventhubs.source.TopicPartitionOffsetProvider.AzureOffsetMarker;
 import io.lenses.streamreactor.connect.azure.eventhubs.source.TopicPartitionOffsetProvider.AzureTopicPartitionKey;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +46,7 @@ public class EventHubsKafkaConsumerController {
   private final BlockingQueue<ConsumerRecords<byte[], byte[]>> recordsQueue;
   private KafkaByteBlockingQueuedProducer queuedKafkaProducer;
   private final Map<String, String> inputToOutputTopics;
+  private final SourceTaskMetrics metrics;
 
   /**
    * Constructs EventHubsKafkaConsumerController.
@@ -56,9 +58,24 @@ public class EventHubsKafkaConsumerController {
   public EventHubsKafkaConsumerController(KafkaByteBlockingQueuedProducer queuedKafkaProducer,
       BlockingQueue<ConsumerRecords<byte[], byte[]>> recordsQueue,
       Map<String, String> inputToOutputTopics) {
+    this(queuedKafkaProducer, recordsQueue, inputToOutputTopics, new SourceTaskMetrics());
+  }
+
+  /**
+   * Constructs EventHubsKafkaConsumerController reporting to the given metrics.
+   *
+   * @param queuedKafkaProducer producer to the recordsQueue
+   * @param recordsQueue        queue that contains EventHub records
+   * @param inputToOutputTopics input to output topics
+   * @param metrics             metrics of the owning task
+   */
+  public EventHubsKafkaConsumerController(KafkaByteBlockingQueuedProducer queuedKafkaProducer,
+      BlockingQueue<ConsumerRecords<byte[], byte[]>> recordsQueue,
+      Map<String, String> inputToOutputTopics, SourceTaskMetrics metrics) {
     this.recordsQueue = recordsQueue;
     this.queuedKafkaProducer = queuedKafkaProducer;
     this.inputToOutputTopics = inputToOutputTopics;
+    this.metrics = metrics;
   }
 
   /**
@@ -85,6 +102,7 @@ public class EventHubsKafkaConsumerController {
     }
 
     if (consumerRecords != null && !consumerRecords.isEmpty()) {
+      long conversionStart = System.nanoTime();
       sourceRecords = new ArrayList<>(consumerRecords.count());
       for (ConsumerRecord<byte[], byte[]> consumerRecord : consumerRecords) {
 
@@ -104,7 +122,11 @@ public class EventHubsKafkaConsumerController {
         sourceRecords.add(sourceRecord);
 
       }
+      metrics.recordConversionNanos(System.nanoTime() - conversionStart);
+      metrics.recordPolled(sourceRecords);
     }
+    metrics.recordPoll(sourceRecords != null ? sourceRecords.size() : 0);
+    metrics.updateQueueDepth(recordsQueue.size());
     return sourceRecords != null ? sourceRecords : Collections.emptyList();
   }
 
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.eventhubs.config.AzureEventHubsConfigConstants;
 
@@ -61,7 +62,10 @@ class AzureEventHubsSourceConnectorTest {
     List<Map<String, String>> taskConfigs = testObj.taskConfigs(maxTasks);
 
     //then
-    for (Map<String, String> taskConfig : taskConfigs) {
+    assertEquals(maxTasks, taskConfigs.size());
+    for (int taskId = 0; taskId < maxTasks; taskId++) {
+      Map<String, String> taskConfig = new HashMap<>(taskConfigs.get(taskId));
+      assertEquals(String.valueOf(taskId), taskConfig.remove(MetricsRegistrar.TASK_ID_PROP));
       assertTrue(taskConfig.equals(simpleProperties));
     }
 
@@ -18,6 +18,7 @@ package io.lenses.streamreactor.connect.azure.servicebus.sink;
 import static io.lenses.streamreactor.common.util.AsciiArtPrinter.printAsciiHeader;
 import static io.lenses.streamreactor.common.util.EitherUtils.unpackOrThrow;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSinkConfig;
@@ -68,9 +69,9 @@ public class AzureServiceBusSinkConnector extends SinkConnector {
     log.info("Setting task configurations for {} workers.", maxTasks);
     Map<String, String> immutableProps = Map.copyOf(configProperties);
 
-    return IntStream.range(0, maxTasks)
+    return MetricsRegistrar.withTaskIds(IntStream.range(0, maxTasks)
         .mapToObj(i -> immutableProps)
-        .collect(Collectors.toList());
+        .collect(Collectors.toList()));
   }
 
   @Override
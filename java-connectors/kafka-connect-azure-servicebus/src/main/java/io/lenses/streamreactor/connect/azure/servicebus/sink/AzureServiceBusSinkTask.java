@@ -21,6 +21,8 @@ import cyclops.control.Either;
 import io.lenses.kcql.Kcql;
 import io.lenses.streamreactor.common.collections.TopicPartitionOffsetAndMetadataStorage;
 import io.lenses.streamreactor.common.exception.ConnectorStartupException;
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
+import io.lenses.streamreactor.common.metrics.SinkTaskMetrics;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSinkConfig;
@@ -30,9 +32,11 @@ import io.lenses.streamreactor.connect.azure.servicebus.util.KcqlConfigBusMapper
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.management.ObjectName;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
@@ -51,6 +55,8 @@ public class AzureServiceBusSinkTask extends SinkTask {
       this::updateOffsets;
 
   private final TopicPartitionOffsetAndMetadataStorage offsetStorage;
+  private final SinkTaskMetrics metrics = new SinkTaskMetrics();
+  private Optional<ObjectName> metricsName = Optional.empty();
 
   public AzureServiceBusSinkTask() {
     this.jarManifest =
@@ -66,7 +72,9 @@ public class AzureServiceBusSinkTask extends SinkTask {
         unpackOrThrow(transformToMappings(props.get(AzureServiceBusConfigConstants.KCQL_CONFIG)));
 
     initialize(new TaskToSenderBridge(new AzureServiceBusSinkConfig(props),
-        new ConcurrentHashMap<>(), flushFunction, serviceBusSinkMappings));
+        new ConcurrentHashMap<>(), flushFunction, serviceBusSinkMappings, metrics));
+    metricsName =
+        MetricsRegistrar.register(metrics, "servicebus-sink", props);
   }
 
   void initialize(TaskToSenderBridge taskToReceiverBridge) {
@@ -95,6 +103,8 @@ public class AzureServiceBusSinkTask extends SinkTask {
   public void stop() {
     log.info("Stopping {}", getClass().getSimpleName());
     taskToReceiverBridge.closeSenderClients();
+    metricsName.ifPresent(name -> MetricsRegistrar.unregister(name, metrics));
+    metricsName = Optional.empty();
     log.info("Stopped {}", getClass().getSimpleName());
   }
 
@@ -16,6 +16,7 @@
 package io.lenses.streamreactor.connect.azure.servicebus.sink;
 
 import com.azure.messaging.servicebus.ServiceBusException;
+import io.lenses.streamreactor.common.metrics.SinkTaskMetrics;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSinkConfig;
 import io.lenses.streamreactor.connect.azure.servicebus.mapping.ServiceBusSinkMapping;
@@ -48,6 +49,7 @@ public class TaskToSenderBridge {
   private final AzureServiceBusSinkConfig config;
   private final int maxNumberOfRetries;
   private final int retryTimeoutInMillis;
+  private final SinkTaskMetrics metrics;
 
   /**
    * Instantiates TaskToSenderBridge.
@@ -60,6 +62,22 @@ public class TaskToSenderBridge {
   TaskToSenderBridge(AzureServiceBusSinkConfig config, Map<String, ServiceBusSenderFacade> serviceBusSendersStore,
       Consumer<Map<TopicPartition, OffsetAndMetadata>> updateOffsetFunction,
       Map<String, ServiceBusSinkMapping> serviceBusSinkMappings) {
+    this(config, serviceBusSendersStore, updateOffsetFunction, serviceBusSinkMappings, new SinkTaskMetrics());
+  }
+
+  /**
+   * Instantiates TaskToSenderBridge reporting to the given metrics.
+   * 
+   * @param config                 sink connector configuration
+   * @param serviceBusSendersStore map of topic to {@link ServiceBusSenderFacade} that services it
+   * @param updateOffsetFunction   function to call when updating committed offsets
+   * @param serviceBusSinkMappings mappings between Kafka topics and service buses from KCQL
+   * @param metrics                metrics of the owning task
+   */
+  TaskToSenderBridge(AzureServiceBusSinkConfig config, Map<String, ServiceBusSenderFacade> serviceBusSendersStore,
+      Consumer<Map<TopicPartition, OffsetAndMetadata>> updateOffsetFunction,
+      Map<String, ServiceBusSinkMapping> serviceBusSinkMappings, SinkTaskMetrics metrics) {
+    this.metrics = metrics;
     this.serviceBusSendersStore = serviceBusSendersStore;
     this.updateOffsetFunction = updateOffsetFunction;
     this.serviceBusSinkMappings = serviceBusSinkMappings;
@@ -135,6 +153,7 @@ public class TaskToSenderBridge {
    * @return list of exceptions that method couldn't handle.
    */
   public List<ServiceBusSendingException> sendMessages(Collection<ServiceBusMessageWrapper> serviceBusMessages) {
+    metrics.recordPut(serviceBusMessages.size());
     Map<String, List<ServiceBusMessageWrapper>> messagesByKafkaTopic =
         serviceBusMessages.stream()
             .collect(Collectors.groupingBy(ServiceBusMessageWrapper::getOriginalTopic));
@@ -147,10 +166,13 @@ public class TaskToSenderBridge {
           Optional<ServiceBusException> serviceBusException;
 
           do {
+            long sendStart = System.nanoTime();
             serviceBusException = serviceBusSendersStore.get(topicName).sendMessages(messages);
+            metrics.recordSend(System.nanoTime() - sendStart, serviceBusException.isEmpty());
             if (serviceBusException.isEmpty()) {
               return Stream.empty();
             }
+            metrics.recordRetry();
             log.info("Waiting before next retry for {} messages for {} topic", messages.size(), topicName);
             coolDownBeforeRetry(retryTimeoutInMillis);
           } while (tries.incrementAndGet() < maxNumberOfRetries);
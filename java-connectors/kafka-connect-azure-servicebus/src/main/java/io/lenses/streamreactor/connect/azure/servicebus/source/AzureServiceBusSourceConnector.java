@@ -27,6 +27,7 @@ import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.source.SourceConnector;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSourceConfig;
@@ -71,9 +72,9 @@ public class AzureServiceBusSourceConnector extends SourceConnector {
     log.info("Setting task configurations for {} workers.", maxTasks);
     Map<String, String> immutableProps = Map.copyOf(configProperties);
 
-    return IntStream.range(0, maxTasks)
+    return MetricsRegistrar.withTaskIds(IntStream.range(0, maxTasks)
         .mapToObj(i -> immutableProps)
-        .collect(Collectors.toList());
+        .collect(Collectors.toList()));
   }
 
   @Override
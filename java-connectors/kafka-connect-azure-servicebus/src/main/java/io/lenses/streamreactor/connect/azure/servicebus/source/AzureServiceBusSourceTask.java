@@ -19,6 +19,8 @@ import static io.lenses.streamreactor.common.util.EitherUtils.unpackOrThrow;
 
 import cyclops.control.Option;
 import io.lenses.kcql.Kcql;
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSourceConfig;
@@ -27,9 +29,11 @@ import io.lenses.streamreactor.connect.azure.servicebus.util.KcqlConfigBusMapper
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import javax.management.ObjectName;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.config.ConfigException;
@@ -47,6 +51,8 @@ public class AzureServiceBusSourceTask extends SourceTask {
   private TaskToReceiverBridge taskToReceiverBridge;
   private final AtomicReference<Throwable> serviceBusReceiverError = new AtomicReference<>();
   private long sleepOnEmptyPoll = 100;
+  private final SourceTaskMetrics metrics = new SourceTaskMetrics();
+  private Optional<ObjectName> metricsName = Optional.empty();
 
   public AzureServiceBusSourceTask() {
     this.jarManifest = unpackOrThrow(JarManifest.produceFromClass(getClass()));
@@ -97,7 +103,9 @@ public class AzureServiceBusSourceTask extends SourceTask {
             serviceBusReceiverError);
 
     TaskToReceiverBridge serviceBusReceiverBridge =
-        new TaskToReceiverBridge(recordsQueue, receiversMap);
+        new TaskToReceiverBridge(recordsQueue, receiversMap, metrics);
+    metricsName =
+        MetricsRegistrar.register(metrics, "servicebus-source", props);
 
     initialize(serviceBusReceiverBridge);
   }
@@ -135,5 +143,7 @@ public class AzureServiceBusSourceTask extends SourceTask {
   public void stop() {
     log.info("Stopping {}", getClass().getSimpleName());
     taskToReceiverBridge.closeReceivers();
+    metricsName.ifPresent(name -> MetricsRegistrar.unregister(name, metrics));
+    metricsName = Optional.empty();
   }
 }
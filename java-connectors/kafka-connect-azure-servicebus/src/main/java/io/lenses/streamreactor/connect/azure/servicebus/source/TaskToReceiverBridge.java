@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.source.SourceRecord;
 
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,6 +41,7 @@ public class TaskToReceiverBridge {
   private final BlockingQueue<ServiceBusMessageHolder> recordsQueue;
   private final Map<String, ServiceBusReceiverFacade> receivers;
   private final Map<String, ServiceBusMessageHolder> recordsToCommitMap;
+  private final SourceTaskMetrics metrics;
 
   /**
    * Creates Bridge between Receivers and Connector's Task for Azure Service Bus.
@@ -50,6 +52,19 @@ public class TaskToReceiverBridge {
    */
   TaskToReceiverBridge(BlockingQueue<ServiceBusMessageHolder> recordsQueue,
       Map<String, ServiceBusReceiverFacade> receivers) {
+    this(recordsQueue, receivers, new SourceTaskMetrics());
+  }
+
+  /**
+   * Creates Bridge between Receivers and Connector's Task for Azure Service Bus reporting to the given metrics.
+   *
+   * @param recordsQueue records queue used to store received messages.
+   * @param receivers    map of {@link ServiceBusReceiverFacade} receivers.
+   * @param metrics      metrics of the owning task.
+   */
+  TaskToReceiverBridge(BlockingQueue<ServiceBusMessageHolder> recordsQueue,
+      Map<String, ServiceBusReceiverFacade> receivers, SourceTaskMetrics metrics) {
+    this.metrics = metrics;
     this.recordsQueueSize = recordsQueue.size();
     this.recordsQueue = recordsQueue;
     this.receivers = receivers;
@@ -71,12 +86,17 @@ public class TaskToReceiverBridge {
   public List<SourceRecord> poll() {
     List<ServiceBusMessageHolder> recordsFromQueue = new ArrayList<>(recordsQueueSize);
     recordsQueue.drainTo(recordsFromQueue);
+    metrics.recordPoll(recordsFromQueue.size());
+    metrics.updateQueueDepth(recordsQueue.size());
 
-    return recordsFromQueue.stream()
-        .map(messageHolder -> {
-          recordsToCommitMap.put(messageHolder.getOriginalRecord().getMessageId(), messageHolder);
-          return messageHolder.getTranslatedRecord();
-        }).collect(Collectors.toList());
+    List<SourceRecord> sourceRecords =
+        recordsFromQueue.stream()
+            .map(messageHolder -> {
+              recordsToCommitMap.put(messageHolder.getOriginalRecord().getMessageId(), messageHolder);
+              return messageHolder.getTranslatedRecord();
+            }).collect(Collectors.toList());
+    metrics.recordPolled(sourceRecords);
+    return sourceRecords;
   }
 
   void commitRecordInServiceBus(SourceRecord sourceRecord, RecordMetadata metadata) {
@@ -89,5 +109,6 @@ public class TaskToReceiverBridge {
         metadata.offset(), holder.getOriginalRecord().getMessageId());
     facade.complete(holder.getOriginalRecord());
     recordsToCommitMap.remove(messageId);
+    metrics.recordAck(sourceRecord);
   }
 }
@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSinkConfig;
@@ -84,8 +85,10 @@ class AzureServiceBusSinkConnectorTest {
 
     //then
     assertThat(taskConfigs).hasSize(2);
-    assertThat(taskConfigs.get(0)).isEqualTo(validProperties);
-    assertThat(taskConfigs.get(1)).isEqualTo(validProperties);
+    assertThat(taskConfigs.get(0)).containsAllEntriesOf(validProperties)
+        .containsEntry(MetricsRegistrar.TASK_ID_PROP, "0");
+    assertThat(taskConfigs.get(1)).containsAllEntriesOf(validProperties)
+        .containsEntry(MetricsRegistrar.TASK_ID_PROP, "1");
   }
 
   @Test
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusConfigConstants;
 import io.lenses.streamreactor.connect.azure.servicebus.config.AzureServiceBusSourceConfig;
@@ -86,8 +87,10 @@ class AzureServiceBusSourceConnectorTest {
 
     //then
     assertThat(taskConfigs).hasSize(2);
-    assertThat(taskConfigs.get(0)).isEqualTo(validProperties);
-    assertThat(taskConfigs.get(1)).isEqualTo(validProperties);
+    assertThat(taskConfigs.get(0)).containsAllEntriesOf(validProperties)
+        .containsEntry(MetricsRegistrar.TASK_ID_PROP, "0");
+    assertThat(taskConfigs.get(1)).containsAllEntriesOf(validProperties)
+        .containsEntry(MetricsRegistrar.TASK_ID_PROP, "1");
   }
 
   @Test
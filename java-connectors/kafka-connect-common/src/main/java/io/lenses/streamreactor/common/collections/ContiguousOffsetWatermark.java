@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.collections;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Tracks acknowledged offset ranges of a single topic partition and exposes the highest offset that can be committed
+ * without skipping any record still in flight.
+ *
+ * <p>
+ * Offsets handed to the sink are announced with {@link #dispatch(long, long)}. Anything the consumer never delivered
+ * between two dispatched ranges (compacted records, transaction markers) is treated as acknowledged straight away, so
+ * it cannot hold the watermark back. Acknowledgements arriving out of order via {@link #acknowledge(long, long)} are
+ * kept in a sorted, merged set of half-open intervals stored in two primitive arrays, and the watermark only advances
+ * over a gap-free prefix.
+ * </p>
+ *
+ * <p>
+ * All methods are synchronized on the instance, so one watermark can be shared by the thread that puts records and
+ * the threads completing asynchronous sends.
+ * </p>
+ */
+public class ContiguousOffsetWatermark {
+
+  private static final long UNINITIALIZED = -1L;
+  private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+  private long watermark = UNINITIALIZED;
+  private long dispatchedEnd = UNINITIALIZED;
+  private long[] starts;
+  private long[] ends;
+  private int size;
+
+  /**
+   * Constructs ContiguousOffsetWatermark with default initial capacity.
+   */
+  public ContiguousOffsetWatermark() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs ContiguousOffsetWatermark with specific initial capacity.
+   *
+   * @param initialCapacity number of disjoint acknowledged ranges that can be held before the storage grows
+   */
+  public ContiguousOffsetWatermark(int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.starts = new long[capacity];
+    this.ends = new long[capacity];
+  }
+
+  /**
+   * Registers a range of offsets that has been handed to the sink and now awaits acknowledgement. The first call
+   * defines where the watermark starts.
+   *
+   * @param firstOffset first offset of the range (inclusive)
+   * @param lastOffset  last offset of the range (inclusive)
+   */
+  public synchronized void dispatch(long firstOffset, long lastOffset) {
+    validateRange(firstOffset, lastOffset);
+    if (watermark == UNINITIALIZED) {
+      watermark = firstOffset;
+      dispatchedEnd = firstOffset;
+    }
+    if (firstOffset > dispatchedEnd) {
+      insert(dispatchedEnd, firstOffset);
+    }
+    dispatchedEnd = Math.max(dispatchedEnd, lastOffset + 1);
+    advance();
+  }
+
+  /**
+   * Marks a range of offsets as successfully processed.
+   *
+   * @param firstOffset first offset of the range (inclusive)
+   * @param lastOffset  last offset of the range (inclusive)
+   */
+  public synchronized void acknowledge(long firstOffset, long lastOffset) {
+    validateRange(firstOffset, lastOffset);
+    if (watermark == UNINITIALIZED || lastOffset < watermark) {
+      return;
+    }
+    insert(Math.max(firstOffset, watermark), lastOffset + 1);
+    advance();
+  }
+
+  /**
+   * Returns the offset that is safe to commit, following Kafka convention of pointing at the next record to consume.
+   *
+   * @return committable offset or empty if nothing has been dispatched yet
+   */
+  public synchronized OptionalLong committableOffset() {
+    return watermark == UNINITIALIZED ? OptionalLong.empty() : OptionalLong.of(watermark);
+  }
+
+  /**
+   * Returns number of disjoint acknowledged ranges waiting for a gap below them to be filled.
+   *
+   * @return number of pending ranges
+   */
+  public synchronized int pendingRanges() {
+    return size;
+  }
+
+  private void advance() {
+    int consumed = 0;
+    while (consumed < size && starts[consumed] <= watermark) {
+      watermark = Math.max(watermark, ends[consumed]);
+      consumed++;
+    }
+    if (consumed > 0) {
+      System.arraycopy(starts, consumed, starts, 0, size - consumed);
+      System.arraycopy(ends, consumed, ends, 0, size - consumed);
+      size -= consumed;
+    }
+  }
+
+  private void insert(long start, long end) {
+    int first = firstRangeEndingAtOrAfter(start);
+    int last = first;
+    long mergedStart = start;
+    long mergedEnd = end;
+    while (last < size && starts[last] <= mergedEnd) {
+      mergedStart = Math.min(mergedStart, starts[last]);
+      mergedEnd = Math.max(mergedEnd, ends[last]);
+      last++;
+    }
+    int merged = last - first;
+    if (merged == 0) {
+      ensureCapacity(size + 1);
+      System.arraycopy(starts, first, starts, first + 1, size - first);
+      System.arraycopy(ends, first, ends, first + 1, size - first);
+      size++;
+    } else if (merged > 1) {
+      System.arraycopy(starts, last, starts, first + 1, size - last);
+      System.arraycopy(ends, last, ends, first + 1, size - last);
+      size -= merged - 1;
+    }
+    starts[first] = mergedStart;
+    ends[first] = mergedEnd;
+  }
+
+  private int firstRangeEndingAtOrAfter(long offset) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (ends[mid] < offset) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void ensureCapacity(int required) {
+    if (required > starts.length) {
+      int newCapacity = Math.max(required, starts.length << 1);
+      starts = Arrays.copyOf(starts, newCapacity);
+      ends = Arrays.copyOf(ends, newCapacity);
+    }
+  }
+
+  private static void validateRange(long firstOffset, long lastOffset) {
+    if (firstOffset < 0 || lastOffset < firstOffset) {
+      throw new IllegalArgumentException(
+          String.format("Invalid offset range [%d, %d]", firstOffset, lastOffset));
+    }
+  }
+}
@@ -73,9 +73,9 @@ public class TopicPartitionOffsetAndMetadataStorage {
   }
 
   /**
-   * /**
    * Updates offset using a specific criteria for {@link Map}s merge function. For certain topic+partition it stores
-   * either value passed or the one that is already stored (depending on which one is higher)
+   * either value passed or the one that is already stored (depending on which one is higher). The comparison happens
+   * inside the merge function, so concurrent updates for the same key can never move the offset backwards.
    *
    * @param topicPartition    {@link TopicPartition} key
    * @param offsetAndMetadata for the key
@@ -83,9 +83,9 @@ public class TopicPartitionOffsetAndMetadataStorage {
    */
   public OffsetAndMetadata updateOffset(TopicPartition topicPartition, OffsetAndMetadata offsetAndMetadata) {
     if (offsetAndMetadata != null) {
-      OffsetAndMetadata currentlyStoredOffset = offsetStorage.get(topicPartition);
-      return offsetStorage.merge(topicPartition, offsetAndMetadata, (key, newOffset) -> newOffset.offset()
-          > currentlyStoredOffset.offset() ? newOffset : currentlyStoredOffset);
+      return offsetStorage.merge(topicPartition, offsetAndMetadata,
+          (currentlyStoredOffset, newOffset) -> newOffset.offset() > currentlyStoredOffset.offset() ? newOffset
+              : currentlyStoredOffset);
     }
     return null;
   }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.collections;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Storage that holds a {@link ContiguousOffsetWatermark} for every {@link TopicPartition} a sink task writes.
+ * Unlike {@link TopicPartitionOffsetAndMetadataStorage}, which keeps a single maximum offset, it lets sinks acknowledge
+ * ranges asynchronously and in any order while only ever committing offsets below which everything has been written.
+ */
+public class TopicPartitionWatermarkStorage {
+
+  private final Map<TopicPartition, ContiguousOffsetWatermark> watermarks;
+
+  /**
+   * Constructs TopicPartitionWatermarkStorage.
+   */
+  public TopicPartitionWatermarkStorage() {
+    watermarks = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Constructs TopicPartitionWatermarkStorage with specific initial capacity.
+   *
+   * @param initialCapacity initial capacity of the storage
+   */
+  public TopicPartitionWatermarkStorage(int initialCapacity) {
+    watermarks = new ConcurrentHashMap<>(initialCapacity);
+  }
+
+  /**
+   * Registers offsets handed to the sink for a topic and partition.
+   *
+   * @param topicPartition {@link TopicPartition} key
+   * @param firstOffset    first offset of the range (inclusive)
+   * @param lastOffset     last offset of the range (inclusive)
+   */
+  public void dispatch(TopicPartition topicPartition, long firstOffset, long lastOffset) {
+    watermarks.computeIfAbsent(topicPartition, tp -> new ContiguousOffsetWatermark())
+        .dispatch(firstOffset, lastOffset);
+  }
+
+  /**
+   * Acknowledges offsets that have been successfully written for a topic and partition. Acknowledgements for
+   * partitions that have never been dispatched (e.g. revoked in the meantime) are ignored.
+   *
+   * @param topicPartition {@link TopicPartition} key
+   * @param firstOffset    first offset of the range (inclusive)
+   * @param lastOffset     last offset of the range (inclusive)
+   */
+  public void acknowledge(TopicPartition topicPartition, long firstOffset, long lastOffset) {
+    ContiguousOffsetWatermark watermark = watermarks.get(topicPartition);
+    if (watermark != null) {
+      watermark.acknowledge(firstOffset, lastOffset);
+    }
+  }
+
+  /**
+   * Get committable offset for topic and partition.
+   *
+   * @param topicPartition {@link TopicPartition} key
+   * @return OffsetAndMetadata for the key or null if nothing has been dispatched for it
+   */
+  public OffsetAndMetadata get(TopicPartition topicPartition) {
+    ContiguousOffsetWatermark watermark = watermarks.get(topicPartition);
+    if (watermark == null) {
+      return null;
+    }
+    OptionalLong offset = watermark.committableOffset();
+    return offset.isPresent() ? new OffsetAndMetadata(offset.getAsLong()) : null;
+  }
+
+  /**
+   * Checks against storage which offsets can be committed.
+   *
+   * @param offsetsToCommit offsets that caller want to commit.
+   * @return Map of topicPartition keys and offsets values that can be safely committed.
+   */
+  public Map<TopicPartition, OffsetAndMetadata> checkAgainstProcessedOffsets(
+      Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
+    Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>(offsetsToCommit.size());
+    offsetsToCommit.keySet().forEach(topicPartition -> {
+      OffsetAndMetadata offset = get(topicPartition);
+      if (offset != null) {
+        committable.put(topicPartition, offset);
+      }
+    });
+    return Map.copyOf(committable);
+  }
+
+  /**
+   * Forgets watermarks of partitions that are no longer assigned to the task.
+   *
+   * @param partitions revoked or closed partitions
+   */
+  public void remove(Collection<TopicPartition> partitions) {
+    partitions.forEach(watermarks::remove);
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative long values that can be recorded from many threads without locking.
+ *
+ * <p>
+ * Values are counted in power-of-two buckets (bucket {@code n} holds values whose highest set bit is {@code n - 1}),
+ * so recording is a single {@link AtomicLongArray} increment and percentiles are accurate to within a factor of two,
+ * which is enough to tell a 1ms ack from a 100ms one. Reading is not atomic with respect to concurrent writers; a
+ * reading may therefore be off by the handful of values recorded while it was taken.
+ * </p>
+ */
+public class LockFreeHistogram {
+
+  private static final int BUCKETS = Long.SIZE;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   *
+   * @param value value to record
+   */
+  public void record(long value) {
+    long sanitized = Math.max(0L, value);
+    buckets.incrementAndGet(bucketFor(sanitized));
+    count.increment();
+    sum.add(sanitized);
+    max.accumulateAndGet(sanitized, Math::max);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public long getMean() {
+    long total = count.sum();
+    return total == 0 ? 0L : sum.sum() / total;
+  }
+
+  /**
+   * Returns an upper bound of the value below which the given percentage of recorded values fall.
+   *
+   * @param percentile percentile between 0 and 100
+   * @return upper bound of the bucket holding the percentile, never greater than the maximum recorded value
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = count.sum();
+    if (total == 0) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+    long seen = 0L;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += buckets.get(bucket);
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(bucket), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Clears all recorded values.
+   */
+  public void reset() {
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      buckets.set(bucket, 0L);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0L);
+  }
+
+  private static int bucketFor(long value) {
+    return Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(value));
+  }
+
+  private static long upperBoundOf(int bucket) {
+    return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
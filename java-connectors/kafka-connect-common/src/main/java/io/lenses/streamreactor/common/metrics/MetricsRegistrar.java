@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers task metrics MBeans with the platform MBean server. Failing to register metrics is logged and never
+ * fails the task.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MetricsRegistrar {
+
+  public static final String DOMAIN = "io.lenses.streamreactor.connect";
+  /**
+   * Task property holding the connector name; Connect always includes it in the configuration handed to a task.
+   */
+  public static final String CONNECTOR_NAME_PROP = "name";
+  /**
+   * Task property holding the index of the task within its connector, added by {@link #withTaskIds(List)}.
+   */
+  public static final String TASK_ID_PROP = "connect.metrics.task.id";
+
+  // metrics object currently registered under each name, so a stopping task never removes its successor's MBean
+  private static final Map<ObjectName, Object> REGISTERED = new ConcurrentHashMap<>();
+
+  /**
+   * Adds the index of each task to its configuration, so every task of a connector registers its metrics under a
+   * stable name that survives task restarts.
+   *
+   * @param taskConfigs task configurations as produced by the connector
+   * @return the same configurations, each with {@link #TASK_ID_PROP} set to its position in the list
+   */
+  public static List<Map<String, String>> withTaskIds(List<Map<String, String>> taskConfigs) {
+    return IntStream.range(0, taskConfigs.size())
+        .mapToObj(taskId -> Stream.concat(
+            taskConfigs.get(taskId).entrySet().stream().filter(e -> !TASK_ID_PROP.equals(e.getKey())),
+            Stream.of(Map.entry(TASK_ID_PROP, String.valueOf(taskId)))
+        ).collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue)))
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Registers the metrics MBean under
+   * {@code io.lenses.streamreactor.connect:type=<type>,connector=<name>,task=<taskId>}. The name only depends on the
+   * connector name and the task index, so a restarted task replaces any MBean its previous instance left behind.
+   *
+   * @param metrics   MBean to register
+   * @param type      kind of task, e.g. {@code pubsub-source}
+   * @param taskProps configuration the task was started with
+   * @return ObjectName the MBean was registered under, empty if registration failed
+   */
+  public static synchronized Optional<ObjectName> register(Object metrics, String type, Map<String, String> taskProps) {
+    String name = taskProps.getOrDefault(CONNECTOR_NAME_PROP, "unknown");
+    String taskId = taskProps.getOrDefault(TASK_ID_PROP, "0");
+    try {
+      ObjectName objectName =
+          new ObjectName(String.format("%s:type=%s,connector=%s,task=%s", DOMAIN, type, ObjectName.quote(name),
+              ObjectName.quote(taskId)));
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      if (mBeanServer.isRegistered(objectName)) {
+        log.info("Replacing metrics MBean {} left behind by a previous instance of the task", objectName);
+        mBeanServer.unregisterMBean(objectName);
+      }
+      mBeanServer.registerMBean(metrics, objectName);
+      REGISTERED.put(objectName, metrics);
+      return Optional.of(objectName);
+    } catch (JMException e) {
+      log.warn("Unable to register metrics MBean for {} {} task {}", type, name, taskId, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Unregisters a previously registered MBean, unless another task instance has since registered its own metrics
+   * under the same name.
+   *
+   * @param objectName name returned by {@link #register(Object, String, Map)}
+   * @param metrics    MBean that was registered under that name
+   */
+  public static synchronized void unregister(ObjectName objectName, Object metrics) {
+    if (!REGISTERED.remove(objectName, metrics)) {
+      return;
+    }
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    try {
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      log.warn("Unable to unregister metrics MBean {}", objectName, e);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Standard set of instruments for sink tasks. Every recording method is lock-free so it can be called from the put
+ * path and from asynchronous send callbacks alike.
+ */
+public class SinkTaskMetrics implements SinkTaskMetricsMBean {
+
+  private final LongAdder putCount = new LongAdder();
+  private final LongAdder recordCount = new LongAdder();
+  private final LongAdder sendCount = new LongAdder();
+  private final LongAdder sendFailureCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+  private final LockFreeHistogram putBatchSize = new LockFreeHistogram();
+  private final LockFreeHistogram sendLatencyNanos = new LockFreeHistogram();
+
+  /**
+   * Records a single put call.
+   *
+   * @param batchSize number of records Connect handed to the task
+   */
+  public void recordPut(int batchSize) {
+    putCount.increment();
+    recordCount.add(batchSize);
+    putBatchSize.record(batchSize);
+  }
+
+  /**
+   * Records a single send attempt to the target system.
+   *
+   * @param nanos     time the attempt took
+   * @param succeeded whether the attempt succeeded
+   */
+  public void recordSend(long nanos, boolean succeeded) {
+    sendCount.increment();
+    sendLatencyNanos.record(nanos);
+    if (!succeeded) {
+      sendFailureCount.increment();
+    }
+  }
+
+  public void recordRetry() {
+    retryCount.increment();
+  }
+
+  @Override
+  public long getPutCount() {
+    return putCount.sum();
+  }
+
+  @Override
+  public long getRecordCount() {
+    return recordCount.sum();
+  }
+
+  @Override
+  public long getPutBatchSizeMean() {
+    return putBatchSize.getMean();
+  }
+
+  @Override
+  public long getPutBatchSizeMax() {
+    return putBatchSize.getMax();
+  }
+
+  @Override
+  public long getSendCount() {
+    return sendCount.sum();
+  }
+
+  @Override
+  public long getSendFailureCount() {
+    return sendFailureCount.sum();
+  }
+
+  @Override
+  public long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  @Override
+  public long getSendLatencyP50Micros() {
+    return TimeUnit.NANOSECONDS.toMicros(sendLatencyNanos.getValueAtPercentile(50.0));
+  }
+
+  @Override
+  public long getSendLatencyP99Micros() {
+    return TimeUnit.NANOSECONDS.toMicros(sendLatencyNanos.getValueAtPercentile(99.0));
+  }
+
+  @Override
+  public long getSendLatencyMaxMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(sendLatencyNanos.getMax());
+  }
+
+  @Override
+  public void reset() {
+    putCount.reset();
+    recordCount.reset();
+    sendCount.reset();
+    sendFailureCount.reset();
+    retryCount.reset();
+    putBatchSize.reset();
+    sendLatencyNanos.reset();
+  }
+}
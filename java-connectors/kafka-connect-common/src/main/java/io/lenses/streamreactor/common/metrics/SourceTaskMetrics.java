@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Standard set of instruments for source tasks. Every recording method is lock-free so it can be called on the poll
+ * path and from source system callback threads alike.
+ */
+public class SourceTaskMetrics implements SourceTaskMetricsMBean {
+
+  // upper bound on records awaiting acknowledgement, so records Connect never commits cannot grow the map unbounded
+  private static final int MAX_PENDING_ACKS = 100_000;
+
+  private final LongAdder pollCount = new LongAdder();
+  private final LongAdder emptyPollCount = new LongAdder();
+  private final LongAdder recordCount = new LongAdder();
+  private final LongAdder ackCount = new LongAdder();
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final LockFreeHistogram pollBatchSize = new LockFreeHistogram();
+  private final LockFreeHistogram conversionTimeNanos = new LockFreeHistogram();
+  private final LockFreeHistogram ackLatencyMillis = new LockFreeHistogram();
+  private final Map<RecordIdentity, Long> pollTimesNanos = new ConcurrentHashMap<>();
+
+  /**
+   * Records the outcome of a single poll.
+   *
+   * @param batchSize number of records returned to Connect
+   */
+  public void recordPoll(int batchSize) {
+    pollCount.increment();
+    if (batchSize == 0) {
+      emptyPollCount.increment();
+    } else {
+      recordCount.add(batchSize);
+      pollBatchSize.record(batchSize);
+    }
+  }
+
+  public void updateQueueDepth(long depth) {
+    queueDepth.set(depth);
+  }
+
+  public void recordConversionNanos(long nanos) {
+    conversionTimeNanos.record(nanos);
+  }
+
+  /**
+   * Runs a conversion and records how long it took.
+   *
+   * @param conversion conversion of source messages to Connect records
+   * @param <T>        result type of the conversion
+   * @return result of the conversion
+   */
+  public <T> T timeConversion(Supplier<T> conversion) {
+    long start = System.nanoTime();
+    try {
+      return conversion.get();
+    } finally {
+      recordConversionNanos(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Remembers when records were handed to Connect, so that {@link #recordAck(SourceRecord)} can measure how long
+   * Connect took to produce and acknowledge each of them.
+   *
+   * @param records records returned from the task's poll
+   */
+  public void recordPolled(Collection<SourceRecord> records) {
+    long now = System.nanoTime();
+    for (SourceRecord sourceRecord : records) {
+      if (pollTimesNanos.size() >= MAX_PENDING_ACKS) {
+        return;
+      }
+      pollTimesNanos.put(new RecordIdentity(sourceRecord), now);
+    }
+  }
+
+  /**
+   * Records that a record was acknowledged back to the source system. Connect passes the same record instance to
+   * {@code commitRecord} that poll returned, so the latency is measured from the matching
+   * {@link #recordPolled(Collection)} call.
+   *
+   * @param sourceRecord record being acknowledged
+   */
+  public void recordAck(SourceRecord sourceRecord) {
+    ackCount.increment();
+    Long polledAt = pollTimesNanos.remove(new RecordIdentity(sourceRecord));
+    if (polledAt != null) {
+      ackLatencyMillis.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - polledAt));
+    }
+  }
+
+  @Override
+  public long getPollCount() {
+    return pollCount.sum();
+  }
+
+  @Override
+  public long getEmptyPollCount() {
+    return emptyPollCount.sum();
+  }
+
+  @Override
+  public long getRecordCount() {
+    return recordCount.sum();
+  }
+
+  @Override
+  public long getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  @Override
+  public long getPollBatchSizeMean() {
+    return pollBatchSize.getMean();
+  }
+
+  @Override
+  public long getPollBatchSizeMax() {
+    return pollBatchSize.getMax();
+  }
+
+  @Override
+  public long getConversionTimeP50Micros() {
+    return TimeUnit.NANOSECONDS.toMicros(conversionTimeNanos.getValueAtPercentile(50.0));
+  }
+
+  @Override
+  public long getConversionTimeP99Micros() {
+    return TimeUnit.NANOSECONDS.toMicros(conversionTimeNanos.getValueAtPercentile(99.0));
+  }
+
+  @Override
+  public long getAckCount() {
+    return ackCount.sum();
+  }
+
+  @Override
+  public long getAckLatencyP50Millis() {
+    return ackLatencyMillis.getValueAtPercentile(50.0);
+  }
+
+  @Override
+  public long getAckLatencyP99Millis() {
+    return ackLatencyMillis.getValueAtPercentile(99.0);
+  }
+
+  @Override
+  public long getAckLatencyMaxMillis() {
+    return ackLatencyMillis.getMax();
+  }
+
+  @Override
+  public void reset() {
+    pollCount.reset();
+    emptyPollCount.reset();
+    recordCount.reset();
+    ackCount.reset();
+    pollBatchSize.reset();
+    conversionTimeNanos.reset();
+    ackLatencyMillis.reset();
+  }
+
+  /**
+   * Map key comparing records by reference, as records with equal content may be polled more than once.
+   */
+  private static final class RecordIdentity {
+
+    private final SourceRecord sourceRecord;
+
+    private RecordIdentity(SourceRecord sourceRecord) {
+      this.sourceRecord = sourceRecord;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof RecordIdentity && ((RecordIdentity) other).sourceRecord == sourceRecord;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(sourceRecord);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+/**
+ * JMX view of {@link SourceTaskMetrics}.
+ */
+public interface SourceTaskMetricsMBean {
+
+  long getPollCount();
+
+  long getEmptyPollCount();
+
+  long getRecordCount();
+
+  /**
+   * Number of messages received from the source system but not yet handed to Connect, as of the last poll.
+   */
+  long getQueueDepth();
+
+  long getPollBatchSizeMean();
+
+  long getPollBatchSizeMax();
+
+  long getConversionTimeP50Micros();
+
+  long getConversionTimeP99Micros();
+
+  long getAckCount();
+
+  /**
+   * Time between a record being returned from poll and Connect acknowledging it back to the source system.
+   */
+  long getAckLatencyP50Millis();
+
+  long getAckLatencyP99Millis();
+
+  long getAckLatencyMaxMillis();
+
+  /**
+   * Clears all counters and histograms.
+   */
+  void reset();
+}
@@ -15,7 +15,12 @@
  */
 package io.lenses.streamreactor.common.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -57,4 +62,64 @@ public class ListSplitter {
         .filter(sublist -> !sublist.isEmpty())
         .collect(Collectors.toList());
   }
+
+  /**
+   * Splits the given list into at most {@code maxN} sublists so that the summed weights of the sublists are as even
+   * as possible, using the longest-processing-time-first heuristic: elements are taken heaviest first and each one is
+   * placed in the sublist with the lowest total weight so far (ties go to the sublist holding fewer elements, then to
+   * the earliest one). Elements keep their original relative order within each sublist, so the result is
+   * deterministic for a given input. When every element weighs the same the list is split into contiguous blocks
+   * exactly as {@link #splitList} does, so unweighted input keeps its existing assignment.
+   *
+   * @param list    the list to be split
+   * @param weigher function returning the non-negative weight of an element
+   * @param maxN    the maximum number of sublists to create
+   * @param <T>     the type of elements in the list
+   * @return a list of non-empty sublists, where each sublist contains a portion of the original list
+   * @throws IllegalArgumentException if {@code maxN} is less than or equal to 0 or a weight is negative
+   */
+  public static <T> List<List<T>> splitListByWeight(List<T> list, ToLongFunction<? super T> weigher, int maxN) {
+    if (maxN <= 0) {
+      throw new IllegalArgumentException("Number of parts must be greater than zero.");
+    }
+
+    int totalSize = list.size();
+    long[] weights = new long[totalSize];
+    for (int i = 0; i < totalSize; i++) {
+      weights[i] = weigher.applyAsLong(list.get(i));
+      if (weights[i] < 0) {
+        throw new IllegalArgumentException("Weights must not be negative.");
+      }
+    }
+    if (Arrays.stream(weights).distinct().count() <= 1) {
+      return splitList(list, maxN);
+    }
+
+    int parts = Math.min(maxN, totalSize);
+    long[] loads = new long[parts];
+    int[] counts = new int[parts];
+    int[] assignment = new int[totalSize];
+    PriorityQueue<Integer> lightestPart =
+        new PriorityQueue<>(Math.max(1, parts), Comparator
+            .<Integer>comparingLong(part -> loads[part])
+            .thenComparingInt(part -> counts[part])
+            .thenComparingInt(part -> part));
+    IntStream.range(0, parts).forEach(lightestPart::add);
+
+    IntStream.range(0, totalSize)
+        .boxed()
+        .sorted(Comparator.<Integer>comparingLong(i -> weights[i]).reversed().thenComparingInt(i -> i))
+        .forEachOrdered(i -> {
+          int part = lightestPart.remove();
+          assignment[i] = part;
+          loads[part] += weights[i];
+          counts[part]++;
+          lightestPart.add(part);
+        });
+
+    List<List<T>> result = new ArrayList<>(parts);
+    IntStream.range(0, parts).forEach(part -> result.add(new ArrayList<>(counts[part])));
+    IntStream.range(0, totalSize).forEach(i -> result.get(assignment[i]).add(list.get(i)));
+    return result;
+  }
 }
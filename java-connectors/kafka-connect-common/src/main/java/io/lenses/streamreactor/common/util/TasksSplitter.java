@@ -20,9 +20,11 @@ import static io.lenses.kcql.Kcql.KCQL_MULTI_STATEMENT_SEPARATOR;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.lenses.kcql.Kcql;
 import io.lenses.streamreactor.common.config.base.KcqlSettings;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -46,13 +48,50 @@ public class TasksSplitter {
   public static List<Map<String, String>> splitByKcqlStatements(int maxTasks, Map<String, String> props,
       KcqlSettings kcqlSettings) {
     val kcqlSettingsKey = kcqlSettings.getKcqlSettingsKey();
-    val kcqls =
-        Arrays
-            .stream(props.get(kcqlSettingsKey).split(KCQL_MULTI_STATEMENT_SEPARATOR))
-            .collect(Collectors.toList());
+    return toTaskProps(ListSplitter.splitList(extractKcqls(props, kcqlSettingsKey), maxTasks), props,
+        kcqlSettingsKey);
+  }
+
+  /**
+   * Splits tasks based on the KCQL statements provided in the properties map, balancing the summed statement weights
+   * across tasks rather than the number of statements (see {@link ListSplitter#splitListByWeight}).
+   * Each resulting map will contain the original properties and a subset of the KCQL statements.
+   *
+   * @param maxTasks     the maximum number of tasks to split into
+   * @param props        the original properties map containing KCQL settings
+   * @param kcqlSettings the KCQL settings object that provides the key for KCQL settings in the properties map
+   * @param kcqlWeigher  function returning the non-negative load estimate of a single KCQL statement
+   * @return a list of maps, each containing the original properties and a subset of the KCQL statements
+   */
+  public static List<Map<String, String>> splitByWeightedKcqlStatements(int maxTasks, Map<String, String> props,
+      KcqlSettings kcqlSettings, ToLongFunction<String> kcqlWeigher) {
+    val kcqlSettingsKey = kcqlSettings.getKcqlSettingsKey();
+    return toTaskProps(ListSplitter.splitListByWeight(extractKcqls(props, kcqlSettingsKey), kcqlWeigher, maxTasks),
+        props, kcqlSettingsKey);
+  }
+
+  /**
+   * Creates a KCQL weigher that reads the weight of each statement from one of its KCQL properties, e.g.
+   * {@code PROPERTIES('task.weight'=5)}. Statements without the property weigh {@code defaultWeight}.
+   *
+   * @param propertyName  name of the KCQL property holding the weight
+   * @param defaultWeight weight of statements not declaring the property
+   * @return weigher to be used with {@link #splitByWeightedKcqlStatements}
+   */
+  public static ToLongFunction<String> kcqlPropertyWeigher(String propertyName, long defaultWeight) {
+    return kcql -> kcql.isBlank() ? defaultWeight
+        : Kcql.parse(kcql).extractOptionalProperty(propertyName).map(Long::parseLong).orElse(defaultWeight);
+  }
+
+  private static List<String> extractKcqls(Map<String, String> props, String kcqlSettingsKey) {
+    return Arrays
+        .stream(props.get(kcqlSettingsKey).split(KCQL_MULTI_STATEMENT_SEPARATOR))
+        .collect(Collectors.toList());
+  }
 
-    return ListSplitter
-        .splitList(kcqls, maxTasks)
+  private static List<Map<String, String>> toTaskProps(List<List<String>> kcqlsPerTask, Map<String, String> props,
+      String kcqlSettingsKey) {
+    return kcqlsPerTask
         .stream()
         .map(kcqlsForTask -> Stream.concat(
             props.entrySet().stream(),
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContiguousOffsetWatermarkTest {
+
+  private ContiguousOffsetWatermark testObj;
+
+  @BeforeEach
+  void setUp() {
+    testObj = new ContiguousOffsetWatermark(2);
+  }
+
+  @Test
+  void committableOffsetShouldBeEmptyBeforeAnythingIsDispatched() {
+    assertThat(testObj.committableOffset()).isEmpty();
+  }
+
+  @Test
+  void committableOffsetShouldStayAtFirstDispatchedOffsetUntilAcknowledged() {
+    //given
+    testObj.dispatch(100, 199);
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(100);
+  }
+
+  @Test
+  void acknowledgingAheadOfAGapShouldNotAdvanceWatermark() {
+    //given
+    testObj.dispatch(100, 199);
+    testObj.dispatch(200, 299);
+
+    //when
+    testObj.acknowledge(200, 299);
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(100);
+    assertThat(testObj.pendingRanges()).isEqualTo(1);
+  }
+
+  @Test
+  void fillingTheGapShouldAdvanceWatermarkOverAllAcknowledgedRanges() {
+    //given
+    testObj.dispatch(100, 299);
+    testObj.acknowledge(200, 299);
+    testObj.acknowledge(150, 199);
+
+    //when
+    testObj.acknowledge(100, 149);
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(300);
+    assertThat(testObj.pendingRanges()).isZero();
+  }
+
+  @Test
+  void offsetsNeverDeliveredBetweenDispatchedRangesShouldNotHoldWatermarkBack() {
+    //given
+    testObj.dispatch(10, 10);
+    testObj.dispatch(15, 20); //11-14 compacted away
+
+    //when
+    testObj.acknowledge(15, 20);
+    testObj.acknowledge(10, 10);
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(21);
+  }
+
+  @Test
+  void acknowledgementsBelowWatermarkShouldBeIgnored() {
+    //given
+    testObj.dispatch(0, 9);
+    testObj.acknowledge(0, 9);
+
+    //when
+    testObj.acknowledge(0, 4);
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(10);
+    assertThat(testObj.pendingRanges()).isZero();
+  }
+
+  @Test
+  void manyDisjointRangesShouldBeMergedOnceTheirGapsAreFilled() {
+    //given
+    testObj.dispatch(0, 99);
+    IntStream.range(0, 50).forEach(i -> testObj.acknowledge(i * 2L + 1, i * 2L + 1));
+    assertThat(testObj.pendingRanges()).isEqualTo(50);
+
+    //when
+    IntStream.range(0, 50).forEach(i -> testObj.acknowledge(i * 2L, i * 2L));
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue(100);
+    assertThat(testObj.pendingRanges()).isZero();
+  }
+
+  @Test
+  void invalidRangeShouldThrowException() {
+    assertThrows(IllegalArgumentException.class, () -> testObj.dispatch(10, 9));
+    assertThrows(IllegalArgumentException.class, () -> testObj.acknowledge(-1, 9));
+  }
+
+  @Test
+  void concurrentAcknowledgementsShouldAdvanceWatermarkToEnd() throws InterruptedException {
+    //given
+    int batches = 1000;
+    int batchSize = 10;
+    testObj.dispatch(0, (long) batches * batchSize - 1);
+    List<Integer> order = IntStream.range(0, batches).boxed().collect(Collectors.toCollection(ArrayList::new));
+    Collections.shuffle(order);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch latch = new CountDownLatch(batches);
+
+    //when
+    order.forEach(batch -> executor.submit(() -> {
+      testObj.acknowledge((long) batch * batchSize, (long) batch * batchSize + batchSize - 1);
+      latch.countDown();
+    }));
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    //then
+    assertThat(testObj.committableOffset()).hasValue((long) batches * batchSize);
+    assertThat(testObj.pendingRanges()).isZero();
+  }
+}
@@ -66,6 +66,20 @@ class TopicPartitionOffsetAndMetadataStorageTest {
     assertEquals(knownOffset, offsetAndMetadata);
   }
 
+  @Test
+  void updateOffsetShouldKeepHigherOffsetWhenLowerOneArrivesLater() {
+    //given
+    TopicPartition knownTopicPartition = new TopicPartition(TOPIC1, PARTITION1);
+    testObj.updateOffset(knownTopicPartition, new OffsetAndMetadata(OFFSET20));
+
+    //when
+    OffsetAndMetadata result = testObj.updateOffset(knownTopicPartition, new OffsetAndMetadata(OFFSET10));
+
+    //then
+    assertEquals(OFFSET20, result.offset());
+    assertEquals(OFFSET20, testObj.get(knownTopicPartition).offset());
+  }
+
   @Test
   void preCommitShouldReturnEmptyMapIfOffsetPassedAsNull() {
     //given
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TopicPartitionWatermarkStorageTest {
+
+  private static final TopicPartition TOPIC1_PARTITION1 = new TopicPartition("topic1", 1);
+  private static final TopicPartition TOPIC2_PARTITION1 = new TopicPartition("topic2", 1);
+
+  private TopicPartitionWatermarkStorage testObj;
+
+  @BeforeEach
+  void setUp() {
+    testObj = new TopicPartitionWatermarkStorage();
+  }
+
+  @Test
+  void getShouldReturnNullIfTopicPartitionHasNotBeenDispatched() {
+    //when
+    testObj.acknowledge(TOPIC1_PARTITION1, 0, 10);
+
+    //then
+    assertNull(testObj.get(TOPIC1_PARTITION1));
+  }
+
+  @Test
+  void checkAgainstProcessedOffsetsShouldReturnContiguousWatermarkPerPartition() {
+    //given
+    testObj.dispatch(TOPIC1_PARTITION1, 100, 199);
+    testObj.dispatch(TOPIC1_PARTITION1, 200, 299);
+    testObj.dispatch(TOPIC2_PARTITION1, 0, 9);
+    testObj.acknowledge(TOPIC1_PARTITION1, 200, 299); //still waiting for 100-199
+    testObj.acknowledge(TOPIC2_PARTITION1, 0, 9);
+
+    //when
+    Map<TopicPartition, OffsetAndMetadata> result =
+        testObj.checkAgainstProcessedOffsets(Map.of(
+            TOPIC1_PARTITION1, new OffsetAndMetadata(300),
+            TOPIC2_PARTITION1, new OffsetAndMetadata(10)));
+
+    //then
+    assertEquals(2, result.size());
+    assertEquals(100, result.get(TOPIC1_PARTITION1).offset());
+    assertEquals(10, result.get(TOPIC2_PARTITION1).offset());
+  }
+
+  @Test
+  void removeShouldForgetPartitionWatermarks() {
+    //given
+    testObj.dispatch(TOPIC1_PARTITION1, 0, 9);
+
+    //when
+    testObj.remove(List.of(TOPIC1_PARTITION1));
+
+    //then
+    assertEquals(0, testObj.checkAgainstProcessedOffsets(Map.of(TOPIC1_PARTITION1, new OffsetAndMetadata(10)))
+        .size());
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LockFreeHistogramTest {
+
+  private LockFreeHistogram testObj;
+
+  @BeforeEach
+  void setUp() {
+    testObj = new LockFreeHistogram();
+  }
+
+  @Test
+  void emptyHistogramShouldReportZeros() {
+    assertThat(testObj.getCount()).isZero();
+    assertThat(testObj.getMax()).isZero();
+    assertThat(testObj.getMean()).isZero();
+    assertThat(testObj.getValueAtPercentile(99.0)).isZero();
+  }
+
+  @Test
+  void percentilesShouldBeWithinAFactorOfTwo() {
+    //given
+    LongStream.rangeClosed(1, 1000).forEach(testObj::record);
+
+    //then
+    assertThat(testObj.getCount()).isEqualTo(1000);
+    assertThat(testObj.getMean()).isEqualTo(500);
+    assertThat(testObj.getMax()).isEqualTo(1000);
+    assertThat(testObj.getValueAtPercentile(50.0)).isBetween(500L, 1000L);
+    assertThat(testObj.getValueAtPercentile(99.0)).isBetween(990L, 1000L);
+    assertThat(testObj.getValueAtPercentile(100.0)).isEqualTo(1000);
+  }
+
+  @Test
+  void negativeValuesShouldBeRecordedAsZero() {
+    //when
+    testObj.record(-5);
+
+    //then
+    assertThat(testObj.getCount()).isEqualTo(1);
+    assertThat(testObj.getValueAtPercentile(50.0)).isZero();
+  }
+
+  @Test
+  void resetShouldClearRecordedValues() {
+    //given
+    testObj.record(Long.MAX_VALUE);
+
+    //when
+    testObj.reset();
+
+    //then
+    assertThat(testObj.getCount()).isZero();
+    assertThat(testObj.getMax()).isZero();
+    assertThat(testObj.getValueAtPercentile(50.0)).isZero();
+  }
+
+  @Test
+  void concurrentRecordingShouldNotLoseValues() throws InterruptedException {
+    //given
+    int threads = 4;
+    int valuesPerThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch latch = new CountDownLatch(threads);
+
+    //when
+    for (int i = 0; i < threads; i++) {
+      executor.submit(() -> {
+        LongStream.range(0, valuesPerThread).forEach(testObj::record);
+        latch.countDown();
+      });
+    }
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    //then
+    assertThat(testObj.getCount()).isEqualTo((long) threads * valuesPerThread);
+    assertThat(testObj.getMax()).isEqualTo(valuesPerThread - 1);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class MetricsRegistrarTest {
+
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  @Test
+  void registeredMetricsShouldBeReadableOverJmxUntilUnregistered() throws Exception {
+    //given
+    SourceTaskMetrics metrics = new SourceTaskMetrics();
+    metrics.recordPoll(3);
+
+    //when
+    Optional<ObjectName> objectName =
+        MetricsRegistrar.register(metrics, "test-source",
+            Map.of(MetricsRegistrar.CONNECTOR_NAME_PROP, "my connector", MetricsRegistrar.TASK_ID_PROP, "0"));
+
+    //then
+    assertThat(objectName).isPresent();
+    assertThat(objectName.get().getDomain()).isEqualTo(MetricsRegistrar.DOMAIN);
+    assertThat(mBeanServer.getAttribute(objectName.get(), "RecordCount")).isEqualTo(3L);
+
+    MetricsRegistrar.unregister(objectName.get(), metrics);
+    assertThat(mBeanServer.isRegistered(objectName.get())).isFalse();
+  }
+
+  @Test
+  void tasksOfTheSameConnectorShouldGetDistinctNames() {
+    //given
+    List<Map<String, String>> taskConfigs =
+        MetricsRegistrar.withTaskIds(List.of(Map.of(MetricsRegistrar.CONNECTOR_NAME_PROP, "connector"),
+            Map.of(MetricsRegistrar.CONNECTOR_NAME_PROP, "connector")));
+    SinkTaskMetrics firstMetrics = new SinkTaskMetrics();
+    SinkTaskMetrics secondMetrics = new SinkTaskMetrics();
+
+    //when
+    Optional<ObjectName> first = MetricsRegistrar.register(firstMetrics, "test-sink", taskConfigs.get(0));
+    Optional<ObjectName> second = MetricsRegistrar.register(secondMetrics, "test-sink", taskConfigs.get(1));
+
+    //then
+    assertThat(first).isPresent();
+    assertThat(first.get().getKeyProperty("task")).isEqualTo("\"0\"");
+    assertThat(second).isPresent().isNotEqualTo(first);
+
+    first.ifPresent(name -> MetricsRegistrar.unregister(name, firstMetrics));
+    second.ifPresent(name -> MetricsRegistrar.unregister(name, secondMetrics));
+  }
+
+  @Test
+  void restartedTaskShouldReplaceMetricsUnderTheSameName() {
+    //given
+    Map<String, String> taskProps =
+        Map.of(MetricsRegistrar.CONNECTOR_NAME_PROP, "restarting", MetricsRegistrar.TASK_ID_PROP, "1");
+    SinkTaskMetrics previous = new SinkTaskMetrics();
+    SinkTaskMetrics current = new SinkTaskMetrics();
+    Optional<ObjectName> previousName = MetricsRegistrar.register(previous, "test-sink", taskProps);
+
+    //when
+    Optional<ObjectName> currentName = MetricsRegistrar.register(current, "test-sink", taskProps);
+    previousName.ifPresent(name -> MetricsRegistrar.unregister(name, previous));
+
+    //then
+    assertThat(currentName).isPresent().isEqualTo(previousName);
+    assertThat(mBeanServer.isRegistered(currentName.get())).isTrue();
+
+    MetricsRegistrar.unregister(currentName.get(), current);
+    assertThat(mBeanServer.isRegistered(currentName.get())).isFalse();
+  }
+}
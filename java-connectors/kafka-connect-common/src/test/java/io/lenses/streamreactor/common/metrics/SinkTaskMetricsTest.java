@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SinkTaskMetricsTest {
+
+  @Test
+  void shouldCountPutsSendsFailuresAndRetries() {
+    //given
+    SinkTaskMetrics testObj = new SinkTaskMetrics();
+
+    //when
+    testObj.recordPut(100);
+    testObj.recordSend(2_000_000L, false);
+    testObj.recordRetry();
+    testObj.recordSend(1_000_000L, true);
+
+    //then
+    assertThat(testObj.getPutCount()).isEqualTo(1);
+    assertThat(testObj.getRecordCount()).isEqualTo(100);
+    assertThat(testObj.getPutBatchSizeMax()).isEqualTo(100);
+    assertThat(testObj.getSendCount()).isEqualTo(2);
+    assertThat(testObj.getSendFailureCount()).isEqualTo(1);
+    assertThat(testObj.getRetryCount()).isEqualTo(1);
+    assertThat(testObj.getSendLatencyMaxMicros()).isEqualTo(2_000L);
+  }
+
+  @Test
+  void resetShouldClearAllCounters() {
+    //given
+    SinkTaskMetrics testObj = new SinkTaskMetrics();
+    testObj.recordPut(1);
+    testObj.recordSend(1L, false);
+
+    //when
+    testObj.reset();
+
+    //then
+    assertThat(testObj.getPutCount()).isZero();
+    assertThat(testObj.getSendCount()).isZero();
+    assertThat(testObj.getSendFailureCount()).isZero();
+  }
+}
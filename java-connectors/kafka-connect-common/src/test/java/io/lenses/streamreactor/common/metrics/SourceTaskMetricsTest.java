@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SourceTaskMetricsTest {
+
+  private SourceTaskMetrics testObj;
+
+  @BeforeEach
+  void setUp() {
+    testObj = new SourceTaskMetrics();
+  }
+
+  @Test
+  void recordPollShouldCountRecordsAndEmptyPolls() {
+    //when
+    testObj.recordPoll(10);
+    testObj.recordPoll(0);
+    testObj.recordPoll(30);
+
+    //then
+    assertThat(testObj.getPollCount()).isEqualTo(3);
+    assertThat(testObj.getEmptyPollCount()).isEqualTo(1);
+    assertThat(testObj.getRecordCount()).isEqualTo(40);
+    assertThat(testObj.getPollBatchSizeMean()).isEqualTo(20);
+    assertThat(testObj.getPollBatchSizeMax()).isEqualTo(30);
+  }
+
+  @Test
+  void timeConversionShouldReturnResultAndRecordDuration() {
+    //when
+    String result = testObj.timeConversion(() -> "converted");
+    testObj.recordConversionNanos(5_000_000L);
+
+    //then
+    assertThat(result).isEqualTo("converted");
+    assertThat(testObj.getConversionTimeP99Micros()).isEqualTo(5_000L);
+  }
+
+  @Test
+  void recordAckShouldMeasureLatencyFromPoll() throws InterruptedException {
+    //given
+    SourceRecord polled = new SourceRecord(Map.of(), Map.of(), "topic", null, "value");
+    SourceRecord untracked = new SourceRecord(Map.of(), Map.of(), "topic", null, "value");
+    testObj.recordPolled(List.of(polled));
+    Thread.sleep(20L);
+
+    //when
+    testObj.recordAck(polled);
+    testObj.recordAck(untracked);
+
+    //then
+    assertThat(testObj.getAckCount()).isEqualTo(2);
+    assertThat(testObj.getAckLatencyMaxMillis()).isGreaterThanOrEqualTo(20L);
+  }
+
+  @Test
+  void recordAckShouldIgnoreRecordTimestamp() {
+    //given
+    SourceRecord oldRecord =
+        new SourceRecord(Map.of(), Map.of(), "topic", null, null, null, null, "value",
+            System.currentTimeMillis() - 60_000L);
+    testObj.recordPolled(List.of(oldRecord));
+
+    //when
+    testObj.recordAck(oldRecord);
+
+    //then
+    assertThat(testObj.getAckLatencyMaxMillis()).isLessThan(60_000L);
+  }
+
+  @Test
+  void resetShouldClearCountersButKeepQueueDepth() {
+    //given
+    testObj.recordPoll(5);
+    testObj.updateQueueDepth(7);
+
+    //when
+    testObj.reset();
+
+    //then
+    assertThat(testObj.getPollCount()).isZero();
+    assertThat(testObj.getRecordCount()).isZero();
+    assertThat(testObj.getQueueDepth()).isEqualTo(7);
+  }
+}
@@ -86,4 +86,51 @@ class ListSplitterTest {
     List<List<Integer>> result = ListSplitter.splitList(Collections.singletonList(1), 100);
     assertThat(result).hasSize(1).allMatch(l -> l.size() == 1);
   }
+
+  @Test
+  void testSplitListByWeightBalancesTotalWeight() {
+    List<List<Integer>> result = ListSplitter.splitListByWeight(List.of(10, 1, 2, 3, 4), Integer::longValue, 2);
+    assertThat(result)
+        .containsExactly(
+            List.of(10),
+            List.of(1, 2, 3, 4)
+        );
+  }
+
+  @Test
+  void testSplitListByWeightIsolatesHeavyElement() {
+    List<List<Integer>> result = ListSplitter.splitListByWeight(List.of(1, 1, 100, 1, 1), Integer::longValue, 2);
+    assertThat(result)
+        .containsExactly(
+            List.of(100),
+            List.of(1, 1, 1, 1)
+        );
+  }
+
+  @Test
+  void testSplitListByWeightWithEqualWeightsKeepsContiguousBlocks() {
+    List<List<Integer>> result = ListSplitter.splitListByWeight(list, i -> 1L, 3);
+    assertThat(result).isEqualTo(ListSplitter.splitList(list, 3));
+  }
+
+  @Test
+  void testSplitListByWeightMorePartsThanElements() {
+    List<List<Integer>> result = ListSplitter.splitListByWeight(list, Integer::longValue, 12);
+    assertThat(result)
+        .hasSize(10)
+        .allMatch(sublist -> sublist.size() == 1);
+  }
+
+  @Test
+  void testSplitEmptyListByWeight() {
+    List<List<Integer>> result = ListSplitter.splitListByWeight(Collections.<Integer>emptyList(), Integer::longValue,
+        3);
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  void testSplitListByWeightInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> ListSplitter.splitListByWeight(list, Integer::longValue, 0));
+    assertThrows(IllegalArgumentException.class, () -> ListSplitter.splitListByWeight(list, i -> -1L, 2));
+  }
 }
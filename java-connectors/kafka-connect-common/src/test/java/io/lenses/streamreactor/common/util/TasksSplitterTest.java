@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -62,6 +63,37 @@ class TasksSplitterTest {
     }
   }
 
+  @Test
+  void testSplitTasksByWeightedKcqlStatements() {
+    Map<String, String> props =
+        Map.of(
+            OTHER_KEY, OTHER_VALUE,
+            KCQL_SETTINGS_KEY,
+            "INSERT INTO a SELECT * FROM topicA PROPERTIES('task.weight'=10);"
+                + "INSERT INTO b SELECT * FROM topicB;"
+                + "INSERT INTO c SELECT * FROM topicC PROPERTIES('task.weight'=5);"
+                + "INSERT INTO d SELECT * FROM topicD PROPERTIES('task.weight'=4)"
+        );
+
+    val kcqlSettings = mock(KcqlSettings.class);
+    when(kcqlSettings.getKcqlSettingsKey()).thenReturn(KCQL_SETTINGS_KEY);
+
+    val result =
+        TasksSplitter.splitByWeightedKcqlStatements(2, props, kcqlSettings,
+            TasksSplitter.kcqlPropertyWeigher("task.weight", 1L));
+
+    assertEquals(2, result.size());
+    assertEquals(OTHER_VALUE, result.get(0).get(OTHER_KEY));
+    assertEquals(
+        "INSERT INTO a SELECT * FROM topicA PROPERTIES('task.weight'=10)",
+        result.get(0).get(KCQL_SETTINGS_KEY));
+    assertEquals(
+        "INSERT INTO b SELECT * FROM topicB;"
+            + "INSERT INTO c SELECT * FROM topicC PROPERTIES('task.weight'=5);"
+            + "INSERT INTO d SELECT * FROM topicD PROPERTIES('task.weight'=4)",
+        result.get(1).get(KCQL_SETTINGS_KEY));
+  }
+
   private static Stream<Arguments> testCases() {
     return Stream.of(
         Arguments.of("INSERT INTO * SELECT * FROM topicA", 1, Collections.singletonList(
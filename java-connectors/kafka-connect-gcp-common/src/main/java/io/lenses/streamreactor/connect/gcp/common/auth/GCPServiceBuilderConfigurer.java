@@ -16,12 +16,18 @@
 package io.lenses.streamreactor.connect.gcp.common.auth;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.apache.kafka.common.config.ConfigException;
 import org.threeten.bp.Duration;
 
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.api.gax.retrying.RetrySettings;
 import com.google.cloud.Service;
 import com.google.cloud.ServiceOptions;
@@ -72,6 +78,46 @@ public class GCPServiceBuilderConfigurer {
     return builder;
   }
 
+  /**
+   * Creates a channel pool and scheduled executor to be shared by all gRPC clients of a task, so that many
+   * subscriptions do not each open their own channels and thread pools.
+   *
+   * @param config                 The sizing of the channel pool and executor.
+   * @param channelProviderBuilder Builder carrying the service specific channel settings (endpoint, message size
+   *                               limits, keep-alive), usually the service's default gRPC transport provider builder.
+   * @param threadNamePrefix       Prefix for the names of the executor threads.
+   * @return The shared transport, to be closed by the caller once all clients have been shut down.
+   * @throws IOException if the channel pool cannot be created.
+   */
+  public static GCPSharedTransport createSharedTransport(GCPTransportConfig config,
+      InstantiatingGrpcChannelProvider.Builder channelProviderBuilder, String threadNamePrefix) throws IOException {
+
+    val executor = createExecutor(config.getExecutorThreads(), threadNamePrefix);
+    try {
+      val channelProvider =
+          channelProviderBuilder
+              .setChannelPoolSettings(ChannelPoolSettings.staticallySized(config.getChannelPoolSize()))
+              .setExecutor(executor)
+              .build();
+      val transportChannel =
+          (channelProvider.needsHeaders() ? channelProvider.withHeaders(Collections.emptyMap()) : channelProvider)
+              .getTransportChannel();
+      return new GCPSharedTransport(transportChannel, executor);
+    } catch (IOException | RuntimeException e) {
+      executor.shutdown();
+      throw e;
+    }
+  }
+
+  private static ScheduledExecutorService createExecutor(int threads, String threadNamePrefix) {
+    val threadCount = new AtomicInteger();
+    return Executors.newScheduledThreadPool(threads, runnable -> {
+      val thread = new Thread(runnable, threadNamePrefix + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
   private static RetrySettings createRetrySettings(RetryConfig httpRetryConfig) {
 
     return RetrySettings.newBuilder()
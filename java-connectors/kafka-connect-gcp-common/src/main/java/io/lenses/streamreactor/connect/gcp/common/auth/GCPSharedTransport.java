@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.gcp.common.auth;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.google.api.gax.core.ExecutorProvider;
+import com.google.api.gax.core.FixedExecutorProvider;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
+import com.google.api.gax.rpc.TransportChannel;
+import com.google.api.gax.rpc.TransportChannelProvider;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A gRPC channel pool and scheduled executor created once per task and handed to every client the task builds.
+ * The providers never auto-close, so clients shutting down leave the shared resources alone; they are released by
+ * {@link #close()} once all clients have stopped.
+ */
+@Slf4j
+public class GCPSharedTransport implements AutoCloseable {
+
+  private final TransportChannel transportChannel;
+  private final ScheduledExecutorService executor;
+  private final TransportChannelProvider channelProvider;
+  private final ExecutorProvider executorProvider;
+
+  GCPSharedTransport(TransportChannel transportChannel, ScheduledExecutorService executor) {
+    this.transportChannel = transportChannel;
+    this.executor = executor;
+    this.channelProvider = FixedTransportChannelProvider.create(transportChannel);
+    this.executorProvider = FixedExecutorProvider.create(executor);
+  }
+
+  /**
+   * @return provider handing out the shared channel pool
+   */
+  public TransportChannelProvider getChannelProvider() {
+    return channelProvider;
+  }
+
+  /**
+   * @return provider handing out the shared scheduled executor
+   */
+  public ExecutorProvider getExecutorProvider() {
+    return executorProvider;
+  }
+
+  @Override
+  public void close() {
+    log.info("Closing shared GCP transport");
+    transportChannel.shutdown();
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.gcp.common.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Sizing of the gRPC channel pool and executor shared by all clients of a task. A channel pool size of 0 turns sharing
+ * off, leaving every client to create its own channels and executors.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class GCPTransportConfig {
+
+  public static final int CHANNEL_POOL_SIZE_DEFAULT = 2;
+  public static final int EXECUTOR_THREADS_DEFAULT = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+  @Builder.Default
+  private int channelPoolSize = CHANNEL_POOL_SIZE_DEFAULT;
+
+  @Builder.Default
+  private int executorThreads = EXECUTOR_THREADS_DEFAULT;
+
+  public boolean isShared() {
+    return channelPoolSize > 0;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.gcp.common.config;
+
+import static io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig.CHANNEL_POOL_SIZE_DEFAULT;
+import static io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig.EXECUTOR_THREADS_DEFAULT;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.Importance;
+import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigException;
+
+import cyclops.control.Either;
+import io.lenses.streamreactor.common.config.base.ConfigSettings;
+import io.lenses.streamreactor.common.config.base.model.ConnectorPrefix;
+import io.lenses.streamreactor.common.config.source.ConfigSource;
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Configuration settings for the gRPC channel pool and executor shared by all clients of a task.
+ *
+ * Keys used in configuration:
+ * - {@code gcp.transport.channel.pool.size}: Number of gRPC channels shared by all clients, 0 disables sharing.
+ * - {@code gcp.transport.executor.threads}: Number of threads of the shared scheduled executor.
+ */
+@Getter
+public class GCPTransportSettings implements ConfigSettings<GCPTransportConfig> {
+
+  private final String channelPoolSizeKey;
+  private final String executorThreadsKey;
+
+  /**
+   * Constructs an instance of GCPTransportSettings.
+   *
+   * @param connectorPrefix The prefix used to generate keys for configuration settings.
+   */
+  public GCPTransportSettings(ConnectorPrefix connectorPrefix) {
+    channelPoolSizeKey = connectorPrefix.prefixKey("gcp.transport.channel.pool.size");
+    executorThreadsKey = connectorPrefix.prefixKey("gcp.transport.executor.threads");
+  }
+
+  @Override
+  public ConfigDef withSettings(ConfigDef configDef) {
+    return configDef
+        .define(
+            channelPoolSizeKey,
+            Type.INT,
+            CHANNEL_POOL_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            Importance.LOW,
+            "Number of gRPC channels shared by all subscriptions of a task. Set to 0 to give every subscription"
+                + " its own channels and executors.")
+        .define(
+            executorThreadsKey,
+            Type.INT,
+            EXECUTOR_THREADS_DEFAULT,
+            ConfigDef.Range.atLeast(1),
+            Importance.LOW,
+            "Number of threads of the scheduled executor shared by all subscriptions of a task.");
+  }
+
+  @Override
+  public Either<ConfigException, GCPTransportConfig> parseFromConfig(ConfigSource configSource) {
+    val channelPoolSize = configSource.getInt(channelPoolSizeKey).orElse(CHANNEL_POOL_SIZE_DEFAULT);
+    val executorThreads = configSource.getInt(executorThreadsKey).orElse(EXECUTOR_THREADS_DEFAULT);
+    if (channelPoolSize < 0) {
+      return Either.left(new ConfigException(channelPoolSizeKey, channelPoolSize, "must be 0 or greater"));
+    }
+    if (executorThreads < 1) {
+      return Either.left(new ConfigException(executorThreadsKey, executorThreads, "must be 1 or greater"));
+    }
+    return Either.right(new GCPTransportConfig(channelPoolSize, executorThreads));
+  }
+}
@@ -17,6 +17,8 @@ package io.lenses.streamreactor.connect.gcp.common.auth;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.threeten.bp.Duration;
 
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.api.gax.retrying.RetrySettings;
 import com.google.cloud.NoCredentials;
 import com.google.cloud.ServiceOptions;
@@ -107,6 +110,26 @@ class GCPServiceBuilderConfigurerTest {
     verify(builder, never()).setTransportOptions(any());
   }
 
+  @Test
+  void testCreateSharedTransport_providersHandOutTheSameNonClosingResources() throws IOException {
+    val transportConfig = GCPTransportConfig.builder().channelPoolSize(2).executorThreads(1).build();
+
+    try (val sharedTransport =
+        GCPServiceBuilderConfigurer.createSharedTransport(
+            transportConfig,
+            InstantiatingGrpcChannelProvider.newBuilder().setEndpoint("localhost:8085"),
+            "test-transport")) {
+
+      val channelProvider = sharedTransport.getChannelProvider();
+      val executorProvider = sharedTransport.getExecutorProvider();
+
+      assertSame(channelProvider.getTransportChannel(), channelProvider.getTransportChannel());
+      assertSame(executorProvider.getExecutor(), executorProvider.getExecutor());
+      assertFalse(channelProvider.shouldAutoClose());
+      assertFalse(executorProvider.shouldAutoClose());
+    }
+  }
+
   private TestSvcServiceOptionsBuilder createMockBuilder() {
     return mock(TestSvcServiceOptionsBuilder.class);
   }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.gcp.common.config;
+
+import static io.lenses.streamreactor.test.utils.EitherValues.assertLeft;
+import static io.lenses.streamreactor.test.utils.EitherValues.assertRight;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.lenses.streamreactor.common.config.base.model.ConnectorPrefix;
+import io.lenses.streamreactor.common.config.source.MapConfigSource;
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig;
+import lombok.val;
+
+class GCPTransportSettingsTest {
+
+  private GCPTransportSettings transportSettings;
+
+  @BeforeEach
+  public void setUp() {
+    transportSettings = new GCPTransportSettings(new ConnectorPrefix("test.connector"));
+  }
+
+  @Test
+  void testGenerateKey() {
+    assertEquals("test.connector.gcp.transport.channel.pool.size", transportSettings.getChannelPoolSizeKey());
+    assertEquals("test.connector.gcp.transport.executor.threads", transportSettings.getExecutorThreadsKey());
+  }
+
+  @Test
+  void testWithSettings() {
+    val result = transportSettings.withSettings(new ConfigDef());
+
+    assertTrue(result.configKeys().containsKey(transportSettings.getChannelPoolSizeKey()));
+    assertTrue(result.configKeys().containsKey(transportSettings.getExecutorThreadsKey()));
+  }
+
+  @Test
+  void testParseFromConfig_Defaults() {
+    val transportConfig = transportSettings.parseFromConfig(new MapConfigSource(Map.of()));
+
+    assertRight(transportConfig)
+        .returns(GCPTransportConfig.CHANNEL_POOL_SIZE_DEFAULT, GCPTransportConfig::getChannelPoolSize)
+        .returns(GCPTransportConfig.EXECUTOR_THREADS_DEFAULT, GCPTransportConfig::getExecutorThreads)
+        .returns(true, GCPTransportConfig::isShared);
+  }
+
+  @Test
+  void testParseFromConfig_SharingDisabled() {
+    val transportConfig =
+        transportSettings.parseFromConfig(new MapConfigSource(Map.of(
+            transportSettings.getChannelPoolSizeKey(), 0,
+            transportSettings.getExecutorThreadsKey(), 2)));
+
+    assertRight(transportConfig)
+        .returns(false, GCPTransportConfig::isShared)
+        .returns(2, GCPTransportConfig::getExecutorThreads);
+  }
+
+  @Test
+  void testParseFromConfig_InvalidExecutorThreads() {
+    val transportConfig =
+        transportSettings.parseFromConfig(new MapConfigSource(Map.of(
+            transportSettings.getExecutorThreadsKey(), 0)));
+
+    assertLeft(transportConfig).isInstanceOf(ConfigException.class);
+  }
+}
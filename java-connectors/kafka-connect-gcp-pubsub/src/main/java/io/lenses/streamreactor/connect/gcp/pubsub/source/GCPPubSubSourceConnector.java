@@ -28,10 +28,12 @@ import org.apache.kafka.connect.source.SourceConnector;
 
 import cyclops.control.Either;
 import io.lenses.kcql.Kcql;
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.common.util.TasksSplitter;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.config.PubSubSourceConfig;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubConfigSettings;
+import io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubKcqlConverter;
 
 /**
  * GCPPubSubSourceConnector is a source connector for Google Cloud Pub/Sub.
@@ -72,13 +74,22 @@ public class GCPPubSubSourceConnector extends SourceConnector {
     return GCPPubSubSourceTask.class;
   }
 
+  /**
+   * Distributes subscriptions across tasks so that the summed 'task.weight' KCQL property of each task is balanced.
+   * Subscriptions without an explicit weight count as {@link PubSubKcqlConverter#DEFAULT_TASK_WEIGHT}, so without
+   * any weights configured every task receives the same number of subscriptions.
+   */
   @Override
   public List<Map<String, String>> taskConfigs(int maxTasks) {
-    return TasksSplitter.splitByKcqlStatements(
+    return MetricsRegistrar.withTaskIds(TasksSplitter.splitByWeightedKcqlStatements(
         maxTasks,
         props,
-        PubSubConfigSettings.getKcqlSettings()
-    );
+        PubSubConfigSettings.getKcqlSettings(),
+        TasksSplitter.kcqlPropertyWeigher(
+            PubSubKcqlConverter.KCQL_PROP_KEY_TASK_WEIGHT,
+            PubSubKcqlConverter.DEFAULT_TASK_WEIGHT
+        )
+    ));
   }
 
   @Override
@@ -22,11 +22,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import javax.management.ObjectName;
+
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 
+import io.lenses.streamreactor.common.metrics.MetricsRegistrar;
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import io.lenses.streamreactor.common.util.JarManifest;
 import io.lenses.streamreactor.common.util.MapUtils;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.admin.PubSubService;
@@ -51,10 +55,16 @@ public class GCPPubSubSourceTask extends SourceTask {
 
   private final PubSubConfigSettings pubSubConfigSettings = new PubSubConfigSettings();
 
+  private PubSubService pubSubService;
+
   private PubSubSubscriberManager pubSubSubscriberManager;
 
   private SourceRecordConverter converter;
 
+  private final SourceTaskMetrics metrics = new SourceTaskMetrics();
+
+  private Optional<ObjectName> metricsName = Optional.empty();
+
   @Override
   public String version() {
     return jarManifest.getVersion();
@@ -71,7 +81,7 @@ public class GCPPubSubSourceTask extends SourceTask {
         )
         .forEach(
             sourceConfigSettings -> {
-              val pubSubService = createPubSubService(sourceConfigSettings.getGcpSettings());
+              pubSubService = createPubSubService(sourceConfigSettings.getGcpSettings());
               val pubSubConfig = sourceConfigSettings.getGcpSettings();
               val kcqls = sourceConfigSettings.getKcqlSettings();
               val kcqlConverter = new PubSubKcqlConverter(pubSubService);
@@ -82,7 +92,10 @@ public class GCPPubSubSourceTask extends SourceTask {
                       pubSubService,
                       pubSubConfig.getProjectId(),
                       subscriptionConfigs,
-                      PubSubSubscriber::new);
+                      PubSubSubscriber::new,
+                      metrics);
+              metricsName =
+                  MetricsRegistrar.register(metrics, "pubsub-source", props);
             }
         );
   }
@@ -92,7 +105,8 @@ public class GCPPubSubSourceTask extends SourceTask {
       return new PubSubService(
           pubSubConfig.getAuthMode().orElseThrow(() -> new ConnectException("No AuthMode specified")),
           Optional.ofNullable(pubSubConfig.getProjectId()).orElseThrow(() -> new ConnectException(
-              "No ProjectId specified"))
+              "No ProjectId specified")),
+          pubSubConfig.getTransportConfig()
       );
     } catch (IOException e) {
       throw new ConnectException(e);
@@ -101,12 +115,18 @@ public class GCPPubSubSourceTask extends SourceTask {
 
   @Override
   public List<SourceRecord> poll() {
-    return converter.convertAll(pubSubSubscriberManager.poll());
+    val messages = pubSubSubscriberManager.poll();
+    val records = metrics.timeConversion(() -> converter.convertAll(messages));
+    metrics.recordPolled(records);
+    return records;
   }
 
   @Override
   public void stop() {
     Optional.ofNullable(pubSubSubscriberManager).ifPresent(PubSubSubscriberManager::stop);
+    Optional.ofNullable(pubSubService).ifPresent(PubSubService::close);
+    metricsName.ifPresent(name -> MetricsRegistrar.unregister(name, metrics));
+    metricsName = Optional.empty();
   }
 
   @Override
@@ -116,5 +136,6 @@ public class GCPPubSubSourceTask extends SourceTask {
     val sourceOffset =
         PubSubSourceOffset.fromMap(MapUtils.castMap(sourceRecord.sourceOffset(), String.class, String.class));
     pubSubSubscriberManager.commitRecord(sourcePartition, sourceOffset);
+    metrics.recordAck(sourceRecord);
   }
 }
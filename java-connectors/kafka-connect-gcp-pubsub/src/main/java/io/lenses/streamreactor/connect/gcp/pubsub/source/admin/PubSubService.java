@@ -18,13 +18,19 @@ package io.lenses.streamreactor.connect.gcp.pubsub.source.admin;
 import java.io.IOException;
 import java.util.Optional;
 
+import org.threeten.bp.Duration;
+
 import com.google.cloud.pubsub.v1.MessageReceiver;
 import com.google.cloud.pubsub.v1.Subscriber;
 import com.google.cloud.pubsub.v1.SubscriptionAdminClient;
 import com.google.cloud.pubsub.v1.SubscriptionAdminSettings;
+import com.google.cloud.pubsub.v1.stub.SubscriberStubSettings;
 import com.google.pubsub.v1.ProjectSubscriptionName;
 import com.google.pubsub.v1.SubscriptionName;
 
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPServiceBuilderConfigurer;
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPSharedTransport;
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig;
 import io.lenses.streamreactor.connect.gcp.common.auth.mode.AuthMode;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -33,18 +39,33 @@ import lombok.extern.slf4j.Slf4j;
  * PubSubService manages the remote PubSub resources and provides methods to create a subscriber and look up topic name.
  */
 @Slf4j
-public class PubSubService {
+public class PubSubService implements AutoCloseable {
+
+  // matches the limit the Subscriber applies to the channels it creates itself
+  private static final int MAX_INBOUND_MESSAGE_SIZE = 20 * 1024 * 1024;
 
   private final SubscriptionAdminClient subscriptionAdminClient;
 
+  private final Optional<GCPSharedTransport> sharedTransport;
+
   private final AuthMode authMode;
 
   private final String projectId;
 
   public PubSubService(final AuthMode authMode, final String projectId) throws IOException {
+    this(authMode, projectId, GCPTransportConfig.builder().channelPoolSize(0).build());
+  }
+
+  /**
+   * Creates a PubSubService whose subscribers share one channel pool and executor, unless sharing is disabled by the
+   * transport config.
+   */
+  public PubSubService(final AuthMode authMode, final String projectId, final GCPTransportConfig transportConfig)
+      throws IOException {
     this.authMode = authMode;
     this.projectId = projectId;
     this.subscriptionAdminClient = createSubscriptionAdminClient(authMode);
+    this.sharedTransport = createSharedTransport(transportConfig);
   }
 
   public PubSubService(final AuthMode authMode, final String projectId,
@@ -52,6 +73,7 @@ public class PubSubService {
     this.authMode = authMode;
     this.projectId = projectId;
     this.subscriptionAdminClient = subscriptionAdminClient;
+    this.sharedTransport = Optional.empty();
   }
 
   public Subscriber createSubscriber(
@@ -60,9 +82,29 @@ public class PubSubService {
   ) {
     val subscriberBuilder = Subscriber.newBuilder(createProjectSubscriptionName(subscriptionId), receiver);
     Optional.ofNullable(authMode).ifPresent(e -> subscriberBuilder.setCredentialsProvider(e::getCredentials));
+    sharedTransport.ifPresent(transport -> subscriberBuilder
+        .setChannelProvider(transport.getChannelProvider())
+        .setExecutorProvider(transport.getExecutorProvider())
+        .setSystemExecutorProvider(transport.getExecutorProvider()));
     return subscriberBuilder.build();
   }
 
+  private static Optional<GCPSharedTransport> createSharedTransport(final GCPTransportConfig transportConfig)
+      throws IOException {
+    if (!transportConfig.isShared()) {
+      return Optional.empty();
+    }
+    log.info("Sharing {} gRPC channels and {} executor threads across subscribers",
+        transportConfig.getChannelPoolSize(), transportConfig.getExecutorThreads());
+    return Optional.of(GCPServiceBuilderConfigurer.createSharedTransport(
+        transportConfig,
+        SubscriberStubSettings.defaultGrpcTransportProviderBuilder()
+            .setEndpoint(SubscriberStubSettings.getDefaultEndpoint())
+            .setMaxInboundMessageSize(MAX_INBOUND_MESSAGE_SIZE)
+            .setKeepAliveTime(Duration.ofMinutes(5)),
+        "pubsub-subscriber"));
+  }
+
   private SubscriptionAdminClient createSubscriptionAdminClient(final AuthMode authMode) throws IOException {
     val settingsBuilder = SubscriptionAdminSettings.newBuilder();
     Optional.ofNullable(authMode).ifPresent(e -> settingsBuilder.setCredentialsProvider(e::getCredentials));
@@ -83,4 +125,12 @@ public class PubSubService {
     return ProjectSubscriptionName.of(projectId, subscriptionId);
   }
 
+  /**
+   * Releases the shared transport, if any. Subscribers must have been stopped first.
+   */
+  @Override
+  public void close() {
+    sharedTransport.ifPresent(GCPSharedTransport::close);
+  }
+
 }
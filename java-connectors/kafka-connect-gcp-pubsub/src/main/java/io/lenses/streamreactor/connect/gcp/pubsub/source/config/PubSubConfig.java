@@ -17,6 +17,7 @@ package io.lenses.streamreactor.connect.gcp.pubsub.source.config;
 
 import java.util.Optional;
 
+import io.lenses.streamreactor.connect.gcp.common.auth.GCPTransportConfig;
 import io.lenses.streamreactor.connect.gcp.common.auth.mode.AuthMode;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.MappingConfig;
 import lombok.AllArgsConstructor;
@@ -24,7 +25,7 @@ import lombok.Getter;
 
 /**
  * PubSubConfig holds the configuration for the PubSub connector.
- * It contains the projectId, authMode and mappingConfig.
+ * It contains the projectId, authMode, mappingConfig and the sizing of the transport shared by all subscriptions.
  */
 @Getter
 @AllArgsConstructor
@@ -36,6 +37,12 @@ public class PubSubConfig {
 
   private final MappingConfig mappingConfig;
 
+  private final GCPTransportConfig transportConfig;
+
+  public PubSubConfig(String projectId, AuthMode authMode, MappingConfig mappingConfig) {
+    this(projectId, authMode, mappingConfig, GCPTransportConfig.builder().build());
+  }
+
   public Optional<AuthMode> getAuthMode() {
     return Optional.ofNullable(authMode);
   }
@@ -19,6 +19,7 @@ import static io.lenses.streamreactor.common.util.EitherUtils.combineErrors;
 import static io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubKcqlConverter.KCQL_PROP_KEY_BATCH_SIZE;
 import static io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubKcqlConverter.KCQL_PROP_KEY_CACHE_TTL;
 import static io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubKcqlConverter.KCQL_PROP_KEY_QUEUE_MAX;
+import static io.lenses.streamreactor.connect.gcp.pubsub.source.configdef.PubSubKcqlConverter.KCQL_PROP_KEY_TASK_WEIGHT;
 
 import java.util.List;
 
@@ -48,9 +49,34 @@ public class PubSubSourceConfig {
             .map(k -> k.validateKcqlProperties(
                 KCQL_PROP_KEY_BATCH_SIZE,
                 KCQL_PROP_KEY_CACHE_TTL,
-                KCQL_PROP_KEY_QUEUE_MAX
+                KCQL_PROP_KEY_QUEUE_MAX,
+                KCQL_PROP_KEY_TASK_WEIGHT
             )
+                .flatMap(PubSubSourceConfig::validateTaskWeight)
             )
     );
   }
+
+  private static Either<IllegalArgumentException, Kcql> validateTaskWeight(Kcql kcql) {
+    return kcql
+        .extractOptionalProperty(KCQL_PROP_KEY_TASK_WEIGHT)
+        .filter(weight -> !isNonNegativeLong(weight))
+        .<Either<IllegalArgumentException, Kcql>>map(weight -> Either.left(new IllegalArgumentException(
+            String.format(
+                "'%s' for subscription `%s` must be a non-negative whole number but was `%s`.",
+                KCQL_PROP_KEY_TASK_WEIGHT,
+                kcql.getSource(),
+                weight
+            )
+        )))
+        .orElseGet(() -> Either.right(kcql));
+  }
+
+  private static boolean isNonNegativeLong(String value) {
+    try {
+      return Long.parseLong(value) >= 0;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
 }
@@ -33,10 +33,13 @@ public class PubSubKcqlConverter extends KcqlConverter<PubSubSubscription> {
   // 1 hour
   public static final long DEFAULT_CACHE_TTL_MILLIS = 3600L * 1000L;
   public static final int DEFAULT_CACHE_MAX = 10000;
+  public static final long DEFAULT_TASK_WEIGHT = 1L;
 
   public static final String KCQL_PROP_KEY_BATCH_SIZE = "batch.size";
   public static final String KCQL_PROP_KEY_CACHE_TTL = "cache.ttl";
   public static final String KCQL_PROP_KEY_QUEUE_MAX = "queue.max";
+  // relative load of the subscription, used to balance subscriptions across tasks
+  public static final String KCQL_PROP_KEY_TASK_WEIGHT = "task.weight";
 
   private final PubSubService pubSubService;
 
@@ -46,7 +49,8 @@ public class PubSubKcqlConverter extends KcqlConverter<PubSubSubscription> {
 
   public PubSubSubscription convert(Kcql source) throws ConfigException {
     try {
-      source.validateKcqlProperties(KCQL_PROP_KEY_BATCH_SIZE, KCQL_PROP_KEY_CACHE_TTL, KCQL_PROP_KEY_QUEUE_MAX);
+      source.validateKcqlProperties(KCQL_PROP_KEY_BATCH_SIZE, KCQL_PROP_KEY_CACHE_TTL, KCQL_PROP_KEY_QUEUE_MAX,
+          KCQL_PROP_KEY_TASK_WEIGHT);
     } catch (IllegalArgumentException e) {
       throw new ConfigException("Invalid KCQL properties", e);
     }
@@ -25,6 +25,7 @@ import io.lenses.streamreactor.common.config.base.ConfigSettings;
 import io.lenses.streamreactor.common.config.base.model.ConnectorPrefix;
 import io.lenses.streamreactor.common.config.source.ConfigSource;
 import io.lenses.streamreactor.connect.gcp.common.config.AuthModeSettings;
+import io.lenses.streamreactor.connect.gcp.common.config.GCPTransportSettings;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.config.PubSubConfig;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.mapping.MappingConfig;
 import lombok.Getter;
@@ -44,6 +45,8 @@ public class PubSubSettings implements ConfigSettings<PubSubConfig> {
 
   private final AuthModeSettings authModeSettings;
 
+  private final GCPTransportSettings transportSettings;
+
   /**
    * Constructs a new instance of {@code GCPSettings} with the specified connector prefix.
    *
@@ -53,6 +56,7 @@ public class PubSubSettings implements ConfigSettings<PubSubConfig> {
     gcpProjectIdKey = connectorPrefix.prefixKey("gcp.project.id");
     outputModeKey = connectorPrefix.prefixKey("output.mode");
     authModeSettings = new AuthModeSettings(connectorPrefix);
+    transportSettings = new GCPTransportSettings(connectorPrefix);
   }
 
   /**
@@ -78,17 +82,19 @@ public class PubSubSettings implements ConfigSettings<PubSubConfig> {
                 ConfigDef.Importance.HIGH,
                 "Output Mode (options are DEFAULT or COMPATIBILITY)");
 
-    return authModeSettings.withSettings(conf);
+    return transportSettings.withSettings(authModeSettings.withSettings(conf));
   }
 
   public Either<ConfigException, PubSubConfig> parseFromConfig(ConfigSource configSource) {
     return authModeSettings.parseFromConfig(configSource)
-        .map(
-            authMode -> new PubSubConfig(
-                configSource.getString(gcpProjectIdKey).orElse(null),
-                authMode,
-                MappingConfig.fromOutputMode(configSource.getString(outputModeKey).orElse(OUTPUT_MODE_DEFAULT))
-            ));
+        .flatMap(authMode -> transportSettings.parseFromConfig(configSource)
+            .map(
+                transportConfig -> new PubSubConfig(
+                    configSource.getString(gcpProjectIdKey).orElse(null),
+                    authMode,
+                    MappingConfig.fromOutputMode(configSource.getString(outputModeKey).orElse(OUTPUT_MODE_DEFAULT)),
+                    transportConfig
+                )));
 
   }
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -109,6 +110,13 @@ public class PubSubSubscriber {
         .collect(Collectors.toUnmodifiableList());
   }
 
+  /**
+   * Number of messages received from GCP and waiting to be polled.
+   */
+  public int queueSize() {
+    return messageQueue.size();
+  }
+
   public void acknowledge(String messageId) {
     log.trace("Sending acknowledgement for {}}", messageId);
     Optional
@@ -123,4 +131,18 @@ public class PubSubSubscriber {
     gcpSubscriber.stopAsync();
   }
 
+  /**
+   * Waits for the subscriber to finish shutting down, so that outstanding messages are nacked before the channels it
+   * uses are closed.
+   *
+   * @param timeoutMillis maximum time to wait
+   */
+  public void awaitTerminated(long timeoutMillis) {
+    try {
+      gcpSubscriber.awaitTerminated(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | IllegalStateException e) {
+      log.warn("Subscriber for {} did not terminate cleanly", sourcePartition.getSubscriptionId(), e);
+    }
+  }
+
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import io.lenses.streamreactor.common.metrics.SourceTaskMetrics;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.admin.PubSubService;
 import io.lenses.streamreactor.connect.gcp.pubsub.source.config.PubSubSubscription;
 import lombok.val;
@@ -30,17 +31,32 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PubSubSubscriberManager {
 
+  private static final long STOP_TIMEOUT_MILLIS = 10_000L;
+
   /**
    * Map of Subscribers. The key is the subscriptionId.
    */
   private final Map<String, PubSubSubscriber> subscribers;
 
+  private final SourceTaskMetrics metrics;
+
   public PubSubSubscriberManager(
       PubSubService pubSubService,
       String projectId,
       List<PubSubSubscription> subscriptionConfigs,
       SubscriberCreator subscriberCreator
   ) {
+    this(pubSubService, projectId, subscriptionConfigs, subscriberCreator, new SourceTaskMetrics());
+  }
+
+  public PubSubSubscriberManager(
+      PubSubService pubSubService,
+      String projectId,
+      List<PubSubSubscription> subscriptionConfigs,
+      SubscriberCreator subscriberCreator,
+      SourceTaskMetrics metrics
+  ) {
+    this.metrics = metrics;
     log.info("Starting PubSubSubscriberManager for {} subscriptions", subscriptionConfigs.size());
     subscribers =
         subscriptionConfigs
@@ -59,6 +75,8 @@ public class PubSubSubscriberManager {
             .flatMap(pubSubSubscriber -> pubSubSubscriber.getMessages().stream())
             .collect(Collectors.toList());
     log.debug("Polled {} messages from all partitions", subs.size());
+    metrics.recordPoll(subs.size());
+    metrics.updateQueueDepth(subscribers.values().stream().mapToLong(PubSubSubscriber::queueSize).sum());
     return subs;
   }
 
@@ -75,6 +93,7 @@ public class PubSubSubscriberManager {
   public void stop() {
     log.info("Stopping PubSubSubscriberManager");
     subscribers.values().forEach(PubSubSubscriber::stopAsync);
+    subscribers.values().forEach(subscriber -> subscriber.awaitTerminated(STOP_TIMEOUT_MILLIS));
   }
 
 }
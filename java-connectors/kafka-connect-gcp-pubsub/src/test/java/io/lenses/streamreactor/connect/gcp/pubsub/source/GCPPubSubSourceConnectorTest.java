@@ -56,4 +56,17 @@ class GCPPubSubSourceConnectorTest {
         .hasMessage("Missing required configuration \"connect.pubsub.kcql\" which has no default value.");
 
   }
+
+  @Test
+  void startWithInvalidTaskWeightThrowsConfigException() {
+
+    val props =
+        Map.of("connect.pubsub.kcql", "insert into blah select * from blee PROPERTIES('task.weight'='heavy')");
+
+    assertThatThrownBy(() -> target.start(props))
+        .isInstanceOf(ConfigException.class)
+        .hasMessageContaining("task.weight")
+        .hasMessageContaining("blee");
+
+  }
 }
@@ -16,6 +16,7 @@
 package io.lenses.streamreactor.connect.gcp.pubsub.source.subscriber;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -121,6 +122,8 @@ class PubSubSubscriberManagerTest {
 
     verify(pubSubSubscriber1).stopAsync();
     verify(pubSubSubscriber2).stopAsync();
+    verify(pubSubSubscriber1).awaitTerminated(anyLong());
+    verify(pubSubSubscriber2).awaitTerminated(anyLong());
   }
 
   private PubSubSubscription mockSubscriberCreator(PubSubSubscriber pubSubSubscriber, String id) {
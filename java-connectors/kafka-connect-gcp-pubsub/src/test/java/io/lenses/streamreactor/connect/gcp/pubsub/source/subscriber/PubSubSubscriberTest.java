@@ -18,6 +18,7 @@ package io.lenses.streamreactor.connect.gcp.pubsub.source.subscriber;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -29,6 +30,8 @@ import static org.mockito.Mockito.when;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -164,6 +167,17 @@ class PubSubSubscriberTest {
     verify(gcpSubscriber, times(1)).stopAsync();
   }
 
+  @Test
+  void testAwaitTerminatedShouldNotThrowWhenSubscriberTimesOut() throws TimeoutException {
+    PubSubSubscriber subscriber = createPubSubSubscriber();
+    reset(gcpSubscriber);
+    doThrow(new TimeoutException()).when(gcpSubscriber).awaitTerminated(100L, TimeUnit.MILLISECONDS);
+
+    subscriber.awaitTerminated(100L);
+
+    verify(gcpSubscriber, times(1)).awaitTerminated(100L, TimeUnit.MILLISECONDS);
+  }
+
   private PubSubSubscriber createPubSubSubscriber() {
     return new PubSubSubscriber(pubSubService, "project-id", subscription);
   }
@@ -59,6 +59,16 @@ object S3ConfigSettings {
   val S3_BUCKET_DOC: String =
     "Specify the S3 bucket, and optionally, a prefix, where Kafka consumer group offsets will be stored."
 
+  val CONSUMER_GROUPS_FLUSH_INTERVAL: String = s"$CONNECTOR_PREFIX.offsets.flush.interval"
+  val CONSUMER_GROUPS_FLUSH_INTERVAL_DOC: String =
+    "The time in milliseconds the consumer group offsets are kept in memory before they are uploaded. Only the latest offset of a group/topic/partition is uploaded. The offsets are always uploaded before Connect commits the records."
+  val CONSUMER_GROUPS_FLUSH_INTERVAL_DEFAULT: Long = 1000L
+
+  val CONSUMER_GROUPS_UPLOAD_PARALLELISM: String = s"$CONNECTOR_PREFIX.offsets.upload.parallelism"
+  val CONSUMER_GROUPS_UPLOAD_PARALLELISM_DOC: String =
+    "The maximum number of consumer group offsets uploaded at once."
+  val CONSUMER_GROUPS_UPLOAD_PARALLELISM_DEFAULT: Int = 8
+
   val LOG_METRICS_CONFIG: String = s"$CONNECTOR_PREFIX.log.metrics"
   val LOG_METRICS_DOC: String =
     "If true, the connector will log metrics to the logger.  This is useful for debugging and performance tuning."
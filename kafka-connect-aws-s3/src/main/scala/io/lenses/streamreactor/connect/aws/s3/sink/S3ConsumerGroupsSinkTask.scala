@@ -26,7 +26,10 @@ import io.lenses.streamreactor.connect.aws.s3.storage.AwsS3Uploader
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskIdCreator
 import io.lenses.streamreactor.connect.cloud.common.consumers.ConsumerGroupsWriter
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import io.lenses.streamreactor.connect.cloud.common.utils.MapUtils
+import org.apache.kafka.clients.consumer.OffsetAndMetadata
 import org.apache.kafka.common.{ TopicPartition => KafkaTopicPartition }
 import org.apache.kafka.connect.sink.SinkRecord
 import org.apache.kafka.connect.sink.SinkTask
@@ -63,7 +66,7 @@ class S3ConsumerGroupsSinkTask extends SinkTask with ErrorHandler with JarManife
       config   <- S3ConsumerGroupsSinkConfig.fromProps(props)
       s3Client <- AwsS3ClientCreator.make(config.config)
       uploader  = new AwsS3Uploader(s3Client, taskId)
-    } yield new ConsumerGroupsWriter(config.location, uploader, taskId) -> taskId) match {
+    } yield new ConsumerGroupsWriter(config.location, uploader, taskId, config.writerOptions) -> taskId) match {
       case Left(value) => throw value
       case Right((writer, taskId)) =>
         writerManager   = writer
@@ -82,6 +85,18 @@ class S3ConsumerGroupsSinkTask extends SinkTask with ErrorHandler with JarManife
       case Right(_) => ()
     }
 
+  // the offsets held in memory are uploaded before Connect commits the records they came from
+  override def flush(currentOffsets: util.Map[KafkaTopicPartition, OffsetAndMetadata]): Unit =
+    Option(writerManager).map(_.flush()) match {
+      case Some(Left(ex)) =>
+        logger.error(s"[{}] Failed to write offsets to S3",
+                     Option(connectorTaskId).map(_.show).getOrElse("Unnamed"),
+                     ex,
+        )
+        throw ex
+      case _ => ()
+    }
+
   override def close(partitions: util.Collection[KafkaTopicPartition]): Unit = {
     logger.debug(
       "[{}] S3ConsumerGroupsSinkTask.close with {} partitions",
@@ -89,7 +104,10 @@ class S3ConsumerGroupsSinkTask extends SinkTask with ErrorHandler with JarManife
       partitions.size(),
     )
 
-    Option(writerManager).foreach(_.close())
+    // the revoked partitions are replayed by their new owner, so their pending offsets are not uploaded from here
+    Option(writerManager).foreach(
+      _.drop(partitions.asScala.map(tp => TopicPartition(Topic(tp.topic), tp.partition)).toSet),
+    )
   }
 
   override def stop(): Unit = {
@@ -19,10 +19,14 @@ import io.lenses.streamreactor.connect.aws.s3.config.S3ConfigSettings._
 import io.lenses.streamreactor.connect.aws.s3.config._
 import io.lenses.streamreactor.connect.cloud.common.config.PropertiesHelper
 import io.lenses.streamreactor.connect.cloud.common.consumers.CloudObjectKey
+import io.lenses.streamreactor.connect.cloud.common.consumers.ConsumerGroupsWriterOptions
+
+import scala.concurrent.duration.DurationLong
 
 case class S3ConsumerGroupsSinkConfig(
-  location: CloudObjectKey,
-  config:   S3ConnectionConfig,
+  location:      CloudObjectKey,
+  config:        S3ConnectionConfig,
+  writerOptions: ConsumerGroupsWriterOptions = ConsumerGroupsWriterOptions.Default,
 )
 
 object S3ConsumerGroupsSinkConfig extends PropertiesHelper {
@@ -43,10 +47,18 @@ object S3ConsumerGroupsSinkConfig extends PropertiesHelper {
       bucketAndPrefix <- getStringEither(props, S3_BUCKET_CONFIG)
       bucket          <- CloudObjectKey.from(bucketAndPrefix)
       _               <- AuthMode.withNameInsensitiveEither(getString(props, AUTH_MODE).getOrElse(AuthMode.Default.toString))
+      writerOptions   <- writerOptionsFrom(props)
     } yield {
       S3ConsumerGroupsSinkConfig(
         bucket,
         S3ConnectionConfig(props),
+        writerOptions,
       )
     }
+
+  private def writerOptionsFrom(props: Map[String, _]): Either[Throwable, ConsumerGroupsWriterOptions] =
+    for {
+      flushInterval     <- getLongEither(props, CONSUMER_GROUPS_FLUSH_INTERVAL)
+      uploadParallelism <- getIntEither(props, CONSUMER_GROUPS_UPLOAD_PARALLELISM)
+    } yield ConsumerGroupsWriterOptions(flushInterval.millis, uploadParallelism)
 }
@@ -113,6 +113,22 @@ object S3ConsumerGroupsSinkConfigDef {
       Importance.LOW,
       POOL_MAX_CONNECTIONS_DOC,
     )
+    .define(
+      CONSUMER_GROUPS_FLUSH_INTERVAL,
+      Type.LONG,
+      CONSUMER_GROUPS_FLUSH_INTERVAL_DEFAULT,
+      ConfigDef.Range.atLeast(0),
+      Importance.LOW,
+      CONSUMER_GROUPS_FLUSH_INTERVAL_DOC,
+    )
+    .define(
+      CONSUMER_GROUPS_UPLOAD_PARALLELISM,
+      Type.INT,
+      CONSUMER_GROUPS_UPLOAD_PARALLELISM_DEFAULT,
+      ConfigDef.Range.atLeast(1),
+      Importance.LOW,
+      CONSUMER_GROUPS_UPLOAD_PARALLELISM_DOC,
+    )
 }
 
 case class S3ConsumerGroupsSinkConfigDef(props: Map[String, String])
@@ -26,7 +26,9 @@ import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.Schema
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
 
 import scala.util.Try
 
@@ -55,7 +57,9 @@ object S3SinkConfig extends PropsToConfigConverter[S3SinkConfig] {
       sinkBucketOptions   <- CloudSinkBucketOptions(connectorTaskId, s3ConfigDefBuilder)
       indexOptions         = s3ConfigDefBuilder.getIndexSettings
       logMetrics           = s3ConfigDefBuilder.getBoolean(LOG_METRICS_CONFIG)
-      schemaChangeDetector = s3ConfigDefBuilder.schemaChangeDetector(),
+      schemaChangeDetector = s3ConfigDefBuilder.schemaChangeDetector()
+      writerBudget         = s3ConfigDefBuilder.getWriterBudget
+      compactionOptions    = s3ConfigDefBuilder.getCompactionOptions
     } yield S3SinkConfig(
       S3ConnectionConfig(s3ConfigDefBuilder.getParsedValues),
       sinkBucketOptions,
@@ -66,6 +70,8 @@ object S3SinkConfig extends PropsToConfigConverter[S3SinkConfig] {
       connectorRetryConfig = s3ConfigDefBuilder.getRetryConfig,
       logMetrics           = logMetrics,
       schemaChangeDetector = schemaChangeDetector,
+      writerBudget         = writerBudget,
+      compactionOptions    = compactionOptions,
     )
 
 }
@@ -80,4 +86,6 @@ case class S3SinkConfig(
   connectorRetryConfig: RetryConfig,
   logMetrics:           Boolean,
   schemaChangeDetector: SchemaChangeDetector,
+  writerBudget:         WriterBudget              = WriterBudget.Unlimited,
+  compactionOptions:    Option[CompactionOptions] = None,
 ) extends CloudSinkConfig[S3ConnectionConfig]
@@ -20,9 +20,11 @@ import io.lenses.streamreactor.connect.aws.s3.config._
 import io.lenses.streamreactor.connect.aws.s3.config.processors.kcql.DeprecationConfigDefProcessor
 import io.lenses.streamreactor.connect.cloud.common.config.CloudConfigDef
 import io.lenses.streamreactor.connect.cloud.common.config.IndexConfigKeys
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionConfigKeys
 import io.lenses.streamreactor.connect.cloud.common.sink.config.FlushConfigKeys
 import io.lenses.streamreactor.connect.cloud.common.sink.config.LocalStagingAreaConfigKeys
 import io.lenses.streamreactor.connect.cloud.common.sink.config.SchemaChangeConfigKeys
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudgetConfigKeys
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingStrategyConfigKeys
 import org.apache.kafka.common.config.ConfigDef
 import org.apache.kafka.common.config.ConfigDef.Importance
@@ -34,7 +36,9 @@ object S3SinkConfigDef
     with LocalStagingAreaConfigKeys
     with PaddingStrategyConfigKeys
     with IndexConfigKeys
-    with SchemaChangeConfigKeys {
+    with SchemaChangeConfigKeys
+    with WriterBudgetConfigKeys
+    with CompactionConfigKeys {
 
   override def connectorPrefix: String = CONNECTOR_PREFIX
 
@@ -52,6 +56,8 @@ object S3SinkConfigDef
     addPaddingToConfigDef(configDef)
     addIndexSettingsToConfigDef(configDef)
     withSchemaChangeConfig(configDef)
+    withWriterBudgetConfig(configDef)
+    withCompactionConfig(configDef)
   }
 
 }
@@ -23,8 +23,10 @@ import io.lenses.streamreactor.connect.cloud.common.config.traits.CloudSourceCon
 import io.lenses.streamreactor.connect.cloud.common.config.traits.PropsToConfigConverter
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
 import io.lenses.streamreactor.connect.cloud.common.source.config.CloudSourceBucketOptions
 import io.lenses.streamreactor.connect.cloud.common.source.config.EmptySourceBackoffSettings
+import io.lenses.streamreactor.connect.cloud.common.source.config.FileNotificationSettings
 import io.lenses.streamreactor.connect.cloud.common.source.config.PartitionSearcherOptions
 import io.lenses.streamreactor.connect.cloud.common.storage.ExtensionFilter
 
@@ -48,7 +50,8 @@ object S3SourceConfig extends PropsToConfigConverter[S3SourceConfig] {
         s3ConfigDefBuilder,
         s3ConfigDefBuilder.getPartitionExtractor(parsedValues),
       )
-      backoff = s3ConfigDefBuilder.getEmptySourceBackoffSettings(parsedValues)
+      backoff             = s3ConfigDefBuilder.getEmptySourceBackoffSettings(parsedValues)
+      checkpointLocation <- s3ConfigDefBuilder.getListingCheckpointLocation(parsedValues)
     } yield S3SourceConfig(
       S3ConnectionConfig(parsedValues),
       sbo,
@@ -58,6 +61,11 @@ object S3SourceConfig extends PropsToConfigConverter[S3SourceConfig] {
       s3ConfigDefBuilder.getSourceExtensionFilter,
       backoff,
       s3ConfigDefBuilder.getWriteWatermarkToHeaders,
+      s3ConfigDefBuilder.getPollParallelism(parsedValues),
+      s3ConfigDefBuilder.getListingCheckpointEnabled(parsedValues),
+      s3ConfigDefBuilder.getFileNotificationSettings(parsedValues),
+      s3ConfigDefBuilder.getFileSplitSize(parsedValues),
+      checkpointLocation,
     )
 
   }
@@ -73,4 +81,9 @@ case class S3SourceConfig(
   extensionFilter:            Option[ExtensionFilter],
   emptySourceBackoffSettings: EmptySourceBackoffSettings,
   writeWatermarkToHeaders:    Boolean,
+  pollParallelism:            Int = 1,
+  listingCheckpointEnabled:   Boolean = false,
+  fileNotifications:          FileNotificationSettings = FileNotificationSettings.Disabled,
+  fileSplitSize:              Long = 0L,
+  listingCheckpointLocation:  CheckpointLocation = CheckpointLocation.Default,
 ) extends CloudSourceConfig[S3FileMetadata]
@@ -33,5 +33,9 @@ object S3SourceConfigDef extends S3CommonConfigDef with CloudSourceSettingsKeys
     addSourceFilteringSettings(settings)
     addSourceEmptyResultsBackoffSettings(settings)
     addSourceWatermarkSettings(settings)
+    addSourcePollSettings(settings)
+    addSourceListingCheckpointSettings(settings)
+    addSourceNotificationSettings(settings)
+    addSourceSplitSettings(settings)
   }
 }
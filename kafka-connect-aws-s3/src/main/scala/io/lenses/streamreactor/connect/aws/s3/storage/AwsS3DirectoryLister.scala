@@ -16,7 +16,7 @@
 package io.lenses.streamreactor.connect.aws.s3.storage
 
 import cats.effect.IO
-import cats.implicits._
+import cats.effect.std.Semaphore
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
@@ -31,10 +31,11 @@ class AwsS3DirectoryLister(connectorTaskId: ConnectorTaskId, s3Client: S3Client)
     with DirectoryLister {
 
   private val listObjectsF: ListObjectsV2Request => IO[Iterator[ListObjectsV2Response]] = e =>
-    IO(s3Client.listObjectsV2Paginator(e).iterator().asScala)
+    IO.blocking(s3Client.listObjectsV2Paginator(e).iterator().asScala)
 
   /**
     * @param wildcardExcludes allows ignoring paths containing certain strings.  Mainly it is used to prevent us from reading anything inside the .indexes key prefix, as these should be ignored by the source.
+    * @param parallelism the maximum number of prefixes listed at once.
     */
   override def findDirectories(
     bucketAndPrefix:  CloudLocation,
@@ -42,11 +43,38 @@ class AwsS3DirectoryLister(connectorTaskId: ConnectorTaskId, s3Client: S3Client)
     recurseLevels:    Int,
     exclude:          Set[String],
     wildcardExcludes: Set[String],
+    parallelism:      Int,
+  ): IO[Set[String]] =
+    Semaphore[IO](math.max(parallelism, 1).toLong).flatMap { permits =>
+      walk(bucketAndPrefix, filesLimit, recurseLevels, exclude, wildcardExcludes, permits)
+    }
+
+  /**
+    * Lists one level of prefixes and then the levels below it. Every sibling prefix is walked on its own fiber, but a
+    * prefix is only listed while holding one of the permits, which bounds the requests in flight for the whole search.
+    */
+  private def walk(
+    bucketAndPrefix:  CloudLocation,
+    filesLimit:       Int,
+    recurseLevels:    Int,
+    exclude:          Set[String],
+    wildcardExcludes: Set[String],
+    permits:          Semaphore[IO],
   ): IO[Set[String]] =
     for {
-      iterator   <- listObjects(filesLimit, bucketAndPrefix)
-      prefixInfo <- extractPrefixesFromResponse(iterator, exclude, wildcardExcludes, recurseLevels)
-      flattened  <- flattenPrefixes(bucketAndPrefix, filesLimit, prefixInfo, recurseLevels, exclude, wildcardExcludes)
+      prefixInfo <- permits.permit.surround(
+        listObjects(filesLimit, bucketAndPrefix).flatMap(
+          extractPrefixesFromResponse(_, exclude, wildcardExcludes, recurseLevels),
+        ),
+      )
+      flattened <- flattenPrefixes(bucketAndPrefix,
+                                   filesLimit,
+                                   prefixInfo,
+                                   recurseLevels,
+                                   exclude,
+                                   wildcardExcludes,
+                                   permits,
+      )
     } yield flattened
 
   private def listObjects(filesLimit: Int, bucketAndPrefix: CloudLocation): IO[Iterator[ListObjectsV2Response]] = {
@@ -77,13 +105,13 @@ class AwsS3DirectoryLister(connectorTaskId: ConnectorTaskId, s3Client: S3Client)
     recurseLevels:    Int,
     exclude:          Set[String],
     wildcardExcludes: Set[String],
+    permits:          Semaphore[IO],
   ): IO[Set[String]] =
     if (recurseLevels <= 0) IO.delay(prefixes)
     else {
-      prefixes.map(bucketAndPrefix.fromRoot).toList
-        .traverse((bucketAndPrefix: CloudLocation) =>
-          findDirectories(bucketAndPrefix, filesLimit, recurseLevels - 1, exclude, wildcardExcludes),
-        )
+      IO.parTraverse(prefixes.map(bucketAndPrefix.fromRoot).toList) { (location: CloudLocation) =>
+        walk(location, filesLimit, recurseLevels - 1, exclude, wildcardExcludes, permits)
+      }
         .map { result =>
           result.foldLeft(Set.empty[String])(_ ++ _)
         }
@@ -95,7 +123,7 @@ class AwsS3DirectoryLister(connectorTaskId: ConnectorTaskId, s3Client: S3Client)
     wildcardExcludes: Set[String],
     levelsToRecurse:  Int,
   ): IO[Set[String]] =
-    IO {
+    IO.blocking {
       val paths = iterator.foldLeft(Set.empty[String]) {
         case (acc, listResp) =>
           val commonPrefixesFiltered =
@@ -29,9 +29,11 @@ import io.lenses.streamreactor.connect.cloud.common.storage.FileMoveError
 import io.lenses.streamreactor.connect.cloud.common.storage.ListOfKeysResponse
 import io.lenses.streamreactor.connect.cloud.common.storage.ListOfMetadataResponse
 import io.lenses.streamreactor.connect.cloud.common.storage.ListResponse
+import io.lenses.streamreactor.connect.cloud.common.storage.PreconditionFailedError
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
 import io.lenses.streamreactor.connect.cloud.common.storage.UploadFailedError
+import io.lenses.streamreactor.connect.cloud.common.storage.VersionedString
 import org.apache.commons.io.IOUtils
 import software.amazon.awssdk.core.ResponseInputStream
 import software.amazon.awssdk.core.sync.RequestBody
@@ -46,6 +48,7 @@ import scala.jdk.CollectionConverters.ListHasAsScala
 import scala.util.Failure
 import scala.util.Success
 import scala.util.Try
+import scala.util.Using
 
 class AwsS3StorageInterface(
   connectorTaskId: ConnectorTaskId,
@@ -72,19 +75,23 @@ class AwsS3StorageInterface(
       lastFile.foreach(lf => builder.startAfter(lf.file))
 
       val listObjectsV2Response = s3Client.listObjectsV2(builder.build())
-      val objects = listObjectsV2Response
-        .contents()
-        .asScala
+      val listed = listObjectsV2Response.contents().asScala.toSeq
+      val objects = listed
         .filterNot(AwsS3StorageFilter.filterOut)
         .filter(_.size() > 0)
         .map(o => S3FileMetadata(o.key(), o.lastModified()))
         .filter(md => extensionFilter.forall(_.filter(md)))
 
-      processAsKey(
-        bucket,
-        prefix,
-        objects.toSeq,
-      )
+      // The last listed object, accepted or not, is where the next listing continues from. Otherwise a page where
+      // everything is filtered out would be listed again and again.
+      listed.lastOption.map { last =>
+        ListOfKeysResponse[S3FileMetadata](
+          bucket,
+          prefix,
+          objects.map(_.file),
+          S3FileMetadata(last.key(), last.lastModified()),
+        )
+      }
 
     }.toEither.leftMap {
       ex: Throwable => FileListError(ex, bucket, prefix)
@@ -186,6 +193,35 @@ class AwsS3StorageInterface(
   override def getBlob(bucket: String, path: String): Either[FileLoadError, InputStream] =
     Try(getBlobInner(bucket, path)).toEither.leftMap(FileLoadError(_, path))
 
+  override def getBlobRange(
+    bucket: String,
+    path:   String,
+    start:  Long,
+    length: Long,
+  ): Either[FileLoadError, InputStream] =
+    StorageInterface.validateRange(path, start, length).flatMap { _ =>
+      Try {
+        val request = GetObjectRequest
+          .builder()
+          .bucket(bucket)
+          .key(path)
+          .range(s"bytes=$start-${start + length - 1}")
+          .build()
+        s3Client.getObject(request): InputStream
+      }.toEither.leftMap(FileLoadError(_, path))
+    }
+
+  override def getBlobFrom(bucket: String, path: String, start: Long): Either[FileLoadError, InputStream] =
+    Try {
+      val request = GetObjectRequest
+        .builder()
+        .bucket(bucket)
+        .key(path)
+        .range(s"bytes=$start-")
+        .build()
+      s3Client.getObject(request): InputStream
+    }.toEither.leftMap(FileLoadError(_, path))
+
   override def getMetadata(bucket: String, path: String): Either[FileLoadError, ObjectMetadata] =
     Try {
       val response = s3Client
@@ -288,6 +324,75 @@ class AwsS3StorageInterface(
     } yield ()
   }
 
+  override def getBlobAsStringWithVersion(
+    bucket: String,
+    path:   String,
+  ): Either[FileLoadError, Option[VersionedString]] =
+    Try(getBlobInner(bucket, path)).toEither match {
+      case Left(_: NoSuchKeyException) => Option.empty[VersionedString].asRight
+      case Left(other) => FileLoadError(other, path).asLeft
+      case Right(blob) =>
+        Try(
+          Using.resource(blob) { b =>
+            VersionedString(IOUtils.toString(b, Charset.forName("UTF-8")), b.response().eTag())
+          },
+        ).toEither.bimap(FileLoadError(_, path), _.some)
+    }
+
+  override def supportsConditionalWrites: Boolean = true
+
+  /**
+    * Writes the string with a conditional put, matching the ETag of the expected version.
+    */
+  override def writeStringIfVersion(
+    bucket:          String,
+    path:            String,
+    data:            UploadableString,
+    expectedVersion: Option[String],
+  ): Either[UploadError, String] = {
+    logger.debug(s"[{}] Uploading file from data string ({}) to s3 {}:{} if at version {}",
+                 connectorTaskId.show,
+                 data,
+                 bucket,
+                 path,
+                 expectedVersion,
+    )
+
+    for {
+      content  <- data.validate.toEither
+      bytes     = content.getBytes(Charset.forName("UTF-8"))
+      response <- Try {
+        val builder = PutObjectRequest
+          .builder()
+          .bucket(bucket)
+          .key(path)
+          .contentLength(bytes.length.toLong)
+        s3Client.putObject(
+          expectedVersion.fold(builder.ifNoneMatch("*"))(builder.ifMatch).build(),
+          RequestBody.fromBytes(bytes),
+        )
+      }.toEither.leftMap[UploadError] {
+        case ex: S3Exception if "PreconditionFailed".equals(ex.awsErrorDetails().errorCode()) =>
+          logger.warn(s"[{}] File {}:{} is no longer at version {}",
+                      connectorTaskId.show,
+                      bucket,
+                      path,
+                      expectedVersion,
+          )
+          PreconditionFailedError(ex, path)
+        case ex =>
+          logger.error(s"[{}] Failed upload from data string ({}) to s3 {}:{}",
+                       connectorTaskId.show,
+                       data,
+                       bucket,
+                       path,
+                       ex,
+          )
+          FileCreateError(ex, content)
+      }
+    } yield response.eTag()
+  }
+
   override def seekToFile(bucket: String, fileName: String, lastModified: Option[Instant]): Option[S3FileMetadata] =
     lastModified
       .map(lmValue => S3FileMetadata(fileName, lmValue))
@@ -22,9 +22,12 @@ import io.lenses.streamreactor.connect.aws.s3.config.HttpTimeoutConfig
 import io.lenses.streamreactor.connect.aws.s3.config.S3ConnectionConfig
 import io.lenses.streamreactor.connect.aws.s3.config.S3ConfigSettings._
 import io.lenses.streamreactor.connect.cloud.common.consumers.CloudObjectKey
+import io.lenses.streamreactor.connect.cloud.common.consumers.ConsumerGroupsWriterOptions
 import org.scalatest.funsuite.AnyFunSuite
 import org.scalatest.matchers.should.Matchers
 
+import scala.concurrent.duration.DurationInt
+
 class S3ConsumerGroupsSinkConfigTest extends AnyFunSuite with Matchers {
   test("creates an instance of S3ConsumerGroupsSinkConfig") {
     S3ConsumerGroupsSinkConfig.fromProps(
@@ -53,6 +56,7 @@ class S3ConsumerGroupsSinkConfigTest extends AnyFunSuite with Matchers {
               HttpTimeoutConfig(Some(60000), Some(60000)),
               None,
             ),
+            ConsumerGroupsWriterOptions(1000.millis, 8),
           ),
         )
     }
@@ -85,8 +89,33 @@ class S3ConsumerGroupsSinkConfigTest extends AnyFunSuite with Matchers {
               HttpTimeoutConfig(Some(60000), Some(60000)),
               None,
             ),
+            ConsumerGroupsWriterOptions(1000.millis, 8),
           ),
         )
     }
   }
+
+  test("reads the flush interval and the upload parallelism") {
+    S3ConsumerGroupsSinkConfig.fromProps(
+      Map(
+        S3_BUCKET_CONFIG                   -> "bucket:a/b/c",
+        AUTH_MODE                          -> "default",
+        CONSUMER_GROUPS_FLUSH_INTERVAL     -> "5000",
+        CONSUMER_GROUPS_UPLOAD_PARALLELISM -> "16",
+      ),
+    ).map(_.writerOptions) shouldBe Right(ConsumerGroupsWriterOptions(5.seconds, 16))
+  }
+
+  test("fail when the flush interval is not a number") {
+    S3ConsumerGroupsSinkConfig.from(
+      Map(
+        S3_BUCKET_CONFIG                   -> "bucket:a/b/c",
+        AUTH_MODE                          -> "default",
+        CONSUMER_GROUPS_FLUSH_INTERVAL     -> "soon",
+        CONSUMER_GROUPS_UPLOAD_PARALLELISM -> 16,
+      ),
+    ).left.map(_.getMessage) shouldBe Left(
+      s"Configuration for setting [$CONSUMER_GROUPS_FLUSH_INTERVAL] is not a valid long.",
+    )
+  }
 }
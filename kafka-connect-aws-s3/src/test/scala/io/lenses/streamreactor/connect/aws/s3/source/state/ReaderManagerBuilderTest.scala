@@ -23,6 +23,7 @@ import io.lenses.streamreactor.connect.cloud.common.config.AvroFormatSelection
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpointStore
 import io.lenses.streamreactor.connect.cloud.common.source.config.CloudSourceBucketOptions
 import io.lenses.streamreactor.connect.cloud.common.source.config.EmptySourceBackoffSettings
 import io.lenses.streamreactor.connect.cloud.common.source.config.OrderingType
@@ -74,6 +75,8 @@ class ReaderManagerBuilderTest extends AsyncFlatSpec with AsyncIOSpec with Match
                          _ => Some(sbo),
                          EmptySourceBackoffSettings(1, 1, 2.0),
                          true,
+                         ListingCheckpointStore.NoOp,
+                         Option.empty,
     )
       .asserting(_ => rootValue shouldBe Some(pathLocation))
   }
@@ -118,6 +121,8 @@ class ReaderManagerBuilderTest extends AsyncFlatSpec with AsyncIOSpec with Match
                                _ => Some(sbo),
                                EmptySourceBackoffSettings(1, 1, 2.0),
                                true,
+                               ListingCheckpointStore.NoOp,
+                               Option.empty,
     )
       .flatMap(_.poll())
       .asserting { result =>
@@ -26,6 +26,10 @@ import org.scalatest.Assertion
 import org.scalatest.flatspec.AsyncFlatSpecLike
 import org.scalatest.matchers.should.Matchers
 import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
+
+import java.util.concurrent.atomic.AtomicInteger
 
 class AwsS3DirectoryListerTest extends AsyncFlatSpecLike with AsyncIOSpec with Matchers {
   private implicit val cloudLocationValidator: CloudLocationValidator = S3LocationValidator
@@ -228,4 +232,42 @@ class AwsS3DirectoryListerTest extends AsyncFlatSpecLike with AsyncIOSpec with M
     check(CloudLocation("bucket", None), Set.empty, Set(".indexes"), Set("prefix1/", "prefix2/"), s3Client)
   }
 
+  "lister" should "list sibling prefixes concurrently up to the parallelism" in {
+    val inFlight    = new AtomicInteger(0)
+    val maxInFlight = new AtomicInteger(0)
+
+    val s3Client: S3Client = new MockS3Client(
+      S3Page(
+        "prefix1/1.txt",
+        "prefix2/2.txt",
+        "prefix3/3.txt",
+        "prefix4/4.txt",
+      ),
+    ) {
+      override def listObjectsV2(listObjectsV2Request: ListObjectsV2Request): ListObjectsV2Response = {
+        val current = inFlight.incrementAndGet()
+        val _       = maxInFlight.accumulateAndGet(current, (a, b) => math.max(a, b))
+        try {
+          Thread.sleep(50)
+          super.listObjectsV2(listObjectsV2Request)
+        } finally {
+          val _ = inFlight.decrementAndGet()
+        }
+      }
+    }
+
+    new AwsS3DirectoryLister(connectorTaskId, s3Client).findDirectories(
+      CloudLocation("bucket", none),
+      filesLimit,
+      1,
+      Set.empty,
+      Set.empty,
+      parallelism = 2,
+    ).asserting {
+      dirs =>
+        dirs should be(Set("prefix1/", "prefix2/", "prefix3/", "prefix4/"))
+        maxInFlight.get() should be(2)
+    }
+  }
+
 }
@@ -20,6 +20,7 @@ import io.lenses.streamreactor.connect.cloud.common.storage.FileMoveError
 import org.mockito.ArgumentMatchersSugar
 import org.mockito.MockitoSugar
 import org.scalatest.EitherValues
+import org.scalatest.OptionValues
 import org.scalatest.flatspec.AnyFlatSpecLike
 import org.scalatest.matchers.should.Matchers
 import software.amazon.awssdk.services.s3.S3Client
@@ -29,14 +30,20 @@ import software.amazon.awssdk.services.s3.model.DeleteObjectRequest
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException
+import software.amazon.awssdk.services.s3.model.S3Object
+
+import java.time.Instant
 
 class AwsS3StorageInterfaceTest
     extends AnyFlatSpecLike
     with Matchers
     with MockitoSugar
     with ArgumentMatchersSugar
-    with EitherValues {
+    with EitherValues
+    with OptionValues {
 
   "mvFile" should "move a file from one bucket to another successfully" in {
     val s3Client         = mock[S3Client]
@@ -97,4 +104,40 @@ class AwsS3StorageInterfaceTest
     verify(s3Client, never).copyObject(any[CopyObjectRequest])
     verify(s3Client, never).deleteObject(any[DeleteObjectRequest])
   }
+
+  "list" should "continue from the last listed object when every object is filtered out" in {
+    val s3Client         = mock[S3Client]
+    val storageInterface = new AwsS3StorageInterface(mock[ConnectorTaskId], s3Client, batchDelete = false, None)
+    val lastModified     = Instant.now()
+
+    when(s3Client.listObjectsV2(any[ListObjectsV2Request])).thenReturn(
+      ListObjectsV2Response.builder().contents(
+        S3Object.builder().key("prefix/empty-1").size(0L).lastModified(lastModified).build(),
+        S3Object.builder().key("prefix/empty-2").size(0L).lastModified(lastModified).build(),
+      ).build(),
+    )
+
+    val result = storageInterface.list("bucket", Some("prefix/"), None, 10).value.value
+
+    result.files shouldBe empty
+    result.latestFileMetadata shouldBe S3FileMetadata("prefix/empty-2", lastModified)
+  }
+
+  it should "only return the accepted objects" in {
+    val s3Client         = mock[S3Client]
+    val storageInterface = new AwsS3StorageInterface(mock[ConnectorTaskId], s3Client, batchDelete = false, None)
+    val lastModified     = Instant.now()
+
+    when(s3Client.listObjectsV2(any[ListObjectsV2Request])).thenReturn(
+      ListObjectsV2Response.builder().contents(
+        S3Object.builder().key("prefix/file-1").size(10L).lastModified(lastModified).build(),
+        S3Object.builder().key("prefix/empty-2").size(0L).lastModified(lastModified).build(),
+      ).build(),
+    )
+
+    val result = storageInterface.list("bucket", Some("prefix/"), None, 10).value.value
+
+    result.files shouldBe Seq("prefix/file-1")
+    result.latestFileMetadata shouldBe S3FileMetadata("prefix/empty-2", lastModified)
+  }
 }
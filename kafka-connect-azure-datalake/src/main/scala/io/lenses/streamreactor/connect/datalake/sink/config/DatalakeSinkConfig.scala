@@ -24,7 +24,9 @@ import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.Schema
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
 import io.lenses.streamreactor.connect.datalake.config.AzureConnectionConfig
 import io.lenses.streamreactor.connect.datalake.config.AzureConfigSettings.LOG_METRICS_CONFIG
 
@@ -52,6 +54,8 @@ object DatalakeSinkConfig extends PropsToConfigConverter[DatalakeSinkConfig] {
       indexOptions         = s3ConfigDefBuilder.getIndexSettings
       logMetrics           = s3ConfigDefBuilder.getBoolean(LOG_METRICS_CONFIG)
       schemaChangeDetector = s3ConfigDefBuilder.schemaChangeDetector()
+      writerBudget         = s3ConfigDefBuilder.getWriterBudget
+      compactionOptions    = s3ConfigDefBuilder.getCompactionOptions
     } yield DatalakeSinkConfig(
       AzureConnectionConfig(s3ConfigDefBuilder.getParsedValues, authMode),
       sinkBucketOptions,
@@ -61,6 +65,8 @@ object DatalakeSinkConfig extends PropsToConfigConverter[DatalakeSinkConfig] {
       s3ConfigDefBuilder.getRetryConfig,
       logMetrics,
       schemaChangeDetector,
+      writerBudget,
+      compactionOptions,
     )
 
 }
@@ -74,4 +80,6 @@ case class DatalakeSinkConfig(
   connectorRetryConfig: RetryConfig,
   logMetrics:           Boolean,
   schemaChangeDetector: SchemaChangeDetector,
+  writerBudget:         WriterBudget              = WriterBudget.Unlimited,
+  compactionOptions:    Option[CompactionOptions] = None,
 ) extends CloudSinkConfig[AzureConnectionConfig]
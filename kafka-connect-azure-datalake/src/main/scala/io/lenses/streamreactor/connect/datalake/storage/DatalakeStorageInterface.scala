@@ -20,8 +20,10 @@ import com.azure.core.http.rest.PagedIterable
 import com.azure.storage.file.datalake.DataLakeFileClient
 import com.azure.storage.file.datalake.DataLakeServiceClient
 import com.azure.storage.file.datalake.models.DataLakeStorageException
+import com.azure.storage.file.datalake.models.FileRange
 import com.azure.storage.file.datalake.models.ListPathsOptions
 import com.azure.storage.file.datalake.models.PathItem
+import com.azure.storage.file.datalake.options.DataLakeFileInputStreamOptions
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.config.ObjectMetadata
@@ -69,7 +71,8 @@ class DatalakeStorageInterface(connectorTaskId: ConnectorTaskId, client: DataLak
 
       val (maybeToken, results) =
         DatalakeContinuingPageIterableAdaptor.getResults(iter, token, fileName, numResults)
-      toListOfKeys(bucket, prefix, maybeToken.map(Continuation(iter, _)), results)
+      // Directories are not files to read, but the last listed path is still where the next listing continues from
+      toListOfKeys(bucket, prefix, maybeToken.map(Continuation(iter, _)), results, results.filterNot(_.isDirectory))
 
     }.toEither.leftMap {
       ex: Throwable => FileListError(ex, bucket, prefix)
@@ -80,12 +83,13 @@ class DatalakeStorageInterface(connectorTaskId: ConnectorTaskId, client: DataLak
     prefix:       Option[String],
     continuation: Option[Continuation],
     results:      Seq[PathItem],
+    keys:         Seq[PathItem],
   ): Option[ListOfKeysResponse[DatalakeFileMetadata]] =
     Option.when(results.nonEmpty)(
       ListOfKeysResponse[DatalakeFileMetadata](
         bucket,
         prefix,
-        results.map(_.getName),
+        keys.map(_.getName),
         DatalakeFileMetadata(
           file         = results.last.getName,
           lastModified = results.last.getLastModified.toInstant,
@@ -122,7 +126,7 @@ class DatalakeStorageInterface(connectorTaskId: ConnectorTaskId, client: DataLak
       val iter = bucketClient.listPaths(listPathsOptions, null)
 
       val results = DatalakePageIterableAdaptor.getResults(iter)
-      toListOfKeys(bucket, prefix, none, results)
+      toListOfKeys(bucket, prefix, none, results, results)
     }
       .toEither.recover {
         case ex: DataLakeStorageException if ex.getStatusCode.toString.startsWith("4") =>
@@ -149,6 +153,22 @@ class DatalakeStorageInterface(connectorTaskId: ConnectorTaskId, client: DataLak
       }
     }.toEither.leftMap(t => FileLoadError(t, path))
 
+  override def getBlobRange(
+    bucket: String,
+    path:   String,
+    start:  Long,
+    length: Long,
+  ): Either[FileLoadError, InputStream] =
+    StorageInterface.validateRange(path, start, length).flatMap { _ =>
+      Try {
+        client
+          .getFileSystemClient(bucket)
+          .getFileClient(path)
+          .openInputStream(new DataLakeFileInputStreamOptions().setRange(new FileRange(start, length)))
+          .getInputStream: InputStream
+      }.toEither.leftMap(t => FileLoadError(t, path))
+    }
+
   override def getMetadata(bucket: String, path: String): Either[FileLoadError, ObjectMetadata] =
     throw new NotImplementedError("Required for source")
 
@@ -38,7 +38,9 @@ import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.U
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.XZ
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.ZSTD
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetReadSettings
 import io.lenses.streamreactor.connect.cloud.common.source.config.ReadTextMode
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
 import io.lenses.streamreactor.connect.config.kcqlprops.KcqlPropsSchema
 
 import java.io.InputStream
@@ -54,14 +56,78 @@ case class ReaderBuilderContext(
   metadata:                ObjectMetadata,
   hasEnvelope:             Boolean,
   recreateInputStreamF:    () => Either[Throwable, InputStream],
+  readRangeF:              (Long, Long) => Either[Throwable, InputStream],
   targetPartition:         Integer,
   targetTopic:             Topic,
   watermarkPartition:      java.util.Map[String, String],
-)
+  parquetReadSettings:     ParquetReadSettings,
+  resumePosition:          Option[ResumePosition] = None,
+  split:                   Option[FileSplit]      = None,
+) {
+
+  /**
+    * The position in the object where the stream starts.
+    */
+  def startPosition: Long = ReaderBuilderContext.startPosition(resumePosition, split)
+
+  /**
+    * The position past which line based readers stop, leaving the lines starting there to the next split.
+    */
+  def endPosition: Long = split.fold(Long.MaxValue)(_.end)
+
+  /**
+    * Whether the stream starts on the line crossing into the split, which line based readers drop.
+    */
+  def alignToLine: Boolean = resumePosition.isEmpty && split.exists(_.start > 0)
+
+  /**
+    * Whether the stream starts at the beginning of the object.
+    */
+  def atObjectStart: Boolean = resumePosition.isEmpty && split.forall(_.start == 0)
+
+  /**
+    * The index of the record read before the first one in the stream.
+    */
+  def startIndex: Long = resumePosition.fold(-1L)(_.recordIndex)
+}
+
+object ReaderBuilderContext {
+
+  /**
+    * Line based readers resume right after the last record read. A split starts one byte early, so that the reader can
+    * tell whether a line starts right on the split boundary.
+    */
+  def startPosition(resumePosition: Option[ResumePosition], split: Option[FileSplit]): Long =
+    resumePosition.map(_.byteOffset).getOrElse(split.fold(0L)(s => math.max(s.start - 1, 0L)))
+}
+
+/**
+  * Where reading resumes when an object is opened part way through.
+  *
+  * @param recordIndex the index of the last record read
+  * @param byteOffset  the position right after that record
+  */
+case class ResumePosition(recordIndex: Long, byteOffset: Long)
 
 sealed trait FormatSelection {
   def toStreamReader(input: ReaderBuilderContext): Either[Throwable, CloudStreamReader]
 
+  /**
+    * Whether the readers record the byte offset of each record, so an object can be opened right after the last record
+    * read instead of skipping the records before it.
+    */
+  def resumesFromByteOffset: Boolean = false
+
+  /**
+    * Whether large objects can be split into ranges read on their own.
+    */
+  def splittable: Boolean = false
+
+  /**
+    * Whether the readers consume the object stream, rather than fetching the byte ranges they need on their own.
+    */
+  def readsStream: Boolean = true
+
   def availableCompressionCodecs: Map[CompressionCodecName, Boolean] = Map(UNCOMPRESSED -> false)
 
   def extension: String
@@ -120,7 +186,7 @@ case object JsonFormatSelection extends FormatSelection {
   override def toStreamReader(
     input: ReaderBuilderContext,
   ): Either[Throwable, CloudStreamReader] = {
-    val inner = new TextStreamReader(input.stream)
+    val inner = new TextStreamReader(input.stream, input.startPosition, input.endPosition, input.alignToLine)
     val converter = if (input.hasEnvelope) {
       new SchemalessEnvelopeConverter(input.watermarkPartition,
                                       input.targetTopic,
@@ -133,9 +199,13 @@ case object JsonFormatSelection extends FormatSelection {
       converters.TextConverter(input)
     }
 
-    new DelegateIteratorCloudStreamReader[String](inner, converter, input.bucketAndPath).asRight
+    new DelegateIteratorCloudStreamReader[String](inner, converter, input.bucketAndPath, input.startIndex).asRight
   }
 
+  override def resumesFromByteOffset: Boolean = true
+
+  override def splittable: Boolean = true
+
   override def extension: String = "json"
 
   override def supportsEnvelope: Boolean = true
@@ -193,10 +263,17 @@ case object ParquetFormatSelection extends FormatSelection {
     ZSTD,
   ).map(_ -> false).toMap
 
+  override def readsStream: Boolean = false
+
   override def toStreamReader(
     input: ReaderBuilderContext,
   ): Either[Throwable, CloudStreamReader] = {
-    val inner = ParquetStreamReader(input.metadata.size, input.recreateInputStreamF)
+    val inner = ParquetStreamReader.ranged(
+      input.metadata.size,
+      input.readRangeF,
+      input.parquetReadSettings,
+      input.split.map(split => split.start -> split.end),
+    )
     val converter = if (input.hasEnvelope) {
       new SchemaAndValueEnvelopeConverter(input.watermarkPartition,
                                           input.targetTopic,
@@ -219,6 +296,8 @@ case object ParquetFormatSelection extends FormatSelection {
     }
   }
 
+  override def splittable: Boolean = true
+
   override def extension: String = "parquet"
 
   override def supportsEnvelope: Boolean = true
@@ -230,15 +309,24 @@ case class TextFormatSelection(readTextMode: Option[ReadTextMode]) extends Forma
     val inner = TextStreamReader(
       readTextMode,
       input.stream,
+      input.startPosition,
+      input.endPosition,
+      input.alignToLine,
     )
     val converter = converters.TextConverter(input)
     new DelegateIteratorCloudStreamReader(
       inner,
       converter,
       input.bucketAndPath,
+      input.startIndex,
     ).asRight
   }
 
+  override def resumesFromByteOffset: Boolean = readTextMode.forall(_.resumesFromByteOffset)
+
+  // the read modes match records over several lines, which may cross the split boundaries
+  override def splittable: Boolean = readTextMode.isEmpty
+
   override def extension: String = "text"
 
   override def supportsEnvelope: Boolean = false
@@ -247,15 +335,27 @@ case class CsvFormatSelection(formatOptions: Set[FormatOptions]) extends FormatS
   override def toStreamReader(
     input: ReaderBuilderContext,
   ): Either[Throwable, CloudStreamReader] = {
-    val inner     = new CsvStreamReader(input.stream, hasHeaders = formatOptions.contains(WithHeaders))
+    // when resuming or reading a later split, the stream starts past the headers
+    val inner = new CsvStreamReader(
+      input.stream,
+      hasHeaders    = formatOptions.contains(WithHeaders) && input.atObjectStart,
+      startPosition = input.startPosition,
+      endPosition   = input.endPosition,
+      alignToLine   = input.alignToLine,
+    )
     val converter = converters.TextConverter(input)
     new DelegateIteratorCloudStreamReader(
       inner,
       converter,
       input.bucketAndPath,
+      input.startIndex,
     ).asRight
   }
 
+  override def resumesFromByteOffset: Boolean = true
+
+  override def splittable: Boolean = true
+
   override def extension: String = "csv"
 
   override def supportsEnvelope: Boolean = false
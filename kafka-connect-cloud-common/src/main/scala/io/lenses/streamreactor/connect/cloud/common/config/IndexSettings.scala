@@ -17,6 +17,7 @@ package io.lenses.streamreactor.connect.cloud.common.config
 
 import io.lenses.streamreactor.common.config.base.traits.BaseSettings
 import io.lenses.streamreactor.common.config.base.traits.WithConnectorPrefix
+import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexMode
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
 import org.apache.kafka.common.config.ConfigDef
 import org.apache.kafka.common.config.ConfigDef.Importance
@@ -39,6 +40,16 @@ trait IndexConfigKeys extends WithConnectorPrefix {
     s"Exactly once is enabled by default.  It works by keeping an .indexes directory at the root of your bucket with subdirectories for indexes.  Exactly once support can be disabled and the default offset tracking from kafka can be used instead by setting this to false."
   private val ENABLE_EXACTLY_ONCE_DEFAULT = true
 
+  val INDEXES_MODE = s"$connectorPrefix.indexes.mode"
+  private val INDEXES_MODE_DOC =
+    s"How exactly once offsets are tracked. 'files' writes an index file per commit, then lists and deletes the stale ones. 'manifest' rewrites a single manifest per topic/partition for every commit with a conditional write, avoiding the listing and deletes. A sink switched to 'manifest' resumes from its existing index files. 'manifest' is only available on storage supporting conditional writes (S3 and GCP Storage), and is rejected on the others, such as Azure Datalake."
+  private val INDEXES_MODE_DEFAULT = IndexMode.Files.entryName
+
+  val SEEK_PARALLELISM = s"$connectorPrefix.seek.parallelism"
+  private val SEEK_PARALLELISM_DOC =
+    s"The maximum number of topic/partitions whose offsets are seeked concurrently when partitions are assigned to a task. Defaults to 1, seeking them one after the other."
+  private val SEEK_PARALLELISM_DEFAULT = 1
+
   def addIndexSettingsToConfigDef(configDef: ConfigDef): ConfigDef =
     configDef
       .define(
@@ -74,11 +85,37 @@ trait IndexConfigKeys extends WithConnectorPrefix {
         ConfigDef.Width.NONE,
         ENABLE_EXACTLY_ONCE,
       )
+      .define(
+        INDEXES_MODE,
+        Type.STRING,
+        INDEXES_MODE_DEFAULT,
+        ConfigDef.CaseInsensitiveValidString.in(IndexMode.values.map(_.entryName): _*),
+        Importance.LOW,
+        INDEXES_MODE_DOC,
+        "Sink Seek",
+        4,
+        ConfigDef.Width.SHORT,
+        INDEXES_MODE,
+      )
+      .define(
+        SEEK_PARALLELISM,
+        Type.INT,
+        SEEK_PARALLELISM_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        SEEK_PARALLELISM_DOC,
+        "Sink Seek",
+        5,
+        ConfigDef.Width.SHORT,
+        SEEK_PARALLELISM,
+      )
 }
 trait IndexSettings extends BaseSettings with IndexConfigKeys {
   def getIndexSettings: Option[IndexOptions] =
     Option.when(getBoolean(ENABLE_EXACTLY_ONCE))(IndexOptions(
       getInt(SEEK_MAX_INDEX_FILES),
       getString(INDEXES_DIRECTORY_NAME),
+      IndexMode.withNameInsensitive(getString(INDEXES_MODE)),
+      getInt(SEEK_PARALLELISM),
     ))
 }
@@ -41,6 +41,25 @@ object PropsKeyEnum extends Enum[PropsKeyEntry] {
 
   case object ReadTrimLine extends PropsKeyEntry("read.text.trim")
 
+  case object ReadPrefetchDepth    extends PropsKeyEntry("read.prefetch.depth")
+  case object ReadPrefetchMaxBytes extends PropsKeyEntry("read.prefetch.max.bytes")
+
+  case object ReadParquetDirect  extends PropsKeyEntry("read.parquet.direct")
+  case object ReadParquetColumns extends PropsKeyEntry("read.parquet.columns")
+  case object ReadParquetFilter  extends PropsKeyEntry("read.parquet.filter")
+
+  case object WriteParquetRowGroupSize       extends PropsKeyEntry("write.parquet.row.group.size")
+  case object WriteParquetPageSize           extends PropsKeyEntry("write.parquet.page.size")
+  case object WriteParquetPageCheckMinRows   extends PropsKeyEntry("write.parquet.page.size.check.min.rows")
+  case object WriteParquetPageCheckMaxRows   extends PropsKeyEntry("write.parquet.page.size.check.max.rows")
+  case object WriteParquetDictionary         extends PropsKeyEntry("write.parquet.dictionary.enabled")
+  case object WriteParquetDictionaryPageSize extends PropsKeyEntry("write.parquet.dictionary.page.size")
+  case object WriteParquetBloomFilterColumns extends PropsKeyEntry("write.parquet.bloom.filter.columns")
+  case object WriteParquetBloomFilterNdv     extends PropsKeyEntry("write.parquet.bloom.filter.ndv")
+  case object WriteParquetWriterVersion      extends PropsKeyEntry("write.parquet.writer.version")
+  case object WriteParquetStatisticsTruncate extends PropsKeyEntry("write.parquet.statistics.truncate.length")
+  case object WriteParquetDirect             extends PropsKeyEntry("write.parquet.direct")
+
   case object StoreEnvelope         extends PropsKeyEntry(DataStorageSettings.StoreEnvelopeKey)
   case object StoreEnvelopeKey      extends PropsKeyEntry(DataStorageSettings.StoreKeyKey)
   case object StoreEnvelopeHeaders  extends PropsKeyEntry(DataStorageSettings.StoreHeadersKey)
@@ -20,9 +20,13 @@ import io.lenses.streamreactor.common.errors.ErrorPolicy
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaChangeDetector
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
 import io.lenses.streamreactor.connect.cloud.common.source.config.CloudSourceBucketOptions
 import io.lenses.streamreactor.connect.cloud.common.source.config.EmptySourceBackoffSettings
+import io.lenses.streamreactor.connect.cloud.common.source.config.FileNotificationSettings
 import io.lenses.streamreactor.connect.cloud.common.source.config.PartitionSearcherOptions
 import io.lenses.streamreactor.connect.cloud.common.storage.ExtensionFilter
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
@@ -75,6 +79,20 @@ trait CloudSinkConfig[CC] extends CloudConfig {
 
   def schemaChangeDetector: SchemaChangeDetector
 
+  /**
+    * Retrieves the limits on the writers the cloud sink task keeps open.
+    *
+    * @return The writer budget for the cloud sink.
+    */
+  def writerBudget: WriterBudget
+
+  /**
+    * Retrieves the compaction options for the cloud sink, if the compaction is enabled.
+    *
+    * @return The compaction options for the cloud sink.
+    */
+  def compactionOptions: Option[CompactionOptions]
+
 }
 
 /**
@@ -124,4 +142,39 @@ trait CloudSourceConfig[MD <: FileMetadata] extends CloudConfig {
   def emptySourceBackoffSettings: EmptySourceBackoffSettings
 
   def writeWatermarkToHeaders: Boolean
+
+  /**
+    * Retrieves the maximum number of reader managers polled concurrently by a task.
+    *
+    * @return The poll parallelism for the cloud source.
+    */
+  def pollParallelism: Int
+
+  /**
+    * Indicates whether listing checkpoints are persisted alongside the source data.
+    *
+    * @return True if the cloud source stores and resumes from listing checkpoints.
+    */
+  def listingCheckpointEnabled: Boolean
+
+  /**
+    * Retrieves where the listing checkpoints and split plans are kept.
+    *
+    * @return The checkpoint location for the cloud source.
+    */
+  def listingCheckpointLocation: CheckpointLocation
+
+  /**
+    * Retrieves the settings for discovering new files from notifications.
+    *
+    * @return The file notification settings for the cloud source.
+    */
+  def fileNotifications: FileNotificationSettings
+
+  /**
+    * Retrieves the size above which objects are split into ranges read by all the tasks.
+    *
+    * @return The split size in bytes, or 0 when objects are not split.
+    */
+  def fileSplitSize: Long
 }
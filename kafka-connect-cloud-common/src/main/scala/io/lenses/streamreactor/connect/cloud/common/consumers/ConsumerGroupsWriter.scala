@@ -15,59 +15,103 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.consumers
 
+import cats.effect.IO
+import cats.effect.unsafe.implicits.global
 import cats.implicits.toShow
 import cats.implicits.toTraverseOps
 import com.typesafe.scalalogging.StrictLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.consumers.ConsumerGroupsWriter.extractOffsets
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import org.apache.kafka.connect.errors.ConnectException
 import org.apache.kafka.connect.sink.SinkRecord
 
 import java.nio.ByteBuffer
+import scala.collection.mutable
 
-class ConsumerGroupsWriter(location: CloudObjectKey, uploader: Uploader, taskId: ConnectorTaskId)
-    extends AutoCloseable
+/**
+  * Uploads the latest offset of every group/topic/partition. The offsets are coalesced in memory, and uploaded once the
+  * flush interval has passed or on [[flush]]. The offsets read from a `__consumer_offsets` partition are dropped once
+  * the partition is revoked, since its new owner replays them.
+  */
+class ConsumerGroupsWriter(
+  location: CloudObjectKey,
+  uploader: Uploader,
+  taskId:   ConnectorTaskId,
+  options:  ConsumerGroupsWriterOptions = ConsumerGroupsWriterOptions.Default,
+) extends AutoCloseable
     with StrictLogging {
 
+  // the latest action of each group/topic/partition, with the partition it was read from, waiting for the next flush
+  private val pending   = mutable.LinkedHashMap.empty[GroupTopicPartition, (TopicPartition, OffsetAction)]
+  private var lastFlush = System.currentTimeMillis()
+
   override def close(): Unit = uploader.close()
 
   def write(records: List[SinkRecord]): Either[Throwable, Unit] =
-    records.traverse(extractOffsets)
+    records.traverse(record => extractOffsets(record).map(_.map(sourceOf(record) -> _)))
       .map(_.flatten)
-      .map { offsets =>
-        offsets.foldLeft(Map.empty[GroupTopicPartition, OffsetAction]) {
-          case (acc, action: OffsetAction) =>
-            acc + (action.key -> action)
-        }
-      }.flatMap { map =>
-        map.toList.traverse {
-          case (groupTopicPartition, action) =>
-            val s3KeySuffix =
-              s"${groupTopicPartition.group}/${groupTopicPartition.topic}/${groupTopicPartition.partition}"
-            val s3Key = location.prefix.fold(s3KeySuffix)(prefix => s"$prefix/$s3KeySuffix")
-
-            action match {
-              case WriteOffset(offset) =>
-                val content = ByteBuffer.allocate(8).putLong(offset.metadata.offset).rewind()
-                logger.debug(s"[${taskId.show}] Uploading offset $offset to $s3Key")
-                val result = uploader.upload(
-                  content,
-                  location.bucket,
-                  s3Key,
-                )
-                logger.debug(s"[${taskId.show}] Uploaded offset $offset to $s3Key")
-                result
-              case DeleteOffset(_) =>
-                logger.debug(s"[${taskId.show}] Deleting offset $s3Key")
-                val result = uploader.delete(
-                  location.bucket,
-                  s3Key,
-                )
-                logger.debug(s"[${taskId.show}] Deleted offset $s3Key")
-                result
-            }
-        }.map(_ => ())
+      .flatMap { offsets =>
+        offsets.foreach { case (source, action) => pending.update(action.key, source -> action) }
+        if (System.currentTimeMillis() - lastFlush >= options.flushInterval.toMillis) flush()
+        else Right(())
       }
+
+  /**
+    * Uploads the pending offsets, up to the upload parallelism at once. The offsets failing to upload are kept for the
+    * next flush, unless a newer offset replaces them.
+    */
+  def flush(): Either[Throwable, Unit] = {
+    val actions = pending.toList
+    val results = IO.parTraverseN(options.uploadParallelism)(actions) {
+      case (groupTopicPartition, (_, action)) => IO.blocking(groupTopicPartition -> upload(groupTopicPartition, action))
+    }.unsafeRunSync()
+    results.foreach {
+      case (groupTopicPartition, Right(_)) =>
+        val _ = pending.remove(groupTopicPartition)
+      case _ =>
+    }
+    lastFlush = System.currentTimeMillis()
+    results.collectFirst { case (_, Left(error)) => error }.toLeft(())
+  }
+
+  /**
+    * Drops the pending offsets read from the given partitions, once they are closed.
+    */
+  def drop(partitions: Set[TopicPartition]): Unit = {
+    val _ = pending.filterInPlace { case (_, (source, _)) => !partitions.contains(source) }
+  }
+
+  private def sourceOf(record: SinkRecord): TopicPartition =
+    TopicPartition(Topic(record.topic()), record.kafkaPartition().intValue())
+
+  private def upload(groupTopicPartition: GroupTopicPartition, action: OffsetAction): Either[Throwable, Unit] = {
+    val s3KeySuffix =
+      s"${groupTopicPartition.group}/${groupTopicPartition.topic}/${groupTopicPartition.partition}"
+    val s3Key = location.prefix.fold(s3KeySuffix)(prefix => s"$prefix/$s3KeySuffix")
+
+    action match {
+      case WriteOffset(offset) =>
+        val content = ByteBuffer.allocate(8).putLong(offset.metadata.offset).rewind()
+        logger.debug(s"[${taskId.show}] Uploading offset $offset to $s3Key")
+        val result = uploader.upload(
+          content,
+          location.bucket,
+          s3Key,
+        )
+        logger.debug(s"[${taskId.show}] Uploaded offset $offset to $s3Key")
+        result
+      case DeleteOffset(_) =>
+        logger.debug(s"[${taskId.show}] Deleting offset $s3Key")
+        val result = uploader.delete(
+          location.bucket,
+          s3Key,
+        )
+        logger.debug(s"[${taskId.show}] Deleted offset $s3Key")
+        result
+    }
+  }
 }
 
 object ConsumerGroupsWriter extends StrictLogging {
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.consumers
+
+import scala.concurrent.duration.Duration
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * @param flushInterval     the time the offsets are kept in memory before they are uploaded. Only the latest offset
+  *                          of a group/topic/partition is uploaded
+  * @param uploadParallelism the maximum number of offsets uploaded at once
+  */
+case class ConsumerGroupsWriterOptions(flushInterval: FiniteDuration, uploadParallelism: Int)
+
+object ConsumerGroupsWriterOptions {
+
+  // uploads the offsets of every write, one at a time
+  val Default: ConsumerGroupsWriterOptions = ConsumerGroupsWriterOptions(Duration.Zero, 1)
+}
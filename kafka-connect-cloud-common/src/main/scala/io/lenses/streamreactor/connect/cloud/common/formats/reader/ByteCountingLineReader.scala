@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader
+
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.nio.charset.StandardCharsets
+
+/**
+  * Reads UTF-8 lines from a stream while keeping count of the bytes consumed, so reading can later resume right after
+  * any line with a ranged request. Lines end with '\n', '\r\n' or '\r', like [[java.io.BufferedReader#readLine]].
+  *
+  * @param input         the stream to read
+  * @param startPosition the position of the first byte of the stream in the object
+  */
+class ByteCountingLineReader(input: InputStream, startPosition: Long, bufferSize: Int = 64 * 1024)
+    extends AutoCloseable {
+
+  private val LF: Byte = '\n'.toByte
+  private val CR: Byte = '\r'.toByte
+
+  private val buffer = new Array[Byte](bufferSize)
+  private val line   = new ByteArrayOutputStream()
+  private var offset: Int  = 0
+  private var limit:  Int  = 0
+  private var read:   Long = startPosition
+
+  /**
+    * @return the position in the object right after the last line returned
+    */
+  def position: Long = read
+
+  /**
+    * @return the next line without its terminator, or None at the end of the stream
+    */
+  def readLine(): Option[String] = {
+    line.reset()
+    var found   = false
+    var readAny = false
+    while (!found && fill()) {
+      readAny = true
+      var i = offset
+      while (i < limit && buffer(i) != LF && buffer(i) != CR) i += 1
+      line.write(buffer, offset, i - offset)
+      read  += (i - offset).toLong
+      offset = i
+      if (i < limit) {
+        found = true
+        val terminator = buffer(i)
+        consume()
+        if (terminator == CR && fill() && buffer(offset) == LF) consume()
+      }
+    }
+    Option.when(readAny)(new String(line.toByteArray, StandardCharsets.UTF_8))
+  }
+
+  override def close(): Unit = input.close()
+
+  private def consume(): Unit = {
+    offset += 1
+    read   += 1
+  }
+
+  private def fill(): Boolean = {
+    while (offset >= limit && limit >= 0) {
+      limit  = input.read(buffer)
+      offset = 0
+    }
+    limit > 0
+  }
+}
@@ -37,16 +37,30 @@ class EmptyCloudStreamReader(location: CloudLocation) extends CloudStreamReader
   override def close(): Unit = ()
 }
 
-trait CloudDataIterator[T] extends Iterator[T] with AutoCloseable
+trait CloudDataIterator[T] extends Iterator[T] with AutoCloseable {
+
+  /**
+    * The position in the object right after the last record returned, for formats which can resume reading there.
+    */
+  def byteOffset: Option[Long] = None
+}
 
 trait Converter[T] {
   def convert(t: T, index: Long, lastLine: Boolean): SourceRecord
+
+  /**
+    * Converts a record that ends at the given byte offset. Converters which can record the offset in the source
+    * watermark override this.
+    */
+  def convert(t: T, index: Long, lastLine: Boolean, byteOffset: Option[Long]): SourceRecord =
+    convert(t, index, lastLine)
 }
 
 class DelegateIteratorCloudStreamReader[T](
-  iterator:  CloudDataIterator[T],
-  converter: Converter[T],
-  location:  CloudLocation,
+  iterator:   CloudDataIterator[T],
+  converter:  Converter[T],
+  location:   CloudLocation,
+  startIndex: Long = -1,
 ) extends CloudStreamReader {
 
   // It starts at -1 to signal nothing read. However, this means 0 is the first record.
@@ -54,7 +68,8 @@ class DelegateIteratorCloudStreamReader[T](
   // It would have been an option to change to 0 as no-records,
   // but this means the current connectors will skip a record once updated.
   // So now this inconsistency is here to stay.
-  private var recordIndex:       Long          = -1
+  // When resuming part way through an object, it starts at the index of the last record read before.
+  private var recordIndex:       Long          = startIndex
   override def getBucketAndPath: CloudLocation = location
 
   override def currentRecordIndex: Long = recordIndex
@@ -64,7 +79,8 @@ class DelegateIteratorCloudStreamReader[T](
   override def next(): SourceRecord = {
     val data = iterator.next()
     recordIndex = recordIndex + 1
-    converter.convert(data, recordIndex, !hasNext)
+    val offset = iterator.byteOffset
+    converter.convert(data, recordIndex, !hasNext, offset)
   }
 
   override def close(): Unit = iterator.close()
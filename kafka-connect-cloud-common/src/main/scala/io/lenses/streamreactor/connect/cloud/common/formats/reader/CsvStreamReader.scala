@@ -18,15 +18,21 @@ package io.lenses.streamreactor.connect.cloud.common.formats.reader
 import io.lenses.streamreactor.connect.cloud.common.formats.FormatWriterException
 import java.io.InputStream
 
-class CsvStreamReader(input: InputStream, hasHeaders: Boolean) extends TextStreamReader(input) {
+class CsvStreamReader(
+  input:         InputStream,
+  hasHeaders:    Boolean,
+  startPosition: Long    = 0L,
+  endPosition:   Long    = Long.MaxValue,
+  alignToLine:   Boolean = false,
+) extends TextStreamReader(input, startPosition, endPosition, alignToLine) {
 
   private var firstRun: Boolean = true
 
   override def next(): String = {
     if (firstRun) {
       if (hasHeaders) {
-        if (sourceLines.hasNext) {
-          sourceLines.next()
+        if (super.hasNext) {
+          super.next()
         } else {
           throw FormatWriterException("No column headers are available")
         }
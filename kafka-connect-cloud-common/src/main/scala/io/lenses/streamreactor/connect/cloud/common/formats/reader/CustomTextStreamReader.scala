@@ -17,16 +17,36 @@ package io.lenses.streamreactor.connect.cloud.common.formats.reader
 
 import io.lenses.streamreactor.connect.io.text.OptionIteratorAdaptor
 
+import scala.collection.mutable
+
+/**
+  * @param positionFn the position in the object after the last record read, if the reader can resume there
+  */
 class CustomTextStreamReader(
   lineReaderFn: () => Option[String],
   closeFn:      () => Unit,
+  positionFn:   Option[() => Long] = None,
 ) extends CloudDataIterator[String] {
 
-  private val adaptor = new OptionIteratorAdaptor(() => lineReaderFn())
+  // the adaptor reads one record ahead, so the position after each record is kept until it is returned
+  private val positions = mutable.Queue.empty[Long]
+  private var position: Option[Long] = None
+
+  private val adaptor = new OptionIteratorAdaptor(() => {
+    val line = lineReaderFn()
+    line.foreach(_ => positionFn.foreach(fn => positions.enqueue(fn())))
+    line
+  })
 
   override def hasNext: Boolean = adaptor.hasNext
 
-  override def next(): String = adaptor.next()
+  override def next(): String = {
+    val line = adaptor.next()
+    if (positions.nonEmpty) position = Some(positions.dequeue())
+    line
+  }
+
+  override def byteOffset: Option[Long] = position
 
   override def close(): Unit = closeFn()
 }
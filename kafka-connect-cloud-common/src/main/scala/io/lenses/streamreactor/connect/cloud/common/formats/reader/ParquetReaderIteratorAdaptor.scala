@@ -16,18 +16,17 @@
 package io.lenses.streamreactor.connect.cloud.common.formats.reader
 
 import io.lenses.streamreactor.connect.cloud.common.formats.FormatWriterException
-import org.apache.avro.generic.GenericRecord
 import org.apache.parquet.hadoop.ParquetReader
 
-class ParquetReaderIteratorAdaptor(parquetReader: ParquetReader[GenericRecord]) extends Iterator[GenericRecord] {
+class ParquetReaderIteratorAdaptor[T](parquetReader: ParquetReader[T]) extends Iterator[T] {
 
-  private var currentRecord: Option[GenericRecord] = None
-  private var nextRecord:    Option[GenericRecord] = Option(parquetReader.read())
+  private var currentRecord: Option[T] = None
+  private var nextRecord:    Option[T] = Option(parquetReader.read())
 
   override def hasNext: Boolean =
     nextRecord.nonEmpty
 
-  override def next(): GenericRecord = {
+  override def next(): T = {
 
     currentRecord = nextRecord
     nextRecord    = Option(parquetReader.read())
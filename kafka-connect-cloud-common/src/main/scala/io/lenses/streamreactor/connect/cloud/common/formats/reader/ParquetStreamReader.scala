@@ -15,26 +15,33 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.formats.reader
 
-import cats.implicits.catsSyntaxEitherId
 import io.confluent.connect.avro.AvroData
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ConnectParquetReader
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetFilterPredicate
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetRangedSeekableInputStream
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetSeekableInputStream
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetStreamingInputFile
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ProjectedAvroParquetReader
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetReadSettings
 import org.apache.avro.generic.GenericRecord
 import org.apache.hadoop.conf.Configuration
 import org.apache.kafka.connect.data.SchemaAndValue
 import org.apache.parquet.avro.AvroParquetReader
 import org.apache.parquet.avro.AvroReadSupport.READ_INT96_AS_FIXED
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.hadoop.ParquetFileReader
 import org.apache.parquet.hadoop.ParquetReader
+import org.apache.parquet.io.InputFile
 
 import java.io.InputStream
 import scala.util.Try
 
-class ParquetStreamReader(
-  reader: ParquetReader[GenericRecord],
+class ParquetStreamReader[T](
+  reader:        ParquetReader[T],
+  toConnectData: T => SchemaAndValue,
 ) extends CloudDataIterator[SchemaAndValue]
     with Using {
   private val parquetReaderIteratorAdaptor = new ParquetReaderIteratorAdaptor(reader)
-  private val avroDataConverter            = new AvroData(100)
 
   override def close(): Unit = {
     val _ = Try(reader.close())
@@ -42,30 +49,94 @@ class ParquetStreamReader(
 
   override def hasNext: Boolean = parquetReaderIteratorAdaptor.hasNext
 
-  override def next(): SchemaAndValue = {
-    val nextRec = parquetReaderIteratorAdaptor.next()
-    avroDataConverter.toConnectData(nextRec.getSchema, nextRec)
-  }
+  override def next(): SchemaAndValue = toConnectData(parquetReaderIteratorAdaptor.next())
 
 }
 
-object ParquetStreamReader {
+object ParquetStreamReader extends Using {
   def apply(
     size:      Long,
     recreateF: () => Either[Throwable, InputStream],
-  ): Either[Throwable, ParquetStreamReader] = {
+  ): Either[Throwable, CloudDataIterator[SchemaAndValue]] =
+    fromInputFile(
+      new ParquetStreamingInputFile(
+        size,
+        () => new ParquetSeekableInputStream(() => recreateF()),
+      ),
+      ParquetReadSettings.Default,
+    )
 
-    val inputFile = new ParquetStreamingInputFile(
-      size,
-      () => new ParquetSeekableInputStream(() => recreateF()),
+  /**
+    * Creates a reader which fetches only the byte ranges Parquet decodes, rather than streaming the whole object.
+    *
+    * @param size the size of the file.
+    * @param readRangeF a function returning the stream for a byte range, given the start offset and the length.
+    * @param settings the settings controlling how the records are decoded.
+    * @param fileRange the start and end of the byte range whose row groups are read, when reading a split of the file.
+    */
+  def ranged(
+    size:       Long,
+    readRangeF: (Long, Long) => Either[Throwable, InputStream],
+    settings:   ParquetReadSettings  = ParquetReadSettings.Default,
+    fileRange:  Option[(Long, Long)] = Option.empty,
+  ): Either[Throwable, CloudDataIterator[SchemaAndValue]] = {
+    val footerCache = new ParquetRangedSeekableInputStream.FooterCache
+    fromInputFile(
+      new ParquetStreamingInputFile(
+        size,
+        () => new ParquetRangedSeekableInputStream(size, readRangeF, footerCache = footerCache),
+      ),
+      settings,
+      fileRange,
     )
-    val avroParquetReader: ParquetReader[GenericRecord] = {
+  }
+
+  private def fromInputFile(
+    inputFile: InputFile,
+    settings:  ParquetReadSettings,
+    fileRange: Option[(Long, Long)] = Option.empty,
+  ): Either[Throwable, CloudDataIterator[SchemaAndValue]] =
+    Try[CloudDataIterator[SchemaAndValue]] {
       val conf = new Configuration
       //allow deprecated INT96 to be read as FIXED and avoid runtime exception
       conf.setBoolean(READ_INT96_AS_FIXED, true)
-      AvroParquetReader.builder[GenericRecord](inputFile).withConf(conf).build()
-    }
+      val filter = filterFor(inputFile, settings)
+      if (settings.directDecoding) {
+        new ParquetStreamReader[SchemaAndValue](
+          withFileRange(ConnectParquetReader.builder(inputFile, settings.columns), fileRange)
+            .withConf(conf).withFilter(filter).build(),
+          identity,
+        )
+      } else {
+        val builder: ParquetReader.Builder[GenericRecord] =
+          if (settings.columns.isEmpty) AvroParquetReader.builder[GenericRecord](inputFile)
+          else ProjectedAvroParquetReader.builder(inputFile, settings.columns)
+        val avroDataConverter = new AvroData(100)
+        new ParquetStreamReader[GenericRecord](
+          withFileRange(builder, fileRange).withConf(conf).withFilter(filter).build(),
+          record => avroDataConverter.toConnectData(record.getSchema, record),
+        )
+      }
+    }.toEither
 
-    new ParquetStreamReader(avroParquetReader).asRight
-  }
+  /**
+    * Parquet keeps the row groups whose middle falls inside the range, so the splits of a file share out its row groups.
+    */
+  private def withFileRange[T](
+    builder:   ParquetReader.Builder[T],
+    fileRange: Option[(Long, Long)],
+  ): ParquetReader.Builder[T] =
+    fileRange.fold(builder) { case (start, end) => builder.withFileRange(start, end) }
+
+  /**
+    * The filter predicate values are typed after the file schema, therefore the footer is read upfront when filters
+    * are set. With ranged reads the streams of the file share the cached footer bytes, so the reader opening the file
+    * again does not fetch the footer a second time.
+    */
+  private def filterFor(inputFile: InputFile, settings: ParquetReadSettings): FilterCompat.Filter =
+    if (settings.filters.isEmpty) FilterCompat.NOOP
+    else {
+      val schema = using(ParquetFileReader.open(inputFile))(_.getFooter.getFileMetaData.getSchema)
+      FilterCompat.get(ParquetFilterPredicate(schema, settings.filters))
+    }
 }
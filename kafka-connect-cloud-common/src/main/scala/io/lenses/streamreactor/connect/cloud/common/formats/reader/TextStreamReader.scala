@@ -19,41 +19,109 @@ import io.lenses.streamreactor.connect.cloud.common.formats.FormatWriterExceptio
 import io.lenses.streamreactor.connect.cloud.common.source.config.ReadTextMode
 
 import java.io.InputStream
-import scala.io.Source
 import scala.util.Try
 
 object TextStreamReader {
   def apply(
-    readTextMode: Option[ReadTextMode],
-    input:        InputStream,
+    readTextMode:  Option[ReadTextMode],
+    input:         InputStream,
+    startPosition: Long    = 0L,
+    endPosition:   Long    = Long.MaxValue,
+    alignToLine:   Boolean = false,
   ): CloudDataIterator[String] =
-    readTextMode.map(_.createStreamReader(input))
+    readTextMode.map(_.createStreamReader(input, startPosition))
       .getOrElse(
         new TextStreamReader(
           input,
+          startPosition,
+          endPosition,
+          alignToLine,
         ),
       )
 }
 
-class TextStreamReader(input: InputStream) extends CloudDataIterator[String] {
+/**
+  * Reads the lines of a text object.
+  *
+  * @param startPosition the position in the object where the input stream starts, when resuming part way through
+  * @param endPosition   lines starting at or after this position are left to the next split of the object
+  * @param alignToLine   drops the first line, which belongs to the previous split. The stream of a split starts on the
+  *                      byte before it, so that a line starting right on the split boundary is kept
+  */
+class TextStreamReader(
+  input:         InputStream,
+  startPosition: Long    = 0L,
+  endPosition:   Long    = Long.MaxValue,
+  alignToLine:   Boolean = false,
+) extends CloudDataIterator[String] {
 
-  private val source = Source.fromInputStream(input, "UTF-8")
-  protected val sourceLines: Iterator[String] = source.getLines()
+  private val lineReader = new ByteCountingLineReader(input, startPosition)
+
+  private var fetched:     Boolean        = false
+  private var nextLine:    Option[String] = None
+  private var nextLineEnd: Long           = startPosition
+  private var lastLineEnd: Long           = startPosition
+
+  if (alignToLine) {
+    val _ = lineReader.readLine()
+    nextLineEnd = lineReader.position
+    lastLineEnd = nextLineEnd
+  }
+
+  /**
+    * Filters the lines returned. Lines that are skipped still count towards the byte offset.
+    */
+  protected def accept(line: String): Boolean = true
 
   override def close(): Unit = {
-    Try(source.close())
+    Try(lineReader.close())
     ()
   }
 
-  override def hasNext: Boolean = sourceLines.hasNext
+  override def hasNext: Boolean = {
+    fetch()
+    nextLine.isDefined
+  }
 
   override def next(): String = {
-    if (!sourceLines.hasNext) {
-      throw FormatWriterException(
-        "Invalid state reached: the file content has been consumed, no further calls to next() are possible.",
-      )
+    fetch()
+    nextLine match {
+      case Some(line) =>
+        fetched     = false
+        nextLine    = None
+        lastLineEnd = nextLineEnd
+        line
+      case None =>
+        throw FormatWriterException(
+          "Invalid state reached: the file content has been consumed, no further calls to next() are possible.",
+        )
     }
-    sourceLines.next()
   }
 
+  override def byteOffset: Option[Long] = Some(lastLineEnd)
+
+  private def fetch(): Unit =
+    if (!fetched) {
+      nextLine = readLineInRange()
+      while (nextLine.exists(line => !accept(line))) {
+        nextLine = readLineInRange()
+      }
+      nextLineEnd = lineReader.position
+      fetched     = true
+    }
+
+  private def readLineInRange(): Option[String] =
+    if (lineReader.position >= endPosition) None else lineReader.readLine()
+
+}
+
+/**
+  * Reads the lines of a text object which match a regular expression.
+  */
+class RegexTextStreamReader(input: InputStream, regex: String, startPosition: Long = 0L)
+    extends TextStreamReader(input, startPosition) {
+
+  private val pattern = regex.r.pattern
+
+  override protected def accept(line: String): Boolean = pattern.matcher(line).matches()
 }
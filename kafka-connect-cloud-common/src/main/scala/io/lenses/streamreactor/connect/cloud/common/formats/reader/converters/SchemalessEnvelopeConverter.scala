@@ -68,6 +68,9 @@ class SchemalessEnvelopeConverter(
   instantF:           () => Instant = () => Instant.now(),
 ) extends Converter[String] {
   override def convert(envelope: String, index: Long, lastLine: Boolean): SourceRecord =
+    convert(envelope, index, lastLine, Option.empty)
+
+  override def convert(envelope: String, index: Long, lastLine: Boolean, byteOffset: Option[Long]): SourceRecord =
     //parse the json and then extract key,value, headers and metadata
     parse(envelope) match {
       case Left(value) => throw new RuntimeException(s"Failed to parse envelope [$envelope].", value)
@@ -86,7 +89,7 @@ class SchemalessEnvelopeConverter(
 
         val sourceRecord = new SourceRecord(
           watermarkPartition,
-          SourceWatermark.offset(location, index, lastModified, lastLine),
+          SourceWatermark.offset(location, index, lastModified, lastLine, byteOffset),
           topic.value,
           metadata.flatMap(j => j("partition").get.asNumber.flatMap(_.toInt).map(Integer.valueOf)).getOrElse(partition),
           key.map { _ =>
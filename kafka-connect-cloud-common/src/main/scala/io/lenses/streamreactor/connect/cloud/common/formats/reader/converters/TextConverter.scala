@@ -33,8 +33,11 @@ class TextConverter(
   location:                CloudLocation,
   lastModified:            Instant,
 ) extends Converter[String] {
-  override def convert(value: String, index: Long, lastLine: Boolean): SourceRecord = {
-    val offset = SourceWatermark.offset(location, index, lastModified, lastLine)
+  override def convert(value: String, index: Long, lastLine: Boolean): SourceRecord =
+    convert(value, index, lastLine, Option.empty)
+
+  override def convert(value: String, index: Long, lastLine: Boolean, byteOffset: Option[Long]): SourceRecord = {
+    val offset = SourceWatermark.offset(location, index, lastModified, lastLine, byteOffset)
     new SourceRecord(
       watermarkPartition,
       offset,
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetConnectConverters.StructConverter
+import org.apache.hadoop.conf.Configuration
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaAndValue
+import org.apache.parquet.hadoop.ParquetReader
+import org.apache.parquet.hadoop.api.InitContext
+import org.apache.parquet.hadoop.api.ReadSupport
+import org.apache.parquet.hadoop.api.ReadSupport.ReadContext
+import org.apache.parquet.io.InputFile
+import org.apache.parquet.io.api.GroupConverter
+import org.apache.parquet.io.api.RecordMaterializer
+import org.apache.parquet.schema.MessageType
+
+import java.util
+
+/**
+  * Reads Parquet records straight into Connect structs, without going through an Avro `GenericRecord` and
+  * `AvroData`. The Connect schema is derived once per file, when the reader prepares the file for reading.
+  */
+object ConnectParquetReader {
+
+  /**
+    * @param inputFile the file to read.
+    * @param columns the top-level columns to read, or empty to read them all.
+    */
+  def builder(inputFile: InputFile, columns: Seq[String] = Seq.empty): ParquetReader.Builder[SchemaAndValue] =
+    new Builder(inputFile, columns)
+
+  final private class Builder(inputFile: InputFile, columns: Seq[String])
+      extends ParquetReader.Builder[SchemaAndValue](inputFile) {
+    override protected def getReadSupport(): ReadSupport[SchemaAndValue] = new ConnectReadSupport(columns)
+  }
+
+  final private class ConnectReadSupport(columns: Seq[String]) extends ReadSupport[SchemaAndValue] {
+
+    override def init(context: InitContext): ReadContext =
+      new ReadContext(ParquetProjection.prune(context.getFileSchema, columns))
+
+    override def prepareForRead(
+      configuration:    Configuration,
+      keyValueMetaData: util.Map[String, String],
+      fileSchema:       MessageType,
+      readContext:      ReadContext,
+    ): RecordMaterializer[SchemaAndValue] = {
+      val requestedSchema = readContext.getRequestedSchema
+      new ConnectRecordMaterializer(requestedSchema, ParquetConnectSchema.toConnectSchema(requestedSchema))
+    }
+  }
+
+  final private class ConnectRecordMaterializer(messageType: MessageType, schema: Schema)
+      extends RecordMaterializer[SchemaAndValue] {
+    private var current: AnyRef = null
+
+    private val root = new StructConverter(messageType, schema, record => current = record)
+
+    override def getCurrentRecord: SchemaAndValue = new SchemaAndValue(schema, current)
+
+    override def getRootConverter: GroupConverter = root
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import org.apache.kafka.connect.data.Date
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.Struct
+import org.apache.kafka.connect.data.Time
+import org.apache.kafka.connect.data.Timestamp
+import org.apache.parquet.column.Dictionary
+import org.apache.parquet.io.api.Binary
+import org.apache.parquet.io.api.Converter
+import org.apache.parquet.io.api.GroupConverter
+import org.apache.parquet.io.api.PrimitiveConverter
+import org.apache.parquet.schema.GroupType
+import org.apache.parquet.schema.Type
+
+import java.math.BigInteger
+import java.util
+import java.util.concurrent.TimeUnit
+import scala.jdk.CollectionConverters.ListHasAsScala
+
+/**
+  * Parquet converters materialising records straight into Connect values. Each converter hands the value it has
+  * assembled to its parent through a setter, so no intermediate representation is built.
+  */
+object ParquetConnectConverters {
+
+  type Setter = AnyRef => Unit
+
+  private val MillisPerDay: Long = TimeUnit.DAYS.toMillis(1)
+
+  /**
+    * Creates the converter for a value of the given Parquet type, the Connect schema having been derived from it by
+    * [[ParquetConnectSchema]].
+    */
+  def converter(parquetType: Type, schema: Schema, setter: Setter): Converter =
+    if (parquetType.isPrimitive) {
+      primitiveConverter(schema, setter)
+    } else {
+      schema.`type`() match {
+        case Schema.Type.ARRAY => new ListConverter(parquetType.asGroupType(), schema, setter)
+        case Schema.Type.MAP   => new MapConverter(parquetType.asGroupType(), schema, setter)
+        case _                 => new StructConverter(parquetType.asGroupType(), schema, setter)
+      }
+    }
+
+  private def primitiveConverter(schema: Schema, setter: Setter): Converter =
+    Option(schema.name()) match {
+      case Some(Decimal.LOGICAL_NAME)   => new DecimalConverter(schema.parameters().get(Decimal.SCALE_FIELD).toInt, setter)
+      case Some(Date.LOGICAL_NAME)      => new IntConverter(v => setter(new util.Date(v.toLong * MillisPerDay)))
+      case Some(Time.LOGICAL_NAME)      => new IntConverter(v => setter(new util.Date(v.toLong)))
+      case Some(Timestamp.LOGICAL_NAME) => new LongConverter(v => setter(new util.Date(v)))
+      case _ =>
+        schema.`type`() match {
+          case Schema.Type.INT8    => new IntConverter(v => setter(Byte.box(v.toByte)))
+          case Schema.Type.INT16   => new IntConverter(v => setter(Short.box(v.toShort)))
+          case Schema.Type.INT32   => new IntConverter(v => setter(Int.box(v)))
+          case Schema.Type.INT64   => new LongConverter(v => setter(Long.box(v)))
+          case Schema.Type.FLOAT32 => new FloatConverter(setter)
+          case Schema.Type.FLOAT64 => new DoubleConverter(setter)
+          case Schema.Type.BOOLEAN => new BooleanConverter(setter)
+          case Schema.Type.STRING  => new StringConverter(setter)
+          case _                   => new BytesConverter(setter)
+        }
+    }
+
+  /**
+    * Assembles a Connect struct. Fields which are repeated outside of a LIST or MAP group are collected into a list.
+    */
+  final class StructConverter(group: GroupType, schema: Schema, setter: Setter) extends GroupConverter {
+    private val fields   = schema.fields().asScala.toArray
+    private val repeated = group.getFields.asScala.map(_.isRepetition(Type.Repetition.REPEATED)).toArray
+    private val values   = new Array[AnyRef](fields.length)
+
+    private val converters: Array[Converter] = group.getFields.asScala.zipWithIndex.map {
+      case (field, index) if repeated(index) =>
+        converter(field, fields(index).schema().valueSchema(), v => addTo(index, v))
+      case (field, index) =>
+        converter(field, fields(index).schema(), v => values(index) = v)
+    }.toArray
+
+    private def addTo(index: Int, value: AnyRef): Unit = {
+      val _ = values(index).asInstanceOf[util.List[AnyRef]].add(value)
+    }
+
+    override def getConverter(fieldIndex: Int): Converter = converters(fieldIndex)
+
+    override def start(): Unit =
+      values.indices.foreach { index =>
+        values(index) = if (repeated(index)) new util.ArrayList[AnyRef]() else null
+      }
+
+    override def end(): Unit = {
+      val struct = new Struct(schema)
+      values.indices.foreach { index =>
+        if (values(index) != null) {
+          val _ = struct.put(fields(index), values(index))
+        }
+      }
+      setter(struct)
+    }
+  }
+
+  /**
+    * Assembles a Connect array from a LIST group, in either the 3-level or the legacy 2-level layout.
+    */
+  final private class ListConverter(group: GroupType, schema: Schema, setter: Setter) extends GroupConverter {
+    private var list:    util.List[AnyRef] = new util.ArrayList[AnyRef]()
+    private var element: AnyRef            = null
+
+    private val elementConverter: Converter = {
+      val (elementType, wrapped) = ParquetConnectSchema.listElement(group).getOrElse(
+        throw new IllegalArgumentException(s"Invalid Parquet LIST group: $group"),
+      )
+      if (wrapped) new WrapperConverter(converter(elementType, schema.valueSchema(), e => element = e))
+      else converter(elementType, schema.valueSchema(), e => add(e))
+    }
+
+    private def add(value: AnyRef): Unit = {
+      val _ = list.add(value)
+    }
+
+    override def getConverter(fieldIndex: Int): Converter = elementConverter
+
+    override def start(): Unit = list = new util.ArrayList[AnyRef]()
+
+    override def end(): Unit = setter(list)
+
+    /**
+      * The synthetic repeated group wrapping each element of a 3-level LIST. A null element is added when the
+      * optional element is absent.
+      */
+    final private class WrapperConverter(inner: Converter) extends GroupConverter {
+      override def getConverter(fieldIndex: Int): Converter = inner
+
+      override def start(): Unit = element = null
+
+      override def end(): Unit = add(element)
+    }
+  }
+
+  /**
+    * Assembles a Connect map from a MAP group of repeated key/value pairs.
+    */
+  final private class MapConverter(group: GroupType, schema: Schema, setter: Setter) extends GroupConverter {
+    private var map:   util.Map[AnyRef, AnyRef] = new util.LinkedHashMap[AnyRef, AnyRef]()
+    private var key:   AnyRef                   = null
+    private var value: AnyRef                   = null
+
+    private val keyValueConverter: Converter = {
+      val keyValue = ParquetConnectSchema.mapKeyValue(group).getOrElse(
+        throw new IllegalArgumentException(s"Invalid Parquet MAP group: $group"),
+      )
+      new KeyValueConverter(
+        converter(keyValue.getType(0), schema.keySchema(), k => key = k),
+        converter(keyValue.getType(1), schema.valueSchema(), v => value = v),
+      )
+    }
+
+    override def getConverter(fieldIndex: Int): Converter = keyValueConverter
+
+    override def start(): Unit = map = new util.LinkedHashMap[AnyRef, AnyRef]()
+
+    override def end(): Unit = setter(map)
+
+    final private class KeyValueConverter(keyConverter: Converter, valueConverter: Converter) extends GroupConverter {
+      override def getConverter(fieldIndex: Int): Converter = if (fieldIndex == 0) keyConverter else valueConverter
+
+      override def start(): Unit = {
+        key   = null
+        value = null
+      }
+
+      override def end(): Unit = {
+        val _ = map.put(key, value)
+      }
+    }
+  }
+
+  final private class BooleanConverter(setter: Setter) extends PrimitiveConverter {
+    override def addBoolean(value: Boolean): Unit = setter(Boolean.box(value))
+  }
+
+  final private class IntConverter(setter: Int => Unit) extends PrimitiveConverter {
+    override def addInt(value: Int): Unit = setter(value)
+  }
+
+  final private class LongConverter(setter: Long => Unit) extends PrimitiveConverter {
+    override def addLong(value: Long): Unit = setter(value)
+  }
+
+  final private class FloatConverter(setter: Setter) extends PrimitiveConverter {
+    override def addFloat(value: Float): Unit = setter(Float.box(value))
+  }
+
+  final private class DoubleConverter(setter: Setter) extends PrimitiveConverter {
+    override def addDouble(value: Double): Unit = setter(Double.box(value))
+  }
+
+  final private class BytesConverter(setter: Setter) extends PrimitiveConverter {
+    override def addBinary(value: Binary): Unit = setter(value.getBytes)
+  }
+
+  /**
+    * Decodes UTF-8 strings, decoding each dictionary entry only once per column chunk.
+    */
+  final private class StringConverter(setter: Setter) extends PrimitiveConverter {
+    private var dictionary: Array[String] = Array.empty
+
+    override def hasDictionarySupport: Boolean = true
+
+    override def setDictionary(dict: Dictionary): Unit =
+      dictionary = Array.tabulate(dict.getMaxId + 1)(id => dict.decodeToBinary(id).toStringUsingUTF8)
+
+    override def addValueFromDictionary(dictionaryId: Int): Unit = setter(dictionary(dictionaryId))
+
+    override def addBinary(value: Binary): Unit = setter(value.toStringUsingUTF8)
+  }
+
+  /**
+    * Decodes decimals stored as INT32, INT64, BINARY or FIXED_LEN_BYTE_ARRAY.
+    */
+  final private class DecimalConverter(scale: Int, setter: Setter) extends PrimitiveConverter {
+    override def addInt(value: Int): Unit = setter(java.math.BigDecimal.valueOf(value.toLong, scale))
+
+    override def addLong(value: Long): Unit = setter(java.math.BigDecimal.valueOf(value, scale))
+
+    override def addBinary(value: Binary): Unit =
+      setter(new java.math.BigDecimal(new BigInteger(value.getBytes), scale))
+  }
+}
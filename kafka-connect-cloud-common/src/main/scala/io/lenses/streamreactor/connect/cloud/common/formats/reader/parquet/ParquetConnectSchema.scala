@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import org.apache.kafka.connect.data.Date
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaBuilder
+import org.apache.kafka.connect.data.Time
+import org.apache.kafka.connect.data.Timestamp
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.IntLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.JsonLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.ListLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.MapKeyValueTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.MapLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.StringLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeUnit
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimestampLogicalTypeAnnotation
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.GroupType
+import org.apache.parquet.schema.MessageType
+import org.apache.parquet.schema.PrimitiveType
+import org.apache.parquet.schema.Type
+
+import scala.jdk.CollectionConverters.ListHasAsScala
+
+/**
+  * Maps a Parquet file schema onto a Connect schema, following the same conventions as the Avro path (via
+  * `AvroSchemaConverter` and `AvroData`) for the logical types Connect supports. LIST and MAP groups are resolved
+  * using the Parquet backward-compatibility rules, so both the 3-level and the legacy 2-level layouts are understood.
+  */
+object ParquetConnectSchema {
+
+  /**
+    * The Connect struct schema of a Parquet record. The root struct is left unnamed, since the message name is
+    * writer specific (e.g. the Avro record name or `spark_schema`).
+    */
+  def toConnectSchema(messageType: MessageType): Schema = structSchema(messageType).build()
+
+  /**
+    * The Connect schema of a field, wrapping repeated fields which are not part of a LIST or MAP into an array.
+    */
+  def fieldSchema(field: Type): Schema =
+    if (field.isRepetition(Type.Repetition.REPEATED)) {
+      SchemaBuilder.array(valueSchema(field, optional = false)).build()
+    } else {
+      valueSchema(field, field.isRepetition(Type.Repetition.OPTIONAL))
+    }
+
+  /**
+    * Returns the element type of a LIST group and whether it is nested in a synthetic repeated group, or None when
+    * the group does not have a valid LIST layout.
+    */
+  def listElement(group: GroupType): Option[(Type, Boolean)] =
+    Option.when(group.getFieldCount == 1 && group.getType(0).isRepetition(Type.Repetition.REPEATED)) {
+      val repeated = group.getType(0)
+      if (
+        repeated.isPrimitive ||
+        repeated.asGroupType().getFieldCount > 1 ||
+        repeated.getName == "array" ||
+        repeated.getName == s"${group.getName}_tuple"
+      ) {
+        repeated -> false
+      } else {
+        repeated.asGroupType().getType(0) -> true
+      }
+    }
+
+  /**
+    * Returns the repeated key/value group of a MAP group, or None when the group does not have a valid MAP layout.
+    */
+  def mapKeyValue(group: GroupType): Option[GroupType] =
+    Option.when(group.getFieldCount == 1 && group.getType(0).isRepetition(Type.Repetition.REPEATED)) {
+      group.getType(0)
+    }.filterNot(_.isPrimitive).map(_.asGroupType()).filter(_.getFieldCount == 2)
+
+  private def valueSchema(parquetType: Type, optional: Boolean): Schema = {
+    val builder =
+      if (parquetType.isPrimitive) primitiveSchema(parquetType.asPrimitiveType())
+      else groupSchema(parquetType.asGroupType())
+    (if (optional) builder.optional() else builder).build()
+  }
+
+  private def groupSchema(group: GroupType): SchemaBuilder =
+    group.getLogicalTypeAnnotation match {
+      case _: ListLogicalTypeAnnotation =>
+        listElement(group).fold(structSchema(group)) {
+          case (element, _) =>
+            SchemaBuilder.array(valueSchema(element, element.isRepetition(Type.Repetition.OPTIONAL)))
+        }
+      case _: MapLogicalTypeAnnotation | _: MapKeyValueTypeAnnotation =>
+        mapKeyValue(group).fold(structSchema(group)) { keyValue =>
+          val value = keyValue.getType(1)
+          SchemaBuilder.map(
+            valueSchema(keyValue.getType(0), optional = false),
+            valueSchema(value, value.isRepetition(Type.Repetition.OPTIONAL)),
+          )
+        }
+      case _ => structSchema(group)
+    }
+
+  private def structSchema(group: GroupType): SchemaBuilder = {
+    val builder = SchemaBuilder.struct()
+    group.getFields.asScala.foreach(field => builder.field(field.getName, fieldSchema(field)))
+    builder
+  }
+
+  private def primitiveSchema(primitive: PrimitiveType): SchemaBuilder =
+    primitive.getLogicalTypeAnnotation match {
+      case decimal: DecimalLogicalTypeAnnotation => Decimal.builder(decimal.getScale)
+      case _: StringLogicalTypeAnnotation | _: EnumLogicalTypeAnnotation | _: JsonLogicalTypeAnnotation =>
+        SchemaBuilder.string()
+      case _: DateLogicalTypeAnnotation                                     => Date.builder()
+      case time: TimeLogicalTypeAnnotation if time.getUnit == TimeUnit.MILLIS => Time.builder()
+      case ts: TimestampLogicalTypeAnnotation if ts.getUnit == TimeUnit.MILLIS => Timestamp.builder()
+      case integer: IntLogicalTypeAnnotation if integer.isSigned && integer.getBitWidth == 8 =>
+        SchemaBuilder.int8()
+      case integer: IntLogicalTypeAnnotation if integer.isSigned && integer.getBitWidth == 16 =>
+        SchemaBuilder.int16()
+      case _ =>
+        primitive.getPrimitiveTypeName match {
+          case PrimitiveTypeName.BOOLEAN => SchemaBuilder.bool()
+          case PrimitiveTypeName.INT32   => SchemaBuilder.int32()
+          case PrimitiveTypeName.INT64   => SchemaBuilder.int64()
+          case PrimitiveTypeName.FLOAT   => SchemaBuilder.float32()
+          case PrimitiveTypeName.DOUBLE  => SchemaBuilder.float64()
+          case PrimitiveTypeName.INT96 | PrimitiveTypeName.BINARY | PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY =>
+            SchemaBuilder.bytes()
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilter
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilterOperator
+import org.apache.parquet.filter2.predicate.FilterApi
+import org.apache.parquet.filter2.predicate.FilterPredicate
+import org.apache.parquet.filter2.predicate.Operators
+import org.apache.parquet.io.api.Binary
+import org.apache.parquet.schema.LogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.JsonLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.StringLogicalTypeAnnotation
+import org.apache.parquet.schema.LogicalTypeAnnotation.UUIDLogicalTypeAnnotation
+import org.apache.parquet.schema.MessageType
+import org.apache.parquet.schema.PrimitiveType
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.Type
+import org.apache.parquet.schema.Types
+
+import java.math.RoundingMode
+import java.nio.ByteBuffer
+import java.time.LocalDate
+import java.util.UUID
+import scala.util.Try
+
+/**
+  * Builds the Parquet `FilterPredicate` for the source filters. The filter values are typed after the file schema,
+  * which is why the predicate is built per file. Parquet uses the predicate to skip the row groups (and pages) whose
+  * statistics or dictionaries exclude it, then to drop the non-matching records of the row groups it reads.
+  *
+  * Values are converted after the column's logical type: decimals are given in their decimal form (`12.50`), dates
+  * as ISO dates (`2024-01-31`) and UUIDs in their canonical form. Binary columns are compared with the UTF-8 bytes of
+  * the value, unless they hold another logical type, in which case filtering on them is rejected.
+  *
+  * A column missing from the file is treated as a string column holding only nulls.
+  */
+object ParquetFilterPredicate {
+
+  def apply(schema: MessageType, filters: Seq[ParquetFilter]): FilterPredicate =
+    filters.map(toPredicate(schema, _)).reduce[FilterPredicate]((left, right) => FilterApi.and(left, right))
+
+  private def toPredicate(schema: MessageType, filter: ParquetFilter): FilterPredicate = {
+    val primitiveType = columnType(schema, filter)
+    val logicalType   = Option(primitiveType.getLogicalTypeAnnotation)
+    primitiveType.getPrimitiveTypeName match {
+      case PrimitiveTypeName.INT32 =>
+        val column = FilterApi.intColumn(filter.column)
+        val parse: String => java.lang.Integer = logicalType match {
+          case Some(decimal: DecimalLogicalTypeAnnotation) => v => Int.box(unscaled(decimal, v).intValueExact())
+          case Some(_: DateLogicalTypeAnnotation)          => v => Int.box(LocalDate.parse(v).toEpochDay.toInt)
+          case _                                           => v => Int.box(v.toInt)
+        }
+        compare[java.lang.Integer, Operators.IntColumn](column, filter, value(filter)(parse))
+      case PrimitiveTypeName.INT64 =>
+        val column = FilterApi.longColumn(filter.column)
+        val parse: String => java.lang.Long = logicalType match {
+          case Some(decimal: DecimalLogicalTypeAnnotation) => v => Long.box(unscaled(decimal, v).longValueExact())
+          case _                                           => v => Long.box(v.toLong)
+        }
+        compare[java.lang.Long, Operators.LongColumn](column, filter, value(filter)(parse))
+      case PrimitiveTypeName.FLOAT =>
+        val column = FilterApi.floatColumn(filter.column)
+        compare[java.lang.Float, Operators.FloatColumn](column, filter, value(filter)(v => Float.box(v.toFloat)))
+      case PrimitiveTypeName.DOUBLE =>
+        val column = FilterApi.doubleColumn(filter.column)
+        compare[java.lang.Double, Operators.DoubleColumn](column, filter, value(filter)(v => Double.box(v.toDouble)))
+      case PrimitiveTypeName.BOOLEAN =>
+        val column = FilterApi.booleanColumn(filter.column)
+        equality[java.lang.Boolean, Operators.BooleanColumn](column,
+                                                             filter,
+                                                             value(filter)(v => Boolean.box(v.toBoolean)),
+        )
+      case PrimitiveTypeName.BINARY | PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY =>
+        val column = FilterApi.binaryColumn(filter.column)
+        compare[Binary, Operators.BinaryColumn](column, filter, value(filter)(binary(primitiveType, filter)))
+      case PrimitiveTypeName.INT96 =>
+        throw new IllegalArgumentException(s"Cannot filter on the INT96 column ${filter.column}")
+    }
+  }
+
+  private def columnType(schema: MessageType, filter: ParquetFilter): PrimitiveType = {
+    val path = filter.column.split('.')
+    if (schema.containsPath(path)) {
+      val parquetType = schema.getType(path: _*)
+      if (!parquetType.isPrimitive || parquetType.isRepetition(Type.Repetition.REPEATED)) {
+        throw new IllegalArgumentException(
+          s"Cannot filter on ${filter.column}. Only non-repeated primitive columns are supported",
+        )
+      }
+      parquetType.asPrimitiveType()
+    } else {
+      Types.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(filter.column)
+    }
+  }
+
+  /**
+    * Converts the value to the bytes stored for a binary or fixed length column.
+    */
+  private def binary(primitiveType: PrimitiveType, filter: ParquetFilter): String => Binary = {
+    val fixedLength = Option.when(primitiveType.getPrimitiveTypeName == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY)(
+      primitiveType.getTypeLength,
+    )
+    Option(primitiveType.getLogicalTypeAnnotation) match {
+      case Some(decimal: DecimalLogicalTypeAnnotation) =>
+        v => Binary.fromConstantByteArray(twosComplement(unscaled(decimal, v), fixedLength))
+      case Some(_: UUIDLogicalTypeAnnotation) =>
+        v => {
+          val uuid = UUID.fromString(v)
+          Binary.fromConstantByteArray(
+            ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits).putLong(uuid.getLeastSignificantBits).array(),
+          )
+        }
+      case None | Some(_: StringLogicalTypeAnnotation) | Some(_: EnumLogicalTypeAnnotation) |
+          Some(_: JsonLogicalTypeAnnotation) if fixedLength.isEmpty =>
+        Binary.fromString
+      case other =>
+        val columnType = other.fold(primitiveType.getPrimitiveTypeName.name())(_.toString)
+        throw new IllegalArgumentException(
+          s"Cannot filter on ${filter.column}. Filtering on $columnType columns is not supported",
+        )
+    }
+  }
+
+  /**
+    * The unscaled value of a decimal, failing when it has more fractional digits than the column.
+    */
+  private def unscaled(decimal: DecimalLogicalTypeAnnotation, value: String): java.math.BigInteger =
+    new java.math.BigDecimal(value).setScale(decimal.getScale, RoundingMode.UNNECESSARY).unscaledValue()
+
+  /**
+    * The big-endian two's complement bytes of a decimal's unscaled value, sign extended to the length of a fixed length
+    * column.
+    */
+  private def twosComplement(unscaled: java.math.BigInteger, fixedLength: Option[Int]): Array[Byte] = {
+    val bytes = unscaled.toByteArray
+    fixedLength.fold(bytes) { length =>
+      if (bytes.length > length) {
+        throw new IllegalArgumentException(s"The value $unscaled does not fit in $length bytes")
+      }
+      val padding = if (unscaled.signum() < 0) 0xff.toByte else 0.toByte
+      Array.fill[Byte](length - bytes.length)(padding) ++ bytes
+    }
+  }
+
+  private def value[T](filter: ParquetFilter)(parse: String => T): T =
+    Try(parse(filter.value)).getOrElse(
+      throw new IllegalArgumentException(s"Invalid value [${filter.value}] for the column ${filter.column}"),
+    )
+
+  private def compare[T <: Comparable[T], C <: Operators.Column[T] with Operators.SupportsLtGt](
+    column: C,
+    filter: ParquetFilter,
+    value:  T,
+  ): FilterPredicate =
+    filter.operator match {
+      case ParquetFilterOperator.Lt   => FilterApi.lt[T, C](column, value)
+      case ParquetFilterOperator.LtEq => FilterApi.ltEq[T, C](column, value)
+      case ParquetFilterOperator.Gt   => FilterApi.gt[T, C](column, value)
+      case ParquetFilterOperator.GtEq => FilterApi.gtEq[T, C](column, value)
+      case _                          => equality[T, C](column, filter, value)
+    }
+
+  private def equality[T <: Comparable[T], C <: Operators.Column[T] with Operators.SupportsEqNotEq](
+    column: C,
+    filter: ParquetFilter,
+    value:  T,
+  ): FilterPredicate =
+    filter.operator match {
+      case ParquetFilterOperator.Eq    => FilterApi.eq[T, C](column, value)
+      case ParquetFilterOperator.NotEq => FilterApi.notEq[T, C](column, value)
+      case other =>
+        throw new IllegalArgumentException(
+          s"The operator ${other.symbol} is not supported for the column ${filter.column}",
+        )
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import org.apache.avro.Schema
+import org.apache.parquet.schema.MessageType
+
+import scala.jdk.CollectionConverters.ListHasAsScala
+import scala.jdk.CollectionConverters.SeqHasAsJava
+
+/**
+  * Restricts the schemas read from a Parquet file to a set of top-level columns, so the chunks of the other columns
+  * are never fetched nor decoded. The columns keep the order they have in the file.
+  */
+object ParquetProjection {
+
+  def prune(schema: MessageType, columns: Seq[String]): MessageType =
+    if (columns.isEmpty) schema
+    else {
+      val fields = schema.getFields.asScala.filter(field => columns.contains(field.getName))
+      if (fields.isEmpty) {
+        throw new IllegalArgumentException(
+          s"None of the columns [${columns.mkString(",")}] is present in the Parquet schema: $schema",
+        )
+      }
+      new MessageType(schema.getName, fields.asJava)
+    }
+
+  def prune(schema: Schema, columns: Seq[String]): Schema =
+    if (columns.isEmpty) schema
+    else {
+      val fields = schema.getFields.asScala.collect {
+        case field if columns.contains(field.name()) => new Schema.Field(field, field.schema())
+      }
+      Schema.createRecord(schema.getName, schema.getDoc, schema.getNamespace, schema.isError, fields.asJava)
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import cats.implicits.toBifunctorOps
+import com.typesafe.scalalogging.LazyLogging
+import org.apache.parquet.io.SeekableInputStream
+
+import java.io.EOFException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import scala.util.Using
+
+/**
+  * A `SeekableInputStream` for Parquet files which fetches byte ranges from the remote instead of streaming the whole
+  * object. Seeking only moves the position, so going backwards (to read the footer, then the column chunks) does not
+  * restart a download and the bytes Parquet skips over are never fetched.
+  *
+  * The tail of the file, holding the footer, is fetched once and cached in `footerCache`, which the streams opened for
+  * the same file may share so the footer is not fetched again when the file is reopened. Other reads are served from a
+  * read-ahead window of at least `minRangeSize` bytes; reads larger than that, such as whole column chunks, are
+  * fetched with a single ranged request straight into the caller's buffer.
+  *
+  * @param fileSize the size of the file.
+  * @param readRangeF a function returning the stream for a byte range, given the start offset and the length.
+  * @param footerCacheSize the number of bytes at the end of the file to fetch and cache on the first footer read.
+  * @param minRangeSize the minimum number of bytes requested for reads which are not served from the caches.
+  * @param footerCache the cache holding the tail of the file once fetched.
+  */
+class ParquetRangedSeekableInputStream(
+  fileSize:        Long,
+  readRangeF:      (Long, Long) => Either[Throwable, InputStream],
+  footerCacheSize: Int = ParquetRangedSeekableInputStream.DefaultFooterCacheSize,
+  minRangeSize:    Int = ParquetRangedSeekableInputStream.DefaultMinRangeSize,
+  footerCache:     ParquetRangedSeekableInputStream.FooterCache = new ParquetRangedSeekableInputStream.FooterCache,
+) extends SeekableInputStream
+    with LazyLogging {
+
+  private case class Window(start: Long, bytes: Array[Byte]) {
+    def end: Long = start + bytes.length
+
+    def contains(position: Long): Boolean = position >= start && position < end
+  }
+
+  private val footerStart: Long = Math.max(0L, fileSize - footerCacheSize)
+
+  private var pos:    Long           = 0
+  private var footer: Option[Window] = None
+  private var window: Option[Window] = None
+
+  override def getPos: Long = pos
+
+  override def seek(newPos: Long): Unit = {
+    if (newPos < 0 || newPos > fileSize) {
+      throw new EOFException(s"Cannot seek to position $newPos, the file size is $fileSize")
+    }
+    logger.debug(s"Seeking from $pos to position $newPos")
+    pos = newPos
+  }
+
+  override def read(): Int = {
+    val single = new Array[Byte](1)
+    if (readInto(single, 0, 1) == -1) -1 else single(0) & 0xff
+  }
+
+  override def read(bytes: Array[Byte]): Int = readInto(bytes, 0, bytes.length)
+
+  override def read(bytes: Array[Byte], offset: Int, length: Int): Int = readInto(bytes, offset, length)
+
+  override def read(buf: ByteBuffer): Int = {
+    val tempArray = new Array[Byte](buf.remaining())
+    val bytesRead = readInto(tempArray, 0, tempArray.length)
+    if (bytesRead > 0) buf.put(tempArray, 0, bytesRead)
+    bytesRead
+  }
+
+  override def readFully(bytes: Array[Byte]): Unit = readFully(bytes, 0, bytes.length)
+
+  override def readFully(bytes: Array[Byte], start: Int, len: Int): Unit = {
+    val bytesRead = readInto(bytes, start, len)
+    if (len > 0 && bytesRead != len) {
+      throw new EOFException(s"Reached the end of stream with ${len - Math.max(bytesRead, 0)} bytes left to read")
+    }
+  }
+
+  override def readFully(buf: ByteBuffer): Unit = {
+    val tempArray = new Array[Byte](buf.remaining())
+    readFully(tempArray)
+    buf.put(tempArray)
+    ()
+  }
+
+  override def skip(n: Long): Long = {
+    val skipped = Math.max(0L, Math.min(n, fileSize - pos))
+    pos += skipped
+    skipped
+  }
+
+  override def available(): Int =
+    (footer.filter(_.contains(pos)) orElse window.filter(_.contains(pos))).fold(0)(w => (w.end - pos).toInt)
+
+  override def close(): Unit = {
+    footer = None
+    window = None
+  }
+
+  private def readInto(dest: Array[Byte], offset: Int, length: Int): Int =
+    if (length == 0) 0
+    else if (pos >= fileSize) -1
+    else {
+      var copied = 0
+      while (copied < length && pos < fileSize) {
+        val remaining = length - copied
+        cachedWindow(remaining) match {
+          case Some(w) =>
+            val toCopy = Math.min(remaining.toLong, w.end - pos).toInt
+            System.arraycopy(w.bytes, (pos - w.start).toInt, dest, offset + copied, toCopy)
+            copied += toCopy
+            pos    += toCopy
+          case None =>
+            val toRead = Math.min(remaining.toLong, fileSize - pos).toInt
+            fetchInto(pos, toRead, dest, offset + copied)
+            copied += toRead
+            pos    += toRead
+        }
+      }
+      copied
+    }
+
+  /**
+    * Returns the cached window holding the current position, fetching it when needed. Returns None when the read is
+    * large enough to be fetched directly into the destination.
+    */
+  private def cachedWindow(remaining: Int): Option[Window] =
+    if (pos >= footerStart) {
+      if (footer.isEmpty) {
+        val bytes = footerCache.getOrFetch(fetch(footerStart, (fileSize - footerStart).toInt).bytes)
+        footer = Some(Window(footerStart, bytes))
+      }
+      footer
+    } else {
+      window.filter(_.contains(pos)).orElse {
+        if (remaining >= minRangeSize) {
+          None
+        } else {
+          window = Some(fetch(pos, Math.min(minRangeSize.toLong, footerStart - pos).toInt))
+          window
+        }
+      }
+    }
+
+  private def fetch(start: Long, length: Int): Window = {
+    val bytes = new Array[Byte](length)
+    fetchInto(start, length, bytes, 0)
+    Window(start, bytes)
+  }
+
+  private def fetchInto(start: Long, length: Int, dest: Array[Byte], offset: Int): Unit = {
+    logger.debug(s"Fetching $length bytes from position $start")
+    Using.resource(readRangeF(start, length.toLong).leftMap(throw _).merge) { stream =>
+      var read = 0
+      while (read < length) {
+        val bytesRead = stream.read(dest, offset + read, length - read)
+        if (bytesRead == -1) {
+          throw new EOFException(s"Reached the end of the range starting at $start after $read of $length bytes")
+        }
+        read += bytesRead
+      }
+    }
+  }
+}
+
+object ParquetRangedSeekableInputStream {
+  val DefaultFooterCacheSize: Int = 64 * 1024
+  val DefaultMinRangeSize:    Int = 1024 * 1024
+
+  /**
+    * Holds the tail of a file once fetched, for the streams reading the same file.
+    */
+  final class FooterCache {
+    @volatile private var bytes: Option[Array[Byte]] = None
+
+    private[parquet] def getOrFetch(fetch: => Array[Byte]): Array[Byte] =
+      bytes.getOrElse {
+        val fetched = fetch
+        bytes = Some(fetched)
+        fetched
+      }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet
+
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericRecord
+import org.apache.hadoop.conf.Configuration
+import org.apache.parquet.avro.AvroReadSupport
+import org.apache.parquet.conf.ParquetConfiguration
+import org.apache.parquet.hadoop.ParquetReader
+import org.apache.parquet.hadoop.api.InitContext
+import org.apache.parquet.hadoop.api.ReadSupport
+import org.apache.parquet.hadoop.api.ReadSupport.ReadContext
+import org.apache.parquet.io.InputFile
+import org.apache.parquet.io.api.RecordMaterializer
+import org.apache.parquet.schema.MessageType
+
+import java.util
+
+/**
+  * Reads Avro records holding only a subset of the top-level columns. The Parquet requested schema is pruned
+  * directly, rather than converted back from an Avro projection, so it always matches the file layout. When the
+  * file carries the Avro schema it was written with, that schema is pruned the same way before records are built.
+  */
+object ProjectedAvroParquetReader {
+
+  private val AvroSchemaMetadataKeys = List("parquet.avro.schema", "avro.schema")
+
+  def builder(inputFile: InputFile, columns: Seq[String]): ParquetReader.Builder[GenericRecord] =
+    new Builder(inputFile, columns)
+
+  final private class Builder(inputFile: InputFile, columns: Seq[String])
+      extends ParquetReader.Builder[GenericRecord](inputFile) {
+    override protected def getReadSupport(): ReadSupport[GenericRecord] = new ProjectedAvroReadSupport(columns)
+  }
+
+  final private class ProjectedAvroReadSupport(columns: Seq[String]) extends AvroReadSupport[GenericRecord] {
+
+    override def init(context: InitContext): ReadContext = {
+      val readContext = super.init(context)
+      new ReadContext(ParquetProjection.prune(readContext.getRequestedSchema, columns),
+                      readContext.getReadSupportMetadata,
+      )
+    }
+
+    override def prepareForRead(
+      configuration:    Configuration,
+      keyValueMetaData: util.Map[String, String],
+      fileSchema:       MessageType,
+      readContext:      ReadContext,
+    ): RecordMaterializer[GenericRecord] =
+      super.prepareForRead(configuration, projected(keyValueMetaData), fileSchema, readContext)
+
+    override def prepareForRead(
+      configuration:    ParquetConfiguration,
+      keyValueMetaData: util.Map[String, String],
+      fileSchema:       MessageType,
+      readContext:      ReadContext,
+    ): RecordMaterializer[GenericRecord] =
+      super.prepareForRead(configuration, projected(keyValueMetaData), fileSchema, readContext)
+
+    private def projected(keyValueMetaData: util.Map[String, String]): util.Map[String, String] = {
+      val result = new util.HashMap[String, String](keyValueMetaData)
+      AvroSchemaMetadataKeys.foreach { key =>
+        Option(keyValueMetaData.get(key)).foreach { avroSchema =>
+          result.put(key, ParquetProjection.prune(new Schema.Parser().parse(avroSchema), columns).toString)
+        }
+      }
+      result
+    }
+  }
+}
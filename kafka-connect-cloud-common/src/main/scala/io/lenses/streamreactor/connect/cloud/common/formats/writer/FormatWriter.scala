@@ -19,11 +19,13 @@ import cats.implicits._
 import io.lenses.streamreactor.connect.cloud.common.config.FormatOptions.WithHeaders
 import io.lenses.streamreactor.connect.cloud.common.config._
 import io.lenses.streamreactor.connect.cloud.common.formats.FormatWriterException
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.location.FileUtils.toBufferedOutputStream
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import io.lenses.streamreactor.connect.cloud.common.sink.NonFatalCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.config.ParquetWriteSettings
 import io.lenses.streamreactor.connect.cloud.common.stream.BuildLocalOutputStream
 
 import java.nio.file.Path
@@ -35,6 +37,8 @@ object FormatWriter {
     formatSelection: FormatSelection,
     path:            Path,
     topicPartition:  TopicPartition,
+    parquetSettings: ParquetWriteSettings = ParquetWriteSettings.Default,
+    schemaCache:     SchemaCache = new SchemaCache(),
   )(
     implicit
     compressionCodec: CompressionCodec,
@@ -44,7 +48,7 @@ object FormatWriter {
       writer <- Try {
         formatSelection match {
           case ParquetFormatSelection =>
-            new ParquetFormatWriter(outputStream)
+            new ParquetFormatWriter(outputStream, parquetSettings, schemaCache)
           case JsonFormatSelection    => new JsonFormatWriter(outputStream)
           case AvroFormatSelection    => new AvroFormatWriter(outputStream)
           case TextFormatSelection(_) => new TextFormatWriter(outputStream)
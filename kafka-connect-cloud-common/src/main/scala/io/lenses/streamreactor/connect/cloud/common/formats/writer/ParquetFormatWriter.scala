@@ -16,7 +16,9 @@
 package io.lenses.streamreactor.connect.cloud.common.formats.writer
 
 import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ConnectParquetWriter
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ParquetOutputFile
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.BROTLI
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.GZIP
@@ -26,20 +28,23 @@ import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.S
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.ZSTD
 import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.config.ParquetWriteSettings
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.SinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ToAvroDataConverter
 import io.lenses.streamreactor.connect.cloud.common.stream.CloudOutputStream
 import org.apache.avro.Schema
 import org.apache.kafka.connect.data.{ Schema => ConnectSchema }
 import org.apache.parquet.avro.AvroParquetWriter
 import org.apache.parquet.hadoop.ParquetWriter
-import org.apache.parquet.hadoop.ParquetWriter.DEFAULT_BLOCK_SIZE
-import org.apache.parquet.hadoop.ParquetWriter.DEFAULT_PAGE_SIZE
 import org.apache.parquet.hadoop.metadata.{ CompressionCodecName => ParquetCompressionCodecName }
 
 import scala.util.Try
 
 class ParquetFormatWriter(
-  outputStream: CloudOutputStream,
+  outputStream:  CloudOutputStream,
+  writeSettings: ParquetWriteSettings = ParquetWriteSettings.Default,
+  schemaCache:   SchemaCache = new SchemaCache(),
 )(
   implicit
   compressionCodec: CompressionCodec,
@@ -61,40 +66,74 @@ class ParquetFormatWriter(
 
   private var writer: ParquetWriter[Any] = _
 
+  // turns the values into the records taken by the writer, set along with it
+  private var toRecord: SinkData => Any = _
+
   override def write(messageDetail: MessageDetail): Either[Throwable, Unit] =
     Try {
 
       logger.debug("ParquetFormatWriter - write")
 
-      val genericRecord = ToAvroDataConverter.convertToGenericRecord(messageDetail.value)
       createWriterIfNoWriter(
+        messageDetail.value,
         messageDetail.value.schema().getOrElse(
           throw new IllegalArgumentException("Schema-less data is not supported for Avro/Parquet"),
         ),
       )
 
-      writer.write(genericRecord)
+      writer.write(toRecord(messageDetail.value))
       outputStream.flush()
     }.toEither
 
-  private def createWriterIfNoWriter(connectSchema: ConnectSchema): Unit =
+  private def createWriterIfNoWriter(value: SinkData, connectSchema: ConnectSchema): Unit =
     if (writer == null) {
-      writer = init(connectSchema)
+      init(value, connectSchema)
     }
 
-  private def init(connectSchema: ConnectSchema): ParquetWriter[Any] = {
+  private def init(value: SinkData, connectSchema: ConnectSchema): Unit = {
     val schema: Schema = ToAvroDataConverter.convertSchema(connectSchema)
 
     val outputFile = new ParquetOutputFile(outputStream)
 
-    AvroParquetWriter
-      .builder[Any](outputFile)
-      .withRowGroupSize(DEFAULT_BLOCK_SIZE.toLong)
-      .withPageSize(DEFAULT_PAGE_SIZE)
-      .withSchema(schema)
+    // structs are written straight from their Connect form, unless their schema holds values only written through Avro
+    val directBuilder = value match {
+      case _: StructSinkData if writeSettings.directWrite =>
+        schemaCache.parquetSchema(connectSchema)(ConnectParquetWriter.compile(_, schema))
+          .map(ConnectParquetWriter.builder(outputFile, _))
+      case _ => Option.empty
+    }
+
+    directBuilder match {
+      case Some(builder) =>
+        writer = configure(builder).build()
+        toRecord = {
+          case StructSinkData(struct) => struct
+          case other                  => ToAvroDataConverter.convertToGenericRecord(other)
+        }
+      case None =>
+        writer   = configure(AvroParquetWriter.builder[Any](outputFile).withSchema(schema)).build()
+        toRecord = ToAvroDataConverter.convertToGenericRecord
+    }
+  }
+
+  private def configure[B <: ParquetWriter.Builder[Any, B]](builder: B): B = {
+    val configured = builder
+      .withRowGroupSize(writeSettings.rowGroupSize)
+      .withPageSize(writeSettings.pageSize)
+      .withMinRowCountForPageSizeCheck(writeSettings.minRowsForPageSizeCheck)
+      .withMaxRowCountForPageSizeCheck(writeSettings.maxRowsForPageSizeCheck)
+      .withDictionaryEncoding(writeSettings.dictionaryEnabled)
+      .withDictionaryPageSize(writeSettings.dictionaryPageSize)
+      .withWriterVersion(writeSettings.writerVersion.writerVersion)
       .withCompressionCodec(parquetCompressionCodec)
-      .build()
 
+    val withStatistics =
+      writeSettings.statisticsTruncateLength.fold(configured)(configured.withStatisticsTruncateLength)
+
+    writeSettings.bloomFilterColumns.foldLeft(withStatistics) { (b, column) =>
+      val enabled = b.withBloomFilterEnabled(column, true)
+      writeSettings.bloomFilterNdv.fold(enabled)(enabled.withBloomFilterNDV(column, _))
+    }
   }
 
   override def rolloverFileOnSchemaChange() = true
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ParquetConnectWriters.StructWriter
+import org.apache.avro.{ Schema => AvroSchema }
+import org.apache.hadoop.conf.Configuration
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.Struct
+import org.apache.kafka.connect.errors.DataException
+import org.apache.parquet.avro.AvroSchemaConverter
+import org.apache.parquet.hadoop.ParquetWriter
+import org.apache.parquet.hadoop.api.WriteSupport
+import org.apache.parquet.hadoop.api.WriteSupport.WriteContext
+import org.apache.parquet.io.OutputFile
+import org.apache.parquet.io.api.RecordConsumer
+import org.apache.parquet.schema.MessageType
+
+import scala.jdk.CollectionConverters.MapHasAsJava
+
+/**
+  * Writes Connect structs to Parquet without converting them to Avro records first.
+  *
+  * The Parquet schema is the one `AvroParquetWriter` derives from the Avro form of the Connect schema, and the Avro
+  * schema is kept in the file metadata, so the files read back exactly as the ones written through Avro.
+  */
+object ConnectParquetWriter {
+
+  // the metadata key parquet-avro reads the Avro schema of a file from
+  private val AvroSchemaKey = "parquet.avro.schema"
+
+  /**
+    * The Parquet form of a Connect schema along with the writer of its structs. Neither holds any state of a file, so
+    * they are compiled once per schema and shared by the files written with it.
+    */
+  final class CompiledSchema private[parquet] (
+    val avroSchema:   AvroSchema,
+    val messageType:  MessageType,
+    val structWriter: StructWriter,
+  )
+
+  /**
+    * @param schema     the Connect schema of the structs written
+    * @param avroSchema the Avro form of the Connect schema
+    * @return the compiled schema, or None when the schema holds values only written through Avro
+    */
+  def compile(schema: Schema, avroSchema: AvroSchema): Option[CompiledSchema] = {
+    val messageType = new AvroSchemaConverter().convert(avroSchema)
+    ParquetConnectWriters.structWriter(schema, messageType).map(new CompiledSchema(avroSchema, messageType, _))
+  }
+
+  def builder(outputFile: OutputFile, compiled: CompiledSchema): Builder =
+    new Builder(outputFile,
+                new ConnectWriteSupport(compiled.messageType, compiled.avroSchema, compiled.structWriter),
+    )
+
+  /**
+    * @return the builder of the writer, or None when the schema holds values only written through Avro
+    */
+  def builder(outputFile: OutputFile, schema: Schema, avroSchema: AvroSchema): Option[Builder] =
+    compile(schema, avroSchema).map(builder(outputFile, _))
+
+  final class Builder private[parquet] (outputFile: OutputFile, writeSupport: WriteSupport[Any])
+      extends ParquetWriter.Builder[Any, Builder](outputFile) {
+
+    override protected def self(): Builder = this
+
+    override protected def getWriteSupport(conf: Configuration): WriteSupport[Any] = writeSupport
+  }
+
+  final private class ConnectWriteSupport(messageType: MessageType, avroSchema: AvroSchema, structWriter: StructWriter)
+      extends WriteSupport[Any] {
+
+    private var consumer: RecordConsumer = _
+
+    override def init(configuration: Configuration): WriteContext =
+      new WriteContext(messageType, Map(AvroSchemaKey -> avroSchema.toString).asJava)
+
+    override def prepareForWrite(recordConsumer: RecordConsumer): Unit = consumer = recordConsumer
+
+    override def write(record: Any): Unit =
+      record match {
+        case struct: Struct =>
+          consumer.startMessage()
+          structWriter.writeFields(consumer, struct)
+          consumer.endMessage()
+        case other =>
+          throw new DataException(s"Only structs are written to Parquet directly, not ${other.getClass.getName}")
+      }
+
+    // the object model of the files written through Avro, which readers may rely on
+    override def getName: String = "avro"
+  }
+}
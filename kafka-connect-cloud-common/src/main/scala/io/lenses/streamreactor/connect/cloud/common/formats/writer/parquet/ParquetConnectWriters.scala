@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet
+
+import org.apache.kafka.connect.data.Date
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Field
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.Struct
+import org.apache.kafka.connect.data.Time
+import org.apache.kafka.connect.data.Timestamp
+import org.apache.kafka.connect.errors.DataException
+import org.apache.parquet.io.api.Binary
+import org.apache.parquet.io.api.RecordConsumer
+import org.apache.parquet.schema.GroupType
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.Type
+import org.apache.parquet.schema.Type.Repetition
+
+import java.nio.ByteBuffer
+import java.util
+import scala.jdk.CollectionConverters.ListHasAsScala
+import scala.jdk.CollectionConverters.MapHasAsScala
+
+/**
+  * Writers sending Connect values straight to a Parquet `RecordConsumer`. They are compiled once per file from the
+  * Connect schema and the Parquet schema derived from its Avro form, so the values are written in the layout
+  * `AvroParquetWriter` would give them.
+  */
+object ParquetConnectWriters {
+
+  /**
+    * Writes a value, which is never null.
+    */
+  sealed trait ValueWriter {
+    def write(consumer: RecordConsumer, value: AnyRef): Unit
+  }
+
+  final private case class FieldWriter(field: Field, parquetName: String, index: Int, writer: ValueWriter)
+
+  /**
+    * Writes the fields of a struct. Structs of another schema, such as a compatible schema written to the same file,
+    * have their fields looked up by name.
+    */
+  final class StructWriter private[parquet] (schema: Schema, fields: Array[FieldWriter]) extends ValueWriter {
+
+    // the writer is shared by the files of a schema, whose records may carry other instances of the same schema
+    @volatile private var equalSchema: Schema = schema
+
+    private def isSameSchema(other: Schema): Boolean =
+      if ((other eq schema) || (other eq equalSchema)) true
+      else if (other == schema) {
+        equalSchema = other
+        true
+      } else false
+
+    def writeFields(consumer: RecordConsumer, struct: Struct): Unit = {
+      val sameSchema = isSameSchema(struct.schema())
+      var i          = 0
+      while (i < fields.length) {
+        val field = fields(i)
+        val value =
+          if (sameSchema) struct.get(field.field)
+          else Option(struct.schema().field(field.field.name())).map(f => struct.get(f)).orNull
+        if (value != null) {
+          consumer.startField(field.parquetName, field.index)
+          field.writer.write(consumer, value)
+          consumer.endField(field.parquetName, field.index)
+        } else if (!field.field.schema().isOptional) {
+          throw new DataException(s"Missing value for the required field ${field.field.name()}")
+        }
+        i += 1
+      }
+    }
+
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit = {
+      consumer.startGroup()
+      writeFields(consumer, value.asInstanceOf[Struct])
+      consumer.endGroup()
+    }
+  }
+
+  /**
+    * Compiles the writer of a struct, or returns None when one of its values is not handled and the struct has to be
+    * written through Avro.
+    */
+  def structWriter(schema: Schema, groupType: GroupType): Option[StructWriter] =
+    if (schema.`type`() != Schema.Type.STRUCT || schema.fields().size() != groupType.getFieldCount) {
+      None
+    } else {
+      schema.fields().asScala.toList.zipWithIndex.foldLeft(Option(List.empty[FieldWriter])) {
+        case (acc, (field, index)) =>
+          val parquetType = groupType.getType(index)
+          for {
+            writers <- acc
+            if parquetType.getName == field.name()
+            if parquetType.isRepetition(Repetition.OPTIONAL) == field.schema().isOptional
+            writer <- valueWriter(field.schema(), parquetType)
+          } yield FieldWriter(field, parquetType.getName, index, writer) :: writers
+      }.map(writers => new StructWriter(schema, writers.reverse.toArray))
+    }
+
+  private def valueWriter(schema: Schema, parquetType: Type): Option[ValueWriter] =
+    if (parquetType.isPrimitive) {
+      primitiveWriter(schema, parquetType.asPrimitiveType().getPrimitiveTypeName)
+    } else {
+      schema.`type`() match {
+        case Schema.Type.STRUCT => structWriter(schema, parquetType.asGroupType())
+        case Schema.Type.ARRAY  => listWriter(schema, parquetType.asGroupType())
+        case Schema.Type.MAP    => mapWriter(schema, parquetType.asGroupType())
+        case _                  => None
+      }
+    }
+
+  private def primitiveWriter(schema: Schema, typeName: PrimitiveTypeName): Option[ValueWriter] =
+    (Option(schema.name()), schema.`type`(), typeName) match {
+      case (Some(Decimal.LOGICAL_NAME), Schema.Type.BYTES, PrimitiveTypeName.BINARY) =>
+        Some(new LogicalBinaryWriter(schema))
+      case (Some(Date.LOGICAL_NAME), Schema.Type.INT32, PrimitiveTypeName.INT32) =>
+        Some(new LogicalIntWriter(schema, (s, v) => Date.fromLogical(s, v)))
+      case (Some(Time.LOGICAL_NAME), Schema.Type.INT32, PrimitiveTypeName.INT32) =>
+        Some(new LogicalIntWriter(schema, (s, v) => Time.fromLogical(s, v)))
+      case (Some(Timestamp.LOGICAL_NAME), Schema.Type.INT64, PrimitiveTypeName.INT64) =>
+        Some(new TimestampWriter(schema))
+      case (_, Schema.Type.INT8, PrimitiveTypeName.INT32)      => Some(ByteWriter)
+      case (_, Schema.Type.INT16, PrimitiveTypeName.INT32)     => Some(ShortWriter)
+      case (_, Schema.Type.INT32, PrimitiveTypeName.INT32)     => Some(IntWriter)
+      case (_, Schema.Type.INT64, PrimitiveTypeName.INT64)     => Some(LongWriter)
+      case (_, Schema.Type.FLOAT32, PrimitiveTypeName.FLOAT)   => Some(FloatWriter)
+      case (_, Schema.Type.FLOAT64, PrimitiveTypeName.DOUBLE)  => Some(DoubleWriter)
+      case (_, Schema.Type.BOOLEAN, PrimitiveTypeName.BOOLEAN) => Some(BooleanWriter)
+      case (_, Schema.Type.STRING, PrimitiveTypeName.BINARY)   => Some(StringWriter)
+      case (_, Schema.Type.BYTES, PrimitiveTypeName.BINARY)    => Some(BytesWriter)
+      case _                                                   => None
+    }
+
+  /**
+    * Lists take the layout of `parquet-avro`: a group holding a single repeated element.
+    */
+  private def listWriter(schema: Schema, groupType: GroupType): Option[ValueWriter] =
+    if (groupType.getFieldCount != 1 || !groupType.getType(0).isRepetition(Repetition.REPEATED)) {
+      None
+    } else {
+      val elementType = groupType.getType(0)
+      valueWriter(schema.valueSchema(), elementType).map(new ListWriter(elementType.getName, _))
+    }
+
+  /**
+    * Maps take the layout of `parquet-avro`, which only writes maps with string keys: a group holding repeated key and
+    * value pairs.
+    */
+  private def mapWriter(schema: Schema, groupType: GroupType): Option[ValueWriter] =
+    for {
+      keyValueType <- Option.when(groupType.getFieldCount == 1)(groupType.getType(0)).filterNot(_.isPrimitive)
+      keyValue      = keyValueType.asGroupType()
+      if keyValue.isRepetition(Repetition.REPEATED) && keyValue.getFieldCount == 2
+      if schema.keySchema().`type`() == Schema.Type.STRING
+      if keyValue.getType(1).isRepetition(Repetition.OPTIONAL) == schema.valueSchema().isOptional
+      keyWriter   <- primitiveWriter(schema.keySchema(), keyValue.getType(0).asPrimitiveType().getPrimitiveTypeName)
+      valueWriter <- valueWriter(schema.valueSchema(), keyValue.getType(1))
+    } yield new MapWriter(keyValue, keyWriter, valueWriter)
+
+  final private class ListWriter(elementName: String, elementWriter: ValueWriter) extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit = {
+      consumer.startGroup()
+      val elements: Iterable[Any] = value match {
+        case list:  util.List[_] => list.asScala
+        case array: Array[_]     => array.toSeq
+        case other => throw new DataException(s"Invalid value for an array: ${other.getClass.getName}")
+      }
+      if (elements.nonEmpty) {
+        consumer.startField(elementName, 0)
+        elements.foreach {
+          case null    => throw new DataException("Null elements cannot be written to a Parquet list")
+          case element => elementWriter.write(consumer, element.asInstanceOf[AnyRef])
+        }
+        consumer.endField(elementName, 0)
+      }
+      consumer.endGroup()
+    }
+  }
+
+  final private class MapWriter(keyValue: GroupType, keyWriter: ValueWriter, valueWriter: ValueWriter)
+      extends ValueWriter {
+    private val keyValueName = keyValue.getName
+    private val keyName      = keyValue.getType(0).getName
+    private val valueName    = keyValue.getType(1).getName
+
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit = {
+      consumer.startGroup()
+      val entries = value.asInstanceOf[util.Map[_, _]]
+      if (!entries.isEmpty) {
+        consumer.startField(keyValueName, 0)
+        entries.asScala.foreach {
+          case (key, entryValue) =>
+            consumer.startGroup()
+            consumer.startField(keyName, 0)
+            keyWriter.write(consumer, key.asInstanceOf[AnyRef])
+            consumer.endField(keyName, 0)
+            if (entryValue != null) {
+              consumer.startField(valueName, 1)
+              valueWriter.write(consumer, entryValue.asInstanceOf[AnyRef])
+              consumer.endField(valueName, 1)
+            }
+            consumer.endGroup()
+        }
+        consumer.endField(keyValueName, 0)
+      }
+      consumer.endGroup()
+    }
+  }
+
+  private object ByteWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addInteger(value.asInstanceOf[java.lang.Byte].intValue())
+  }
+
+  private object ShortWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addInteger(value.asInstanceOf[java.lang.Short].intValue())
+  }
+
+  private object IntWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addInteger(value.asInstanceOf[java.lang.Integer].intValue())
+  }
+
+  private object LongWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addLong(value.asInstanceOf[java.lang.Long].longValue())
+  }
+
+  private object FloatWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addFloat(value.asInstanceOf[java.lang.Float].floatValue())
+  }
+
+  private object DoubleWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addDouble(value.asInstanceOf[java.lang.Double].doubleValue())
+  }
+
+  private object BooleanWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addBoolean(value.asInstanceOf[java.lang.Boolean].booleanValue())
+  }
+
+  private object StringWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addBinary(Binary.fromString(value.toString))
+  }
+
+  private object BytesWriter extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      value match {
+        case bytes:  Array[Byte] => consumer.addBinary(Binary.fromConstantByteArray(bytes))
+        case buffer: ByteBuffer  => consumer.addBinary(Binary.fromConstantByteBuffer(buffer))
+        case other => throw new DataException(s"Invalid value for bytes: ${other.getClass.getName}")
+      }
+  }
+
+  final private class LogicalBinaryWriter(schema: Schema) extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit = {
+      val unscaled = Decimal.fromLogical(schema, value.asInstanceOf[java.math.BigDecimal])
+      consumer.addBinary(Binary.fromConstantByteArray(unscaled))
+    }
+  }
+
+  final private class LogicalIntWriter(schema: Schema, toInt: (Schema, util.Date) => Int) extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addInteger(toInt(schema, value.asInstanceOf[util.Date]))
+  }
+
+  final private class TimestampWriter(schema: Schema) extends ValueWriter {
+    override def write(consumer: RecordConsumer, value: AnyRef): Unit =
+      consumer.addLong(Timestamp.fromLogical(schema, value.asInstanceOf[util.Date]))
+  }
+}
@@ -15,14 +15,21 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.formats.writer.schema
 
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache.BoundedCache
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache.IdentityKey
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ToAvroDataConverter
 import org.apache.avro.SchemaCompatibility
 import org.apache.kafka.connect.data.{ Schema => ConnectSchema }
 
 /**
   * Implementation of SchemaChangeDetector that detects schema changes based on compatibility.
+  *
+  * The result is kept for each pair of schema instances, as the records converted by a converter share them. Every
+  * sink task builds its own detector along with its configuration.
   */
-object CompatibilitySchemaChangeDetector extends SchemaChangeDetector {
+class CompatibilitySchemaChangeDetector(maxEntries: Int = SchemaCache.DefaultMaxEntries) extends SchemaChangeDetector {
+
+  private val compatibility = new BoundedCache[(IdentityKey, IdentityKey), java.lang.Boolean](maxEntries)
 
   /**
     * Checks the compatibility between the old schema and the new schema.
@@ -31,13 +38,18 @@ object CompatibilitySchemaChangeDetector extends SchemaChangeDetector {
     * @param newSchema The new schema.
     * @return False if the schemas are compatible, true otherwise.
     */
-  override def detectSchemaChange(oldSchema: ConnectSchema, newSchema: ConnectSchema): Boolean = {
+  override def detectSchemaChange(oldSchema: ConnectSchema, newSchema: ConnectSchema): Boolean =
+    !compatibility.getOrElseUpdate(
+      (new IdentityKey(oldSchema), new IdentityKey(newSchema)),
+      Boolean.box(checkCompatibility(oldSchema, newSchema)),
+    ).booleanValue()
 
+  private def checkCompatibility(oldSchema: ConnectSchema, newSchema: ConnectSchema): Boolean = {
     val oldSchemaAvro = ToAvroDataConverter.convertSchema(oldSchema)
     val newSchemaAvro = ToAvroDataConverter.convertSchema(newSchema)
     SchemaCompatibility.checkReaderWriterCompatibility(oldSchemaAvro, newSchemaAvro).getResult.getCompatibility match {
-      case SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE => false
-      case _                                                      => true
+      case SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE => true
+      case _                                                      => false
     }
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.writer.schema
+
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ConnectParquetWriter.CompiledSchema
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache.BoundedCache
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache.IdentityKey
+import org.apache.kafka.connect.data.{ Schema => ConnectSchema }
+
+import java.util
+
+/**
+  * Maps the Connect schemas of the records to one canonical instance per distinct schema, along with what the sink
+  * derives from them: the envelope schemas and the Parquet writers.
+  *
+  * The records converted by a converter share their schema instances, so most lookups only compare references. An
+  * instance seen for the first time is matched by its hash to an equal schema seen before, and then shares its entries.
+  * A cache is created for each sink task and shared by its writers, and holds a bounded number of schemas of each kind.
+  */
+final class SchemaCache(maxEntries: Int = SchemaCache.DefaultMaxEntries) {
+
+  private val canonicalSchemas = new BoundedCache[IdentityKey, ConnectSchema](maxEntries)
+  private val equalSchemas     = new BoundedCache[ConnectSchema, ConnectSchema](maxEntries)
+  private val derivedSchemas   = new BoundedCache[(Any, List[IdentityKey]), ConnectSchema](maxEntries)
+  private val parquetSchemas   = new BoundedCache[IdentityKey, Option[CompiledSchema]](maxEntries)
+
+  /**
+    * Returns the instance standing for all the schemas equal to the given one.
+    */
+  def canonical(schema: ConnectSchema): ConnectSchema =
+    canonicalSchemas.getOrElseUpdate(new IdentityKey(schema), equalSchemas.getOrElseUpdate(schema, schema))
+
+  /**
+    * Checks whether two schemas are equal, comparing their canonical instances. Schemas whose entries were evicted
+    * are compared in full.
+    */
+  def sameSchema(first: ConnectSchema, second: ConnectSchema): Boolean =
+    (first eq second) || {
+      val firstCanonical  = canonical(first)
+      val secondCanonical = canonical(second)
+      (firstCanonical eq secondCanonical) || firstCanonical == secondCanonical
+    }
+
+  /**
+    * Returns a schema built from the given ones, such as an envelope around them, building it the first time they are
+    * seen together. Records with equal schemas then share the built instance, and the caches keyed by it keep hitting.
+    *
+    * @param tag tells apart the schemas built differently from the same ones
+    */
+  def derived(tag: Any, schemas: Seq[ConnectSchema])(build: => ConnectSchema): ConnectSchema =
+    derivedSchemas.getOrElseUpdate((tag, schemas.map(schema => new IdentityKey(canonical(schema))).toList), build)
+
+  /**
+    * Returns the Parquet form of the schema and the writer of its structs, compiling them the first time it is seen.
+    */
+  def parquetSchema(schema: ConnectSchema)(compile: ConnectSchema => Option[CompiledSchema]): Option[CompiledSchema] = {
+    val canonicalSchema = canonical(schema)
+    parquetSchemas.getOrElseUpdate(new IdentityKey(canonicalSchema), compile(canonicalSchema))
+  }
+}
+
+object SchemaCache {
+
+  val DefaultMaxEntries: Int = 100
+
+  /**
+    * Compares schemas by reference, which is all most lookups need.
+    */
+  final private[schema] class IdentityKey(val schema: ConnectSchema) {
+    override def hashCode(): Int = System.identityHashCode(schema)
+    override def equals(obj: Any): Boolean =
+      obj match {
+        case other: IdentityKey => other.schema eq schema
+        case _ => false
+      }
+  }
+
+  /**
+    * Keeps the most recently used entries.
+    */
+  final private[schema] class BoundedCache[K, V](maxEntries: Int) {
+    private val entries = new util.LinkedHashMap[K, V](16, 0.75f, true) {
+      override def removeEldestEntry(eldest: util.Map.Entry[K, V]): Boolean = size() > maxEntries
+    }
+
+    // the value is computed outside the lock; a race computes it twice, keeping the last one
+    def getOrElseUpdate(key: K, value: => V): V =
+      Option(entries.synchronized(entries.get(key))).getOrElse {
+        val computed = value
+        val _        = entries.synchronized(entries.put(key, computed))
+        computed
+      }
+  }
+}
@@ -35,7 +35,7 @@ trait SchemaChangeDetector {
 object SchemaChangeDetector {
   def apply(detectorName: String): SchemaChangeDetector =
     detectorName.toLowerCase match {
-      case "compatibility" => CompatibilitySchemaChangeDetector
+      case "compatibility" => new CompatibilitySchemaChangeDetector()
       case "version"       => VersionSchemaChangeDetector
       case _               => DefaultSchemaChangeDetector
     }
@@ -25,11 +25,12 @@ import io.lenses.streamreactor.connect.cloud.common.source.state.CloudLocationKe
 import java.time.Instant
 
 case class CloudLocation(
-  bucket:    String,
-  prefix:    Option[String]  = none,
-  path:      Option[String]  = none,
-  line:      Option[Int]     = none,
-  timestamp: Option[Instant] = none,
+  bucket:     String,
+  prefix:     Option[String]  = none,
+  path:       Option[String]  = none,
+  line:       Option[Int]     = none,
+  timestamp:  Option[Instant] = none,
+  byteOffset: Option[Long]    = none,
 )(
   implicit
   val cloudLocationValidator: CloudLocationValidator,
@@ -44,10 +45,10 @@ case class CloudLocation(
     copy(timestamp = instant.some)
 
   def atLine(lineNum: Int): CloudLocation =
-    copy(line = lineNum.some)
+    copy(line = lineNum.some, byteOffset = none)
 
   def fromStart(): CloudLocation =
-    copy(line = -1.some)
+    copy(line = -1.some, byteOffset = none)
 
   def withPath(path: String): CloudLocation =
     copy(path = path.some)
@@ -15,6 +15,11 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.sink
 
+import cats.effect.FiberIO
+import cats.effect.IO
+import cats.effect.Ref
+import cats.effect.unsafe.implicits.global
+import cats.implicits.catsSyntaxOptionId
 import cats.implicits.toBifunctorOps
 import cats.implicits.toShow
 import io.lenses.streamreactor.common.config.base.intf.ConnectionConfig
@@ -29,6 +34,7 @@ import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
 import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+import io.lenses.streamreactor.connect.cloud.common.sink.compaction.Compactor
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.HeaderToSinkDataConverter
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.NullSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ValueToSinkDataConverter
@@ -37,6 +43,7 @@ import io.lenses.streamreactor.connect.cloud.common.sink.writer.WriterManager
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import io.lenses.streamreactor.connect.cloud.common.utils.MapUtils
+import io.lenses.streamreactor.connect.cloud.common.utils.PollLoop
 import io.lenses.streamreactor.connect.cloud.common.utils.TimestampUtils
 import io.lenses.streamreactor.metrics.Metrics
 import org.apache.kafka.clients.consumer.OffsetAndMetadata
@@ -46,6 +53,7 @@ import org.apache.kafka.connect.sink.SinkRecord
 import org.apache.kafka.connect.sink.SinkTask
 
 import java.util
+import scala.concurrent.duration.FiniteDuration
 import scala.jdk.CollectionConverters.IterableHasAsScala
 import scala.jdk.CollectionConverters.MapHasAsJava
 import scala.jdk.CollectionConverters.MapHasAsScala
@@ -73,6 +81,17 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
   private var writerManager:     WriterManager[MD]        = _
   private var maybeIndexManager: Option[IndexManager[MD]] = _
 
+  // the interval of the compaction loop, and the compactor it runs
+  private type Compaction = (FiniteDuration, Compactor[MD])
+
+  @volatile
+  private var compactionCancelledRef: Option[Ref[IO, Boolean]] = None
+  private var compactionLoop:         Option[FiberIO[Unit]]    = None
+
+  // the topic/partitions the compaction works on, read by the compaction loop
+  @volatile
+  private var assignedPartitions: Set[TopicPartition] = Set.empty
+
   implicit var connectorTaskId: ConnectorTaskId = _
 
   override def version(): String = manifest.getVersion()
@@ -93,12 +112,31 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
     val errOrWriterMan = createWriterMan(props)
 
     errOrWriterMan.leftMap(throw _).foreach {
-      case (mim, wm) =>
+      case (mim, wm, compaction) =>
         maybeIndexManager = mim
         writerManager     = wm
+        compaction.foreach { case (interval, compactor) => startCompaction(interval, compactor) }
     }
   }
 
+  private def startCompaction(interval: FiniteDuration, compactor: Compactor[MD]): Unit =
+    (for {
+      signal <- Ref[IO].of(false)
+      fiber <- PollLoop.run(interval, signal) { () =>
+        IO.blocking(compactor.compact(() => assignedPartitions)).flatMap {
+          case Left(error) =>
+            IO(logger.warn(s"[${connectorTaskId.show}] Compaction failed: ${error.message()}. It will resume."))
+          case Right(merged) =>
+            IO(logger.debug(s"[${connectorTaskId.show}] Compaction merged away $merged objects"))
+        }.handleErrorWith(err =>
+          IO(logger.warn(s"[${connectorTaskId.show}] Compaction failed. It will resume.", err)),
+        )
+      }.start
+    } yield {
+      compactionCancelledRef = signal.some
+      compactionLoop         = fiber.some
+    }).unsafeRunSync()
+
   private def rollback(topicPartitions: Set[TopicPartition]): Unit =
     topicPartitions.foreach(writerManager.cleanUp)
 
@@ -224,16 +262,15 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
     actualOffsets
   }
 
-  override def open(partitions: util.Collection[KafkaTopicPartition]): Unit =
+  override def open(partitions: util.Collection[KafkaTopicPartition]): Unit = {
+    val topicPartitions = toTopicPartitions(partitions)
+    assignedPartitions = assignedPartitions ++ topicPartitions
+
     maybeIndexManager.foreach {
       indexManager =>
         val partitionsDebug = partitions.asScala.map(tp => s"${tp.topic()}-${tp.partition()}").mkString(",")
         logger.debug(s"[{}] Open partitions", connectorTaskId.show, partitionsDebug: Any)
 
-        val topicPartitions = partitions.asScala
-          .map(tp => TopicPartition(Topic(tp.topic), tp.partition))
-          .toSet
-
         handleErrors(
           for {
             tpoMap <- indexManager.open(topicPartitions)
@@ -248,6 +285,12 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
           },
         )
     }
+  }
+
+  private def toTopicPartitions(partitions: util.Collection[KafkaTopicPartition]): Set[TopicPartition] =
+    partitions.asScala
+      .map(tp => TopicPartition(Topic(tp.topic), tp.partition))
+      .toSet
 
   /**
     * Whenever close is called, the topics and partitions assigned to this task
@@ -261,12 +304,22 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
       partitions.size(),
     )
 
+    assignedPartitions = assignedPartitions -- toTopicPartitions(partitions)
     Option(writerManager).foreach(_.close())
   }
 
   override def stop(): Unit = {
     logger.debug("[{}] Stop", Option(connectorTaskId).map(_.show).getOrElse("Unnamed"))
 
+    // with no topic/partition left, the compaction stops after the merge in progress, which the loop waits for
+    assignedPartitions = Set.empty
+    (compactionCancelledRef, compactionLoop) match {
+      case (Some(signal), Some(fiber)) => (signal.set(true) >> fiber.cancel >> fiber.join.void).unsafeRunSync()
+      case _                           =>
+    }
+    compactionCancelledRef = None
+    compactionLoop         = None
+
     Option(writerManager).foreach(_.close())
     writerManager = null
   }
@@ -279,7 +332,7 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
 
   private def createWriterMan(
     props: Map[String, String],
-  ): Either[Throwable, (Option[IndexManager[MD]], WriterManager[MD])] =
+  ): Either[Throwable, (Option[IndexManager[MD]], WriterManager[MD], Option[Compaction])] =
     for {
       config          <- convertPropsToConfig(connectorTaskId, props)
       s3Client        <- createClient(config.connectionConfig)
@@ -291,7 +344,15 @@ abstract class CloudSinkTask[MD <: FileMetadata, C <: CloudSinkConfig[CC], CC <:
       _ <- initializeFromConfig(config)
     } yield {
       logMetrics = config.logMetrics
-      (maybeIndexManager, writerManager)
+      val compaction = config.compactionOptions.map { options =>
+        options.interval -> new Compactor[MD](
+          options,
+          config.bucketOptions,
+          config.indexOptions.map(_.indexesDirectoryName).getOrElse(".indexes"),
+          config.compressionCodec,
+        )(connectorTaskId, storageInterface)
+      }
+      (maybeIndexManager, writerManager, compaction)
     }
 
   private def initializeFromConfig(config: C): Either[Throwable, Unit] =
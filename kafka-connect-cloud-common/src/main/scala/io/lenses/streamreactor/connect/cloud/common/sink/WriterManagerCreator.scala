@@ -21,22 +21,26 @@ import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.config.traits.CloudSinkConfig
 import io.lenses.streamreactor.connect.cloud.common.formats
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.FormatWriter
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.sink.commit.CommitPolicy
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexMode
 import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionField
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.IndexFilenames
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.KeyNamer
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.ObjectKeyBuilder
 import io.lenses.streamreactor.connect.cloud.common.sink.seek.IndexManager
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.ManifestIndexManager
 import io.lenses.streamreactor.connect.cloud.common.sink.transformers.TopicsTransformers
 import io.lenses.streamreactor.connect.cloud.common.sink.writer.WriterIndexer
 import io.lenses.streamreactor.connect.cloud.common.sink.writer.WriterManager
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import org.apache.kafka.connect.errors.ConnectException
 
 import java.io.File
 import scala.collection.immutable
@@ -51,6 +55,9 @@ class WriterManagerCreator[MD <: FileMetadata, SC <: CloudSinkConfig[_]] extends
     storageInterface: StorageInterface[MD],
   ): (Option[IndexManager[MD]], WriterManager[MD]) = {
 
+    // the schemas seen by the task, shared by its writers
+    val schemaCache = new SchemaCache()
+
     val bucketAndPrefixFn: TopicPartition => Either[SinkError, CloudLocation] = topicPartition => {
       bucketOptsForTopic(config, topicPartition.topic) match {
         case Some(sBO) => sBO.bucketAndPrefix.asRight
@@ -116,21 +123,37 @@ class WriterManagerCreator[MD <: FileMetadata, SC <: CloudSinkConfig[_]] extends
                 bucketOptions.formatSelection,
                 stagingFilename.toPath,
                 topicPartition,
+                bucketOptions.parquetWrite,
+                schemaCache,
               )(config.compressionCodec)
             } yield formatWriter
           case None => FatalCloudSinkError("Can't find format choice in config", topicPartition).asLeft
         }
 
-    val indexManager = config.indexOptions.map(io =>
-      new IndexManager(
-        io.maxIndexFiles,
-        new IndexFilenames(io.indexesDirectoryName),
-        bucketAndPrefixFn,
-      ),
-    )
+    val indexManager = config.indexOptions.map[IndexManager[MD]] {
+      // without conditional writes, a zombie task could overwrite the manifest with an older offset
+      case io if io.mode == IndexMode.Manifest && !storageInterface.supportsConditionalWrites =>
+        throw new ConnectException(
+          s"The ${IndexMode.Manifest.entryName} index mode requires conditional writes, which ${storageInterface.system()} does not support. Use the ${IndexMode.Files.entryName} index mode instead.",
+        )
+      case io if io.mode == IndexMode.Manifest =>
+        new ManifestIndexManager[MD](
+          io.maxIndexFiles,
+          new IndexFilenames(io.indexesDirectoryName),
+          bucketAndPrefixFn,
+          io.seekParallelism,
+        )
+      case io =>
+        new IndexManager[MD](
+          io.maxIndexFiles,
+          new IndexFilenames(io.indexesDirectoryName),
+          bucketAndPrefixFn,
+          io.seekParallelism,
+        )
+    }
     val writerIndexer = new WriterIndexer[MD](indexManager)
 
-    val transformers = TopicsTransformers.from(config.bucketOptions)
+    val transformers = TopicsTransformers.from(config.bucketOptions, schemaCache)
     val writerManager = new WriterManager(
       commitPolicyFn,
       bucketAndPrefixFn,
@@ -141,6 +164,8 @@ class WriterManagerCreator[MD <: FileMetadata, SC <: CloudSinkConfig[_]] extends
       writerIndexer,
       transformers.transform,
       config.schemaChangeDetector,
+      config.writerBudget,
+      schemaCache,
     )
     (indexManager, writerManager)
   }
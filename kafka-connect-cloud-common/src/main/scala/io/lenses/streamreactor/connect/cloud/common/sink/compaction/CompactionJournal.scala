@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.compaction
+
+import io.circe.Codec
+import io.circe.generic.semiauto.deriveCodec
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+
+/**
+  * A merge of objects being completed. It is written once the merged object is staged, so the merge can be completed by
+  * the next run if the task stops half way through.
+  *
+  * @param topic      the topic of the objects merged
+  * @param partition  the partition of the objects merged. The task it is assigned to completes the merge
+  * @param target     the path of the merged object
+  * @param staged     the path the merged object is uploaded to, before it is moved to the target
+  * @param stagedSize the size of the merged object. The target may be named like one of the sources, so the sources are
+  *                   only deleted once the target has this size
+  * @param sources    the paths of the objects merged, which are deleted once the target is in place
+  */
+case class CompactionJournal(
+  topic:      String,
+  partition:  Int,
+  target:     String,
+  staged:     String,
+  stagedSize: Long,
+  sources:    Seq[String],
+) {
+  def topicPartition: TopicPartition = Topic(topic).withPartition(partition)
+}
+
+object CompactionJournal {
+  implicit val codec: Codec[CompactionJournal] = deriveCodec
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.compaction
+
+import cats.implicits._
+import com.typesafe.scalalogging.LazyLogging
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableFile
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.sink.NonFatalCloudSinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionPartitionField
+import io.lenses.streamreactor.connect.cloud.common.sink.config.TopicPartitionField
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.FileNamer
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.NamedFile
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.IndexManifest
+import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
+
+import java.io.BufferedOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.util.UUID
+import scala.annotation.tailrec
+import scala.util.Try
+import scala.util.Using
+
+/**
+  * Merges the small objects committed by the sink into larger objects of the same format.
+  *
+  * The objects are grouped by directory and topic/partition, and merged in offset order. The merged object is named
+  * after the last object merged, so the offsets recorded by the names still hold. The newest object of a group and the
+  * objects the indexes point to are never merged, as the offsets are seeked from them on start. The objects of at least
+  * three quarters of the target size, which the merged objects are once filled, are left as they are.
+  *
+  * Only the groups of the topic/partitions assigned to the task are compacted. The objects are listed a page at a time,
+  * and the groups of a directory are compacted once the directory is listed.
+  *
+  * @param indexesDirectoryName the directory of the indexes. The objects in it are not merged, and the merges in
+  *                             progress are journalled under it
+  * @param pageSize             the number of objects listed at once
+  */
+class Compactor[SM <: FileMetadata](
+  options:              CompactionOptions,
+  bucketOptions:        Seq[CloudSinkBucketOptions],
+  indexesDirectoryName: String,
+  compressionCodec:     CompressionCodec,
+  pageSize:             Int = Compactor.PageSize,
+)(
+  implicit
+  connectorTaskId:  ConnectorTaskId,
+  storageInterface: StorageInterface[SM],
+) extends LazyLogging {
+
+  private val compactionDirectory = s"$indexesDirectoryName/.compaction/${connectorTaskId.name}"
+
+  private val mergedSize = options.targetSize / 4 * 3
+
+  private case class Candidate(key: String, directory: String, file: NamedFile, topicPartition: TopicPartition)
+
+  /**
+    * Completes the merges left in progress, then merges the small objects of the assigned topic/partitions.
+    *
+    * @param assigned the topic/partitions assigned to the task. It is read before each group, so a group is no longer
+    *                 compacted once its topic/partition is revoked
+    * @return either a SinkError, or the number of objects merged away
+    */
+  def compact(assigned: () => Set[TopicPartition]): Either[SinkError, Int] = {
+    val compactable = bucketOptions
+      .flatMap(bo => ObjectMerger(bo.formatSelection, compressionCodec).map(bo -> _))
+      .distinctBy { case (bo, _) => (bo.bucketAndPrefix.bucket, bo.bucketAndPrefix.prefix, bo.formatSelection) }
+    for {
+      _ <- compactable.map(_._1.bucketAndPrefix.bucket).distinct.toList.traverse(recover(_, assigned))
+      merged <- compactable.toList.traverse {
+        case (bo, merger) => compactLocation(bo, merger, assigned)
+      }
+    } yield merged.sum
+  }
+
+  private def recover(bucket: String, assigned: () => Set[TopicPartition]): Either[SinkError, Unit] =
+    nonFatal(storageInterface.listKeysRecursive(bucket, s"$compactionDirectory/journal/".some)).flatMap {
+      case None => ().asRight
+      case Some(response) =>
+        response.files.toList.traverse_ { journalPath =>
+          for {
+            json    <- nonFatal(storageInterface.getBlobAsString(bucket, journalPath))
+            journal <- decode[CompactionJournal](json).leftMap(e => new NonFatalCloudSinkError(e.getMessage, e.some))
+            _ <- if (assigned().contains(journal.topicPartition)) {
+              logger.info(s"[${connectorTaskId.show}] Completing the merge into ${journal.target}")
+              complete(bucket, journalPath, journal)
+            } else ().asRight
+          } yield ()
+        }
+    }
+
+  private def compactLocation(
+    bo:       CloudSinkBucketOptions,
+    merger:   ObjectMerger,
+    assigned: () => Set[TopicPartition],
+  ): Either[SinkError, Int] =
+    indexedObjects(bo.bucketAndPrefix.bucket).flatMap { indexed =>
+      compactPages(bo, merger, assigned, indexed, Option.empty, Vector.empty, 0)
+    }
+
+  /**
+    * Lists the objects a page at a time. The objects of a directory are listed one after the other, so the objects of
+    * the directory being listed are carried over to the next page, and the directories listed in full are compacted.
+    */
+  @tailrec
+  private def compactPages(
+    bo:        CloudSinkBucketOptions,
+    merger:    ObjectMerger,
+    assigned:  () => Set[TopicPartition],
+    indexed:   Set[String],
+    lastFile:  Option[SM],
+    directory: Vector[Candidate],
+    total:     Int,
+  ): Either[SinkError, Int] =
+    nonFatal(storageInterface.list(bo.bucketAndPrefix.bucket, bo.bucketAndPrefix.prefix, lastFile, pageSize)) match {
+      case Left(error) => error.asLeft
+      case Right(None) =>
+        compactDirectory(bo, merger, assigned, indexed, directory).map(total + _)
+      case Right(Some(page)) =>
+        val (listed, current) = page.files
+          .filterNot(_.startsWith(s"$indexesDirectoryName/"))
+          .flatMap(candidate(bo.keyNamer.fileNamer, _))
+          .foldLeft((Vector.empty[Vector[Candidate]], directory)) {
+            case ((done, open), c) if open.forall(_.directory == c.directory) => (done, open :+ c)
+            case ((done, open), c)                                            => (done :+ open, Vector(c))
+          }
+        listed.toList.traverse(compactDirectory(bo, merger, assigned, indexed, _)) match {
+          case Left(error) => error.asLeft
+          case Right(merged) =>
+            compactPages(bo, merger, assigned, indexed, page.latestFileMetadata.some, current, total + merged.sum)
+        }
+    }
+
+  private def candidate(fileNamer: FileNamer, key: String): Option[Candidate] = {
+    val (directory, name) = key.splitAt(key.lastIndexOf('/') + 1)
+    for {
+      file           <- fileNamer.parse(name)
+      topicPartition <- file.topicPartition.orElse(directoryTopicPartition(directory))
+    } yield Candidate(key, directory, file, topicPartition)
+  }
+
+  // without a custom partitioning, the objects are written under the topic and the partition
+  private def directoryTopicPartition(directory: String): Option[TopicPartition] =
+    directory.split('/').filter(_.nonEmpty).takeRight(2) match {
+      case Array(topic, partition) =>
+        partition.stripPrefix(s"${PartitionPartitionField.name()}=").toIntOption
+          .map(Topic(topic.stripPrefix(s"${TopicPartitionField.name()}=")).withPartition)
+      case _ => Option.empty
+    }
+
+  private def compactDirectory(
+    bo:        CloudSinkBucketOptions,
+    merger:    ObjectMerger,
+    assigned:  () => Set[TopicPartition],
+    indexed:   Set[String],
+    directory: Vector[Candidate],
+  ): Either[SinkError, Int] =
+    directory.groupBy(_.topicPartition).toList.traverse {
+      case (topicPartition, files) if assigned().contains(topicPartition) =>
+        compactGroup(bo, merger, topicPartition, files, indexed)
+      case _ => 0.asRight
+    }.map(_.sum)
+
+  /**
+    * The objects the indexes of this connector point to.
+    */
+  private def indexedObjects(bucket: String): Either[SinkError, Set[String]] =
+    nonFatal(storageInterface.listKeysRecursive(bucket, s"$indexesDirectoryName/${connectorTaskId.name}/".some))
+      .flatMap {
+        case None => Set.empty[String].asRight
+        case Some(response) =>
+          response.files.toList.traverse { key =>
+            readIfExists(bucket, key).flatMap {
+              case Some(json) if key.endsWith(".manifest.json") =>
+                decode[IndexManifest](json)
+                  .map(_.pending.map(_.path))
+                  .leftMap(e => new NonFatalCloudSinkError(e.getMessage, e.some))
+              case other => other.asRight
+            }
+          }.map(_.flatten.toSet)
+      }
+
+  // the indexes are cleaned while the sink commits, so they may be gone by the time they are read
+  private def readIfExists(bucket: String, key: String): Either[SinkError, Option[String]] =
+    storageInterface.getBlobAsString(bucket, key) match {
+      case Right(content) => content.some.asRight
+      case Left(error) =>
+        nonFatal(storageInterface.pathExists(bucket, key)).flatMap {
+          case false => Option.empty[String].asRight
+          case true  => nonFatal(error.asLeft[Option[String]])
+        }
+    }
+
+  private def compactGroup(
+    bo:             CloudSinkBucketOptions,
+    merger:         ObjectMerger,
+    topicPartition: TopicPartition,
+    files:          Seq[Candidate],
+    indexed:        Set[String],
+  ): Either[SinkError, Int] = {
+    // the newest object is kept, as the index may be about to point to it
+    val candidates = files.sortBy(_.file.offset.value).dropRight(1)
+    if (candidates.count(c => !indexed.contains(c.key)) < options.minFiles) {
+      0.asRight
+    } else {
+      for {
+        sized <- candidates.toList.traverse { c =>
+          if (indexed.contains(c.key)) (c -> Option.empty[Long]).asRight
+          else nonFatal(storageInterface.getMetadata(bo.bucketAndPrefix.bucket, c.key)).map(m => c -> m.size.some)
+        }
+        small = sized.collect { case (c, Some(size)) if size < mergedSize => c -> size }
+        merged <- if (small.size < options.minFiles) 0.asRight
+        else {
+          // the indexed and the merged objects split the candidates, so every merge holds consecutive offsets
+          val runs = sized.foldLeft(Vector(Vector.empty[(Candidate, Long)])) {
+            case (acc, (c, Some(size))) if size < mergedSize => acc.init :+ (acc.last :+ (c -> size))
+            case (acc, _)                                    => acc :+ Vector.empty
+          }
+          runs.toList.flatMap(batches).traverse(mergeBatch(bo, merger, topicPartition, _, 0)).map(_.sum)
+        }
+      } yield merged
+    }
+  }
+
+  private def batches(sized: Vector[(Candidate, Long)]): List[Vector[Candidate]] =
+    sized
+      .foldLeft(Vector.empty[Vector[(Candidate, Long)]]) {
+        case (acc :+ last, (c, size)) if last.map(_._2).sum + size <= options.targetSize => acc :+ (last :+ (c -> size))
+        case (acc, (c, size))                                                           => acc :+ Vector(c -> size)
+      }
+      .filter(_.size >= 2)
+      .map(_.map(_._1))
+      .toList
+
+  @tailrec
+  private def mergeBatch(
+    bo:             CloudSinkBucketOptions,
+    merger:         ObjectMerger,
+    topicPartition: TopicPartition,
+    batch:          Vector[Candidate],
+    total:          Int,
+  ): Either[SinkError, Int] =
+    if (batch.size < 2) {
+      total.asRight
+    } else {
+      mergeObjects(bo, merger, topicPartition, batch) match {
+        case Left(error) => error.asLeft
+        // a batch is cut short by an object which cannot be merged with the ones before it
+        case Right(merged) => mergeBatch(bo, merger, topicPartition, batch.drop(merged.max(1)), total + merged)
+      }
+    }
+
+  /**
+    * Merges objects from the start of the batch.
+    *
+    * @return the number of objects merged, or 0 if fewer than two objects could be merged
+    */
+  private def mergeObjects(
+    bo:             CloudSinkBucketOptions,
+    merger:         ObjectMerger,
+    topicPartition: TopicPartition,
+    batch:          Vector[Candidate],
+  ): Either[SinkError, Int] = {
+    val bucket = bo.bucketAndPrefix.bucket
+    for {
+      file <- Try(File.createTempFile("compaction", ".tmp", bo.localStagingArea.dir)).toEither
+        .leftMap(e => new NonFatalCloudSinkError(e.getMessage, e.some))
+      result <- {
+        for {
+          merged <- Using(new BufferedOutputStream(new FileOutputStream(file))) { out =>
+            merger.merge(batch.map(c => () => storageInterface.getBlob(bucket, c.key)), out)
+          }.toEither.flatten.leftMap(e => new NonFatalCloudSinkError(e.getMessage, e.some))
+          _ <- if (merged >= 2) {
+            val sources = batch.take(merged)
+            val id      = UUID.randomUUID().toString
+            val journal = CompactionJournal(
+              topic      = topicPartition.topic.value,
+              partition  = topicPartition.partition,
+              target     = sources.head.directory + bo.keyNamer.fileNamer.mergedFileName(sources.map(_.file)),
+              staged     = s"$compactionDirectory/staged/$id",
+              stagedSize = file.length(),
+              sources    = sources.map(_.key),
+            )
+            val journalPath = s"$compactionDirectory/journal/$id.json"
+            logger.info(s"[${connectorTaskId.show}] Merging ${sources.size} objects into ${journal.target}")
+            for {
+              _ <- nonFatal(storageInterface.uploadFile(UploadableFile(file), bucket, journal.staged))
+              _ <- nonFatal(
+                storageInterface.writeStringToFile(bucket, journalPath, UploadableString(journal.asJson.noSpaces)),
+              ).leftMap { error =>
+                // without its journal, the staged object would never be moved nor deleted
+                val _ = storageInterface.deleteFiles(bucket, Seq(journal.staged))
+                error
+              }
+              _ <- complete(bucket, journalPath, journal)
+            } yield ()
+          } else ().asRight
+        } yield if (merged >= 2) merged else 0
+      }.leftMap { error =>
+        val _ = file.delete()
+        error
+      }
+      _ = file.delete()
+    } yield result
+  }
+
+  /**
+    * Moves the merged object to its target, then deletes the objects merged into it. The sources are only deleted once
+    * the target holds the merged object, so a crash at any point leaves the records at least once in storage.
+    */
+  private def complete(bucket: String, journalPath: String, journal: CompactionJournal): Either[SinkError, Unit] =
+    for {
+      staged <- nonFatal(storageInterface.pathExists(bucket, journal.staged))
+      _ <- if (staged) nonFatal(storageInterface.mvFile(bucket, journal.staged, bucket, journal.target))
+      else ().asRight
+      merged <- isMerged(bucket, journal)
+      sources = journal.sources.filterNot(_ == journal.target)
+      _ <- if (merged) nonFatal(storageInterface.deleteFiles(bucket, sources))
+      else {
+        logger.warn(s"[${connectorTaskId.show}] The merge into ${journal.target} is lost, its objects are kept")
+        ().asRight
+      }
+      _ <- nonFatal(storageInterface.deleteFiles(bucket, Seq(journalPath)))
+    } yield ()
+
+  // two or more objects are merged, so the merged object is larger than any of them, even when named like one
+  private def isMerged(bucket: String, journal: CompactionJournal): Either[SinkError, Boolean] =
+    nonFatal(storageInterface.pathExists(bucket, journal.target)).flatMap {
+      case false => false.asRight
+      case true  => nonFatal(storageInterface.getMetadata(bucket, journal.target)).map(_.size == journal.stagedSize)
+    }
+
+  private def nonFatal[A](result: Either[UploadError, A]): Either[SinkError, A] =
+    result.leftMap(e => NonFatalCloudSinkError(e.message()))
+
+}
+
+object Compactor {
+
+  val PageSize: Int = 1000
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.compaction
+
+import cats.implicits.toBifunctorOps
+import io.lenses.streamreactor.connect.cloud.common.config.CsvFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.config.FormatOptions.WithHeaders
+import io.lenses.streamreactor.connect.cloud.common.config.FormatSelection
+import io.lenses.streamreactor.connect.cloud.common.config.JsonFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.config.TextFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.LineSeparatorUtil.LineSeparatorBytes
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
+import io.lenses.streamreactor.connect.cloud.common.storage.FileLoadError
+
+import java.io.BufferedInputStream
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.charset.StandardCharsets
+import scala.annotation.tailrec
+import scala.util.Using
+
+/**
+  * Merges the content of several objects of the same format into one.
+  */
+trait ObjectMerger {
+
+  /**
+    * Writes the sources, in order, to the output. It stops at the first source which cannot be merged with the ones
+    * before it.
+    *
+    * @return the number of sources written to the output
+    */
+  def merge(sources: Seq[() => Either[FileLoadError, InputStream]], out: OutputStream): Either[Throwable, Int]
+}
+
+object ObjectMerger {
+
+  /**
+    * Only the uncompressed line based formats are merged, as their objects are joined without reading the records.
+    */
+  def apply(format: FormatSelection, compressionCodec: CompressionCodec): Option[ObjectMerger] =
+    if (compressionCodec.compressionCodec != UNCOMPRESSED) None
+    else
+      format match {
+        case JsonFormatSelection         => Some(new LineObjectMerger(hasHeaders = false))
+        case TextFormatSelection(_)      => Some(new LineObjectMerger(hasHeaders = false))
+        case CsvFormatSelection(options) => Some(new LineObjectMerger(hasHeaders = options.contains(WithHeaders)))
+        case _                           => None
+      }
+}
+
+/**
+  * Joins objects holding one record per line.
+  *
+  * @param hasHeaders the objects start with a header line. Only the header of the first object is kept, and objects
+  *                   with a different header are not merged
+  */
+class LineObjectMerger(hasHeaders: Boolean) extends ObjectMerger {
+
+  private val NewLine: Int = '\n'.toInt
+
+  override def merge(
+    sources: Seq[() => Either[FileLoadError, InputStream]],
+    out:     OutputStream,
+  ): Either[Throwable, Int] = {
+
+    @tailrec
+    def loop(
+      remaining: Seq[() => Either[FileLoadError, InputStream]],
+      header:    Option[String],
+      merged:    Int,
+    ): Either[Throwable, Int] =
+      remaining match {
+        case Seq() => Right(merged)
+        case source +: rest =>
+          source().leftMap(_.toException).flatMap { stream =>
+            Using(new BufferedInputStream(stream))(copy(_, out, header)).toEither
+          } match {
+            case Left(error)                               => Left(error)
+            case Right(None)                               => Right(merged)
+            case Right(Some(objectHeader)) if merged == 0 => loop(rest, objectHeader, merged + 1)
+            case Right(Some(_))                            => loop(rest, header, merged + 1)
+          }
+      }
+
+    loop(sources, None, 0)
+  }
+
+  /**
+    * Copies an object to the output, unless its header differs from the header of the first object.
+    *
+    * @param header the header of the first object, or None when copying the first object
+    * @return None when the object was not copied, otherwise its header
+    */
+  private def copy(in: InputStream, out: OutputStream, header: Option[String]): Option[Option[String]] = {
+    val objectHeader = Option.when(hasHeaders)(readLine(in))
+    if (header.nonEmpty && objectHeader != header) {
+      None
+    } else {
+      if (header.isEmpty) objectHeader.foreach { h =>
+        out.write(h.getBytes(StandardCharsets.UTF_8))
+        out.write(LineSeparatorBytes)
+      }
+      if (transfer(in, out).exists(_ != NewLine)) out.write(LineSeparatorBytes)
+      Some(objectHeader)
+    }
+  }
+
+  private def readLine(in: InputStream): String = {
+    val line = new ByteArrayOutputStream()
+    var b    = in.read()
+    while (b != -1 && b != NewLine) {
+      line.write(b)
+      b = in.read()
+    }
+    line.toString(StandardCharsets.UTF_8).stripSuffix("\r")
+  }
+
+  /**
+    * @return the last byte copied, or None if there was nothing to copy
+    */
+  private def transfer(in: InputStream, out: OutputStream): Option[Int] = {
+    val buffer = new Array[Byte](8192)
+    var last   = Option.empty[Int]
+    var read   = in.read(buffer)
+    while (read != -1) {
+      if (read > 0) {
+        out.write(buffer, 0, read)
+        last = Some(buffer(read - 1).toInt)
+      }
+      read = in.read(buffer)
+    }
+    last
+  }
+}
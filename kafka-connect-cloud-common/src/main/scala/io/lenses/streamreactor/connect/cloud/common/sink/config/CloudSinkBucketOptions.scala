@@ -74,6 +74,7 @@ object CloudSinkBucketOptions extends LazyLogging {
         partitionSelection <- PartitionSelection(kcql, sinkProps)
         paddingService     <- PaddingService.fromConfig(config, sinkProps)
         storageSettings    <- DataStorageSettings.from(sinkProps)
+        parquetSettings    <- ParquetWriteSettings(sinkProps)
         fileNamer          <- getFileNamer(storageSettings, fileExtension, partitionSelection, paddingService)
         keyNamer            = CloudKeyNamer(formatSelection, partitionSelection, fileNamer, paddingService)
         stagingArea        <- config.getLocalStagingArea()(connectorTaskId)
@@ -91,6 +92,7 @@ object CloudSinkBucketOptions extends LazyLogging {
           commitPolicy     = commitPolicy,
           localStagingArea = stagingArea,
           dataStorage      = storageSettings,
+          parquetWrite     = parquetSettings,
         )
       }
     }.toSeq.traverse(identity)
@@ -179,4 +181,5 @@ case class CloudSinkBucketOptions(
   commitPolicy:     CommitPolicy = CloudCommitPolicy.Default,
   localStagingArea: LocalStagingArea,
   dataStorage:      DataStorageSettings,
+  parquetWrite:     ParquetWriteSettings = ParquetWriteSettings.Default,
 ) extends WithTransformableDataStorage
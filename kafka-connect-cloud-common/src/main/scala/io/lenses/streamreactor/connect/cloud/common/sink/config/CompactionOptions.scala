@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * @param interval   the time between two compactions of the committed objects
+  * @param minFiles   the minimum number of objects of a topic/partition, under the same partition prefix, to compact them
+  * @param targetSize the maximum size of an object written by the compaction
+  */
+case class CompactionOptions(
+  interval:   FiniteDuration,
+  minFiles:   Int,
+  targetSize: Long,
+)
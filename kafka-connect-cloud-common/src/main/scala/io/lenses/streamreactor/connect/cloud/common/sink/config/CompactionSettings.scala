@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import io.lenses.streamreactor.common.config.base.traits.BaseSettings
+import io.lenses.streamreactor.common.config.base.traits.WithConnectorPrefix
+import org.apache.kafka.common.config.ConfigDef
+import org.apache.kafka.common.config.ConfigDef.Importance
+import org.apache.kafka.common.config.ConfigDef.Type
+
+import scala.concurrent.duration.DurationLong
+
+trait CompactionConfigKeys extends WithConnectorPrefix {
+
+  val COMPACTION_INTERVAL_MILLIS = s"$connectorPrefix.compaction.interval"
+  private val COMPACTION_INTERVAL_MILLIS_DOC =
+    s"The interval in milliseconds between two compactions, which merge the small objects committed for a topic/partition under the same partition prefix into larger ones. Only JSON, TEXT and CSV objects are compacted. Defaults to 0, disabling the compaction."
+  private val COMPACTION_INTERVAL_MILLIS_DEFAULT = 0L
+
+  val COMPACTION_MIN_FILES = s"$connectorPrefix.compaction.min.files"
+  private val COMPACTION_MIN_FILES_DOC =
+    s"The minimum number of objects of a topic/partition, under the same partition prefix, before they are compacted. The most recent object is never compacted, since the exactly once index may point to it."
+  private val COMPACTION_MIN_FILES_DEFAULT = 10
+
+  val COMPACTION_TARGET_SIZE = s"$connectorPrefix.compaction.target.size"
+  private val COMPACTION_TARGET_SIZE_DOC =
+    s"The maximum size in bytes of an object written by the compaction."
+  private val COMPACTION_TARGET_SIZE_DEFAULT = 128L * 1024 * 1024
+
+  def withCompactionConfig(configDef: ConfigDef): ConfigDef =
+    configDef
+      .define(
+        COMPACTION_INTERVAL_MILLIS,
+        Type.LONG,
+        COMPACTION_INTERVAL_MILLIS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        COMPACTION_INTERVAL_MILLIS_DOC,
+        "Compaction",
+        1,
+        ConfigDef.Width.SHORT,
+        COMPACTION_INTERVAL_MILLIS,
+      )
+      .define(
+        COMPACTION_MIN_FILES,
+        Type.INT,
+        COMPACTION_MIN_FILES_DEFAULT,
+        ConfigDef.Range.atLeast(2),
+        Importance.LOW,
+        COMPACTION_MIN_FILES_DOC,
+        "Compaction",
+        2,
+        ConfigDef.Width.SHORT,
+        COMPACTION_MIN_FILES,
+      )
+      .define(
+        COMPACTION_TARGET_SIZE,
+        Type.LONG,
+        COMPACTION_TARGET_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        COMPACTION_TARGET_SIZE_DOC,
+        "Compaction",
+        3,
+        ConfigDef.Width.SHORT,
+        COMPACTION_TARGET_SIZE,
+      )
+}
+
+trait CompactionSettings extends BaseSettings with CompactionConfigKeys {
+
+  def getCompactionOptions: Option[CompactionOptions] =
+    Option(getLong(COMPACTION_INTERVAL_MILLIS)).map(_.toLong).filter(_ > 0).map { interval =>
+      CompactionOptions(
+        interval.millis,
+        getInt(COMPACTION_MIN_FILES),
+        getLong(COMPACTION_TARGET_SIZE),
+      )
+    }
+}
@@ -15,7 +15,28 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.sink.config
 
+import enumeratum.Enum
+import enumeratum.EnumEntry
+
+sealed abstract class IndexMode(override val entryName: String) extends EnumEntry
+
+object IndexMode extends Enum[IndexMode] {
+
+  /** An index file is written for every commit, and the stale ones are listed and deleted. */
+  case object Files extends IndexMode("files")
+
+  /** A single manifest per topic/partition is rewritten for every commit, guarded by a conditional write. */
+  case object Manifest extends IndexMode("manifest")
+
+  override def values: IndexedSeq[IndexMode] = findValues
+}
+
+/**
+  * @param seekParallelism the maximum number of topic/partitions seeked at once when they are opened
+  */
 case class IndexOptions(
   maxIndexFiles:        Int,
   indexesDirectoryName: String,
+  mode:                 IndexMode = IndexMode.Files,
+  seekParallelism:      Int       = 1,
 )
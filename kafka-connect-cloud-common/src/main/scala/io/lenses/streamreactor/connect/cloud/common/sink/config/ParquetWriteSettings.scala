@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import cats.implicits.catsSyntaxEitherId
+import enumeratum.Enum
+import enumeratum.EnumEntry
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum._
+import io.lenses.streamreactor.connect.config.kcqlprops.KcqlProperties
+import org.apache.kafka.common.config.ConfigException
+import org.apache.parquet.column.ParquetProperties
+import org.apache.parquet.column.ParquetProperties.WriterVersion
+import org.apache.parquet.hadoop.ParquetWriter
+
+sealed abstract class ParquetWriterVersion(override val entryName: String, val writerVersion: WriterVersion)
+    extends EnumEntry
+
+object ParquetWriterVersion extends Enum[ParquetWriterVersion] {
+
+  case object V1 extends ParquetWriterVersion("v1", WriterVersion.PARQUET_1_0)
+
+  /** Writes data pages v2 with the newer encodings, such as delta encoding for integers and strings. */
+  case object V2 extends ParquetWriterVersion("v2", WriterVersion.PARQUET_2_0)
+
+  override val values: IndexedSeq[ParquetWriterVersion] = findValues
+}
+
+/**
+  * Settings for the layout of the Parquet files written by the sink.
+  * @param rowGroupSize The size of a row group in bytes. Small files written by frequent commits hold a single row
+  *                     group whatever the size
+  * @param pageSize The size of a data page in bytes
+  * @param minRowsForPageSizeCheck The number of rows written before the page size is first checked
+  * @param maxRowsForPageSizeCheck The maximum number of rows written between two checks of the page size
+  * @param dictionaryEnabled Whether columns are dictionary encoded, falling back to plain encoding once the
+  *                          dictionary outgrows its page
+  * @param dictionaryPageSize The maximum size of a dictionary page in bytes
+  * @param bloomFilterColumns The columns written with a bloom filter, nested fields being separated by a dot
+  * @param bloomFilterNdv The expected number of distinct values per column, sizing the bloom filters. When not set the
+  *                       bloom filters take their maximum size
+  * @param writerVersion The Parquet format version of the data pages
+  * @param statisticsTruncateLength The maximum length of the min and max values kept in the statistics of binary
+  *                                 columns
+  * @param directWrite Whether structs are written straight from their Connect form, rather than converted to Avro
+  *                    records first. The files are the same either way
+  */
+case class ParquetWriteSettings(
+  rowGroupSize:             Long                 = ParquetWriter.DEFAULT_BLOCK_SIZE.toLong,
+  pageSize:                 Int                  = ParquetWriter.DEFAULT_PAGE_SIZE,
+  minRowsForPageSizeCheck:  Int                  = ParquetProperties.DEFAULT_MINIMUM_RECORD_COUNT_FOR_CHECK,
+  maxRowsForPageSizeCheck:  Int                  = ParquetProperties.DEFAULT_MAXIMUM_RECORD_COUNT_FOR_CHECK,
+  dictionaryEnabled:        Boolean              = ParquetProperties.DEFAULT_IS_DICTIONARY_ENABLED,
+  dictionaryPageSize:       Int                  = ParquetProperties.DEFAULT_DICTIONARY_PAGE_SIZE,
+  bloomFilterColumns:       Seq[String]          = Seq.empty,
+  bloomFilterNdv:           Option[Long]         = Option.empty,
+  writerVersion:            ParquetWriterVersion = ParquetWriterVersion.V1,
+  statisticsTruncateLength: Option[Int]          = Option.empty,
+  directWrite:              Boolean              = true,
+)
+
+object ParquetWriteSettings {
+
+  val Default: ParquetWriteSettings = ParquetWriteSettings()
+
+  private type Props = KcqlProperties[PropsKeyEntry, PropsKeyEnum.type]
+
+  def apply(props: Props): Either[ConfigException, ParquetWriteSettings] =
+    for {
+      rowGroupSize       <- positive(WriteParquetRowGroupSize, props.getOptionalLong(WriteParquetRowGroupSize))
+      pageSize           <- positiveInt(props, WriteParquetPageSize)
+      minRows            <- positiveInt(props, WriteParquetPageCheckMinRows)
+      maxRows            <- positiveInt(props, WriteParquetPageCheckMaxRows)
+      dictionaryEnabled  <- props.getOptionalBoolean(WriteParquetDictionary)
+      dictionaryPageSize <- positiveInt(props, WriteParquetDictionaryPageSize)
+      bloomFilterNdv     <- positive(WriteParquetBloomFilterNdv, props.getOptionalLong(WriteParquetBloomFilterNdv))
+      truncateLength     <- positiveInt(props, WriteParquetStatisticsTruncate)
+      writerVersion      <- readWriterVersion(props)
+      directWrite        <- props.getOptionalBoolean(WriteParquetDirect)
+      settings            = ParquetWriteSettings(
+        rowGroupSize             = rowGroupSize.getOrElse(Default.rowGroupSize),
+        pageSize                 = pageSize.getOrElse(Default.pageSize),
+        minRowsForPageSizeCheck  = minRows.getOrElse(Default.minRowsForPageSizeCheck),
+        maxRowsForPageSizeCheck  = maxRows.getOrElse(Default.maxRowsForPageSizeCheck),
+        dictionaryEnabled        = dictionaryEnabled.getOrElse(Default.dictionaryEnabled),
+        dictionaryPageSize       = dictionaryPageSize.getOrElse(Default.dictionaryPageSize),
+        bloomFilterColumns       = columns(props.getString(WriteParquetBloomFilterColumns)),
+        bloomFilterNdv           = bloomFilterNdv,
+        writerVersion            = writerVersion.getOrElse(Default.writerVersion),
+        statisticsTruncateLength = truncateLength,
+        directWrite              = directWrite.getOrElse(Default.directWrite),
+      )
+      _ <- Either.cond(
+        settings.minRowsForPageSizeCheck <= settings.maxRowsForPageSizeCheck,
+        (),
+        new ConfigException(
+          s"Invalid value for ${WriteParquetPageCheckMinRows.entryName}. It must not exceed ${WriteParquetPageCheckMaxRows.entryName}",
+        ),
+      )
+    } yield settings
+
+  private def columns(value: Option[String]): Seq[String] =
+    value.toList.flatMap(_.split(',').map(_.trim).filter(_.nonEmpty))
+
+  private def readWriterVersion(props: Props): Either[ConfigException, Option[ParquetWriterVersion]] =
+    props.map.get(WriteParquetWriterVersion.entryName) match {
+      case Some(value) =>
+        ParquetWriterVersion.withNameInsensitiveOption(value).map(Option(_)).toRight(
+          new ConfigException(
+            s"Invalid value for ${WriteParquetWriterVersion.entryName}. Must be one of ${ParquetWriterVersion.values.map(_.entryName).mkString(", ")}",
+          ),
+        )
+      case None => Option.empty[ParquetWriterVersion].asRight
+    }
+
+  private def positiveInt(props: Props, key: PropsKeyEntry): Either[ConfigException, Option[Int]] =
+    positive(key, props.getOptionalInt(key))
+
+  private def positive[A](
+    key:   PropsKeyEntry,
+    value: Option[A],
+  )(
+    implicit
+    num: Numeric[A],
+  ): Either[ConfigException, Option[A]] =
+    value match {
+      case Some(v) if num.lteq(v, num.zero) =>
+        new ConfigException(s"Invalid value for ${key.entryName}. Must be greater than 0").asLeft
+      case other => other.asRight
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+/**
+  * Bounds the writers a sink task keeps open at once. When either limit is exceeded, all the writers of the least
+  * recently written topic/partitions are committed early, as the offset committed for a topic/partition covers all its
+  * writers. The writers left idle are then dropped.
+  *
+  * @param maxOpenWriters   the maximum number of writers with an open staging file
+  * @param maxBufferedBytes the maximum number of bytes written to the open staging files, and not yet uploaded
+  */
+case class WriterBudget(
+  maxOpenWriters:   Option[Int],
+  maxBufferedBytes: Option[Long],
+) {
+
+  def isBounded: Boolean = maxOpenWriters.nonEmpty || maxBufferedBytes.nonEmpty
+
+  def isExceeded(openWriters: Int, bufferedBytes: Long): Boolean =
+    maxOpenWriters.exists(openWriters > _) || maxBufferedBytes.exists(bufferedBytes > _)
+}
+
+object WriterBudget {
+
+  val Unlimited: WriterBudget = WriterBudget(None, None)
+}
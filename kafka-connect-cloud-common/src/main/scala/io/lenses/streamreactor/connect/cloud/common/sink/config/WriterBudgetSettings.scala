@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import io.lenses.streamreactor.common.config.base.traits.BaseSettings
+import io.lenses.streamreactor.common.config.base.traits.WithConnectorPrefix
+import org.apache.kafka.common.config.ConfigDef
+import org.apache.kafka.common.config.ConfigDef.Importance
+import org.apache.kafka.common.config.ConfigDef.Type
+
+trait WriterBudgetConfigKeys extends WithConnectorPrefix {
+
+  val MAX_OPEN_WRITERS = s"$connectorPrefix.max.open.writers"
+  private val MAX_OPEN_WRITERS_DOC =
+    s"The maximum number of writers a task keeps open, each holding a staging file. When exceeded, all the writers of the least recently written topic/partition are committed early, together, and the idle ones are dropped. Defaults to 0, leaving it unbounded."
+  private val MAX_OPEN_WRITERS_DEFAULT = 0
+
+  val MAX_BUFFERED_BYTES = s"$connectorPrefix.max.buffered.bytes"
+  private val MAX_BUFFERED_BYTES_DOC =
+    s"The maximum number of bytes a task holds in its open writers, before they are uploaded. When exceeded, all the writers of the least recently written topic/partition are committed early, together, and the idle ones are dropped. Defaults to 0, leaving it unbounded."
+  private val MAX_BUFFERED_BYTES_DEFAULT = 0L
+
+  def withWriterBudgetConfig(configDef: ConfigDef): ConfigDef =
+    configDef
+      .define(
+        MAX_OPEN_WRITERS,
+        Type.INT,
+        MAX_OPEN_WRITERS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        MAX_OPEN_WRITERS_DOC,
+        "Writer Budget",
+        1,
+        ConfigDef.Width.SHORT,
+        MAX_OPEN_WRITERS,
+      )
+      .define(
+        MAX_BUFFERED_BYTES,
+        Type.LONG,
+        MAX_BUFFERED_BYTES_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        MAX_BUFFERED_BYTES_DOC,
+        "Writer Budget",
+        2,
+        ConfigDef.Width.SHORT,
+        MAX_BUFFERED_BYTES,
+      )
+}
+
+trait WriterBudgetSettings extends BaseSettings with WriterBudgetConfigKeys {
+
+  def getWriterBudget: WriterBudget =
+    WriterBudget(
+      Option(getInt(MAX_OPEN_WRITERS)).map(_.toInt).filter(_ > 0),
+      Option(getLong(MAX_BUFFERED_BYTES)).map(_.toLong).filter(_ > 0),
+    )
+}
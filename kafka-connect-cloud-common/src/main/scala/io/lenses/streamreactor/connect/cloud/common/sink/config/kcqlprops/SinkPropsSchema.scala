@@ -18,6 +18,7 @@ package io.lenses.streamreactor.connect.cloud.common.sink.config.kcqlprops
 import io.lenses.kcql.Kcql
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.sink.config.ParquetWriterVersion
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingType
 import PropsKeyEnum._
 import io.lenses.streamreactor.connect.config.kcqlprops._
@@ -27,18 +28,29 @@ import scala.jdk.CollectionConverters.MapHasAsScala
 object SinkPropsSchema {
 
   private[sink] val keys = Map[PropsKeyEntry, PropsSchema](
-    PaddingCharacter      -> CharPropsSchema,
-    PaddingLength         -> MapPropsSchema[String, Int](),
-    PaddingSelection      -> EnumPropsSchema(PaddingType),
-    PartitionIncludeKeys  -> BooleanPropsSchema,
-    StoreEnvelope         -> BooleanPropsSchema,
-    StoreEnvelopeKey      -> BooleanPropsSchema,
-    StoreEnvelopeHeaders  -> BooleanPropsSchema,
-    StoreEnvelopeValue    -> BooleanPropsSchema,
-    StoreEnvelopeMetadata -> BooleanPropsSchema,
-    FlushCount            -> LongPropsSchema,
-    FlushSize             -> LongPropsSchema,
-    FlushInterval         -> IntPropsSchema,
+    PaddingCharacter               -> CharPropsSchema,
+    PaddingLength                  -> MapPropsSchema[String, Int](),
+    PaddingSelection               -> EnumPropsSchema(PaddingType),
+    PartitionIncludeKeys           -> BooleanPropsSchema,
+    StoreEnvelope                  -> BooleanPropsSchema,
+    StoreEnvelopeKey               -> BooleanPropsSchema,
+    StoreEnvelopeHeaders           -> BooleanPropsSchema,
+    StoreEnvelopeValue             -> BooleanPropsSchema,
+    StoreEnvelopeMetadata          -> BooleanPropsSchema,
+    FlushCount                     -> LongPropsSchema,
+    FlushSize                      -> LongPropsSchema,
+    FlushInterval                  -> IntPropsSchema,
+    WriteParquetRowGroupSize       -> LongPropsSchema,
+    WriteParquetPageSize           -> IntPropsSchema,
+    WriteParquetPageCheckMinRows   -> IntPropsSchema,
+    WriteParquetPageCheckMaxRows   -> IntPropsSchema,
+    WriteParquetDictionary         -> BooleanPropsSchema,
+    WriteParquetDictionaryPageSize -> IntPropsSchema,
+    WriteParquetBloomFilterColumns -> StringPropsSchema,
+    WriteParquetBloomFilterNdv     -> LongPropsSchema,
+    WriteParquetWriterVersion      -> EnumPropsSchema(ParquetWriterVersion),
+    WriteParquetStatisticsTruncate -> IntPropsSchema,
+    WriteParquetDirect             -> BooleanPropsSchema,
   )
 
   val schema: KcqlPropsSchema[PropsKeyEntry, PropsKeyEnum.type] =
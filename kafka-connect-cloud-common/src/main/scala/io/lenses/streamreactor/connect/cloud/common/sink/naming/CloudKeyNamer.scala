@@ -25,6 +25,7 @@ import io.lenses.streamreactor.connect.cloud.common.model.TopicPartitionOffset
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.FileUtils.createFileAndParents
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingService
+import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingStrategy
 import io.lenses.streamreactor.connect.cloud.common.sink.FatalCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionDisplay.KeysAndValues
@@ -40,10 +41,13 @@ import io.lenses.streamreactor.connect.cloud.common.sink.config.ValuePartitionFi
 import io.lenses.streamreactor.connect.cloud.common.sink.config.WholeKeyPartitionField
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.NullSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.SinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.extractors.ExtractorErrorAdaptor.adaptErrorResponse
 import io.lenses.streamreactor.connect.cloud.common.sink.extractors.SinkDataExtractor
+import io.lenses.streamreactor.connect.cloud.common.sink.extractors.StructPathAccessor
 
 import java.io.File
+import java.time.format.DateTimeFormatter
 import java.util.UUID
 import scala.util.Failure
 import scala.util.Success
@@ -67,12 +71,33 @@ object CloudKeyNamer {
 class CloudKeyNamer(
   formatSelection:        FormatSelection,
   val partitionSelection: PartitionSelection,
-  fileNamer:              FileNamer,
+  val fileNamer:          FileNamer,
   paddingService:         PaddingService,
 ) extends KeyNamer {
 
   private val DefaultPrefix = ""
 
+  // the partitioning is resolved once, rather than for every record
+  private val partitionPlans: Seq[PartitionPlan] = partitionSelection.partitions.map { partition =>
+    PartitionPlan(
+      partition,
+      if (partitionSelection.partitionDisplay == KeysAndValues) s"${partition.name()}=" else "",
+      Option.when(partition.supportsPadding)(paddingService.padderFor(partition.name())),
+      partition match {
+        case HeaderPartitionField(path) if path.hasTail => Some(new StructPathAccessor(path.tail))
+        case KeyPartitionField(path)                    => Some(new StructPathAccessor(path))
+        case ValuePartitionField(path)                  => Some(new StructPathAccessor(path))
+        case _                                          => None
+      },
+      partition match {
+        case date: DatePartitionField => Some(date.formatter)
+        case _ => None
+      },
+    )
+  }
+
+  private val partitionPadder = paddingService.padderFor("partition")
+
   private def addTrailingSlash(s: String): String = if (s.last == '/') s else s + '/'
 
   private def prefix(bucketAndPrefix: CloudLocation): String =
@@ -98,20 +123,14 @@ class CloudKeyNamer(
     }.toEither.left.map(ex => new FatalCloudSinkError(ex.getMessage, ex.some, topicPartition))
 
   private def buildPartitionPrefix(partitionValues: Map[PartitionField, String]): String =
-    partitionSelection.partitions.map {
-      (partition: PartitionField) =>
-        partitionValues.get(partition) match {
-          case Some(partVal) if partition.supportsPadding =>
-            partitionValuePrefix(partition) + paddingService.padderFor(partition.name()).padString(partVal)
-          case Some(partVal) => partitionValuePrefix(partition) + partVal
-          case None          => "[missing]"
-        }
+    partitionPlans.map { plan =>
+      partitionValues.get(plan.partition) match {
+        case Some(partVal) => plan.prefix + plan.padder.fold(partVal)(_.padString(partVal))
+        case None          => "[missing]"
+      }
     }
       .mkString("/")
 
-  private def partitionValuePrefix(partition: PartitionField): String =
-    if (partitionSelection.partitionDisplay == KeysAndValues) s"${partition.name()}=" else ""
-
   override def value(
     bucketAndPrefix:         CloudLocation,
     topicPartitionOffset:    TopicPartitionOffset,
@@ -129,47 +148,47 @@ class CloudKeyNamer(
     messageDetail:  MessageDetail,
     topicPartition: TopicPartition,
   ): Either[SinkError, Map[PartitionField, String]] =
-    partitionSelection
-      .partitions
-      .traverse {
-        case partition @ HeaderPartitionField(name) =>
-          messageDetail.headers.get(name.head) match {
-            case Some(value) =>
-              partitionValueOrError(value, s"Header '${name.head}' is null.", topicPartition, partition)(
-                getPartitionValueFromSinkData(_, name.tail),
-              )
-            case None =>
-              FatalCloudSinkError(s"Header '$name' not found in message", topicPartition).asLeft[(
-                PartitionField,
-                String,
-              )]
-          }
-
-        case partition @ KeyPartitionField(name) =>
-          partitionValueOrError(messageDetail.key, s"Key is null.", topicPartition, partition)(
-            getPartitionValueFromSinkData(_, name),
-          )
-
-        case partition @ ValuePartitionField(name) =>
-          partitionValueOrError(messageDetail.value, s"Value is null.", topicPartition, partition)(
-            getPartitionValueFromSinkData(_, name),
-          )
-
-        case partition @ WholeKeyPartitionField =>
-          getPartitionByWholeKeyValue(messageDetail.key, topicPartition).map(partition -> _)
-        case partition @ TopicPartitionField => (partition -> topicPartition.topic.value).asRight[SinkError]
-        case partition @ PartitionPartitionField =>
-          val partitionPaddingStrategy = paddingService.padderFor("partition")
-          (partition -> partitionPaddingStrategy.padString(topicPartition.partition.toString)).asRight[SinkError]
-        case partition @ DatePartitionField(_) =>
-          messageDetail.timestamp match {
-            case Some(value) => (partition -> partition.formatter.format(value)).asRight[SinkError]
-            case None =>
-              FatalCloudSinkError(s"Timestamp not found in message", topicPartition).asLeft[(
-                PartitionField,
-                String,
-              )]
-          }
+    partitionPlans
+      .traverse { plan =>
+        plan.partition match {
+          case partition @ HeaderPartitionField(name) =>
+            messageDetail.headers.get(name.head) match {
+              case Some(value) =>
+                partitionValueOrError(value, s"Header '${name.head}' is null.", topicPartition, partition)(
+                  getPartitionValueFromSinkData(_, name.tail, plan.accessor),
+                )
+              case None =>
+                FatalCloudSinkError(s"Header '$name' not found in message", topicPartition).asLeft[(
+                  PartitionField,
+                  String,
+                )]
+            }
+
+          case partition @ KeyPartitionField(name) =>
+            partitionValueOrError(messageDetail.key, s"Key is null.", topicPartition, partition)(
+              getPartitionValueFromSinkData(_, name, plan.accessor),
+            )
+
+          case partition @ ValuePartitionField(name) =>
+            partitionValueOrError(messageDetail.value, s"Value is null.", topicPartition, partition)(
+              getPartitionValueFromSinkData(_, name, plan.accessor),
+            )
+
+          case partition @ WholeKeyPartitionField =>
+            getPartitionByWholeKeyValue(messageDetail.key, topicPartition).map(partition -> _)
+          case partition @ TopicPartitionField => (partition -> topicPartition.topic.value).asRight[SinkError]
+          case partition @ PartitionPartitionField =>
+            (partition -> partitionPadder.padString(topicPartition.partition.toString)).asRight[SinkError]
+          case partition @ DatePartitionField(_) =>
+            (messageDetail.timestamp, plan.formatter) match {
+              case (Some(value), Some(formatter)) => (partition -> formatter.format(value)).asRight[SinkError]
+              case _ =>
+                FatalCloudSinkError(s"Timestamp not found in message", topicPartition).asLeft[(
+                  PartitionField,
+                  String,
+                )]
+            }
+        }
       }
       .map(_.toMap)
 
@@ -203,7 +222,34 @@ class CloudKeyNamer(
   private def getFieldStringValue(struct: SinkData, partitionName: Option[PartitionNamePath]): Option[String] =
     adaptErrorResponse(SinkDataExtractor.extractPathFromSinkData(struct)(partitionName))
 
-  private def getPartitionValueFromSinkData(sinkData: SinkData, partitionName: PartitionNamePath): String =
-    getFieldStringValue(sinkData, Option(partitionName)).getOrElse("[missing]")
+  private def getPartitionValueFromSinkData(
+    sinkData:      SinkData,
+    partitionName: PartitionNamePath,
+    accessor:      Option[StructPathAccessor],
+  ): String =
+    (sinkData match {
+      case StructSinkData(struct) =>
+        accessor.flatMap(_.extract(struct)) match {
+          case Some(extracted) => adaptErrorResponse(extracted)
+          case None            => getFieldStringValue(sinkData, Option(partitionName))
+        }
+      case _ => getFieldStringValue(sinkData, Option(partitionName))
+    }).getOrElse("[missing]")
 
 }
+
+/**
+  * The partitioning of a partition field, resolved once.
+  *
+  * @param prefix    the text written before the value in the partition path
+  * @param padder    the padding of the value, for the fields supporting it
+  * @param accessor  reads the value of a struct path for the fields reading one
+  * @param formatter formats the record timestamp for the date field
+  */
+final private case class PartitionPlan(
+  partition: PartitionField,
+  prefix:    String,
+  padder:    Option[PaddingStrategy],
+  accessor:  Option[StructPathAccessor],
+  formatter: Option[DateTimeFormatter],
+)
@@ -15,15 +15,45 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.sink.naming
 
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartitionOffset
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingStrategy
 
+import java.util.regex.Pattern
+
+/**
+  * A file name read back by the [[FileNamer]] which gave it.
+  *
+  * @param name           the file name
+  * @param topicPartition the topic/partition of the records, when the file name holds it
+  * @param offset         the offset of the last record in the file
+  */
+case class NamedFile(
+  name:                    String,
+  topicPartition:          Option[TopicPartition],
+  offset:                  Offset,
+  earliestRecordTimestamp: Option[Long],
+  latestRecordTimestamp:   Option[Long],
+)
+
 trait FileNamer {
   def fileName(
     topicPartitionOffset:    TopicPartitionOffset,
     earliestRecordTimestamp: Long,
     latestRecordTimestamp:   Long,
   ): String
+
+  /**
+    * Reads back a file name given by this namer, or None for any other file.
+    */
+  def parse(fileName: String): Option[NamedFile]
+
+  /**
+    * Names the file holding the records of several files given by this namer.
+    */
+  def mergedFileName(files: Seq[NamedFile]): String
 }
 
 class OffsetFileNamer(
@@ -35,7 +65,30 @@ class OffsetFileNamer(
     earliestRecordTimestamp: Long,
     latestRecordTimestamp:   Long,
   ): String =
-    s"${offsetPaddingStrategy.padString(topicPartitionOffset.offset.value.toString)}_${earliestRecordTimestamp}_$latestRecordTimestamp.$extension"
+    name(topicPartitionOffset.offset, earliestRecordTimestamp, latestRecordTimestamp)
+
+  private val FileNamePattern = ("""^(\d+)_(-?\d+)_(-?\d+)\.""" + Pattern.quote(extension) + "$").r
+
+  override def parse(fileName: String): Option[NamedFile] =
+    fileName match {
+      case FileNamePattern(offset, earliest, latest) =>
+        for {
+          o <- offset.toLongOption
+          e <- earliest.toLongOption
+          l <- latest.toLongOption
+        } yield NamedFile(fileName, None, Offset(o), Some(e), Some(l))
+      case _ => None
+    }
+
+  override def mergedFileName(files: Seq[NamedFile]): String =
+    name(
+      Offset(files.map(_.offset.value).max),
+      files.flatMap(_.earliestRecordTimestamp).min,
+      files.flatMap(_.latestRecordTimestamp).max,
+    )
+
+  private def name(offset: Offset, earliestRecordTimestamp: Long, latestRecordTimestamp: Long): String =
+    s"${offsetPaddingStrategy.padString(offset.value.toString)}_${earliestRecordTimestamp}_$latestRecordTimestamp.$extension"
 }
 class TopicPartitionOffsetFileNamer(
   partitionPaddingStrategy: PaddingStrategy,
@@ -51,4 +104,20 @@ class TopicPartitionOffsetFileNamer(
       topicPartitionOffset.partition.toString,
     )}_${offsetPaddingStrategy.padString(topicPartitionOffset.offset.value.toString)}).$extension"
 
+  private val FileNamePattern = ("""^(.+)\((\d+)_(\d+)\)\.""" + Pattern.quote(extension) + "$").r
+
+  override def parse(fileName: String): Option[NamedFile] =
+    fileName match {
+      case FileNamePattern(topic, partition, offset) =>
+        for {
+          p <- partition.toIntOption
+          o <- offset.toLongOption
+        } yield NamedFile(fileName, Some(Topic(topic).withPartition(p)), Offset(o), None, None)
+      case _ => None
+    }
+
+  // the name only depends on the topic/partition and the offset of the last record
+  override def mergedFileName(files: Seq[NamedFile]): String =
+    files.maxBy(_.offset.value).name
+
 }
@@ -37,6 +37,13 @@ class IndexFilenames(directoryFileName: String) {
   def indexForTopicPartition(topic: String, partition: Int)(implicit connectorTaskId: ConnectorTaskId): String =
     f"$directoryFileName/${connectorTaskId.name}/$topic/$partition%05d/"
 
+  /**
+    * Generate the filename of the manifest for a given topic and partition. It sits next to the directory of the index
+    * files, so listing the index files never returns it.
+    */
+  def manifestFilename(topic: String, partition: Int)(implicit connectorTaskId: ConnectorTaskId): String =
+    f"$directoryFileName/${connectorTaskId.name}/$topic/$partition%05d.manifest.json"
+
   /**
     * Parses the filename of the index file, converting it to a TopicPartitionOffset
     *
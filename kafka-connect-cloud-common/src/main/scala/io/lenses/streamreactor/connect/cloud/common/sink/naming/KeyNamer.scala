@@ -30,6 +30,8 @@ trait KeyNamer {
 
   def partitionSelection: PartitionSelection
 
+  def fileNamer: FileNamer
+
   def staging(
     stagingDirectory: File,
     bucketAndPrefix:  CloudLocation,
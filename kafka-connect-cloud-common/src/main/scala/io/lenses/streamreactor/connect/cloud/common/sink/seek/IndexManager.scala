@@ -15,6 +15,8 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.sink.seek
 
+import cats.effect.IO
+import cats.effect.unsafe.implicits.global
 import cats.implicits._
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
@@ -34,10 +36,14 @@ import io.lenses.streamreactor.connect.cloud.common.storage._
 
 import scala.collection.mutable
 
+/**
+  * @param seekParallelism the maximum number of topic/partitions seeked at once when they are opened
+  */
 class IndexManager[SM <: FileMetadata](
   maxIndexes:        Int,
   indexFilenames:    IndexFilenames,
   bucketAndPrefixFn: TopicPartition => Either[SinkError, CloudLocation],
+  seekParallelism:   Int = 1,
 )(
   implicit
   connectorTaskId:  ConnectorTaskId,
@@ -232,7 +238,8 @@ class IndexManager[SM <: FileMetadata](
     * Opens the `IndexManager` for a set of `TopicPartition`s.
     *
     * This method is called at the start of a Kafka Connect SinkTask when it is first initialized.
-    * It seeks the filesystem to find the latest offsets for each `TopicPartition` in the provided set.
+    * It seeks the filesystem to find the latest offsets for each `TopicPartition` in the provided set, seeking up to
+    * `seekParallelism` of them at once.
     * The results are stored in the `seekedOffsets` map for later use.
     *
     * @param partitions A set of `TopicPartition`s for which to retrieve the offsets.
@@ -241,10 +248,9 @@ class IndexManager[SM <: FileMetadata](
   def open(partitions: Set[TopicPartition]): Either[SinkError, Map[TopicPartition, Offset]] = {
     logger.debug(s"[{}] Received call to WriterManager.open", connectorTaskId.show)
 
-    partitions
-      .map(seekOffsetsForTopicPartition)
+    seekOffsetsForTopicPartitions(partitions.toList)
       .partitionMap(identity) match {
-      case (throwables, _) if throwables.nonEmpty => BatchCloudSinkError(throwables).asLeft
+      case (throwables, _) if throwables.nonEmpty => BatchCloudSinkError(throwables.toSet).asLeft
       case (_, offsets) =>
         val seeked = offsets.flatten.map(
           _.toTopicPartitionOffsetTuple,
@@ -254,6 +260,15 @@ class IndexManager[SM <: FileMetadata](
     }
   }
 
+  private def seekOffsetsForTopicPartitions(
+    partitions: List[TopicPartition],
+  ): List[Either[SinkError, Option[TopicPartitionOffset]]] =
+    if (seekParallelism <= 1 || partitions.size <= 1) {
+      partitions.map(seekOffsetsForTopicPartition)
+    } else {
+      IO.parTraverseN(seekParallelism)(partitions)(tp => IO.blocking(seekOffsetsForTopicPartition(tp))).unsafeRunSync()
+    }
+
   /**
     * Seeks the filesystem to find the latest offset for a specific `TopicPartition`.
     *
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.seek
+
+import io.circe.Codec
+import io.circe.generic.semiauto.deriveCodec
+
+/**
+  * A file being committed for a topic/partition.
+  *
+  * @param offset the offset of the last record in the file
+  * @param path   the path of the file. The commit is complete once the file exists
+  */
+case class PendingIndex(offset: Long, path: String)
+
+object PendingIndex {
+  implicit val codec: Codec[PendingIndex] = deriveCodec
+}
+
+/**
+  * The exactly once state of a topic/partition, replacing its index files.
+  *
+  * @param committedOffset the offset of the last record known to be committed
+  * @param pending         the file written after it, which is committed as well if it exists
+  */
+case class IndexManifest(committedOffset: Option[Long], pending: Option[PendingIndex])
+
+object IndexManifest {
+  implicit val codec: Codec[IndexManifest] = deriveCodec
+}
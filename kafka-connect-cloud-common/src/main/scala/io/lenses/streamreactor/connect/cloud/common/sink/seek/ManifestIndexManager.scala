@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.seek
+
+import cats.implicits._
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartitionOffset
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.sink.FatalCloudSinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.NonFatalCloudSinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.IndexFilenames
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.IndexManagerErrors.corruptStorageState
+import io.lenses.streamreactor.connect.cloud.common.storage._
+
+import scala.collection.concurrent.TrieMap
+
+/**
+  * An `IndexManager` keeping a single manifest per topic/partition instead of a file per commit.
+  *
+  * Every commit rewrites the manifest once, recording the file being written as pending, with a write conditional on
+  * the version last seen. The pending file becomes committed in memory once it is uploaded, and is persisted as
+  * committed by the next write, so there is no listing or delete while committing. A failed condition means another
+  * task is writing the topic/partition, and is fatal.
+  *
+  * Topic/partitions without a manifest are seeked from their index files, which are deleted once the manifest holds a
+  * committed offset.
+  */
+class ManifestIndexManager[SM <: FileMetadata](
+  maxIndexes:        Int,
+  indexFilenames:    IndexFilenames,
+  bucketAndPrefixFn: TopicPartition => Either[SinkError, CloudLocation],
+  seekParallelism:   Int = 1,
+)(
+  implicit
+  connectorTaskId:  ConnectorTaskId,
+  storageInterface: StorageInterface[SM],
+) extends IndexManager[SM](maxIndexes, indexFilenames, bucketAndPrefixFn, seekParallelism) {
+
+  /**
+    * @param version     the version of the manifest last read or written, None if there is no manifest yet
+    * @param manifest    the manifest as last written, or as seeked
+    * @param legacyIndex the index file the topic/partition was seeked from, to delete once the manifest replaces it
+    */
+  private case class ManifestState(version: Option[String], manifest: IndexManifest, legacyIndex: Option[String])
+
+  private val states = TrieMap.empty[TopicPartition, ManifestState]
+
+  /**
+    * Marks the pending file as committed. It is persisted by the next write of the manifest.
+    *
+    * @return the number of index files deleted, only ever the one the topic/partition was migrated from
+    */
+  override def clean(
+    bucket:              String,
+    mostRecentIndexFile: String,
+    topicPartition:      TopicPartition,
+  ): Either[SinkError, Int] =
+    states.get(topicPartition) match {
+      case Some(state) =>
+        val committed = state.manifest.pending.map(_.offset).orElse(state.manifest.committedOffset)
+        states.update(topicPartition, ManifestState(state.version, IndexManifest(committed, None), None))
+        state.legacyIndex.fold(0)(deleteLegacyIndex(bucket, _)).asRight
+      case None => 0.asRight
+    }
+
+  private def deleteLegacyIndex(bucket: String, legacyIndex: String): Int =
+    storageInterface.deleteFiles(bucket, Seq(legacyIndex)) match {
+      case Left(err) =>
+        logger.warn("[{}] Error deleting migrated index file: {}", connectorTaskId.show, err.message(), err.exception)
+        0
+      case Right(_) =>
+        logger.info("[{}] Deleted index file {}, replaced by the manifest", connectorTaskId.show, legacyIndex)
+        1
+    }
+
+  /**
+    * Writes the manifest recording the file as pending.
+    *
+    * @return the path of the manifest
+    */
+  override def write(
+    bucket:               String,
+    filePath:             String,
+    topicPartitionOffset: TopicPartitionOffset,
+  ): Either[SinkError, String] = {
+    val topicPartition = topicPartitionOffset.toTopicPartition
+    val manifestPath   = indexFilenames.manifestFilename(topicPartition.topic.value, topicPartition.partition)
+    val state          = states.getOrElse(topicPartition, ManifestState(None, IndexManifest(None, None), None))
+    val manifest       = state.manifest.copy(pending = PendingIndex(topicPartitionOffset.offset.value, filePath).some)
+
+    logger.debug("[{}] Writing manifest {} pointing to file {}", connectorTaskId.show, manifestPath, filePath)
+
+    storageInterface
+      .writeStringIfVersion(bucket, manifestPath, UploadableString(manifest.asJson.noSpaces), state.version)
+      .recoverWith {
+        case err: PreconditionFailedError => alreadyWritten(bucket, manifestPath, manifest).toRight(err)
+      }
+      .map { version =>
+        states.update(topicPartition, state.copy(version = version.some, manifest = manifest))
+        manifestPath
+      }
+      .leftMap[SinkError] {
+        case err: PreconditionFailedError =>
+          val logLine = s"Manifest $manifestPath has been modified by another writer: ${err.message()}"
+          logger.error("[{}] {}", connectorTaskId.show, logLine)
+          FatalCloudSinkError(logLine, topicPartition)
+        case err =>
+          logger.error("[{}] Exception writing manifest {} pointing to file {}: {}",
+                       connectorTaskId.show,
+                       manifestPath,
+                       filePath,
+                       err.message(),
+          )
+          NonFatalCloudSinkError(err.message())
+      }
+  }
+
+  /**
+    * A write whose response was lost may have been retried after it succeeded, failing its condition. The manifest is
+    * read back, and holding the same content means the write went through.
+    */
+  private def alreadyWritten(bucket: String, manifestPath: String, manifest: IndexManifest): Option[String] =
+    storageInterface.getBlobAsStringWithVersion(bucket, manifestPath).toOption.flatten.collect {
+      case VersionedString(content, version) if decode[IndexManifest](content).contains(manifest) => version
+    }
+
+  /**
+    * Seeks the manifest of the topic/partition, falling back to its index files when there is no manifest.
+    */
+  override def initialSeek(
+    topicPartition: TopicPartition,
+    bucket:         String,
+  ): Either[SinkError, Option[TopicPartitionOffset]] = {
+    val manifestPath = indexFilenames.manifestFilename(topicPartition.topic.value, topicPartition.partition)
+    storageInterface.getBlobAsStringWithVersion(bucket, manifestPath)
+      .leftMap { e =>
+        logger.error("[{}] Error loading manifest {}", connectorTaskId.show, manifestPath, e.exception)
+        new NonFatalCloudSinkError(s"Couldn't load manifest $manifestPath", e.exception.some)
+      }
+      .flatMap {
+        case None => seekFromIndexFiles(topicPartition, bucket)
+        case Some(VersionedString(content, version)) =>
+          for {
+            manifest <- decode[IndexManifest](content).leftMap { e =>
+              logger.error("[{}] Error parsing manifest {}", connectorTaskId.show, manifestPath, e)
+              NonFatalCloudSinkError(corruptStorageState(storageInterface.system()))
+            }
+            pendingExists <- manifest.pending.traverse(pending => storageInterface.pathExists(bucket, pending.path))
+              .leftMap { e =>
+                logger.error("[{}] Error checking pending file of manifest {}",
+                             connectorTaskId.show,
+                             manifestPath,
+                             e.exception,
+                )
+                new NonFatalCloudSinkError(s"Couldn't check pending file of manifest $manifestPath", e.exception.some)
+              }
+          } yield {
+            val committed = manifest.pending.filter(_ => pendingExists.contains(true)).map(_.offset)
+              .orElse(manifest.committedOffset)
+            states.update(topicPartition, ManifestState(version.some, IndexManifest(committed, None), None))
+            logger.info("[{}] Seeked offset {} for TP {} from manifest",
+                        connectorTaskId.show,
+                        committed,
+                        topicPartition,
+            )
+            committed.map(offset => topicPartition.withOffset(Offset(offset)))
+          }
+      }
+  }
+
+  private def seekFromIndexFiles(
+    topicPartition: TopicPartition,
+    bucket:         String,
+  ): Either[SinkError, Option[TopicPartitionOffset]] =
+    super.initialSeek(topicPartition, bucket).map { seeked =>
+      val legacyIndex = seeked.map(tpo =>
+        indexFilenames.indexFilename(tpo.topic.value, tpo.partition, tpo.offset.value),
+      )
+      states.update(topicPartition, ManifestState(None, IndexManifest(seeked.map(_.offset.value), None), legacyIndex))
+      seeked
+    }
+
+}
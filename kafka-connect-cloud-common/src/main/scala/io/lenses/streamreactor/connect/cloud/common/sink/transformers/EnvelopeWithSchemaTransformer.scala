@@ -18,6 +18,7 @@ package io.lenses.streamreactor.connect.cloud.common.sink.transformers
 import cats.implicits.catsSyntaxEitherId
 import io.lenses.streamreactor.connect.cloud.common.config.DataStorageSettings
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.SinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
@@ -29,8 +30,13 @@ import scala.jdk.CollectionConverters.CollectionHasAsScala
 /**
   * Creates an envelope for the message detail. It is expected the Key and/or Value, if used to have a Connect schema attached.
   * @param settings The settings for the data storage for the topic
+  * @param schemaCache The schemas of the task, which the envelope schemas are kept in
   */
-case class EnvelopeWithSchemaTransformer(topic: Topic, settings: DataStorageSettings) extends Transformer {
+case class EnvelopeWithSchemaTransformer(
+  topic:       Topic,
+  settings:    DataStorageSettings,
+  schemaCache: SchemaCache = new SchemaCache(),
+) extends Transformer {
   def transform(message: MessageDetail): Either[RuntimeException, MessageDetail] =
     if (message.topic != topic && topic != Topic.All) {
       Left(
@@ -39,7 +45,7 @@ case class EnvelopeWithSchemaTransformer(topic: Topic, settings: DataStorageSett
         ),
       )
     } else if (settings.hasEnvelope) {
-      envelope(message, settings).asRight
+      envelope(message, settings)(schemaCache).asRight
     } else {
       message.asRight
     }
@@ -54,6 +60,9 @@ object EnvelopeWithSchemaTransformer {
     .field("offset", Schema.INT64_SCHEMA)
     .build()
 
+  // tags the optional schemas cached for the schemas of the keys, values and headers
+  private val OptionalTag = "optional"
+
   /**
     * Creates an envelope schema for the message detail. This is a schema that contains the key, value and headers and metadata.
     * Key and Value schema is set optional to handle null data (i.e. deletes as tombstones)
@@ -77,7 +86,13 @@ object EnvelopeWithSchemaTransformer {
     *
     * @return
     */
-  private def envelope(message: MessageDetail, settings: DataStorageSettings): MessageDetail = {
+  private def envelope(
+    message:  MessageDetail,
+    settings: DataStorageSettings,
+  )(
+    implicit
+    schemaCache: SchemaCache,
+  ): MessageDetail = {
     val schema = envelopeSchema(message, settings)
 
     val envelope = new Struct(schema)
@@ -103,7 +118,7 @@ object EnvelopeWithSchemaTransformer {
     * @param value The value to convert
     * @return The value as an optional
     */
-  def toOptionalConnectData(value: SinkData): Any =
+  def toOptionalConnectData(value: SinkData)(implicit schemaCache: SchemaCache): Any =
     value match {
       case StructSinkData(value) if !value.schema().isOptional =>
         val newStruct = new Struct(toOptional(value.schema()))
@@ -115,7 +130,14 @@ object EnvelopeWithSchemaTransformer {
       case _ => value.value
     }
 
-  private def putWithOptional(envelope: Struct, key: String, value: SinkData): Struct =
+  private def putWithOptional(
+    envelope: Struct,
+    key:      String,
+    value:    SinkData,
+  )(
+    implicit
+    schemaCache: SchemaCache,
+  ): Struct =
     Option(envelope.schema().field(key)).fold(envelope) { _ =>
       envelope.put(key, toOptionalConnectData(value))
     }
@@ -128,39 +150,57 @@ object EnvelopeWithSchemaTransformer {
     metadata.put("offset", message.offset.value)
     metadata
   }
-  def envelopeSchema(message: MessageDetail, settings: DataStorageSettings): Schema = {
+  /**
+    * Returns the envelope schema for the message. Messages with the same key, value and header schemas share the same
+    * instance, which is built once.
+    */
+  def envelopeSchema(
+    message:  MessageDetail,
+    settings: DataStorageSettings,
+  )(
+    implicit
+    schemaCache: SchemaCache,
+  ): Schema = {
+    val keySchema   = if (settings.key) message.key.schema() else None
+    val valueSchema = if (settings.value) message.value.schema() else None
+    val headers =
+      if (settings.headers) message.headers.toList.flatMap { case (k, v) => v.schema().map(k -> _) }.sortBy(_._1)
+      else List.empty
+    schemaCache.derived(
+      (settings, keySchema.isDefined, valueSchema.isDefined, headers.map(_._1)),
+      keySchema.toList ++ valueSchema.toList ++ headers.map(_._2),
+    )(buildEnvelopeSchema(keySchema, valueSchema, headers, settings.metadata))
+  }
+
+  private def buildEnvelopeSchema(
+    keySchema:   Option[Schema],
+    valueSchema: Option[Schema],
+    headers:     List[(String, Schema)],
+    metadata:    Boolean,
+  )(
+    implicit
+    schemaCache: SchemaCache,
+  ): Schema = {
     var builder: SchemaBuilder = SchemaBuilder.struct()
 
     //both key and value are optional to handle tombstones and null key entries
 
-    builder =
-      if (settings.key) message.key.schema().fold(builder) { schema =>
-        builder.field("key", toOptional(schema))
-      }
-      else builder
+    builder = keySchema.fold(builder)(schema => builder.field("key", toOptional(schema)))
     //set the value schema optional to handle delete records
-    builder =
-      if (settings.value) message.value.schema().fold(builder) { schema =>
-        builder.field("value", toOptional(schema))
-      }
-      else builder
-    builder =
-      if (settings.headers) headersSchema(message.headers).fold(builder)(builder.field("headers", _))
-      else builder
-    builder = if (settings.metadata) builder.field("metadata", MetadataSchema) else builder
+    builder = valueSchema.fold(builder)(schema => builder.field("value", toOptional(schema)))
+    builder = headersSchema(headers).fold(builder)(builder.field("headers", _))
+    builder = if (metadata) builder.field("metadata", MetadataSchema) else builder
     builder.build()
   }
 
-  private def headersSchema(headers: Map[String, SinkData]): Option[Schema] = {
-    val headersList = headers.filter(_._2.schema().isDefined).toList.sortBy(_._1)
-    headersList.headOption.map { _ =>
-      val builder = headersList.foldLeft(SchemaBuilder.struct()) {
-        case (builder, (key, data)) =>
-          builder.field(key, toOptional(data.schema().get))
+  private def headersSchema(headers: List[(String, Schema)])(implicit schemaCache: SchemaCache): Option[Schema] =
+    headers.headOption.map { _ =>
+      val builder = headers.foldLeft(SchemaBuilder.struct()) {
+        case (builder, (key, schema)) =>
+          builder.field(key, toOptional(schema))
       }
       builder.build()
     }
-  }
 
   private def headersData(message: MessageDetail, schema: Schema): Struct = {
     val struct = new Struct(schema)
@@ -176,54 +216,55 @@ object EnvelopeWithSchemaTransformer {
     * @param schema The schema to convert
     * @return The schema as optional
     */
-  def toOptional(schema: Schema): Schema =
+  def toOptional(schema: Schema)(implicit schemaCache: SchemaCache): Schema =
     if (schema.isOptional) schema
-    else {
-      schema.`type`() match {
-        case Schema.Type.BOOLEAN => Schema.OPTIONAL_BOOLEAN_SCHEMA
-        case Schema.Type.BYTES =>
-          if (schema.name() == Decimal.LOGICAL_NAME) {
-            val scale = schema.parameters().get(Decimal.SCALE_FIELD).toInt
-            Decimal.builder(scale).optional().name(schema.name()).version(1)
-              .defaultValue(schema.defaultValue())
-              .doc(schema.doc()).build()
-          } else Schema.OPTIONAL_BYTES_SCHEMA
-
-        case Schema.Type.FLOAT32 => Schema.OPTIONAL_FLOAT32_SCHEMA
-        case Schema.Type.FLOAT64 => Schema.OPTIONAL_FLOAT64_SCHEMA
-        case Schema.Type.INT8    => Schema.OPTIONAL_INT8_SCHEMA
-        case Schema.Type.INT16   => Schema.OPTIONAL_INT16_SCHEMA
-        case Schema.Type.INT32 =>
-          if (schema.name() == Date.LOGICAL_NAME) {
-            var builder = Date.builder().optional()
-            builder = builder.doc(schema.doc())
-            builder = builder.defaultValue(schema.defaultValue())
-            builder.build()
-          } else if (schema.name() == Time.LOGICAL_NAME) {
-            var builder = Time.builder().optional()
-            builder = builder.doc(schema.doc())
-            builder = builder.defaultValue(schema.defaultValue())
-            builder.build()
-          } else Schema.OPTIONAL_INT32_SCHEMA
-        case Schema.Type.INT64 =>
-          if (schema.name() == "org.apache.kafka.connect.data.Timestamp") {
-            var builder = Timestamp.builder().optional()
-            builder = builder.doc(schema.doc())
-            builder = builder.defaultValue(schema.defaultValue())
-            builder.build()
-          } else
-            Schema.OPTIONAL_INT64_SCHEMA
+    else schemaCache.derived(OptionalTag, Seq(schema))(optionalSchema(schema))
+
+  private def optionalSchema(schema: Schema): Schema =
+    schema.`type`() match {
+      case Schema.Type.BOOLEAN => Schema.OPTIONAL_BOOLEAN_SCHEMA
+      case Schema.Type.BYTES =>
+        if (schema.name() == Decimal.LOGICAL_NAME) {
+          val scale = schema.parameters().get(Decimal.SCALE_FIELD).toInt
+          Decimal.builder(scale).optional().name(schema.name()).version(1)
+            .defaultValue(schema.defaultValue())
+            .doc(schema.doc()).build()
+        } else Schema.OPTIONAL_BYTES_SCHEMA
+
+      case Schema.Type.FLOAT32 => Schema.OPTIONAL_FLOAT32_SCHEMA
+      case Schema.Type.FLOAT64 => Schema.OPTIONAL_FLOAT64_SCHEMA
+      case Schema.Type.INT8    => Schema.OPTIONAL_INT8_SCHEMA
+      case Schema.Type.INT16   => Schema.OPTIONAL_INT16_SCHEMA
+      case Schema.Type.INT32 =>
+        if (schema.name() == Date.LOGICAL_NAME) {
+          var builder = Date.builder().optional()
+          builder = builder.doc(schema.doc())
+          builder = builder.defaultValue(schema.defaultValue())
+          builder.build()
+        } else if (schema.name() == Time.LOGICAL_NAME) {
+          var builder = Time.builder().optional()
+          builder = builder.doc(schema.doc())
+          builder = builder.defaultValue(schema.defaultValue())
+          builder.build()
+        } else Schema.OPTIONAL_INT32_SCHEMA
+      case Schema.Type.INT64 =>
+        if (schema.name() == "org.apache.kafka.connect.data.Timestamp") {
+          var builder = Timestamp.builder().optional()
+          builder = builder.doc(schema.doc())
+          builder = builder.defaultValue(schema.defaultValue())
+          builder.build()
+        } else
           Schema.OPTIONAL_INT64_SCHEMA
-        case Schema.Type.STRING => Schema.OPTIONAL_STRING_SCHEMA
-        case Schema.Type.ARRAY  => SchemaBuilder.array(schema.valueSchema()).optional().build()
-        case Schema.Type.MAP    => SchemaBuilder.map(schema.keySchema(), schema.valueSchema()).optional().build()
-        case Schema.Type.STRUCT =>
-          val builder = SchemaBuilder.struct().optional()
-          schema.fields().asScala.foldLeft(builder) {
-            case (b, field) =>
-              b.field(field.name(), field.schema())
-          }.build()
+        Schema.OPTIONAL_INT64_SCHEMA
+      case Schema.Type.STRING => Schema.OPTIONAL_STRING_SCHEMA
+      case Schema.Type.ARRAY  => SchemaBuilder.array(schema.valueSchema()).optional().build()
+      case Schema.Type.MAP    => SchemaBuilder.map(schema.keySchema(), schema.valueSchema()).optional().build()
+      case Schema.Type.STRUCT =>
+        val builder = SchemaBuilder.struct().optional()
+        schema.fields().asScala.foldLeft(builder) {
+          case (b, field) =>
+            b.field(field.name(), field.schema())
+        }.build()
 
-      }
     }
 }
@@ -21,6 +21,7 @@ import io.lenses.streamreactor.connect.cloud.common.config.AvroFormatSelection
 import io.lenses.streamreactor.connect.cloud.common.config.JsonFormatSelection
 import io.lenses.streamreactor.connect.cloud.common.config.ParquetFormatSelection
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.sink.config.WithTransformableDataStorage
 
@@ -48,7 +49,10 @@ case class TopicsTransformers(transformers: Map[Topic, Transformer]) extends Tra
 }
 
 object TopicsTransformers extends StrictLogging {
-  def from(bucketOptions: Seq[WithTransformableDataStorage]): TopicsTransformers = {
+  def from(
+    bucketOptions: Seq[WithTransformableDataStorage],
+    schemaCache:   SchemaCache = new SchemaCache(),
+  ): TopicsTransformers = {
     val transformersMap =
       bucketOptions
         .foldLeft(Map.empty[Topic, Transformer]) {
@@ -63,7 +67,7 @@ object TopicsTransformers extends StrictLogging {
                 case AvroFormatSelection | ParquetFormatSelection =>
                   map + (topic -> SequenceTransformer(
                     new AddConnectSchemaTransformer(topic, bo.dataStorage),
-                    new EnvelopeWithSchemaTransformer(topic, bo.dataStorage),
+                    new EnvelopeWithSchemaTransformer(topic, bo.dataStorage, schemaCache),
                   ))
 
                 case _ => map
@@ -20,6 +20,7 @@ import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.FormatWriter
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaChangeDetector
 import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
@@ -45,6 +46,8 @@ class Writer[SM <: FileMetadata](
   objectKeyBuilder:     ObjectKeyBuilder,
   formatWriterFn:       File => Either[SinkError, FormatWriter],
   schemaChangeDetector: SchemaChangeDetector,
+  schemaCache:          SchemaCache = new SchemaCache(),
+  committedOffset:      Option[Offset] = None,
 )(
   implicit
   connectorTaskId:  ConnectorTaskId,
@@ -53,7 +56,9 @@ class Writer[SM <: FileMetadata](
 
   private val lastSeekedOffset: Option[Offset] = writerIndexer.getSeekedOffsetForTopicPartition(topicPartition)
 
-  var writeState: WriteState = NoWriter(CommitState(topicPartition, lastSeekedOffset))
+  // a writer created again for a dropped one carries on from the offset already committed for the topic/partition
+  var writeState: WriteState =
+    NoWriter(CommitState(topicPartition, (lastSeekedOffset.toList ++ committedOffset).maxOption))
 
   def write(messageDetail: MessageDetail): Either[SinkError, Unit] = {
 
@@ -233,6 +238,24 @@ class Writer[SM <: FileMetadata](
       }
     }
 
+  /**
+    * The bytes written to the staging file, or None when the writer has no staging file open.
+    */
+  def bufferedBytes: Option[Long] =
+    writeState match {
+      case Writing(commitState, _, _, _, _, _) => Some(commitState.lastKnownFileSize)
+      case _ => None
+    }
+
+  /**
+    * Whether the writer has neither a staging file open nor one waiting to be uploaded.
+    */
+  def isIdle: Boolean =
+    writeState match {
+      case NoWriter(_) => true
+      case _ => false
+    }
+
   def hasPendingUpload: Boolean =
     writeState match {
       case _: Uploading => true
@@ -247,7 +270,7 @@ class Writer[SM <: FileMetadata](
     writeState match {
       case w: Writing =>
         w.getCommitState.lastKnownSchema.exists { lastSchema =>
-          lastSchema != schema && schemaChangeDetector.detectSchemaChange(lastSchema, schema)
+          !schemaCache.sameSchema(lastSchema, schema) && schemaChangeDetector.detectSchemaChange(lastSchema, schema)
         }
       case _ => false
     }
@@ -20,7 +20,9 @@ import com.typesafe.scalalogging.StrictLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.FormatWriter
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaChangeDetector
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import io.lenses.streamreactor.connect.cloud.common.model.TopicPartitionOffset
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
@@ -29,6 +31,7 @@ import io.lenses.streamreactor.connect.cloud.common.sink.FatalCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.commit.CommitPolicy
 import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionField
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.KeyNamer
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.ObjectKeyBuilder
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
@@ -37,6 +40,7 @@ import org.apache.kafka.clients.consumer.OffsetAndMetadata
 import org.apache.kafka.connect.data.Schema
 
 import java.io.File
+import scala.annotation.tailrec
 import scala.collection.immutable
 import scala.collection.mutable
 import scala.util.Try
@@ -51,6 +55,13 @@ case class MapKey(topicPartition: TopicPartition, partitionValues: immutable.Map
   *
   * This class is not thread safe as it is not designed to be shared between concurrent
   * sinks, since file handles cannot be safely shared without considerable overhead.
+  *
+  * The writers kept open are bounded by the [[WriterBudget]]. Once it is exceeded, the writers of the least recently
+  * written topic/partitions are committed early. All the writers of a topic/partition are committed together, so that
+  * the offset committed for it never runs ahead of the records still buffered. Once the writers of a topic/partition
+  * are committed, the idle ones are dropped, except the one holding its latest committed offset; a writer is created
+  * again for the next record of a dropped one, starting from that committed offset so that the records sent again by
+  * Connect are still skipped.
   */
 class WriterManager[SM <: FileMetadata](
   commitPolicyFn:       TopicPartition => Either[SinkError, CommitPolicy],
@@ -62,6 +73,8 @@ class WriterManager[SM <: FileMetadata](
   writerIndexer:        WriterIndexer[SM],
   transformerF:         MessageDetail => Either[RuntimeException, MessageDetail],
   schemaChangeDetector: SchemaChangeDetector,
+  writerBudget:         WriterBudget = WriterBudget.Unlimited,
+  schemaCache:          SchemaCache = new SchemaCache(),
 )(
   implicit
   connectorTaskId:  ConnectorTaskId,
@@ -71,6 +84,13 @@ class WriterManager[SM <: FileMetadata](
   private val writers             = mutable.Map.empty[MapKey, Writer[SM]]
   private val writerCommitManager = new WriterCommitManager[SM](() => writers.toMap)
 
+  // the writers with a staging file open, least recently written first, with the bytes they had buffered
+  private val openWriters   = mutable.LinkedHashMap.empty[MapKey, Long]
+  private var bufferedBytes = 0L
+
+  // the latest offset committed by the dropped writers of each topic/partition
+  private val droppedWriterOffsets = mutable.Map.empty[TopicPartition, Offset]
+
   def recommitPending(): Either[SinkError, Unit] = {
     logger.debug(s"[{}] Retry Pending", connectorTaskId.show)
     val result = writerCommitManager.commitPending()
@@ -87,6 +107,9 @@ class WriterManager[SM <: FileMetadata](
     logger.debug(s"[{}] Received call to WriterManager.close", connectorTaskId.show)
     writers.values.foreach(_.close())
     writers.clear()
+    openWriters.clear()
+    droppedWriterOffsets.clear()
+    bufferedBytes = 0L
   }
 
   def write(topicPartitionOffset: TopicPartitionOffset, messageDetail: MessageDetail): Either[SinkError, Unit] = {
@@ -95,13 +118,13 @@ class WriterManager[SM <: FileMetadata](
       s"[${connectorTaskId.show}] Received call to WriterManager.write for ${topicPartitionOffset.topic}-${topicPartitionOffset.partition}:${topicPartitionOffset.offset}",
     )
     for {
-      writer    <- writer(topicPartitionOffset.toTopicPartition, messageDetail)
-      shouldSkip = writer.shouldSkip(topicPartitionOffset.offset)
+      (key, writer) <- writer(topicPartitionOffset.toTopicPartition, messageDetail)
+      shouldSkip      = writer.shouldSkip(topicPartitionOffset.offset)
       resultIfNotSkipped <- if (!shouldSkip) {
         transformerF(messageDetail).leftMap(ex =>
           new FatalCloudSinkError(ex.getMessage, ex.some, topicPartitionOffset.toTopicPartition),
         ).flatMap { transformed =>
-          writeAndCommit(topicPartitionOffset, transformed, writer)
+          writeAndCommit(topicPartitionOffset, transformed, key, writer)
         }
       } else {
         ().asRight
@@ -112,6 +135,7 @@ class WriterManager[SM <: FileMetadata](
   private def writeAndCommit(
     topicPartitionOffset: TopicPartitionOffset,
     messageDetail:        MessageDetail,
+    key:                  MapKey,
     writer:               Writer[SM],
   ): Either[SinkError, Unit] =
     for {
@@ -119,8 +143,88 @@ class WriterManager[SM <: FileMetadata](
       _ <- rollOverTopicPartitionWriters(writer, topicPartitionOffset.toTopicPartition, messageDetail)
       // a processErr can potentially be recovered from in the next iteration.  Can be due to network problems
       _         <- writer.write(messageDetail)
-      commitRes <- writerCommitManager.commitFlushableWritersForTopicPartition(topicPartitionOffset.toTopicPartition)
-    } yield commitRes
+      _         <- writerCommitManager.commitFlushableWritersForTopicPartition(topicPartitionOffset.toTopicPartition)
+      budgetRes <- enforceWriterBudget(key, writer)
+    } yield budgetRes
+
+  private def enforceWriterBudget(key: MapKey, writer: Writer[SM]): Either[SinkError, Unit] =
+    if (!writerBudget.isBounded) {
+      ().asRight
+    } else {
+      bufferedBytes -= openWriters.remove(key).getOrElse(0L)
+      writer.bufferedBytes.foreach { bytes =>
+        openWriters.put(key, bytes)
+        bufferedBytes += bytes
+      }
+      // the writer was committed by its commit policy, or by a schema rollover
+      if (writer.isIdle) forgetIdleWriters(key.topicPartition)
+      if (writerBudget.isExceeded(openWriters.size, bufferedBytes)) {
+        // writers committed by their commit policy, or by a schema rollover, no longer hold a staging file
+        refreshOpenWriters()
+        commitLeastRecentlyWritten()
+      } else {
+        ().asRight
+      }
+    }
+
+  private def refreshOpenWriters(): Unit = {
+    openWriters.keys.toList.foreach { key =>
+      writers.get(key).flatMap(_.bufferedBytes) match {
+        case Some(bytes) => openWriters.update(key, bytes)
+        case None        => val _ = openWriters.remove(key)
+      }
+    }
+    bufferedBytes = openWriters.values.sum
+  }
+
+  @tailrec
+  private def commitLeastRecentlyWritten(): Either[SinkError, Unit] =
+    openWriters.headOption match {
+      case Some((MapKey(topicPartition, _), _)) if writerBudget.isExceeded(openWriters.size, bufferedBytes) =>
+        logger.debug(
+          s"[${connectorTaskId.show}] Writer budget exceeded with ${openWriters.size} open writers buffering $bufferedBytes bytes. Committing the writers for $topicPartition",
+        )
+        writerCommitManager.commitForTopicPartition(topicPartition) match {
+          case Left(err) => err.asLeft
+          case Right(_) =>
+            forgetOpenWriters(topicPartition)
+            forgetIdleWriters(topicPartition)
+            commitLeastRecentlyWritten()
+        }
+      case _ => ().asRight
+    }
+
+  private def forgetOpenWriters(topicPartition: TopicPartition): Unit = {
+    val _ = openWriters.filterInPlace {
+      case (key, _) => key.topicPartition != topicPartition
+    }
+    bufferedBytes = openWriters.values.sum
+  }
+
+  /**
+    * Drops the idle writers of the topic/partition, keeping the one with the latest committed offset, which is the
+    * offset committed for it to Kafka.
+    */
+  private def forgetIdleWriters(topicPartition: TopicPartition): Unit = {
+    val idleWriters = writers.collect {
+      case (key, writer) if key.topicPartition == topicPartition && writer.isIdle => key -> writer
+    }
+    idleWriters.maxByOption(_._2.getCommittedOffset).foreach {
+      case (latest, latestWriter) =>
+        val dropped = idleWriters.keySet - latest
+        if (dropped.nonEmpty) {
+          // all the writers of the topic/partition were committed together, so its records up to the latest
+          // committed offset are all uploaded
+          latestWriter.getCommittedOffset.foreach(droppedWriterOffsets.update(topicPartition, _))
+          dropped.foreach(writers.remove)
+        }
+    }
+  }
+
+  /**
+    * The writers kept for the topic/partitions of the task, open or idle.
+    */
+  private[writer] def writerCount: Int = writers.size
 
   private def rollOverTopicPartitionWriters(
     writer:         Writer[SM],
@@ -145,7 +249,10 @@ class WriterManager[SM <: FileMetadata](
     * Returns a writer that can write records for a particular topic and partition.
     * The writer will create a file inside the given directory if there is no open writer.
     */
-  private def writer(topicPartition: TopicPartition, messageDetail: MessageDetail): Either[SinkError, Writer[SM]] =
+  private def writer(
+    topicPartition: TopicPartition,
+    messageDetail:  MessageDetail,
+  ): Either[SinkError, (MapKey, Writer[SM])] =
     for {
       bucketAndPrefix <- bucketAndPrefixFn(topicPartition)
       keyNamer        <- keyNamerFn(topicPartition)
@@ -161,7 +268,7 @@ class WriterManager[SM <: FileMetadata](
               w
             }
       }
-    } yield writer
+    } yield key -> writer
 
   private def createWriter(
     bucketAndPrefix: CloudLocation,
@@ -180,6 +287,8 @@ class WriterManager[SM <: FileMetadata](
         objKeyBuilderFn(topicPartition, partitionValues),
         formatWriterFn.curried(topicPartition),
         schemaChangeDetector,
+        schemaCache,
+        droppedWriterOffsets.get(topicPartition),
       )
     }
   }
@@ -215,7 +324,7 @@ class WriterManager[SM <: FileMetadata](
       }.toOption
     } yield offsetAndMeta
 
-  def cleanUp(topicPartition: TopicPartition): Unit =
+  def cleanUp(topicPartition: TopicPartition): Unit = {
     writers
       .view.filterKeys(mapKey =>
         mapKey
@@ -223,5 +332,8 @@ class WriterManager[SM <: FileMetadata](
       )
       .keys
       .foreach(writers.remove)
+    droppedWriterOffsets.remove(topicPartition)
+    forgetOpenWriters(topicPartition)
+  }
 
 }
@@ -20,6 +20,8 @@ import cats.effect.FiberIO
 import cats.effect.IO
 import cats.effect.Ref
 import cats.implicits.catsSyntaxOptionId
+import cats.implicits.toShow
+import cats.implicits.toTraverseOps
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.common.config.base.traits.WithConnectorPrefix
 import io.lenses.streamreactor.common.util.AsciiArtPrinter.printAsciiHeader
@@ -30,13 +32,19 @@ import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskIdCreato
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
 import io.lenses.streamreactor.connect.cloud.common.source.SourceWatermark.readOffsetWatermark
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpointStore
 import io.lenses.streamreactor.connect.cloud.common.source.distribution.CloudPartitionSearcher
 import io.lenses.streamreactor.connect.cloud.common.source.distribution.PartitionSearcher
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationHub
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationSource
 import io.lenses.streamreactor.connect.cloud.common.source.reader.PartitionDiscovery
 import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManager
 import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManagerState
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplitStore
 import io.lenses.streamreactor.connect.cloud.common.source.state.CloudSourceTaskState
 import io.lenses.streamreactor.connect.cloud.common.source.state.ReaderManagerBuilder
+import io.lenses.streamreactor.connect.cloud.common.source.state.ReaderManagerPoller
 import io.lenses.streamreactor.connect.cloud.common.storage.DirectoryLister
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
@@ -84,7 +92,8 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
     val mergedProperties: Map[String, String] = MapUtils.mergeProps(contextProperties, props.asScala.toMap)
     (for {
       result <- make(validator, connectorPrefix, mergedProperties, contextOffsetFn)
-      fiber  <- result.partitionDiscoveryLoop.start
+      // the state owns the poller's threads, so they are released if the task cannot be started
+      fiber <- result.partitionDiscoveryLoop.start.onError(_ => result.close())
     } yield {
       cloudSourceTaskState   = result.some
       cancelledRef           = result.cancelledRef.some
@@ -133,10 +142,29 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
       client          <- IO.fromEither(createClient(config))
       storageInterface: StorageInterface[MD] <- IO.delay(createStorageInterface(connectorTaskId, config, client))
 
+      checkpointStore <- IO.delay(
+        ListingCheckpointStore(
+          config.listingCheckpointEnabled,
+          storageInterface,
+          connectorTaskId,
+          config.listingCheckpointLocation,
+        ),
+      )
+      splitStore         <- IO.delay(createFileSplitStore(connectorTaskId, config, storageInterface))
       directoryLister    <- IO.delay(createDirectoryLister(connectorTaskId, client))
-      partitionSearcher  <- IO.delay(createPartitionSearcher(directoryLister, connectorTaskId, config))
+      partitionSearcher <- IO.delay(
+        createPartitionSearcher(directoryLister, connectorTaskId, config, checkpointStore, splitStore),
+      )
+      notificationSource <- IO.fromEither(createFileNotificationSource(connectorTaskId, config))
+      notificationHub <- notificationSource.traverse { source =>
+        val hub = new FileNotificationHub(source, config.fileNotifications.reconcileInterval)
+        IO.delay(hub.start()).onError(_ => IO.delay(hub.close())).as(hub)
+      }
       readerManagerState <- Ref[IO].of(ReaderManagerState(Seq.empty, Seq.empty))
       cancelledRef       <- Ref[IO].of(false)
+      // from here on the state closes the hub, but it has to be closed by hand if the state cannot be built
+      poller <- IO.delay(ReaderManagerPoller(connectorTaskId, config.pollParallelism))
+        .onError(_ => IO.delay(notificationHub.foreach(_.close())))
     } yield {
       val readerManagerCreateFn: (CloudLocation, CloudLocation) => IO[ReaderManager] = (root, path) => {
         ReaderManagerBuilder(
@@ -148,19 +176,39 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
           location => config.bucketOptions.find(sb => sb.sourceBucketAndPrefix == location),
           config.emptySourceBackoffSettings,
           config.writeWatermarkToHeaders,
+          checkpointStore,
+          notificationHub,
+          config.fileSplitSize,
+          splitStore,
+          config.listingCheckpointLocation,
         )(validator)
       }
+      val splitReaderManagerCreateFn: (CloudLocation, FileSplit) => IO[ReaderManager] = (root, split) => {
+        ReaderManagerBuilder.forSplit(
+          root,
+          split,
+          storageInterface,
+          connectorTaskId,
+          contextOffsetFn,
+          location => config.bucketOptions.find(sb => sb.sourceBucketAndPrefix == location),
+          config.writeWatermarkToHeaders,
+          splitStore,
+        )
+      }
       val partitionDiscoveryLoop = PartitionDiscovery.run(connectorTaskId,
                                                           config.partitionSearcher,
                                                           partitionSearcher.find,
                                                           readerManagerCreateFn,
                                                           readerManagerState,
                                                           cancelledRef,
+                                                          splitReaderManagerCreateFn,
       )
       CloudSourceTaskState(
         readerManagerState.get.map(_.readerManagers.map(rm => rm.path.toKey -> rm).toMap),
         cancelledRef,
         partitionDiscoveryLoop,
+        poller,
+        notificationHub,
       )
     }
 
@@ -170,6 +218,31 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
 
   def createDirectoryLister(connectorTaskId: ConnectorTaskId, client: CT): DirectoryLister
 
+  /**
+    * Creates the source of file notifications used to discover new files without listing, if one is configured.
+    * Connectors override this to plug in a bucket event queue.
+    */
+  def createFileNotificationSource(
+    connectorTaskId: ConnectorTaskId,
+    config:          C,
+  ): Either[Throwable, Option[FileNotificationSource]] =
+    FileNotificationSource(config.fileNotifications, connectorTaskId)
+
+  /**
+    * Splits are found by the continuous partition search, so a one-off search leaves large objects whole.
+    */
+  private def createFileSplitStore(
+    connectorTaskId:  ConnectorTaskId,
+    config:           C,
+    storageInterface: StorageInterface[MD],
+  ): FileSplitStore = {
+    val enabled = config.fileSplitSize > 0 && config.partitionSearcher.continuous
+    if (config.fileSplitSize > 0 && !enabled) {
+      logger.warn(s"[${connectorTaskId.show}] Objects are not split, as it requires continuous partition search")
+    }
+    FileSplitStore(enabled, storageInterface, connectorTaskId, config.listingCheckpointLocation)
+  }
+
   def getFilesLimit(config: C): CloudLocation => Either[Throwable, Int] = {
     cloudLocation =>
       config.bucketOptions.find(e => e.sourceBucketAndPrefix == cloudLocation).map(_.filesLimit).toRight(
@@ -181,6 +254,8 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
     directoryLister: DirectoryLister,
     connectorTaskId: ConnectorTaskId,
     config:          C,
+    checkpointStore: ListingCheckpointStore,
+    splitStore:      FileSplitStore,
   ): PartitionSearcher =
     new CloudPartitionSearcher(
       getFilesLimit(config),
@@ -188,6 +263,8 @@ abstract class CloudSourceTask[MD <: FileMetadata, C <: CloudSourceConfig[MD], C
       config.bucketOptions.map(_.sourceBucketAndPrefix),
       config.partitionSearcher,
       connectorTaskId,
+      checkpointStore,
+      splitStore,
     )
 
   override def commitRecord(record: SourceRecord, metadata: RecordMetadata): Unit = {
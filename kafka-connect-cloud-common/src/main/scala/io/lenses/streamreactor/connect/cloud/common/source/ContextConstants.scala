@@ -25,6 +25,8 @@ object ContextConstants {
 
   val LineKey = "line"
 
+  val ByteOffsetKey = "byte"
+
   val TimeStampKey = "ts"
 
   val LastLine = "last"
@@ -18,6 +18,7 @@ package io.lenses.streamreactor.connect.cloud.common.source
 import cats.implicits.catsSyntaxOptionId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.ContextConstants.ByteOffsetKey
 import io.lenses.streamreactor.connect.cloud.common.source.ContextConstants.ContainerKey
 import io.lenses.streamreactor.connect.cloud.common.source.ContextConstants.LastLine
 import io.lenses.streamreactor.connect.cloud.common.source.ContextConstants.LineKey
@@ -49,6 +50,7 @@ object SourceWatermark {
     * @param bucketAndPath The CloudLocation
     * @param offset The offset
     * @param lastModified The last modified time of the file processed
+    * @param byteOffset The position right after the record, for formats that can resume reading there
     * @return A map of offset information
     */
   def offset(
@@ -56,13 +58,14 @@ object SourceWatermark {
     offset:        Long,
     lastModified:  Instant,
     lastLine:      Boolean,
+    byteOffset:    Option[Long] = None,
   ): java.util.Map[String, String] =
-    Map(
+    (Map(
       PathKey      -> bucketAndPath.pathOrUnknown,
       LineKey      -> offset.toString,
       TimeStampKey -> lastModified.toEpochMilli.toString,
       LastLine     -> ContextBoolean.booleanToString(lastLine),
-    ).asJava
+    ) ++ byteOffset.map(ByteOffsetKey -> _.toString)).asJava
 
   /**
     * Converts a partition map to a CloudLocation object.
@@ -126,11 +129,16 @@ object SourceWatermark {
       ts = offsetMap.get(TimeStampKey).collect {
         case value: String if value forall Character.isDigit => Instant.ofEpochMilli(value.toLong)
       }
+      // only present for line-oriented formats; without it the reader falls back to skipping lines
+      byteOffset = offsetMap.get(ByteOffsetKey).collect {
+        case value: String if value.nonEmpty && (value forall Character.isDigit) => value.toLong
+      }
     } yield {
       sourceRoot.copy(
-        path      = path.some,
-        line      = line.some,
-        timestamp = ts,
+        path       = path.some,
+        line       = line.some,
+        timestamp  = ts,
+        byteOffset = byteOffset,
       )(sourceRoot.cloudLocationValidator)
     }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.checkpoint
+
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+
+/**
+  * Where the source keeps its listing checkpoints and split indexes.
+  *
+  * By default they are kept in each source bucket, under `.indexes/.source/<connector name>/<prefix>`. A configured
+  * location keeps them all in one bucket instead, under `<location prefix>/<connector name>/<source bucket>/<prefix>`,
+  * for instance when the source buckets are read-only to the connector.
+  *
+  * @param configured the bucket and optional prefix set by the user, if any.
+  */
+case class CheckpointLocation(configured: Option[CloudLocation]) {
+
+  /**
+    * Resolves the bucket and key of a checkpoint file for a source location.
+    */
+  def resolve(connectorName: String, source: CloudLocation, filename: String): (String, String) = {
+    val sourcePrefix = CheckpointLocation.asDirectory(source.prefix)
+    configured match {
+      case Some(location) =>
+        location.bucket -> s"${connectorDirectory(location, connectorName)}${source.bucket}/$sourcePrefix$filename"
+      case None =>
+        source.bucket -> s"${CheckpointLocation.DefaultDirectory}/$connectorName/$sourcePrefix$filename"
+    }
+  }
+
+  /**
+    * Whether a listed key is kept by the checkpoints rather than being source data, for when the checkpoints live
+    * under a listed prefix.
+    */
+  def contains(connectorName: String, bucket: String, key: String): Boolean =
+    configured match {
+      case Some(location) =>
+        location.bucket == bucket && key.startsWith(connectorDirectory(location, connectorName))
+      case None =>
+        key.startsWith(s"${CheckpointLocation.DefaultDirectory}/")
+    }
+
+  private def connectorDirectory(location: CloudLocation, connectorName: String): String =
+    s"${CheckpointLocation.asDirectory(location.prefix)}$connectorName/"
+}
+
+object CheckpointLocation {
+
+  val DefaultDirectory: String = ".indexes/.source"
+
+  val Default: CheckpointLocation = CheckpointLocation(Option.empty)
+
+  private def asDirectory(prefix: Option[String]): String =
+    prefix.filter(_.nonEmpty).map(p => if (p.endsWith("/")) p else s"$p/").getOrElse("")
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.checkpoint
+
+import io.circe.Codec
+import io.circe.generic.semiauto.deriveCodec
+
+import java.time.Instant
+
+/**
+  * A compact record of how far the listing of a source prefix has progressed.
+  *
+  * No file accepted by the source sorts after `lastFile` and at or before `continuation`, so a task resuming from
+  * `lastFile` can continue listing after `continuation` instead of walking all the filtered keys in between again.
+  *
+  * @param lastFile     the last file handed to the reader, if any
+  * @param continuation the last key returned by the storage listing, accepted or not
+  * @param lastModified the last modified time of the continuation key
+  */
+case class ListingCheckpoint(lastFile: Option[String], continuation: String, lastModified: Instant)
+
+object ListingCheckpoint {
+  implicit val codec: Codec[ListingCheckpoint] = deriveCodec
+}
+
+/**
+  * The partitions a task discovered under a source root.
+  *
+  * @param partitions the partition prefixes found so far
+  */
+case class PartitionsCheckpoint(partitions: Set[String])
+
+object PartitionsCheckpoint {
+  implicit val codec: Codec[PartitionsCheckpoint] = deriveCodec
+}
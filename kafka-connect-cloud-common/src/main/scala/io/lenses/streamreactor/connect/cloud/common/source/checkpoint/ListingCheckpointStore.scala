@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.checkpoint
+
+import cats.implicits.toShow
+import com.typesafe.scalalogging.LazyLogging
+import io.circe.Decoder
+import io.circe.Encoder
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+
+/**
+  * Loads and saves the listing and discovery checkpoints of the cloud source.
+  *
+  * Checkpoints only ever save work: a missing or unreadable checkpoint leads to a full listing, so implementations
+  * log failures rather than surfacing them.
+  */
+trait ListingCheckpointStore {
+
+  def loadListing(location: CloudLocation): Option[ListingCheckpoint]
+
+  def saveListing(location: CloudLocation, checkpoint: ListingCheckpoint): Unit
+
+  def loadPartitions(root: CloudLocation): Option[PartitionsCheckpoint]
+
+  def savePartitions(root: CloudLocation, checkpoint: PartitionsCheckpoint): Unit
+}
+
+object ListingCheckpointStore {
+
+  object NoOp extends ListingCheckpointStore {
+    override def loadListing(location: CloudLocation): Option[ListingCheckpoint] = Option.empty
+
+    override def saveListing(location: CloudLocation, checkpoint: ListingCheckpoint): Unit = ()
+
+    override def loadPartitions(root: CloudLocation): Option[PartitionsCheckpoint] = Option.empty
+
+    override def savePartitions(root: CloudLocation, checkpoint: PartitionsCheckpoint): Unit = ()
+  }
+
+  def apply[SM <: FileMetadata](
+    enabled:            Boolean,
+    storageInterface:   StorageInterface[SM],
+    connectorTaskId:    ConnectorTaskId,
+    checkpointLocation: CheckpointLocation = CheckpointLocation.Default,
+  ): ListingCheckpointStore =
+    if (enabled) new StorageListingCheckpointStore[SM](storageInterface, connectorTaskId, checkpointLocation) else NoOp
+}
+
+/**
+  * Keeps the checkpoints as small JSON objects at the checkpoint location, by default in the source bucket under
+  * `.indexes/.source/<connector name>/<prefix>`. The `.indexes` directory is excluded from partition discovery by
+  * default, the same way the sink's offset indexes are, and the listings skip the keys of the checkpoint location.
+  *
+  * Listing checkpoints are shared by every task of the connector, as a prefix is only read by one task at a time.
+  * Partition checkpoints are kept per task, and are filtered by the current task ownership when loaded.
+  */
+class StorageListingCheckpointStore[SM <: FileMetadata](
+  storageInterface:   StorageInterface[SM],
+  connectorTaskId:    ConnectorTaskId,
+  checkpointLocation: CheckpointLocation = CheckpointLocation.Default,
+) extends ListingCheckpointStore
+    with LazyLogging {
+
+  override def loadListing(location: CloudLocation): Option[ListingCheckpoint] =
+    load[ListingCheckpoint](checkpointPath(location, "listing.json"))
+
+  override def saveListing(location: CloudLocation, checkpoint: ListingCheckpoint): Unit =
+    save(checkpointPath(location, "listing.json"), checkpoint)
+
+  override def loadPartitions(root: CloudLocation): Option[PartitionsCheckpoint] =
+    load[PartitionsCheckpoint](checkpointPath(root, partitionsFilename))
+      .map(cp => cp.copy(partitions = cp.partitions.filter(connectorTaskId.ownsDir)))
+
+  override def savePartitions(root: CloudLocation, checkpoint: PartitionsCheckpoint): Unit =
+    save(checkpointPath(root, partitionsFilename), checkpoint)
+
+  private def partitionsFilename: String = s"partitions-${connectorTaskId.taskNo}.json"
+
+  private[checkpoint] def checkpointPath(location: CloudLocation, filename: String): (String, String) =
+    checkpointLocation.resolve(connectorTaskId.name, location, filename)
+
+  private def load[T: Decoder](bucketAndPath: (String, String)): Option[T] = {
+    val (bucket, path) = bucketAndPath
+    storageInterface.pathExists(bucket, path) match {
+      case Left(error) =>
+        logger.warn(s"[${connectorTaskId.show}] Unable to check for checkpoint $bucket/$path: ${error.message()}")
+        Option.empty
+      case Right(false) =>
+        Option.empty
+      case Right(true) =>
+        storageInterface.getBlobAsString(bucket, path).left.map(_.message()).flatMap(
+          decode[T](_).left.map(_.getMessage),
+        ) match {
+          case Left(message) =>
+            logger.warn(s"[${connectorTaskId.show}] Ignoring unreadable checkpoint $bucket/$path: $message")
+            Option.empty
+          case Right(checkpoint) =>
+            logger.debug(s"[${connectorTaskId.show}] Loaded checkpoint $bucket/$path: $checkpoint")
+            Option(checkpoint)
+        }
+    }
+  }
+
+  private def save[T: Encoder](bucketAndPath: (String, String), checkpoint: T): Unit = {
+    val (bucket, path) = bucketAndPath
+    storageInterface.writeStringToFile(bucket, path, UploadableString(checkpoint.asJson.noSpaces)) match {
+      case Left(error) =>
+        logger.warn(s"[${connectorTaskId.show}] Unable to save checkpoint $bucket/$path: ${error.message()}")
+      case Right(_) =>
+        logger.trace(s"[${connectorTaskId.show}] Saved checkpoint $bucket/$path: $checkpoint")
+    }
+  }
+}
@@ -50,6 +50,10 @@ object CloudSourceBucketOptions {
 
           postProcessAction <- PostProcessAction(source.prefix, sourceProps)
 
+          prefetch <- PrefetchSettings(sourceProps)
+
+          parquetRead <- ParquetReadSettings(sourceProps)
+
         } yield CloudSourceBucketOptions[M](
           source,
           kcql.getTarget,
@@ -60,6 +64,8 @@ object CloudSourceBucketOptions {
           orderingType       = config.extractOrderingType,
           hasEnvelope        = hasEnvelope.getOrElse(false),
           postProcessAction  = postProcessAction,
+          prefetch           = prefetch,
+          parquetRead        = parquetRead,
         )
     }.toSeq.traverse(identity)
 
@@ -75,9 +81,15 @@ case class CloudSourceBucketOptions[M <: FileMetadata](
   orderingType:          OrderingType,
   hasEnvelope:           Boolean,
   postProcessAction:     Option[PostProcessAction],
+  prefetch:              PrefetchSettings = PrefetchSettings.Disabled,
+  parquetRead:           ParquetReadSettings = ParquetReadSettings.Default,
 ) {
+  /**
+    * @param excludeKeyFn returns true for the listed keys which are never read, such as the source checkpoints.
+    */
   def createBatchListerFn(
     storageInterface: StorageInterface[M],
+    excludeKeyFn:     String => Boolean = _ => false,
   ): Option[M] => Either[FileListError, Option[ListOfKeysResponse[M]]] =
     orderingType
       .getBatchLister
@@ -86,6 +98,7 @@ case class CloudSourceBucketOptions[M <: FileMetadata](
         bucket           = sourceBucketAndPrefix.bucket,
         prefix           = sourceBucketAndPrefix.prefix,
         numResults       = filesLimit,
+        excludeKeyFn     = excludeKeyFn,
       )
 
   def getPartitionExtractorFn: String => Option[Int] =
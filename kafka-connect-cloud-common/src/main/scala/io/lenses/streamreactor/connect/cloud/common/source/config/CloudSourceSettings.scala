@@ -15,10 +15,14 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.source.config
 
+import cats.implicits.toTraverseOps
 import io.lenses.streamreactor.common.config.base.traits.BaseSettings
 import io.lenses.streamreactor.connect.cloud.common.config.ConfigParse
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
 import io.lenses.streamreactor.connect.cloud.common.storage.ExtensionFilter
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.config.kcqlprops.KcqlProperties
@@ -51,6 +55,9 @@ trait CloudSourceSettings extends BaseSettings with CloudSourceSettingsKeys {
         SOURCE_PARTITION_SEARCH_INTERVAL_MILLIS_DEFAULT,
       ).millis,
       wildcardExcludes = getString(PARTITION_SEARCH_INDEX_EXCLUDES).split(',').toSet[String].map(_.trim),
+      parallelism = ConfigParse.getInt(props, SOURCE_PARTITION_SEARCH_PARALLELISM).getOrElse(
+        SOURCE_PARTITION_SEARCH_PARALLELISM_DEFAULT,
+      ),
     )
 
   def getEmptySourceBackoffSettings(properties: Map[String, _]): EmptySourceBackoffSettings =
@@ -85,6 +92,38 @@ trait CloudSourceSettings extends BaseSettings with CloudSourceSettingsKeys {
 
   def getWriteWatermarkToHeaders: Boolean = getBoolean(WRITE_WATERMARK_TO_HEADERS)
 
+  def getPollParallelism(properties: Map[String, _]): Int =
+    ConfigParse.getInt(properties, SOURCE_POLL_PARALLELISM).getOrElse(SOURCE_POLL_PARALLELISM_DEFAULT)
+
+  def getListingCheckpointEnabled(properties: Map[String, _]): Boolean =
+    ConfigParse.getBoolean(properties, SOURCE_LISTING_CHECKPOINT_ENABLED).getOrElse(
+      SOURCE_LISTING_CHECKPOINT_ENABLED_DEFAULT,
+    )
+
+  def getListingCheckpointLocation(
+    properties: Map[String, _],
+  )(
+    implicit
+    cloudLocationValidator: CloudLocationValidator,
+  ): Either[Throwable, CheckpointLocation] =
+    ConfigParse.getString(properties, SOURCE_LISTING_CHECKPOINT_LOCATION)
+      .traverse(CloudLocation.splitAndValidate)
+      .map(CheckpointLocation(_))
+
+  def getFileNotificationSettings(properties: Map[String, _]): FileNotificationSettings =
+    FileNotificationSettings(
+      notificationType = ConfigParse.getString(properties, SOURCE_NOTIFICATIONS_TYPE)
+        .flatMap(FileNotificationType.withNameInsensitiveOption)
+        .getOrElse(FileNotificationType.Disabled),
+      localPath = ConfigParse.getString(properties, SOURCE_NOTIFICATIONS_LOCAL_PATH),
+      reconcileInterval = ConfigParse.getLong(properties, SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS).getOrElse(
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS_DEFAULT,
+      ).millis,
+    )
+
+  def getFileSplitSize(properties: Map[String, _]): Long =
+    ConfigParse.getLong(properties, SOURCE_SPLIT_SIZE).getOrElse(SOURCE_SPLIT_SIZE_DEFAULT)
+
   /**
     * Extracts the property value from the configuration and transforms it into a set of strings.
     *
@@ -39,6 +39,11 @@ trait CloudSourceSettingsKeys extends WithConnectorPrefix {
     "Comma-separated list of directory prefixes to exclude from the partition search"
   private val PARTITION_SEARCH_INDEX_EXCLUDES_DEFAULT: String = ".indexes"
 
+  val SOURCE_PARTITION_SEARCH_PARALLELISM: String = s"$connectorPrefix.source.partition.search.parallelism"
+  private val SOURCE_PARTITION_SEARCH_PARALLELISM_DOC: String =
+    "The maximum number of prefixes listed concurrently when searching for new partitions. Sibling prefixes at each recurse level are listed in parallel up to this limit. Defaults to 1, listing them one after the other."
+  val SOURCE_PARTITION_SEARCH_PARALLELISM_DEFAULT: Int = 1
+
   protected val SOURCE_EXTENSION_EXCLUDES: String = s"$connectorPrefix.source.extension.excludes"
   private val SOURCE_EXTENSION_EXCLUDES_DOC: String =
     "Comma-separated list of file extensions to exclude from the source file search. If not configured, no files will be excluded. When used in conjunction with 'source.extension.includes', files must match the includes list and not match the excludes list to be considered."
@@ -160,6 +165,18 @@ trait CloudSourceSettingsKeys extends WithConnectorPrefix {
         ConfigDef.Width.LONG,
         PARTITION_SEARCH_INDEX_EXCLUDES,
       )
+      .define(
+        SOURCE_PARTITION_SEARCH_PARALLELISM,
+        Type.INT,
+        SOURCE_PARTITION_SEARCH_PARALLELISM_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        SOURCE_PARTITION_SEARCH_PARALLELISM_DOC,
+        "Source",
+        7,
+        ConfigDef.Width.MEDIUM,
+        SOURCE_PARTITION_SEARCH_PARALLELISM,
+      )
 
   val SOURCE_PARTITION_EXTRACTOR_TYPE = s"$connectorPrefix.source.partition.extractor.type"
   private val SOURCE_PARTITION_EXTRACTOR_TYPE_DOC =
@@ -222,6 +239,131 @@ trait CloudSourceSettingsKeys extends WithConnectorPrefix {
       SOURCE_EMPTY_RESULTS_BACKOFF_MULTIPLIER,
     )
 
+  val SOURCE_POLL_PARALLELISM: String = s"$connectorPrefix.source.poll.parallelism"
+  private val SOURCE_POLL_PARALLELISM_DOC: String =
+    "The maximum number of partitions/prefixes a task reads from concurrently on each poll. Defaults to 1, reading them one after the other."
+  val SOURCE_POLL_PARALLELISM_DEFAULT: Int = 1
+
+  def addSourcePollSettings(configDef: ConfigDef): ConfigDef = configDef.define(
+    SOURCE_POLL_PARALLELISM,
+    Type.INT,
+    SOURCE_POLL_PARALLELISM_DEFAULT,
+    ConfigDef.Range.atLeast(1),
+    Importance.LOW,
+    SOURCE_POLL_PARALLELISM_DOC,
+    "Source",
+    10,
+    ConfigDef.Width.MEDIUM,
+    SOURCE_POLL_PARALLELISM,
+  )
+
+  val SOURCE_LISTING_CHECKPOINT_ENABLED: String = s"$connectorPrefix.source.listing.checkpoint.enabled"
+  private val SOURCE_LISTING_CHECKPOINT_ENABLED_DOC: String =
+    "When enabled, each task stores the last listed key and the discovered partitions of every source prefix, under .indexes/.source/ in the source bucket unless 'source.listing.checkpoint.location' is set, so that listing and partition discovery resume from there after a restart instead of walking the prefix again. Only applies to alpha-numeric ordering without a post-process action."
+  val SOURCE_LISTING_CHECKPOINT_ENABLED_DEFAULT: Boolean = false
+
+  val SOURCE_LISTING_CHECKPOINT_LOCATION: String = s"$connectorPrefix.source.listing.checkpoint.location"
+  private val SOURCE_LISTING_CHECKPOINT_LOCATION_DOC: String =
+    "The bucket, and optionally the prefix, in the form bucket:prefix, where the listing checkpoints and the split plans are kept instead of under .indexes/.source/ in each source bucket. Unset by default. Set it when the source buckets must not be written to. The keys under it are never read as source data."
+  private val SOURCE_LISTING_CHECKPOINT_LOCATION_DEFAULT: String = null
+
+  def addSourceListingCheckpointSettings(configDef: ConfigDef): ConfigDef =
+    configDef
+      .define(
+        SOURCE_LISTING_CHECKPOINT_ENABLED,
+        Type.BOOLEAN,
+        SOURCE_LISTING_CHECKPOINT_ENABLED_DEFAULT,
+        Importance.LOW,
+        SOURCE_LISTING_CHECKPOINT_ENABLED_DOC,
+        "Source",
+        11,
+        ConfigDef.Width.SHORT,
+        SOURCE_LISTING_CHECKPOINT_ENABLED,
+      )
+      .define(
+        SOURCE_LISTING_CHECKPOINT_LOCATION,
+        Type.STRING,
+        SOURCE_LISTING_CHECKPOINT_LOCATION_DEFAULT,
+        Importance.LOW,
+        SOURCE_LISTING_CHECKPOINT_LOCATION_DOC,
+        "Source",
+        12,
+        ConfigDef.Width.MEDIUM,
+        SOURCE_LISTING_CHECKPOINT_LOCATION,
+      )
+
+  val SOURCE_NOTIFICATIONS_TYPE: String = s"$connectorPrefix.source.notifications.type"
+  private val SOURCE_NOTIFICATIONS_TYPE_DOC: String =
+    "How new source files are discovered. 'none' (the default) lists each prefix, backing off while it is empty. 'local' lists a prefix only when a file is created under it in the directory set by 'source.notifications.local.path', where each top-level directory stands for a bucket. Files are still listed and read from the bucket, so the directory must mirror it, for instance a mounted bucket."
+  val SOURCE_NOTIFICATIONS_TYPE_DEFAULT: String = FileNotificationType.Disabled.entryName
+
+  val SOURCE_NOTIFICATIONS_LOCAL_PATH: String = s"$connectorPrefix.source.notifications.local.path"
+  private val SOURCE_NOTIFICATIONS_LOCAL_PATH_DOC: String =
+    "The directory watched for new files when 'source.notifications.type' is 'local'."
+  private val SOURCE_NOTIFICATIONS_LOCAL_PATH_DEFAULT: String = null
+
+  val SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS: String =
+    s"$connectorPrefix.source.notifications.reconcile.interval"
+  private val SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS_DOC: String =
+    "When notifications are enabled, the interval in milliseconds after which a prefix without notifications is listed anyway, to pick up files whose notification was missed. Defaults to 5 minutes."
+  val SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS_DEFAULT: Long =
+    FileNotificationSettings.DefaultReconcileInterval.toMillis
+
+  def addSourceNotificationSettings(configDef: ConfigDef): ConfigDef =
+    configDef.define(
+      SOURCE_NOTIFICATIONS_TYPE,
+      Type.STRING,
+      SOURCE_NOTIFICATIONS_TYPE_DEFAULT,
+      ConfigDef.CaseInsensitiveValidString.in(FileNotificationType.values.map(_.entryName): _*),
+      Importance.LOW,
+      SOURCE_NOTIFICATIONS_TYPE_DOC,
+      "Source",
+      13,
+      ConfigDef.Width.SHORT,
+      SOURCE_NOTIFICATIONS_TYPE,
+    )
+      .define(
+        SOURCE_NOTIFICATIONS_LOCAL_PATH,
+        Type.STRING,
+        SOURCE_NOTIFICATIONS_LOCAL_PATH_DEFAULT,
+        Importance.LOW,
+        SOURCE_NOTIFICATIONS_LOCAL_PATH_DOC,
+        "Source",
+        14,
+        ConfigDef.Width.LONG,
+        SOURCE_NOTIFICATIONS_LOCAL_PATH,
+      )
+      .define(
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS,
+        Type.LONG,
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS_DEFAULT,
+        ConfigDef.Range.atLeast(1),
+        Importance.LOW,
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS_DOC,
+        "Source",
+        15,
+        ConfigDef.Width.MEDIUM,
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS,
+      )
+
+  val SOURCE_SPLIT_SIZE: String = s"$connectorPrefix.source.split.size"
+  private val SOURCE_SPLIT_SIZE_DOC: String =
+    "When greater than 0, objects larger than this many bytes are split into ranges which are read by all the tasks, instead of by the one task owning their partition. JSON, CSV and plain text objects are split on line boundaries and Parquet objects on row groups. Requires continuous partition search and no post-process action. The split plans are kept under .indexes/.source/ in the source bucket, or under the listing checkpoint location when set, and are dropped once every split has been read."
+  val SOURCE_SPLIT_SIZE_DEFAULT: Long = 0L
+
+  def addSourceSplitSettings(configDef: ConfigDef): ConfigDef = configDef.define(
+    SOURCE_SPLIT_SIZE,
+    Type.LONG,
+    SOURCE_SPLIT_SIZE_DEFAULT,
+    ConfigDef.Range.atLeast(0),
+    Importance.LOW,
+    SOURCE_SPLIT_SIZE_DOC,
+    "Source",
+    16,
+    ConfigDef.Width.MEDIUM,
+    SOURCE_SPLIT_SIZE,
+  )
+
   def addSourcePartitionExtractorSettings(configDef: ConfigDef): ConfigDef = configDef.define(
     SOURCE_PARTITION_EXTRACTOR_TYPE,
     Type.STRING,
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.config
+
+import enumeratum.Enum
+import enumeratum.EnumEntry
+
+import scala.concurrent.duration.DurationLong
+import scala.concurrent.duration.FiniteDuration
+
+sealed abstract class FileNotificationType(override val entryName: String) extends EnumEntry
+
+object FileNotificationType extends Enum[FileNotificationType] {
+
+  /** New files are only found by listing, backing off while there are none. */
+  case object Disabled extends FileNotificationType("none")
+
+  /**
+    * New files are reported by watching a local directory whose top-level directories stand for the buckets, such as
+    * mounted buckets. The files are still listed and read from the buckets.
+    */
+  case object Local extends FileNotificationType("local")
+
+  override def values: IndexedSeq[FileNotificationType] = findValues
+}
+
+/**
+  * Settings for discovering new source files from notifications rather than by listing.
+  * @param notificationType Where the notifications come from
+  * @param localPath The directory watched by the local notifications
+  * @param reconcileInterval How long a prefix may go without notifications before it is listed anyway, to catch up
+  *                          with notifications that were missed
+  */
+case class FileNotificationSettings(
+  notificationType:  FileNotificationType,
+  localPath:         Option[String],
+  reconcileInterval: FiniteDuration,
+) {
+  def enabled: Boolean = notificationType != FileNotificationType.Disabled
+}
+
+object FileNotificationSettings {
+
+  val DefaultReconcileInterval: FiniteDuration = 5.minutes
+
+  val Disabled: FileNotificationSettings =
+    FileNotificationSettings(FileNotificationType.Disabled, Option.empty, DefaultReconcileInterval)
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.config
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.toTraverseOps
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum.ReadParquetColumns
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum.ReadParquetDirect
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum.ReadParquetFilter
+import io.lenses.streamreactor.connect.config.kcqlprops.KcqlProperties
+import org.apache.kafka.common.config.ConfigException
+
+import java.util.regex.Pattern
+
+/**
+  * Settings for decoding Parquet source objects.
+  * @param directDecoding When true, the Parquet records are materialised straight into Connect structs, skipping the
+  *                       intermediate Avro GenericRecord. The resulting schemas follow the Parquet file schema rather
+  *                       than the Avro schema stored by the sink, hence it is opt-in
+  * @param columns The top-level columns to read. Empty reads every column; otherwise the other column chunks are
+  *                never fetched
+  * @param filters Conditions which must all hold for a record to be read. Row groups whose statistics exclude them
+  *                are skipped
+  */
+case class ParquetReadSettings(
+  directDecoding: Boolean,
+  columns:        Seq[String]        = Seq.empty,
+  filters:        Seq[ParquetFilter] = Seq.empty,
+)
+
+object ParquetReadSettings {
+
+  val Default: ParquetReadSettings = ParquetReadSettings(directDecoding = false)
+
+  def apply(props: KcqlProperties[PropsKeyEntry, PropsKeyEnum.type]): Either[ConfigException, ParquetReadSettings] =
+    for {
+      direct  <- props.getOptionalBoolean(ReadParquetDirect)
+      columns  = props.getString(ReadParquetColumns).toList.flatMap(_.split(',').map(_.trim).filter(_.nonEmpty))
+      filters <- props.getString(ReadParquetFilter).fold(List.empty[ParquetFilter].asRight[ConfigException])(
+        ParquetFilter.parse,
+      )
+      _ <- filters.map(_.topLevelColumn).find(c => columns.nonEmpty && !columns.contains(c)) match {
+        case Some(column) =>
+          new ConfigException(
+            s"Invalid value for ${ReadParquetFilter.entryName}. The column $column must be one of ${ReadParquetColumns.entryName}",
+          ).asLeft
+        case None => ().asRight
+      }
+    } yield ParquetReadSettings(direct.getOrElse(Default.directDecoding), columns, filters)
+}
+
+sealed abstract class ParquetFilterOperator(val symbol: String)
+
+object ParquetFilterOperator {
+  case object Eq    extends ParquetFilterOperator("=")
+  case object NotEq extends ParquetFilterOperator("!=")
+  case object Lt    extends ParquetFilterOperator("<")
+  case object LtEq  extends ParquetFilterOperator("<=")
+  case object Gt    extends ParquetFilterOperator(">")
+  case object GtEq  extends ParquetFilterOperator(">=")
+
+  private val bySymbol: Map[String, ParquetFilterOperator] =
+    List[ParquetFilterOperator](Eq, NotEq, Lt, LtEq, Gt, GtEq).map(op => op.symbol -> op).toMap + ("<>" -> NotEq)
+
+  def fromSymbol(symbol: String): Option[ParquetFilterOperator] = bySymbol.get(symbol)
+}
+
+/**
+  * A condition on a Parquet column, compared with the column's physical value.
+  * @param column The column path, nested fields being separated by a dot
+  * @param operator The comparison operator
+  * @param value The value to compare with, converted to the column type when the file is opened
+  */
+case class ParquetFilter(column: String, operator: ParquetFilterOperator, value: String) {
+  def topLevelColumn: String = column.takeWhile(_ != '.')
+}
+
+object ParquetFilter {
+
+  private val Clause = """^\s*([\w.]+)\s*(=|!=|<>|<=|>=|<|>)\s*(.*?)\s*$""".r
+  private val And    = Pattern.compile("(?i)\\s+and\\s+")
+
+  /**
+    * Parses conditions of the form `<column> <operator> <value>`, joined by `and`. For example
+    * `country = UK and year >= 2020`. The value may be enclosed in single or double quotes, in which case it may
+    * itself contain ` and `.
+    */
+  def parse(expression: String): Either[ConfigException, List[ParquetFilter]] =
+    splitConditions(expression).traverse {
+      case Clause(column, symbol, value) if value.nonEmpty =>
+        ParquetFilterOperator.fromSymbol(symbol)
+          .map(ParquetFilter(column, _, unquote(value)))
+          .toRight(invalid(expression))
+      case _ => invalid(expression).asLeft[ParquetFilter]
+    }
+
+  /**
+    * Splits the expression on the `and` keywords which are not within a quoted value. A quote only opens a value
+    * when it directly follows the operator.
+    */
+  private def splitConditions(expression: String): List[String] = {
+    val matcher    = And.matcher(expression)
+    val conditions = List.newBuilder[String]
+    var start      = 0
+    var quote      = Option.empty[Char]
+    var i          = 0
+    while (i < expression.length) {
+      val c = expression.charAt(i)
+      quote match {
+        case Some(q) =>
+          if (c == q) quote = None
+          i += 1
+        case None if (c == '\'' || c == '"') && followsOperator(expression, i) =>
+          quote = Some(c)
+          i    += 1
+        case None if matcher.region(i, expression.length).lookingAt() =>
+          conditions += expression.substring(start, i)
+          start       = matcher.end()
+          i           = start
+        case None =>
+          i += 1
+      }
+    }
+    (conditions += expression.substring(start)).result()
+  }
+
+  private def followsOperator(expression: String, index: Int): Boolean =
+    expression.substring(0, index).trim.lastOption.exists("=<>".contains(_))
+
+  private def unquote(value: String): String = {
+    val quoted = value.length > 1 && List("'", "\"").exists(q => value.startsWith(q) && value.endsWith(q))
+    if (quoted) value.substring(1, value.length - 1) else value
+  }
+
+  private def invalid(expression: String): ConfigException =
+    new ConfigException(
+      s"Invalid value for ${ReadParquetFilter.entryName}: [$expression]. Expected conditions of the form <column> <operator> <value> joined by 'and'",
+    )
+}
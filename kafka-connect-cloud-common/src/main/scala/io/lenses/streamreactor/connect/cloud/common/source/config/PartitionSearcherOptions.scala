@@ -24,10 +24,12 @@ object PartitionSearcherOptions {
 
 /**
   * @param wildcardExcludes allows ignoring paths containing certain strings.  Mainly it is used to prevent us from reading anything inside the .indexes key prefix, as these should be ignored by the source.
+  * @param parallelism the maximum number of prefixes listed concurrently while searching.
   */
 case class PartitionSearcherOptions(
   recurseLevels:    Int,
   continuous:       Boolean,
   interval:         FiniteDuration,
   wildcardExcludes: Set[String],
+  parallelism:      Int = 1,
 )
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.config
+
+import cats.implicits.catsSyntaxEitherId
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum.ReadPrefetchDepth
+import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum.ReadPrefetchMaxBytes
+import io.lenses.streamreactor.connect.config.kcqlprops.KcqlProperties
+import org.apache.kafka.common.config.ConfigException
+
+/**
+  * Settings for opening the next source objects in the background while the current one is being read.
+  * @param depth The maximum number of objects opened ahead of the one being read, and so of the object store streams
+  *              held open by the prefetch. 0 disables the prefetch
+  * @param maxBytes The maximum number of bytes read into memory ahead of the object being read, shared evenly by the
+  *                 objects opened ahead
+  */
+case class PrefetchSettings(
+  depth:    Int,
+  maxBytes: Long,
+) {
+  def enabled: Boolean = depth > 0
+
+  /**
+    * The number of bytes each object opened ahead reads into memory, so that together they stay within `maxBytes`.
+    */
+  def readAheadBytes: Int =
+    if (enabled) math.min(maxBytes / depth, Int.MaxValue.toLong - 8).toInt else 0
+}
+
+object PrefetchSettings {
+
+  val DefaultMaxBytes: Long = 64L * 1024 * 1024
+
+  val MaxDepth: Int = 16
+
+  val Disabled: PrefetchSettings = PrefetchSettings(0, DefaultMaxBytes)
+
+  def apply(props: KcqlProperties[PropsKeyEntry, PropsKeyEnum.type]): Either[ConfigException, PrefetchSettings] = {
+    val depth    = props.getOptionalInt(ReadPrefetchDepth).getOrElse(Disabled.depth)
+    val maxBytes = props.getOptionalLong(ReadPrefetchMaxBytes).getOrElse(DefaultMaxBytes)
+    if (depth < 0 || depth > MaxDepth) {
+      new ConfigException(s"Invalid value for ${ReadPrefetchDepth.entryName}. Must be between 0 and $MaxDepth").asLeft
+    } else if (maxBytes <= 0) {
+      new ConfigException(s"Invalid value for ${ReadPrefetchMaxBytes.entryName}. Must be greater than 0").asLeft
+    } else {
+      PrefetchSettings(depth, maxBytes).asRight
+    }
+  }
+}
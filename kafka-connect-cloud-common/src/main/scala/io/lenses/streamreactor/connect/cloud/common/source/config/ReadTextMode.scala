@@ -17,21 +17,32 @@ package io.lenses.streamreactor.connect.cloud.common.source.config
 
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEntry
 import io.lenses.streamreactor.connect.cloud.common.config.kcqlprops.PropsKeyEnum
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.ByteCountingLineReader
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.CustomTextStreamReader
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.CloudDataIterator
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.RegexTextStreamReader
 import io.lenses.streamreactor.connect.cloud.common.source.config.kcqlprops.ReadTextModeEntry
 import io.lenses.streamreactor.connect.cloud.common.source.config.kcqlprops.ReadTextModeEnum
 import io.lenses.streamreactor.connect.config.kcqlprops.KcqlProperties
 import io.lenses.streamreactor.connect.io.text.LineStartLineEndReader
 import io.lenses.streamreactor.connect.io.text.PrefixSuffixReader
-import io.lenses.streamreactor.connect.io.text.RegexMatchLineReader
 
 import java.io.InputStream
 
 trait ReadTextMode {
+
+  /**
+    * @param startPosition the position in the object where the input stream starts
+    */
   def createStreamReader(
-    input: InputStream,
+    input:         InputStream,
+    startPosition: Long = 0L,
   ): CloudDataIterator[String]
+
+  /**
+    * Whether the records end on a line boundary that reading can resume from.
+    */
+  def resumesFromByteOffset: Boolean
 }
 
 object ReadTextMode {
@@ -67,7 +78,8 @@ object ReadTextMode {
 
 case class StartEndTagReadTextMode(startTag: String, endTag: String, buffer: Int) extends ReadTextMode {
   override def createStreamReader(
-    input: InputStream,
+    input:         InputStream,
+    startPosition: Long,
   ): CloudDataIterator[String] = {
     val lineReader = new PrefixSuffixReader(
       input      = input,
@@ -77,32 +89,39 @@ case class StartEndTagReadTextMode(startTag: String, endTag: String, buffer: Int
     )
     new CustomTextStreamReader(() => lineReader.next(), () => lineReader.close())
   }
+
+  // tags can end anywhere in a buffered read, so only the line index is recorded
+  override def resumesFromByteOffset: Boolean = false
 }
 
 case class StartEndLineReadTextMode(startLine: String, endLine: String, trim: Boolean, lastEndLineMissing: Boolean)
     extends ReadTextMode {
   override def createStreamReader(
-    input: InputStream,
+    input:         InputStream,
+    startPosition: Long,
   ): CloudDataIterator[String] = {
+    val lines = new ByteCountingLineReader(input, startPosition)
     val lineReader = new LineStartLineEndReader(
       input,
       startLine,
       endLine,
       trim,
       lastEndLineMissing,
-    )
-    new CustomTextStreamReader(() => lineReader.next(), () => lineReader.close())
+    ) {
+      override protected def readLine(): String = lines.readLine().orNull
+    }
+    new CustomTextStreamReader(() => lineReader.next(), () => lineReader.close(), Some(() => lines.position))
 
   }
+
+  override def resumesFromByteOffset: Boolean = true
 }
 case class RegexReadTextMode(regex: String) extends ReadTextMode {
   override def createStreamReader(
-    input: InputStream,
-  ): CloudDataIterator[String] = {
-    val lineReader = new RegexMatchLineReader(
-      input = input,
-      regex = regex,
-    )
-    new CustomTextStreamReader(() => lineReader.next(), () => lineReader.close())
-  }
+    input:         InputStream,
+    startPosition: Long,
+  ): CloudDataIterator[String] =
+    new RegexTextStreamReader(input, regex, startPosition)
+
+  override def resumesFromByteOffset: Boolean = true
 }
@@ -35,6 +35,11 @@ object CloudSourcePropsSchema {
     ReadLastEndLineMissing  -> BooleanPropsSchema,
     BufferSize              -> IntPropsSchema,
     ReadTrimLine            -> BooleanPropsSchema,
+    ReadPrefetchDepth       -> IntPropsSchema,
+    ReadPrefetchMaxBytes    -> LongPropsSchema,
+    ReadParquetDirect       -> BooleanPropsSchema,
+    ReadParquetColumns      -> StringPropsSchema,
+    ReadParquetFilter       -> StringPropsSchema,
     StoreEnvelope           -> BooleanPropsSchema,
     PostProcessAction       -> EnumPropsSchema(PostProcessActionEnum),
     PostProcessActionBucket -> StringPropsSchema,
@@ -20,7 +20,10 @@ import cats.implicits._
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpointStore
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.PartitionsCheckpoint
 import io.lenses.streamreactor.connect.cloud.common.source.config.PartitionSearcherOptions
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplitStore
 import io.lenses.streamreactor.connect.cloud.common.storage.DirectoryLister
 
 /**
@@ -30,6 +33,10 @@ import io.lenses.streamreactor.connect.cloud.common.storage.DirectoryLister
   * @param roots           The list of root locations in which to search for partitions.
   * @param settings        The configuration options for partition searching.
   * @param connectorTaskId The identifier for the connector task.
+  * @param checkpointStore Stores the partitions found per root, so that a restarted task starts reading the known
+  *                        partitions straight away and leaves the walk for new ones to the next search.
+  * @param splitStore      The splits of large objects published by the tasks, which are assigned the same way as
+  *                        partitions.
   */
 class CloudPartitionSearcher(
   fFilesLimit:     CloudLocation => Either[Throwable, Int],
@@ -37,6 +44,8 @@ class CloudPartitionSearcher(
   roots:           Seq[CloudLocation],
   settings:        PartitionSearcherOptions,
   connectorTaskId: ConnectorTaskId,
+  checkpointStore: ListingCheckpointStore = ListingCheckpointStore.NoOp,
+  splitStore:      FileSplitStore         = FileSplitStore.NoOp,
 ) extends PartitionSearcher
     with LazyLogging {
 
@@ -50,7 +59,11 @@ class CloudPartitionSearcher(
     lastFound: Seq[PartitionSearcherResponse],
   ): IO[Seq[PartitionSearcherResponse]] =
     if (lastFound.isEmpty) {
-      roots.traverse(findNewPartitionsInRoot(_, settings, Set.empty))
+      roots.traverse { root =>
+        resumeFromCheckpoint(root)
+          .flatMap(_.fold(findNewPartitionsInRoot(root, settings, Set.empty))(IO.pure))
+          .flatMap(findNewSplits(_, Set.empty))
+      }
     } else {
       lastFound.traverse {
         prevResponse =>
@@ -58,8 +71,54 @@ class CloudPartitionSearcher(
             prevResponse.root,
             settings,
             prevResponse.allPartitions,
-          )
+          ).flatMap(findNewSplits(_, prevResponse.allSplits))
+      }
+    }
+
+  /**
+    * Splits are shared out by their key, so the splits of one object are read by different tasks. Splits read to the
+    * end are forgotten, as they are never loaded again.
+    */
+  private def findNewSplits(
+    response:    PartitionSearcherResponse,
+    knownSplits: Set[String],
+  ): IO[PartitionSearcherResponse] =
+    IO {
+      val published = splitStore.load(response.root)
+      val newSplits = published.pending
+        .filter(split => !knownSplits.contains(split.key) && connectorTaskId.ownsDir(split.key))
+      if (newSplits.nonEmpty) {
+        logger.info("[{}] Found new splits {} for: {}",
+                    connectorTaskId.show,
+                    newSplits.map(_.key).mkString(","),
+                    response.root.show,
+        )
       }
+      val completedSplits = knownSplits.intersect(published.completed)
+      response.copy(
+        splits          = newSplits,
+        allSplits       = knownSplits -- completedSplits ++ newSplits.map(_.key),
+        completedSplits = completedSplits,
+      )
+    }
+
+  /**
+    * Only a continuous search comes back for the partitions added since the checkpoint, so a one-off search always
+    * walks the root.
+    */
+  private def resumeFromCheckpoint(root: CloudLocation): IO[Option[PartitionSearcherResponse]] =
+    IO {
+      Option.when(settings.continuous)(root)
+        .flatMap(checkpointStore.loadPartitions)
+        .filter(_.partitions.nonEmpty)
+        .map { checkpoint =>
+          logger.info("[{}] Resuming {} checkpointed partitions for: {}",
+                      connectorTaskId.show,
+                      checkpoint.partitions.size,
+                      root.show,
+          )
+          PartitionSearcherResponse(root, checkpoint.partitions, checkpoint.partitions, Option.empty)
+        }
     }
 
   private def findNewPartitionsInRoot(
@@ -74,15 +133,17 @@ class CloudPartitionSearcher(
                                                          settings.recurseLevels,
                                                          originalPartitions,
                                                          settings.wildcardExcludes,
+                                                         settings.parallelism,
       )
       _ <- IO {
-        if (foundPartitions.nonEmpty)
+        if (foundPartitions.nonEmpty) {
           logger.info("[{}] Found new partitions {} for: {}",
                       connectorTaskId.show,
                       foundPartitions.mkString(","),
                       root.show,
           )
-        else
+          checkpointStore.savePartitions(root, PartitionsCheckpoint(originalPartitions ++ foundPartitions))
+        } else
           logger.info("[{}] No new partitions found for:{}", connectorTaskId.show, root.show)
       }
 
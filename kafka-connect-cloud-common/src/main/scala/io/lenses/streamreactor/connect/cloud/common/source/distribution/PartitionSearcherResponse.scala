@@ -16,10 +16,19 @@
 package io.lenses.streamreactor.connect.cloud.common.source.distribution
 
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
 
+/**
+  * @param splits          the splits of large objects newly assigned to the task
+  * @param allSplits       the keys of the splits assigned to the task which are still being read
+  * @param completedSplits the keys of the splits assigned to the task which have been read since the last search
+  */
 case class PartitionSearcherResponse(
-  root:          CloudLocation,
-  allPartitions: Set[String],
-  results:       Set[String],
-  error:         Option[Exception],
+  root:            CloudLocation,
+  allPartitions:   Set[String],
+  results:         Set[String],
+  error:           Option[Exception],
+  splits:          Seq[FileSplit] = Seq.empty,
+  allSplits:       Set[String]    = Set.empty,
+  completedSplits: Set[String]    = Set.empty,
 )
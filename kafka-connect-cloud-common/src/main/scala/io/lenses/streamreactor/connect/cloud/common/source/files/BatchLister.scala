@@ -22,11 +22,16 @@ import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 
 trait BatchLister {
 
+  /**
+    * Lists the next batch of files after the last file. The keys for which `excludeKeyFn` returns true, such as the
+    * source checkpoints, are left out of the batch but still move the listing forward.
+    */
   def listBatch[SM <: FileMetadata](
     storageInterface: StorageInterface[SM],
     bucket:           String,
     prefix:           Option[String],
     numResults:       Int,
+    excludeKeyFn:     String => Boolean = _ => false,
   )(lastFile:         Option[SM],
   ): Either[FileListError, Option[ListOfKeysResponse[SM]]]
 
@@ -21,6 +21,7 @@ import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpoint
 import io.lenses.streamreactor.connect.cloud.common.source.config.PostProcessAction
 import io.lenses.streamreactor.connect.cloud.common.storage.FileListError
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
@@ -28,8 +29,15 @@ import io.lenses.streamreactor.connect.cloud.common.storage.ListOfKeysResponse
 import io.lenses.streamreactor.connect.cloud.common.storage.ListResponse
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 
+import scala.annotation.tailrec
+
 trait SourceFileQueue {
   def next(): Either[FileListError, Option[CloudLocation]]
+
+  /**
+    * Releases anything the queue holds on to once its location is no longer read.
+    */
+  def close(): Unit = ()
 }
 
 /**
@@ -58,19 +66,26 @@ class CloudSourceFileQueue[SM <: FileMetadata] private (
     *                            In such cases, this parameter will be None.
     */
   private var lastSeenFileTracker: Option[LastSeenFileTracker[SM]],
+  /**
+    * Called with the listing progress after every refill, so that it can be persisted and resumed from on restart.
+    */
+  private val checkpointFn: ListingCheckpoint => Unit,
+  private var lastListedFile: Option[String],
 )(
   implicit
   cloudLocationValidator: CloudLocationValidator,
 ) extends SourceFileQueue
     with LazyLogging {
 
+  private var lastCheckpoint: Option[ListingCheckpoint] = Option.empty
+
   def this(
     taskId:        ConnectorTaskId,
     batchListerFn: Option[SM] => Either[FileListError, Option[ListOfKeysResponse[SM]]],
   )(
     implicit
     cloudLocationValidator: CloudLocationValidator,
-  ) = this(taskId, batchListerFn, Seq.empty, Some(LastSeenFileTracker[SM](None)))
+  ) = this(taskId, batchListerFn, Seq.empty, Some(LastSeenFileTracker[SM](None)), _ => (), Option.empty)
 
   override def next(): Either[FileListError, Option[CloudLocation]] =
     files match {
@@ -90,11 +105,29 @@ class CloudSourceFileQueue[SM <: FileMetadata] private (
 
   private def retrieveNextFile(
   ): Either[FileListError, Option[CloudLocation]] = {
+    val result = listUntilFileFound()
+    saveCheckpoint()
+    result
+  }
+
+  /**
+    * Lists the next batch of files. Batches where every listed key was filtered out still move the last seen file
+    * forward, so listing carries on from there rather than returning nothing until new files arrive after them.
+    * At most `MaxPagesPerNext` batches are listed per call, so a long run of filtered keys does not hold up the
+    * poll; the next call carries on from the last seen file.
+    */
+  @tailrec
+  private def listUntilFileFound(
+    pagesLeft: Int = CloudSourceFileQueue.MaxPagesPerNext,
+  ): Either[FileListError, Option[CloudLocation]] = {
+    val previous = lastSeenFileTracker.flatMap(_.lastSeenFile)
     val nextBatch: Either[FileListError, Option[ListResponse[String, SM]]] =
-      batchListerFn(lastSeenFileTracker.flatMap(_.lastSeenFile))
-    nextBatch.flatMap {
-      case Some(ListOfKeysResponse(bucket, prefix, value, meta)) =>
+      batchListerFn(previous)
+    nextBatch match {
+      case Left(error) => error.asLeft
+      case Right(Some(ListOfKeysResponse(bucket, prefix, value, meta))) =>
         lastSeenFileTracker = lastSeenFileTracker.map(_.copy(lastSeenFile = meta.some))
+        lastListedFile      = value.lastOption.orElse(lastListedFile)
         files = value.map(path =>
           CloudLocation(
             bucket,
@@ -107,26 +140,76 @@ class CloudSourceFileQueue[SM <: FileMetadata] private (
           case ::(head, next) =>
             files = next
             head.some.asRight
+          case Nil if pagesLeft > 1 && lastSeenFileTracker.nonEmpty && !previous.map(_.file).contains(meta.file) =>
+            logger.debug(s"[${taskId.show}] No eligible files up to ${meta.file}, listing further")
+            listUntilFileFound(pagesLeft - 1)
           case Nil => None.asRight
         }
-      case _ => Option.empty.asRight
+      case Right(_) => Option.empty.asRight
     }
   }
+
+  private def saveCheckpoint(): Unit =
+    lastSeenFileTracker.flatMap(_.lastSeenFile).foreach { meta =>
+      val checkpoint = ListingCheckpoint(lastListedFile, meta.file, meta.lastModified)
+      if (!lastCheckpoint.contains(checkpoint)) {
+        checkpointFn(checkpoint)
+        lastCheckpoint = checkpoint.some
+      }
+    }
 }
 
 object CloudSourceFileQueue {
+
+  /**
+    * The maximum number of batches listed by a single call to `next`, when they hold no eligible file.
+    */
+  val MaxPagesPerNext: Int = 10
+
+  def from[SM <: FileMetadata](
+    batchListerFn:          Option[SM] => Either[FileListError, Option[ListOfKeysResponse[SM]]],
+    storageInterface:       StorageInterface[SM],
+    startingFile:           CloudLocation,
+    taskId:                 ConnectorTaskId,
+    maybePostProcessAction: Option[PostProcessAction],
+  )(
+    implicit
+    cloudLocationValidator: CloudLocationValidator,
+  ): CloudSourceFileQueue[SM] =
+    from(batchListerFn,
+         storageInterface,
+         startingFile,
+         taskId,
+         maybePostProcessAction,
+         Option.empty[ListingCheckpoint],
+         (_: ListingCheckpoint) => (),
+    )
+
+  /**
+    * Creates a queue resuming from the committed offset, if any, and the listing checkpoint of the same prefix.
+    *
+    * The checkpoint is only trusted when it was taken after handing out the file the offset points to, or when
+    * neither has seen a file yet; listing then continues after the checkpoint's continuation key instead of the
+    * starting file.
+    */
   def from[SM <: FileMetadata](
     batchListerFn:          Option[SM] => Either[FileListError, Option[ListOfKeysResponse[SM]]],
     storageInterface:       StorageInterface[SM],
     startingFile:           CloudLocation,
     taskId:                 ConnectorTaskId,
     maybePostProcessAction: Option[PostProcessAction],
+    checkpoint:             Option[ListingCheckpoint],
+    checkpointFn:           ListingCheckpoint => Unit,
   )(
     implicit
     cloudLocationValidator: CloudLocationValidator,
   ): CloudSourceFileQueue[SM] = {
-    val lastSeen: Option[SM] = (startingFile.path, startingFile.timestamp) match {
-      case (Some(filePath), maybeTimestamp) =>
+    val usableCheckpoint = checkpoint.filter(cp => maybePostProcessAction.isEmpty && cp.lastFile == startingFile.path)
+    val lastSeen: Option[SM] = (usableCheckpoint, startingFile.path, startingFile.timestamp) match {
+      case (Some(cp), _, _) =>
+        storageInterface.seekToFile(startingFile.bucket, cp.continuation, cp.lastModified.some)
+
+      case (None, Some(filePath), maybeTimestamp) =>
         // for migrations from previous version where ts not stored in offset
         storageInterface.seekToFile(startingFile.bucket, filePath, maybeTimestamp)
 
@@ -136,11 +219,13 @@ object CloudSourceFileQueue {
     new CloudSourceFileQueue[SM](
       taskId,
       batchListerFn,
-      Seq(startingFile),
+      startingFile.path.map(_ => startingFile).toSeq,
       // Creates an instance of LastSeenFileTracker if no PostProcessAction is set
       // If PostProcessAction is set then files will be cleaned up after processing,
       // which removes the requirement to seek through to the last seen file.
       Option.when(maybePostProcessAction.isEmpty)(LastSeenFileTracker[SM](lastSeen)),
+      checkpointFn,
+      startingFile.path,
     )
   }
 
@@ -30,13 +30,19 @@ object DateOrderingBatchLister extends BatchLister {
     bucket:           String,
     prefix:           Option[String],
     numResults:       Int,
+    excludeKeyFn:     String => Boolean,
   )(lastFile:         Option[SM],
   ): Either[FileListError, Option[ListOfKeysResponse[SM]]] = {
     val lastFileFilter = filter(lastFile) _
 
     for {
       listResp <- storageInterface.listFileMetaRecursive(bucket, prefix)
-      ordered   = listResp.iterator.flatMap(_.files).filter(lastFileFilter).toSeq.sortBy(_.lastModified).take(numResults)
+      ordered = listResp.iterator.flatMap(_.files)
+        .filterNot(md => excludeKeyFn(md.file))
+        .filter(lastFileFilter)
+        .toSeq
+        .sortBy(_.lastModified)
+        .take(numResults)
     } yield {
       ordered.lastOption.flatMap(lo => ListOfKeysResponse[SM](bucket, prefix, ordered.map(_.file), lo).some)
     }
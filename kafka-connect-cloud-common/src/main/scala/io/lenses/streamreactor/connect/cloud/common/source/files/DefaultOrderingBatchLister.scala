@@ -30,8 +30,10 @@ object DefaultOrderingBatchLister extends BatchLister {
     bucket:           String,
     prefix:           Option[String],
     numResults:       Int,
+    excludeKeyFn:     String => Boolean,
   )(lastFile:         Option[SM],
   ): Either[FileListError, Option[ListOfKeysResponse[SM]]] =
     storageInterface
       .list(bucket, prefix, lastFile, numResults)
+      .map(_.map(response => response.copy(files = response.files.filterNot(excludeKeyFn))))
 }
@@ -107,6 +107,8 @@ class ExponentialBackoffSourceFileQueue private (
     }
   }
 
+  override def close(): Unit = delegate.close()
+
   private def resetSuccessState(): Unit = {
     val successState = stateRef.get().copy(
       delay           = initialDelay,
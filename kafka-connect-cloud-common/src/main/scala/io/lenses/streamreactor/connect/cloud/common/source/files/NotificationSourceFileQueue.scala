@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.files
+
+import cats.implicits.toShow
+import com.typesafe.scalalogging.StrictLogging
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationSubscription
+import io.lenses.streamreactor.connect.cloud.common.storage.FileListError
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * Lists the delegate only when there is something to find, instead of backing off while the prefix is empty.
+  *
+  * The delegate is read until it runs out of files. After that it is only listed again once a notification arrives
+  * for the prefix, or when the reconcile interval has passed without one. Files therefore become readable as soon
+  * as they are reported and an idle prefix costs no list requests. The delegate still does the listing, so files
+  * are read in the same order and resume from the same offsets as without notifications.
+  */
+class NotificationSourceFileQueue(
+  delegate:          SourceFileQueue,
+  subscription:      FileNotificationSubscription,
+  reconcileInterval: FiniteDuration,
+  timeProvider:      TimeProvider,
+  connectorTaskId:   ConnectorTaskId,
+) extends SourceFileQueue
+    with StrictLogging {
+
+  // starts by draining whatever landed while the task was not running
+  @volatile private var draining:          Boolean = true
+  @volatile private var nextReconcileTime: Long    = 0L
+
+  override def next(): Either[FileListError, Option[CloudLocation]] = {
+    val currentTime = timeProvider.nanoTime()
+    val notified    = subscription.takeSignal()
+
+    if (draining || notified || currentTime >= nextReconcileTime) {
+      delegate.next() match {
+        case right @ Right(Some(_)) =>
+          draining = true
+          right
+
+        case right @ Right(None) =>
+          if (draining) {
+            logger.debug(s"[${connectorTaskId.show}] No more files; waiting for a notification")
+          }
+          draining          = false
+          nextReconcileTime = currentTime + reconcileInterval.toNanos
+          right
+
+        case left @ Left(_) => left
+      }
+    } else {
+      Right(None)
+    }
+  }
+
+  override def close(): Unit = {
+    subscription.close()
+    delegate.close()
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.files
+
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.storage.FileListError
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+  * The file queue of a split, which only holds the object the split belongs to.
+  *
+  * @param location the object, from the start of the split or from where reading the split resumes
+  */
+class SplitSourceFileQueue(location: CloudLocation) extends SourceFileQueue {
+
+  private val pending = new AtomicBoolean(true)
+
+  override def next(): Either[FileListError, Option[CloudLocation]] =
+    Right(Option.when(pending.getAndSet(false))(location))
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.notification
+
+import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicBoolean
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * Flags the prefixes read by a task as soon as a file notification arrives for them.
+  *
+  * @param reconcileInterval how long a prefix may go without notifications before it is listed anyway
+  */
+class FileNotificationHub(source: FileNotificationSource, val reconcileInterval: FiniteDuration)
+    extends AutoCloseable
+    with LazyLogging {
+
+  private val subscriptions = new CopyOnWriteArrayList[FileNotificationSubscription]()
+
+  def start(): Unit = source.start(dispatch)
+
+  /**
+    * Subscribes to the notifications for a location. The subscription must be closed once the location is no longer
+    * read, so that the hub stops signalling it.
+    */
+  def subscribe(location: CloudLocation): FileNotificationSubscription = {
+    val subscription =
+      new FileNotificationSubscription(location.bucket, location.prefix.getOrElse(""), unsubscribe)
+    val _ = subscriptions.add(subscription)
+    subscription
+  }
+
+  private def unsubscribe(subscription: FileNotificationSubscription): Unit = {
+    val _ = subscriptions.remove(subscription)
+  }
+
+  private[notification] def dispatch(notification: FileNotification): Unit = {
+    logger.trace(s"Received file notification $notification")
+    subscriptions.forEach { subscription =>
+      if (subscription.matches(notification)) subscription.signal()
+    }
+  }
+
+  override def close(): Unit =
+    try source.close()
+    finally subscriptions.clear()
+}
+
+/**
+  * Records whether a notification arrived for a bucket prefix since it was last checked.
+  */
+class FileNotificationSubscription(
+  bucket:  String,
+  prefix:  String,
+  onClose: FileNotificationSubscription => Unit = _ => (),
+) extends AutoCloseable {
+
+  private val signalled = new AtomicBoolean(false)
+
+  def matches(notification: FileNotification): Boolean =
+    notification.bucket == bucket &&
+      (notification.key.startsWith(prefix) || (notification.isPrefix && prefix.startsWith(notification.key)))
+
+  def signal(): Unit = signalled.set(true)
+
+  /**
+    * @return true if a notification arrived since the last call
+    */
+  def takeSignal(): Boolean = signalled.getAndSet(false)
+
+  override def close(): Unit = onClose(this)
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.notification
+
+import cats.implicits.catsSyntaxEitherId
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.source.config.FileNotificationSettings
+import io.lenses.streamreactor.connect.cloud.common.source.config.FileNotificationType
+import org.apache.kafka.common.config.ConfigException
+
+import java.nio.file.Paths
+
+/**
+  * Reports that a file was created in a bucket.
+  *
+  * @param bucket the bucket holding the file
+  * @param key    the key of the file. A key ending with '/' reports that anything under that prefix may have changed,
+  *               for sources that can lose track of individual files
+  */
+case class FileNotification(bucket: String, key: String) {
+  def isPrefix: Boolean = key.isEmpty || key.endsWith("/")
+}
+
+/**
+  * A push-based source of file notifications, such as a bucket event queue or a directory watcher.
+  */
+trait FileNotificationSource extends AutoCloseable {
+
+  /**
+    * Starts delivering notifications to the listener. The listener may be called from a thread owned by the source.
+    */
+  def start(listener: FileNotification => Unit): Unit
+}
+
+object FileNotificationSource {
+
+  def apply(
+    settings:        FileNotificationSettings,
+    connectorTaskId: ConnectorTaskId,
+  ): Either[ConfigException, Option[FileNotificationSource]] =
+    settings.notificationType match {
+      case FileNotificationType.Disabled => Option.empty.asRight
+      case FileNotificationType.Local =>
+        settings.localPath.toRight(
+          new ConfigException("A path to watch is required for local file notifications"),
+        ).map(path => Option(new LocalFileNotificationSource(Paths.get(path), connectorTaskId)))
+    }
+}
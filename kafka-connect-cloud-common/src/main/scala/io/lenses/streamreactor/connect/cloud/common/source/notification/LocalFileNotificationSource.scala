@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.notification
+
+import cats.implicits.toShow
+import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+
+import java.nio.file.ClosedWatchServiceException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds.ENTRY_CREATE
+import java.nio.file.StandardWatchEventKinds.OVERFLOW
+import java.nio.file.WatchKey
+import java.nio.file.WatchService
+import java.util.concurrent.ConcurrentHashMap
+import scala.jdk.CollectionConverters.IteratorHasAsScala
+import scala.util.Using
+
+/**
+  * Reports the files created under a local directory using a [[WatchService]]. Every top-level directory stands for a
+  * bucket and the path below it for the key. The notifications only signal which prefixes to list: files are still
+  * listed and read from the bucket, so the directory must mirror what lands in it, for instance a mounted bucket.
+  */
+class LocalFileNotificationSource(root: Path, connectorTaskId: ConnectorTaskId)
+    extends FileNotificationSource
+    with LazyLogging {
+
+  private val watchService: WatchService = root.getFileSystem.newWatchService()
+  private val directories:  ConcurrentHashMap[WatchKey, Path] = new ConcurrentHashMap[WatchKey, Path]()
+
+  override def start(listener: FileNotification => Unit): Unit = {
+    registerAll(root)
+    val thread = new Thread(
+      () => watch(listener),
+      s"file-notifications-${connectorTaskId.name}-${connectorTaskId.taskNo}",
+    )
+    thread.setDaemon(true)
+    thread.start()
+    logger.info(s"[${connectorTaskId.show}] Watching $root for new files")
+  }
+
+  override def close(): Unit = watchService.close()
+
+  private def watch(listener: FileNotification => Unit): Unit =
+    try {
+      while (true) {
+        val key = watchService.take()
+        Option(directories.get(key)).foreach { directory =>
+          key.pollEvents().asScala.foreach { event =>
+            if (event.kind() == OVERFLOW) {
+              toNotification(directory, isDirectory = true).foreach(listener)
+            } else {
+              val path = directory.resolve(event.context().asInstanceOf[Path])
+              if (Files.isDirectory(path)) {
+                // files may land in a new directory before it is registered, so report the directory as a whole
+                registerAll(path)
+                toNotification(path, isDirectory = true).foreach(listener)
+              } else {
+                toNotification(path, isDirectory = false).foreach(listener)
+              }
+            }
+          }
+        }
+        if (!key.reset()) {
+          val _ = directories.remove(key)
+        }
+      }
+    } catch {
+      case _: ClosedWatchServiceException =>
+        logger.info(s"[${connectorTaskId.show}] Stopped watching $root")
+      case _: InterruptedException =>
+        logger.info(s"[${connectorTaskId.show}] Interrupted while watching $root")
+    }
+
+  private def registerAll(directory: Path): Unit =
+    Using.resource(Files.walk(directory)) { paths =>
+      paths.iterator().asScala.filter(Files.isDirectory(_)).foreach { dir =>
+        val _ = directories.put(dir.register(watchService, ENTRY_CREATE, OVERFLOW), dir)
+      }
+    }
+
+  private[notification] def toNotification(path: Path, isDirectory: Boolean): Option[FileNotification] = {
+    val relative = root.relativize(path)
+    val names    = relative.iterator().asScala.map(_.toString).filter(_.nonEmpty).toList
+    names match {
+      case bucket :: Nil if isDirectory => Option(FileNotification(bucket, ""))
+      case bucket :: key if key.nonEmpty =>
+        Option(FileNotification(bucket, key.mkString("/") + (if (isDirectory) "/" else "")))
+      case _ => Option.empty
+    }
+  }
+}
@@ -24,19 +24,25 @@ import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.source.config.PartitionSearcherOptions
 import io.lenses.streamreactor.connect.cloud.common.source.distribution.PartitionSearcherResponse
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
 import io.lenses.streamreactor.connect.cloud.common.utils.PollLoop
 
 object PartitionDiscovery extends LazyLogging {
 
   type PartitionSearcherF = Seq[PartitionSearcherResponse] => IO[Seq[PartitionSearcherResponse]]
 
+  // splits are only found when a split store is configured, along with the way to read them
+  private val noSplitReaders: (CloudLocation, FileSplit) => IO[ReaderManager] = (_, split) =>
+    IO.raiseError(new IllegalStateException(s"No reader available for split ${split.key}"))
+
   def run(
-    connectorTaskId:       ConnectorTaskId,
-    settings:              PartitionSearcherOptions,
-    partitionSearcher:     PartitionSearcherF,
-    readerManagerCreateFn: (CloudLocation, CloudLocation) => IO[ReaderManager],
-    readerManagerState:    Ref[IO, ReaderManagerState],
-    cancelledRef:          Ref[IO, Boolean],
+    connectorTaskId:            ConnectorTaskId,
+    settings:                   PartitionSearcherOptions,
+    partitionSearcher:          PartitionSearcherF,
+    readerManagerCreateFn:      (CloudLocation, CloudLocation) => IO[ReaderManager],
+    readerManagerState:         Ref[IO, ReaderManagerState],
+    cancelledRef:               Ref[IO, Boolean],
+    splitReaderManagerCreateFn: (CloudLocation, FileSplit) => IO[ReaderManager] = noSplitReaders,
   ): IO[Unit] = {
     val task = for {
       _        <- IO(logger.info(s"[${connectorTaskId.show}] Starting the partition discovery task."))
@@ -45,16 +51,30 @@ object PartitionDiscovery extends LazyLogging {
       // FIXME:
       // strictly the prefix should always stay as the prefix configured in the config - however it seems that in parts
       // of the code `prefix` actually means `directory path`.  This should be investigated and fixed
-      tuples = newParts.flatMap(part => part.results.map(part.root -> part.root.withPrefix(_)))
+      // partitions are listed concurrently, so order them to create the reader managers in the same order every time
+      tuples = newParts.flatMap(part => part.results.toSeq.sorted.map(part.root -> part.root.withPrefix(_)))
       newReaderManagers <- tuples
         .map {
           case (location, path) =>
             logger.info(s"[${connectorTaskId.show}] Creating a new reader manager for [$path].")
             readerManagerCreateFn(location, path)
         }.traverse(identity)
+      splitReaderManagers <- newParts.flatMap(part => part.splits.sortBy(_.key).map(part.root -> _)).traverse {
+        case (root, split) =>
+          logger.info(s"[${connectorTaskId.show}] Creating a new reader manager for split [${split.key}].")
+          splitReaderManagerCreateFn(root, split)
+      }
+      // splits read to the end have nothing more to give, so their reader managers are released
+      (completedReaderManagers, readerManagers) = oldState.readerManagers.partition { rm =>
+        newParts.exists(part => part.root == rm.root && rm.path.prefix.exists(part.completedSplits.contains))
+      }
+      _ <- completedReaderManagers.traverse { rm =>
+        IO(logger.info(s"[${connectorTaskId.show}] Releasing the reader manager for read split [${rm.path}].")) >>
+          rm.close().attempt
+      }
       newState = oldState.copy(
         partitionResponses = newParts,
-        readerManagers     = oldState.readerManagers ++ newReaderManagers,
+        readerManagers     = readerManagers ++ newReaderManagers ++ splitReaderManagers,
       )
       _ <- readerManagerState.set(newState)
       _ <- IO(logger.info(s"[${connectorTaskId.show}] Finished the partition discovery task."))
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.reader
+
+import java.io.InputStream
+
+/**
+  * Reads up to `readAheadBytes` of the underlying stream into memory when it is created, and serves them before
+  * carrying on with the underlying stream. When the whole object fits, the underlying stream is closed straight away,
+  * so an object opened ahead of time does not hold on to an object store connection while it waits to be read.
+  */
+class ReadAheadInputStream(underlying: InputStream, readAheadBytes: Int) extends InputStream {
+
+  private val buffer: Array[Byte] = underlying.readNBytes(readAheadBytes)
+
+  private val exhausted: Boolean = buffer.length < readAheadBytes
+
+  private var position: Int = 0
+
+  if (exhausted) underlying.close()
+
+  private def buffered: Int = buffer.length - position
+
+  override def read(): Int =
+    if (buffered > 0) {
+      val byte = buffer(position) & 0xff
+      position += 1
+      byte
+    } else if (exhausted) -1
+    else underlying.read()
+
+  override def read(b: Array[Byte], off: Int, len: Int): Int =
+    if (len == 0) 0
+    else if (buffered > 0) {
+      val count = math.min(len, buffered)
+      System.arraycopy(buffer, position, b, off, count)
+      position += count
+      count
+    } else if (exhausted) -1
+    else underlying.read(b, off, len)
+
+  override def skip(n: Long): Long =
+    if (n <= 0) 0L
+    else if (buffered > 0) {
+      val count = math.min(n, buffered.toLong).toInt
+      position += count
+      count.toLong
+    } else if (exhausted) 0L
+    else underlying.skip(n)
+
+  override def available(): Int =
+    if (exhausted) buffered else buffered + underlying.available()
+
+  override def close(): Unit =
+    if (!exhausted) underlying.close()
+}
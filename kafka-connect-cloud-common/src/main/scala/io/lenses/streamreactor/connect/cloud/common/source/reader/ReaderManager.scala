@@ -17,7 +17,6 @@ package io.lenses.streamreactor.connect.cloud.common.source.reader
 
 import cats.effect.IO
 import cats.effect.Ref
-import cats.implicits.toBifunctorOps
 import cats.implicits.toShow
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
@@ -25,6 +24,7 @@ import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.source.CommitWatermark
 import io.lenses.streamreactor.connect.cloud.common.source.config.DirectoryCache
 import io.lenses.streamreactor.connect.cloud.common.source.config.PostProcessAction
+import io.lenses.streamreactor.connect.cloud.common.source.config.PrefetchSettings
 import io.lenses.streamreactor.connect.cloud.common.source.files.SourceFileQueue
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import org.apache.kafka.connect.source.SourceRecord
@@ -44,10 +44,20 @@ class ReaderManager(
   readerRef:              Ref[IO, Option[ResultReader]],
   storageInterface:       StorageInterface[_],
   maybePostProcessAction: Option[PostProcessAction],
+  prefetchSettings:       PrefetchSettings = PrefetchSettings.Disabled,
+  prefetchReaderBuilderF: Option[CloudLocation => Either[Throwable, ResultReader]] = Option.empty,
 ) extends LazyLogging {
 
   val directoryCache = new DirectoryCache(storageInterface)
 
+  private val prefetcher =
+    new ReaderPrefetcher(fileSource,
+                         readerBuilderF,
+                         prefetchReaderBuilderF.getOrElse(readerBuilderF),
+                         prefetchSettings,
+                         connectorTaskId,
+    )
+
   def poll(): IO[Vector[SourceRecord]] = {
     def fromNexFile(pollResults: Vector[SourceRecord], allLimit: Int): IO[Vector[SourceRecord]] =
       for {
@@ -55,22 +65,20 @@ class ReaderManager(
         _ <-
           closeAndLog(maybePrev)
 
-        nextFile <- IO.fromEither(fileSource.next().leftMap(_.exception))
-        results <- nextFile.fold(IO(pollResults)) {
-          value =>
+        nextReader <- prefetcher.next()
+        results <- nextReader.fold(IO(pollResults)) {
+          reader =>
             for {
-              _ <- IO.delay(
-                logger.debug(s"[${connectorTaskId.show}] Start reading from ${value.toString}"),
-              )
-              reader <- IO.fromEither(readerBuilderF(value))
-              _      <- readerRef.set(Some(reader))
-              r      <- acc(pollResults, allLimit)
+              _ <- readerRef.set(Some(reader))
+              _ <- prefetcher.prefetch()
+              r <- acc(pollResults, allLimit)
             } yield r
         }
       } yield results
 
     //re-implement poll() to use the IO effect and avoid state
     //  SourceFileQueue  provides the list of files to read from. For each file received a ResultReader is built.
+    //  When prefetching is enabled, the readers for the next files are opened in the background by the ReaderPrefetcher.
     //  Since it reads recordsLimit records at a time, the last built reader is kept until it returns no more records.
     //  Once it returns no more records, the next file is read and a new reader is built.
     //  This is repeated until the recordsLimit is reached or there are no more files to read from.
@@ -129,10 +137,11 @@ class ReaderManager(
   }
 
   def close(): IO[Unit] =
-    for {
+    (for {
       currentState <- readerRef.get
       _            <- closeAndLog(currentState)
-    } yield ()
+      _            <- prefetcher.close()
+    } yield ()).guarantee(IO.delay(fileSource.close()))
 
   def postProcess(commitWatermark: CommitWatermark): IO[Unit] =
     maybePostProcessAction match {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.reader
+
+import cats.effect.FiberIO
+import cats.effect.IO
+import cats.effect.Ref
+import cats.implicits.catsSyntaxOptionId
+import cats.implicits.toBifunctorOps
+import cats.implicits.toShow
+import cats.implicits.toTraverseOps
+import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.config.PrefetchSettings
+import io.lenses.streamreactor.connect.cloud.common.source.files.SourceFileQueue
+
+import scala.collection.immutable.Queue
+import scala.util.Try
+
+/**
+  * Hands out the readers for the files of a [[SourceFileQueue]], opening the next ones in the background while the
+  * current reader is drained. This overlaps the GET and format header parsing of the following objects, along with
+  * reading their first bytes into memory, with the processing of the current one, instead of stalling on a full
+  * object store round trip at every file boundary.
+  *
+  * At most `settings.depth` files are taken ahead from the queue and opened with `prefetchReaderBuilderF`, which reads
+  * at most `settings.readAheadBytes` of each into memory, so the memory held by the prefetch stays within
+  * `settings.maxBytes` whatever the size of the objects. The files are always read in the order given by the
+  * [[SourceFileQueue]]. When the depth is 0 this behaves exactly as reading the queue and building the reader on
+  * demand.
+  */
+class ReaderPrefetcher(
+  fileSource:             SourceFileQueue,
+  readerBuilderF:         CloudLocation => Either[Throwable, ResultReader],
+  prefetchReaderBuilderF: CloudLocation => Either[Throwable, ResultReader],
+  settings:               PrefetchSettings,
+  connectorTaskId:        ConnectorTaskId,
+) extends LazyLogging {
+
+  private val pending: Ref[IO, Queue[(CloudLocation, FiberIO[ResultReader])]] =
+    Ref.unsafe[IO, Queue[(CloudLocation, FiberIO[ResultReader])]](Queue.empty)
+
+  /**
+    * Returns the reader for the next file, waiting for it to be opened if it is still in flight.
+    * @return the reader, or None if there are no more files available at this time
+    */
+  def next(): IO[Option[ResultReader]] =
+    for {
+      head <- pending.modify { queue =>
+        queue.dequeueOption.fold((queue, Option.empty[(CloudLocation, FiberIO[ResultReader])])) {
+          case (head, tail) => (tail, head.some)
+        }
+      }
+      reader <- head.fold(nextFromSource()) {
+        case (_, fiber) => fiber.joinWithNever.map(_.some)
+      }
+    } yield reader
+
+  /**
+    * Takes files from the queue until the configured depth is reached and starts opening them in the background.
+    */
+  def prefetch(): IO[Unit] =
+    pending.get.flatMap { queue =>
+      if (queue.size >= settings.depth) IO.unit
+      else {
+        IO.fromEither(fileSource.next().leftMap(_.exception)).flatMap {
+          case Some(location) =>
+            for {
+              fiber <- open(location).start
+              _     <- pending.update(_.enqueue(location -> fiber))
+              _     <- prefetch()
+            } yield ()
+          case None => IO.unit
+        }
+      }
+    }
+
+  /**
+    * Waits for the files in flight and closes their readers.
+    */
+  def close(): IO[Unit] =
+    for {
+      queue <- pending.getAndSet(Queue.empty)
+      _ <- queue.toList.traverse {
+        case (location, fiber) =>
+          fiber.joinWithNever.attempt.flatMap {
+            case Right(reader) =>
+              IO.delay(Try(reader.close())).void
+            case Left(error) =>
+              IO.delay(logger.warn(s"[${connectorTaskId.show}] Failed to prefetch ${location.show}", error))
+          }
+      }
+    } yield ()
+
+  private def nextFromSource(): IO[Option[ResultReader]] =
+    IO.fromEither(fileSource.next().leftMap(_.exception)).flatMap(_.traverse(build))
+
+  private def build(location: CloudLocation): IO[ResultReader] =
+    for {
+      _      <- IO.delay(logger.debug(s"[${connectorTaskId.show}] Start reading from ${location.toString}"))
+      reader <- IO.fromEither(readerBuilderF(location))
+    } yield reader
+
+  private def open(location: CloudLocation): IO[ResultReader] =
+    for {
+      _      <- IO.delay(logger.debug(s"[${connectorTaskId.show}] Prefetching ${location.toString}"))
+      reader <- IO.blocking(prefetchReaderBuilderF(location)).flatMap(IO.fromEither(_))
+    } yield reader
+}
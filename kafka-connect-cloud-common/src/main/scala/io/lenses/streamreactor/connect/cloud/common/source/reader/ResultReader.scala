@@ -22,16 +22,22 @@ import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.config.FormatSelection
 import io.lenses.streamreactor.connect.cloud.common.config.ReaderBuilderContext
+import io.lenses.streamreactor.connect.cloud.common.config.ResumePosition
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.CloudStreamReader
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.EmptyCloudStreamReader
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.source.SourceWatermark
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetReadSettings
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplitter
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import io.lenses.streamreactor.connect.cloud.common.utils.IteratorOps
 import org.apache.kafka.connect.source.SourceRecord
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 
+import java.io.ByteArrayInputStream
+import java.io.InputStream
 import scala.annotation.tailrec
 import scala.util.Try
 
@@ -69,6 +75,11 @@ class ResultReader(
 
 object ResultReader extends LazyLogging {
 
+  /**
+    * @param splitter hands the large objects over to splits read by all the tasks, instead of reading them
+    * @param split    the range of the objects to read, when reading a split
+    * @param readAheadBytes the number of bytes of each object read into memory as soon as it is opened, 0 for none
+    */
   def create[SM <: FileMetadata](
     writeWatermarkToHeaders: Boolean,
     format:                  FormatSelection,
@@ -77,6 +88,10 @@ object ResultReader extends LazyLogging {
     connectorTaskId:         ConnectorTaskId,
     storageInterface:        StorageInterface[SM],
     hasEnvelope:             Boolean,
+    parquetReadSettings:     ParquetReadSettings,
+    splitter:                Option[FileSplitter] = Option.empty,
+    split:                   Option[FileSplit]    = Option.empty,
+    readAheadBytes:          Int                  = 0,
   ): CloudLocation => Either[Throwable, ResultReader] = { pathWithLine =>
     for {
       path   <- pathWithLine.path.toRight(new IllegalStateException("No path found"))
@@ -85,45 +100,79 @@ object ResultReader extends LazyLogging {
         logger.warn(s"[${connectorTaskId.show}] Path ${pathWithLine.show} does not exist. It will skip the object.")
         new ResultReader(new EmptyCloudStreamReader(pathWithLine)).asRight[Throwable]
       } else {
-        for {
-          inputStream <- storageInterface.getBlob(pathWithLine.bucket, path).leftMap(_.toException)
-          metadata    <- storageInterface.getMetadata(pathWithLine.bucket, path).leftMap(_.toException)
-          _ <- Try(logger.info(
-            s"[${connectorTaskId.show}] Reading next file: ${pathWithLine.show} from line ${pathWithLine.line}",
-          )).toEither
+        // formats recording byte offsets resume with a ranged read; older offsets only carry the line
+        val resumePosition = for {
+          line       <- pathWithLine.line.filter(_ >= 0)
+          byteOffset <- pathWithLine.byteOffset.filter(_ => format.resumesFromByteOffset)
+        } yield ResumePosition(line.toLong, byteOffset)
+        // only line based formats start the stream of a split part way through the object
+        val startPosition =
+          if (format.resumesFromByteOffset) ReaderBuilderContext.startPosition(resumePosition, split) else 0L
+        storageInterface.getMetadata(pathWithLine.bucket, path).leftMap(_.toException).flatMap {
+          case metadata if splitter.exists(_.split(pathWithLine, metadata.size)) =>
+            logger.info(s"[${connectorTaskId.show}] Split ${pathWithLine.show}. It will skip the object.")
+            new ResultReader(new EmptyCloudStreamReader(pathWithLine)).asRight[Throwable]
+          case metadata =>
+            for {
+              stream <- startPosition match {
+                case 0L =>
+                  storageInterface.getBlob(pathWithLine.bucket, path).leftMap(_.toException)
+                case start if start >= metadata.size =>
+                  (new ByteArrayInputStream(Array.emptyByteArray): InputStream).asRight[Throwable]
+                case start =>
+                  storageInterface.getBlobFrom(pathWithLine.bucket, path, start).leftMap(_.toException)
+              }
+              inputStream <-
+                if (readAheadBytes > 0 && format.readsStream)
+                  Try(new ReadAheadInputStream(stream, readAheadBytes): InputStream).toEither
+                else stream.asRight[Throwable]
+              _ <- Try(logger.info(
+                s"[${connectorTaskId.show}] Reading next file: ${pathWithLine.show} from line ${pathWithLine.line}" +
+                  resumePosition.fold("")(position => s" at byte ${position.byteOffset}") +
+                  split.fold("")(s => s" in range [${s.start}, ${s.end})"),
+              )).toEither
 
-          path <- pathWithLine.path.toRight(
-            new IllegalStateException(s"Invalid state reached. Missing path for cloud location:${pathWithLine.show}}"),
-          )
+              path <- pathWithLine.path.toRight(
+                new IllegalStateException(
+                  s"Invalid state reached. Missing path for cloud location:${pathWithLine.show}}",
+                ),
+              )
 
-          partition = partitionFn(path).map(Int.box).orNull
-          reader <- format.toStreamReader(
-            ReaderBuilderContext(
-              writeWatermarkToHeaders,
-              inputStream,
-              pathWithLine,
-              metadata,
-              hasEnvelope,
-              () => storageInterface.getBlob(pathWithLine.bucket, path).leftMap(_.toException),
-              partition,
-              Topic(targetTopic),
-              SourceWatermark.partition(pathWithLine),
-            ),
-          )
-          _ <- pathWithLine.line match {
-            case Some(value) if value >= 0 =>
-              // value + 1 is a fix for a bug introduced by the way the source watermark is calculated.
-              // The readers keep track of the current record index, which is used to calculate the watermark.
-              // But the index starts at -1. So the first record is at index 0. This means until this fix the last record
-              // is processed twice in case of a restart.
-              // DelegateIteratorCloudStreamReader has been introduced with this change here, but it had to be compatible with the previous state.
-              // The alternative would have been to add another flag in the offset watermark and to know it was the new version or not.
-              // However, this introduces more complexity.
+              partition = partitionFn(path).map(Int.box).orNull
+              reader <- format.toStreamReader(
+                ReaderBuilderContext(
+                  writeWatermarkToHeaders,
+                  inputStream,
+                  pathWithLine,
+                  metadata,
+                  hasEnvelope,
+                  () => storageInterface.getBlob(pathWithLine.bucket, path).leftMap(_.toException),
+                  (start, length) =>
+                    storageInterface.getBlobRange(pathWithLine.bucket, path, start, length).leftMap(_.toException),
+                  partition,
+                  Topic(targetTopic),
+                  SourceWatermark.partition(pathWithLine),
+                  parquetReadSettings,
+                  resumePosition,
+                  split,
+                ),
+              )
+              _ <- pathWithLine.line match {
+                case Some(_) if resumePosition.nonEmpty => Right(())
+                case Some(value) if value >= 0 =>
+                  // value + 1 is a fix for a bug introduced by the way the source watermark is calculated.
+                  // The readers keep track of the current record index, which is used to calculate the watermark.
+                  // But the index starts at -1. So the first record is at index 0. This means until this fix the last record
+                  // is processed twice in case of a restart.
+                  // DelegateIteratorCloudStreamReader has been introduced with this change here, but it had to be compatible with the previous state.
+                  // The alternative would have been to add another flag in the offset watermark and to know it was the new version or not.
+                  // However, this introduces more complexity.
 
-              IteratorOps.skip(reader, value + 1)
-            case _ => Right(())
-          }
-        } yield (new ResultReader(reader))
+                  IteratorOps.skip(reader, value + 1)
+                case _ => Right(())
+              }
+            } yield (new ResultReader(reader))
+        }
       }
     } yield result
   }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import cats.effect.IO
+import cats.implicits.toShow
+import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.config.DirectoryCache
+import io.lenses.streamreactor.connect.cloud.common.source.config.PostProcessAction
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+
+/**
+  * Records a split as read once the last of its records is committed, so that its plan can be dropped.
+  *
+  * @param root  the source root the split was published under
+  * @param split the split being read
+  * @param store where the splits are published
+  */
+class CompleteSplitAction(
+  root:            CloudLocation,
+  split:           FileSplit,
+  store:           FileSplitStore,
+  connectorTaskId: ConnectorTaskId,
+) extends PostProcessAction
+    with LazyLogging {
+
+  override def run(
+    storageInterface: StorageInterface[_],
+    directoryCache:   DirectoryCache,
+    cloudLocation:    CloudLocation,
+  ): IO[Unit] =
+    IO {
+      if (store.complete(root, split)) {
+        logger.info(s"[${connectorTaskId.show}] Finished reading split ${split.key}")
+      }
+    }
+}
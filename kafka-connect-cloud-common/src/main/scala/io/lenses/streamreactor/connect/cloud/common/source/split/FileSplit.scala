@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import io.circe.Codec
+import io.circe.Decoder
+import io.circe.generic.semiauto.deriveCodec
+import io.circe.generic.semiauto.deriveEncoder
+
+/**
+  * A byte range of an object which is read on its own, so that a large object can be read by several tasks.
+  *
+  * Line based splits hold the lines starting inside the range, the last one running past its end. Parquet splits hold
+  * the row groups whose middle falls inside the range.
+  *
+  * @param path  the path of the object
+  * @param index the position of the split within the object
+  * @param start the first byte of the range
+  * @param end   the byte right after the range
+  */
+case class FileSplit(path: String, index: Int, start: Long, end: Long) {
+
+  /**
+    * Identifies the split when it is assigned to a task, and is the source partition prefix of its records.
+    */
+  def key: String = s"$path${FileSplit.KeySeparator}$index"
+}
+
+object FileSplit {
+
+  val KeySeparator: String = "#split-"
+
+  implicit val codec: Codec[FileSplit] = deriveCodec
+
+  /**
+    * The path of the object a split key belongs to.
+    */
+  def pathOf(key: String): String = key.substring(0, math.max(key.lastIndexOf(KeySeparator), 0))
+
+  /**
+    * Cuts an object into ranges of `splitSize` bytes, the last one taking the remainder.
+    */
+  def plan(path: String, size: Long, splitSize: Long): Seq[FileSplit] =
+    (0L until size by splitSize).zipWithIndex.map {
+      case (start, index) => FileSplit(path, index, start, math.min(start + splitSize, size))
+    }
+}
+
+/**
+  * The splits of one object.
+  *
+  * @param path   the path of the object
+  * @param size   the size of the object when it was split
+  * @param splits the ranges read by the tasks
+  */
+case class FileSplitManifest(path: String, size: Long, splits: Seq[FileSplit])
+
+object FileSplitManifest {
+  implicit val codec: Codec[FileSplitManifest] = deriveCodec
+}
+
+/**
+  * An object split and read to the end. No source offset is ever committed for a split object, so the partition lists
+  * it again after a restart until its committed watermark moves past it, and the object must not be split again.
+  *
+  * @param path the path of the object
+  * @param size the size of the object when it was split
+  */
+case class FileSplitTombstone(path: String, size: Long)
+
+object FileSplitTombstone {
+  implicit val codec: Codec[FileSplitTombstone] = deriveCodec
+}
+
+/**
+  * The objects a task has split under a source root, and the splits it has finished reading.
+  *
+  * @param manifests  the splits of every object, in the order they were published
+  * @param completed  the keys of the splits the task has read to the end, until their object is dropped from the
+  *                   index of the task that split it
+  * @param tombstones the objects the task has split which have been read to the end
+  */
+case class FileSplitIndex(
+  manifests:  Seq[FileSplitManifest],
+  completed:  Seq[String]             = Seq.empty,
+  tombstones: Seq[FileSplitTombstone] = Seq.empty,
+) {
+
+  /**
+    * Whether the object has been split already, and is either being read or has been read to the end.
+    */
+  def isSplit(path: String, size: Long): Boolean =
+    manifests.exists(_.path == path) || tombstones.contains(FileSplitTombstone(path, size))
+
+  /**
+    * Replaces the objects whose splits have all been read by their tombstones, and drops the completed splits of
+    * objects no longer in any index.
+    *
+    * @param allCompleted the splits completed by any task
+    * @param otherPaths   the objects in the indexes of the other tasks, or None when some could not be read
+    */
+  def prune(allCompleted: Set[String], otherPaths: Option[Set[String]]): FileSplitIndex = {
+    val (read, unread) = manifests.partition(_.splits.forall(split => allCompleted.contains(split.key)))
+    val paths          = otherPaths.map(_ ++ unread.map(_.path))
+    FileSplitIndex(
+      unread,
+      paths.fold(completed)(p => completed.filter(key => p.contains(FileSplit.pathOf(key)))),
+      tombstones ++ read.map(manifest => FileSplitTombstone(manifest.path, manifest.size)),
+    )
+  }
+
+  /**
+    * Drops the tombstones of the objects listed before the committed watermark of their partition, which are not
+    * listed again.
+    *
+    * @param watermark the path of the object the partition resumes from
+    */
+  def release(watermark: String): FileSplitIndex =
+    copy(tombstones = tombstones.filterNot { tombstone =>
+      FileSplitIndex.directoryOf(tombstone.path) == FileSplitIndex.directoryOf(watermark) && tombstone.path < watermark
+    })
+}
+
+object FileSplitIndex {
+
+  // indexes written before splits were completed have no completed keys, nor tombstones
+  implicit val codec: Codec[FileSplitIndex] = Codec.from(
+    Decoder.instance { cursor =>
+      for {
+        manifests  <- cursor.get[Seq[FileSplitManifest]]("manifests")
+        completed  <- cursor.getOrElse[Seq[String]]("completed")(Seq.empty)
+        tombstones <- cursor.getOrElse[Seq[FileSplitTombstone]]("tombstones")(Seq.empty)
+      } yield FileSplitIndex(manifests, completed, tombstones)
+    },
+    deriveEncoder[FileSplitIndex],
+  )
+
+  private def directoryOf(path: String): String = path.substring(0, math.max(path.lastIndexOf('/'), 0))
+}
+
+/**
+  * The splits found under a source root.
+  *
+  * @param pending   the splits still to be read
+  * @param completed the keys of the splits read to the end
+  */
+case class PublishedSplits(pending: Seq[FileSplit], completed: Set[String])
+
+object PublishedSplits {
+  val Empty: PublishedSplits = PublishedSplits(Seq.empty, Set.empty)
+}
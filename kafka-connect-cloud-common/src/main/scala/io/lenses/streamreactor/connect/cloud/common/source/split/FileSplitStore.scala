@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.toShow
+import com.typesafe.scalalogging.LazyLogging
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
+import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+
+import scala.collection.mutable
+
+/**
+  * Shares the splits of large objects between the tasks of the cloud source.
+  */
+trait FileSplitStore {
+
+  /**
+    * Records the splits of an object found under the root. Publishing an object twice keeps the first splits, and an
+    * object already read to the end is not split again.
+    *
+    * @return whether the splits are recorded, and will be read by the tasks owning them
+    */
+  def publish(root: CloudLocation, manifest: FileSplitManifest): Boolean
+
+  /**
+    * Records that the task has read a split to the end. Once every split of an object is complete, the task that
+    * split it drops it from its index.
+    *
+    * @return whether the split is recorded as complete
+    */
+  def complete(root: CloudLocation, split: FileSplit): Boolean
+
+  /**
+    * Retrieves the splits published under the root by any task, and drops the objects this task split once they
+    * have been read.
+    */
+  def load(root: CloudLocation): PublishedSplits
+
+  /**
+    * Forgets the objects read to the end which the partition of the watermark has moved past, once its watermark is
+    * committed, since the partition no longer lists them.
+    */
+  def release(root: CloudLocation, watermark: CloudLocation): Unit
+}
+
+object FileSplitStore {
+
+  object NoOp extends FileSplitStore {
+    override def publish(root: CloudLocation, manifest: FileSplitManifest): Boolean = false
+
+    override def complete(root: CloudLocation, split: FileSplit): Boolean = false
+
+    override def load(root: CloudLocation): PublishedSplits = PublishedSplits.Empty
+
+    override def release(root: CloudLocation, watermark: CloudLocation): Unit = ()
+  }
+
+  def apply[SM <: FileMetadata](
+    enabled:            Boolean,
+    storageInterface:   StorageInterface[SM],
+    connectorTaskId:    ConnectorTaskId,
+    checkpointLocation: CheckpointLocation = CheckpointLocation.Default,
+  ): FileSplitStore =
+    if (enabled) new StorageFileSplitStore[SM](storageInterface, connectorTaskId, checkpointLocation) else NoOp
+}
+
+/**
+  * Keeps the splits as JSON objects next to the listing checkpoints, with one index per task, by default
+  * `.indexes/.source/<connector name>/<prefix>/splits-<task>.json` in the source bucket. Only the task splitting an
+  * object writes its splits to its index, and the indexes are read by their exact path, so the extension filters of
+  * the source do not hide them. A task records the splits it has read in its own index too, and the task that split
+  * an object replaces it in its index by a tombstone once all of its splits are recorded as read, and drops the
+  * tombstone once the committed watermark of the partition listing the object is past it.
+  *
+  * The indexes are only read for the current number of tasks. Splits published by tasks which no longer exist after
+  * `tasks.max` is lowered are not read again.
+  */
+class StorageFileSplitStore[SM <: FileMetadata](
+  storageInterface:   StorageInterface[SM],
+  connectorTaskId:    ConnectorTaskId,
+  checkpointLocation: CheckpointLocation = CheckpointLocation.Default,
+) extends FileSplitStore
+    with LazyLogging {
+
+  // the index of this task for every root, by bucket and path, as last written
+  private val published = mutable.Map.empty[(String, String), FileSplitIndex]
+
+  override def publish(root: CloudLocation, manifest: FileSplitManifest): Boolean = synchronized {
+    ownIndex(root) match {
+      case Left(message) =>
+        logger.warn(s"[${connectorTaskId.show}] Not splitting ${manifest.path}, unreadable split index: $message")
+        false
+      case Right(index) if index.isSplit(manifest.path, manifest.size) =>
+        true
+      case Right(index) =>
+        // a tombstone of another size belongs to an object since overwritten, which is split again
+        val saved = save(
+          root,
+          index.copy(
+            manifests  = index.manifests :+ manifest,
+            tombstones = index.tombstones.filterNot(_.path == manifest.path),
+          ),
+        )
+        if (saved) {
+          logger.info(s"[${connectorTaskId.show}] Split ${manifest.path} into ${manifest.splits.size} ranges")
+        }
+        saved
+    }
+  }
+
+  override def complete(root: CloudLocation, split: FileSplit): Boolean = synchronized {
+    ownIndex(root) match {
+      case Left(message) =>
+        logger.warn(s"[${connectorTaskId.show}] Not completing split ${split.key}, unreadable split index: $message")
+        false
+      case Right(index) if index.completed.contains(split.key) =>
+        true
+      case Right(index) =>
+        save(root, index.copy(completed = index.completed :+ split.key))
+    }
+  }
+
+  override def load(root: CloudLocation): PublishedSplits = synchronized {
+    ownIndex(root) match {
+      case Left(message) =>
+        // without its own index, the task cannot tell which splits it has read already
+        logger.warn(s"[${connectorTaskId.show}] Not loading splits, unreadable split index: $message")
+        PublishedSplits.Empty
+      case Right(own) =>
+        val all = (0 until connectorTaskId.maxTasks).map { taskNo =>
+          if (taskNo == connectorTaskId.taskNo) own.asRight[Unit]
+          else {
+            val (bucket, path) = indexPath(root, taskNo)
+            read(bucket, path).left.map { message =>
+              logger.warn(s"[${connectorTaskId.show}] Ignoring unreadable split index $bucket/$path: $message")
+            }
+          }
+        }
+        val indexes   = all.flatMap(_.toOption)
+        val completed = indexes.flatMap(_.completed).toSet
+        // the completed keys of other objects are only dropped once every index is known not to hold them
+        val otherPaths = Option.when(all.forall(_.isRight)) {
+          all.zipWithIndex.collect {
+            case (Right(index), taskNo) if taskNo != connectorTaskId.taskNo => index.manifests.map(_.path)
+          }.flatten.toSet
+        }
+        val pruned = own.prune(completed, otherPaths)
+        if (pruned != own && save(root, pruned)) {
+          logger.info(s"[${connectorTaskId.show}] Dropped the objects read to the end from the splits of ${root.show}")
+        }
+        PublishedSplits(
+          indexes.flatMap(_.manifests).flatMap(_.splits).filterNot(split => completed.contains(split.key)),
+          completed,
+        )
+    }
+  }
+
+  override def release(root: CloudLocation, watermark: CloudLocation): Unit = synchronized {
+    (ownIndex(root), watermark.path) match {
+      case (Right(index), Some(path)) =>
+        val released = index.release(path)
+        if (released != index && save(root, released)) {
+          logger.info(s"[${connectorTaskId.show}] Dropped the tombstones of the split objects before $path")
+        }
+      case _ => ()
+    }
+  }
+
+  private[split] def indexPath(root: CloudLocation, taskNo: Int): (String, String) =
+    checkpointLocation.resolve(connectorTaskId.name, root, s"splits-$taskNo.json")
+
+  private def ownIndex(root: CloudLocation): Either[String, FileSplitIndex] = {
+    val (bucket, path) = indexPath(root, connectorTaskId.taskNo)
+    published.get((bucket, path)).map(_.asRight[String]).getOrElse {
+      read(bucket, path).map { index =>
+        published.update((bucket, path), index)
+        index
+      }
+    }
+  }
+
+  private def save(root: CloudLocation, index: FileSplitIndex): Boolean = {
+    val (bucket, path) = indexPath(root, connectorTaskId.taskNo)
+    storageInterface.writeStringToFile(bucket, path, UploadableString(index.asJson.noSpaces)) match {
+      case Left(error) =>
+        logger.warn(s"[${connectorTaskId.show}] Unable to save split index $path: ${error.message()}")
+        false
+      case Right(_) =>
+        published.update((bucket, path), index)
+        true
+    }
+  }
+
+  /**
+    * A missing index is empty, whereas an unreadable one is an error so that it is never overwritten.
+    */
+  private def read(bucket: String, path: String): Either[String, FileSplitIndex] =
+    storageInterface.pathExists(bucket, path).left.map(_.message()).flatMap {
+      case false => FileSplitIndex(Seq.empty).asRight[String]
+      case true =>
+        storageInterface.getBlobAsString(bucket, path).left.map(_.message()).flatMap(
+          decode[FileSplitIndex](_).left.map(_.getMessage),
+        )
+    }
+}
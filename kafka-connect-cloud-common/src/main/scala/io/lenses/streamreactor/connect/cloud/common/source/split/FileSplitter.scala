@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+
+/**
+  * Hands the large objects of a partition over to splits, so that they are read by several tasks.
+  *
+  * @param root      the source root of the partition
+  * @param splitSize the size of the splits, above which objects are split
+  * @param store     where the splits are published for the other tasks
+  */
+class FileSplitter(root: CloudLocation, splitSize: Long, store: FileSplitStore) {
+
+  /**
+    * Splits an object which is not being read yet. A split object is read by the tasks owning its splits, and the
+    * partition moves on to its next object.
+    *
+    * @param location the object, with the line reading resumes from
+    * @param size     the size of the object
+    * @return whether the object has been split
+    */
+  def split(location: CloudLocation, size: Long): Boolean =
+    size > splitSize && location.line.forall(_ < 0) && location.path.exists { path =>
+      store.publish(root, FileSplitManifest(path, size, FileSplit.plan(path, size, splitSize)))
+    }
+}
@@ -21,6 +21,7 @@ import cats.implicits.toTraverseOps
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.source.CommitWatermark
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationHub
 import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManager
 import org.apache.kafka.connect.source.SourceRecord
 case class CloudLocationKey(bucket: String, prefix: Option[String])
@@ -29,17 +30,20 @@ case class CloudSourceTaskState(
   latestReaderManagers:   IO[Map[CloudLocationKey, ReaderManager]],
   cancelledRef:           Ref[IO, Boolean],
   partitionDiscoveryLoop: IO[Unit],
+  poller:                 ReaderManagerPoller = ReaderManagerPoller.Sequential,
+  notificationHub:        Option[FileNotificationHub] = None,
 ) extends LazyLogging {
   def close(): IO[Unit] =
     latestReaderManagers
       .flatMap(_.values.toList.traverse(_.close()))
       .attempt
       .void
+      .guarantee(poller.close().attempt.void) *> IO.delay(notificationHub.foreach(_.close()))
 
   def poll(): IO[Seq[SourceRecord]] =
     for {
       readers      <- latestReaderManagers
-      pollResults  <- readers.view.values.map(_.poll()).toList.traverse(identity)
+      pollResults  <- poller.poll(readers.values.toList)
       sourceRecords = pollResults.flatten
     } yield sourceRecords
 
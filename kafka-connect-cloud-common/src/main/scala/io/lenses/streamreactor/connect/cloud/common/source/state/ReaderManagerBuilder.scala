@@ -22,14 +22,25 @@ import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpoint
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpointStore
 import io.lenses.streamreactor.connect.cloud.common.source.config.CloudSourceBucketOptions
 import io.lenses.streamreactor.connect.cloud.common.source.config.EmptySourceBackoffSettings
+import io.lenses.streamreactor.connect.cloud.common.source.config.OrderingType
 import io.lenses.streamreactor.connect.cloud.common.source.files.CloudSourceFileQueue
 import io.lenses.streamreactor.connect.cloud.common.source.files.ExponentialBackoffSourceFileQueue
+import io.lenses.streamreactor.connect.cloud.common.source.files.NotificationSourceFileQueue
 import io.lenses.streamreactor.connect.cloud.common.source.files.SourceFileQueue
+import io.lenses.streamreactor.connect.cloud.common.source.files.SplitSourceFileQueue
 import io.lenses.streamreactor.connect.cloud.common.source.files.SystemTimeProvider
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationHub
 import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManager
 import io.lenses.streamreactor.connect.cloud.common.source.reader.ResultReader
+import io.lenses.streamreactor.connect.cloud.common.source.split.CompleteSplitAction
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplitStore
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplitter
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import org.apache.kafka.connect.errors.ConnectException
@@ -49,6 +60,11 @@ object ReaderManagerBuilder extends LazyLogging {
     findSboF:                   CloudLocation => Option[CloudSourceBucketOptions[M]],
     emptySourceBackoffSettings: EmptySourceBackoffSettings,
     writeWatermarkToHeaders:    Boolean,
+    listingCheckpointStore:     ListingCheckpointStore,
+    notificationHub:            Option[FileNotificationHub],
+    fileSplitSize:              Long               = 0L,
+    splitStore:                 FileSplitStore     = FileSplitStore.NoOp,
+    checkpointLocation:         CheckpointLocation = CheckpointLocation.Default,
   )(
     implicit
     cloudLocationValidator: CloudLocationValidator,
@@ -61,26 +77,70 @@ object ReaderManagerBuilder extends LazyLogging {
       )
       ref       <- Ref[IO].of(Option.empty[ResultReader])
       adaptedSbo = sbo.copy[M](sourceBucketAndPrefix = path)
-      listingFn  = adaptedSbo.createBatchListerFn(storageInterface)
-      source = contextOffsetFn(path).fold {
-        logger.info(s"[${connectorTaskId.show}] No previous state for path ${path.show}")
-        new CloudSourceFileQueue[M](connectorTaskId, listingFn)
-      } { location: CloudLocation =>
-        logger.info(s"[${connectorTaskId.show}] Resuming from ${location.toString} for path ${path.show}")
-        CloudSourceFileQueue.from[M](
-          listingFn,
-          storageInterface,
-          location,
-          connectorTaskId,
-          adaptedSbo.postProcessAction,
-        )
+      listingFn = adaptedSbo.createBatchListerFn(
+        storageInterface,
+        key => checkpointLocation.contains(connectorTaskId.name, path.bucket, key),
+      )
+      // listing checkpoints rely on keys being listed in order and never removed behind the listing
+      checkpointStore = Option.when(
+        adaptedSbo.postProcessAction.isEmpty && adaptedSbo.orderingType == OrderingType.AlphaNumeric,
+      )(listingCheckpointStore)
+      // a post-process action would remove the split objects before their splits are read
+      splitter = Option.when(
+        fileSplitSize > 0 && adaptedSbo.format.splittable && adaptedSbo.postProcessAction.isEmpty,
+      )(new FileSplitter(root, fileSplitSize, splitStore))
+      checkpointFn = (checkpoint: ListingCheckpoint) => checkpointStore.foreach(_.saveListing(path, checkpoint))
+      // the split objects are listed in order, so those before the committed watermark are never listed again
+      _ <- IO.delay(
+        contextOffsetFn(path)
+          .filter(_ => splitter.nonEmpty && adaptedSbo.orderingType == OrderingType.AlphaNumeric)
+          .foreach(splitStore.release(root, _)),
+      )
+      source = (contextOffsetFn(path), checkpointStore) match {
+        case (None, None) =>
+          logger.info(s"[${connectorTaskId.show}] No previous state for path ${path.show}")
+          new CloudSourceFileQueue[M](connectorTaskId, listingFn)
+        case (None, Some(store)) =>
+          logger.info(s"[${connectorTaskId.show}] No previous offset for path ${path.show}, checking for a checkpoint")
+          CloudSourceFileQueue.from[M](
+            listingFn,
+            storageInterface,
+            path,
+            connectorTaskId,
+            adaptedSbo.postProcessAction,
+            store.loadListing(path),
+            checkpointFn,
+          )
+        case (Some(location), maybeStore) =>
+          logger.info(s"[${connectorTaskId.show}] Resuming from ${location.toString} for path ${path.show}")
+          CloudSourceFileQueue.from[M](
+            listingFn,
+            storageInterface,
+            location,
+            connectorTaskId,
+            adaptedSbo.postProcessAction,
+            maybeStore.flatMap(_.loadListing(path)),
+            checkpointFn,
+          )
       }
       sourceFileQueue <- IO.fromEither(
-        sourceFileQueueWithBackoff(
-          source,
-          emptySourceBackoffSettings,
-          connectorTaskId,
-        ),
+        notificationHub.fold(
+          sourceFileQueueWithBackoff(
+            source,
+            emptySourceBackoffSettings,
+            connectorTaskId,
+          ),
+        ) { hub =>
+          Right(
+            new NotificationSourceFileQueue(
+              source,
+              hub.subscribe(path),
+              hub.reconcileInterval,
+              SystemTimeProvider,
+              connectorTaskId,
+            ),
+          )
+        },
       )
     } yield new ReaderManager(
       root,
@@ -95,11 +155,76 @@ object ReaderManagerBuilder extends LazyLogging {
         connectorTaskId,
         storageInterface,
         sbo.hasEnvelope,
+        sbo.parquetRead,
+        splitter,
       ),
       connectorTaskId,
       ref,
       storageInterface,
       sbo.postProcessAction,
+      sbo.prefetch,
+      Option.when(sbo.prefetch.enabled)(
+        ResultReader.create(
+          writeWatermarkToHeaders,
+          sbo.format,
+          sbo.targetTopic,
+          sbo.getPartitionExtractorFn,
+          connectorTaskId,
+          storageInterface,
+          sbo.hasEnvelope,
+          sbo.parquetRead,
+          splitter,
+          readAheadBytes = sbo.prefetch.readAheadBytes,
+        ),
+      ),
+    )
+
+  /**
+    * Creates the {{{ReaderManager}}} of a split. Its path is the split key, so that it keeps its own source partition
+    * and watermark, and it reads the one object of the split.
+    */
+  def forSplit[M <: FileMetadata](
+    root:                    CloudLocation,
+    split:                   FileSplit,
+    storageInterface:        StorageInterface[M],
+    connectorTaskId:         ConnectorTaskId,
+    contextOffsetFn:         CloudLocation => Option[CloudLocation],
+    findSboF:                CloudLocation => Option[CloudSourceBucketOptions[M]],
+    writeWatermarkToHeaders: Boolean,
+    splitStore:              FileSplitStore = FileSplitStore.NoOp,
+  ): IO[ReaderManager] =
+    for {
+      sbo <- IO.fromEither(
+        findSboF(root).toRight(
+          new ConnectException(s"No root found for split:${split.key}"),
+        ),
+      )
+      ref     <- Ref[IO].of(Option.empty[ResultReader])
+      path     = root.withPrefix(split.key)
+      location = contextOffsetFn(path).getOrElse(path.withPath(split.path).fromStart())
+      _       <- IO(logger.info(s"[${connectorTaskId.show}] Reading split ${split.key} from ${location.toString}"))
+    } yield new ReaderManager(
+      root,
+      path,
+      sbo.recordsLimit,
+      new SplitSourceFileQueue(location),
+      ResultReader.create(
+        writeWatermarkToHeaders,
+        sbo.format,
+        sbo.targetTopic,
+        sbo.getPartitionExtractorFn,
+        connectorTaskId,
+        storageInterface,
+        sbo.hasEnvelope,
+        sbo.parquetRead,
+        split = Some(split),
+      ),
+      connectorTaskId,
+      ref,
+      storageInterface,
+      // the split is recorded as read once its last record is committed
+      Some(new CompleteSplitAction(root, split, splitStore, connectorTaskId)),
+      sbo.prefetch,
     )
 
   private def sourceFileQueueWithBackoff(
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.state
+
+import cats.effect.IO
+import cats.implicits.toShow
+import cats.implicits.toTraverseOps
+import com.typesafe.scalalogging.LazyLogging
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManager
+import org.apache.kafka.connect.source.SourceRecord
+
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+import scala.concurrent.ExecutionContext
+import scala.concurrent.ExecutionContextExecutorService
+
+/**
+  * Polls the reader managers of a task.
+  *
+  * With a parallelism of 1 the reader managers are polled one after the other. Otherwise up to `parallelism` of them
+  * are polled at the same time on a dedicated pool, since reading from the object store blocks the calling thread.
+  * The results are always returned in the order of the reader managers given, and each reader manager is only ever
+  * polled by one fiber, so the offsets of the records returned are the same as for a sequential poll.
+  * The threads of the pool are daemon threads named after the task, and the pool is shut down by `close`.
+  */
+class ReaderManagerPoller private (
+  parallelism:      Int,
+  executionContext: Option[ExecutionContextExecutorService],
+) {
+
+  def poll(readerManagers: List[ReaderManager]): IO[List[Vector[SourceRecord]]] =
+    executionContext match {
+      case Some(ec) if readerManagers.size > 1 =>
+        IO.parTraverseN(parallelism)(readerManagers)(_.poll().evalOn(ec))
+      case _ =>
+        readerManagers.traverse(_.poll())
+    }
+
+  def close(): IO[Unit] =
+    IO.delay(executionContext.foreach(_.shutdown()))
+}
+
+object ReaderManagerPoller extends LazyLogging {
+
+  val Sequential: ReaderManagerPoller = new ReaderManagerPoller(1, Option.empty)
+
+  def apply(connectorTaskId: ConnectorTaskId, parallelism: Int): ReaderManagerPoller =
+    if (parallelism <= 1) {
+      Sequential
+    } else {
+      logger.info(s"[${connectorTaskId.show}] Polling up to $parallelism reader managers concurrently")
+      new ReaderManagerPoller(
+        parallelism,
+        Some(
+          ExecutionContext.fromExecutorService(
+            Executors.newFixedThreadPool(parallelism, threadFactory(connectorTaskId)),
+          ),
+        ),
+      )
+    }
+
+  private def threadFactory(connectorTaskId: ConnectorTaskId): ThreadFactory = {
+    val threadCount = new AtomicInteger()
+    runnable => {
+      val thread = new Thread(
+        runnable,
+        s"reader-manager-poller-${connectorTaskId.name}-${connectorTaskId.taskNo}-${threadCount.incrementAndGet()}",
+      )
+      thread.setDaemon(true)
+      thread
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.storage
+
+import java.io.FilterInputStream
+import java.io.InputStream
+
+/**
+  * Limits a stream to the given number of bytes, reporting the end of the stream once they have been read.
+  * Closing it closes the underlying stream.
+  *
+  * @param in The underlying stream.
+  * @param limit The maximum number of bytes to read from the underlying stream.
+  */
+class BoundedInputStream(in: InputStream, limit: Long) extends FilterInputStream(in) {
+  require(limit >= 0, s"The limit must not be negative but was $limit")
+
+  private var remaining: Long = limit
+
+  override def read(): Int =
+    if (remaining <= 0) -1
+    else {
+      val b = super.read()
+      if (b >= 0) remaining -= 1
+      b
+    }
+
+  override def read(b: Array[Byte], off: Int, len: Int): Int =
+    if (len == 0) 0
+    else if (remaining <= 0) -1
+    else {
+      val n = super.read(b, off, math.min(len.toLong, remaining).toInt)
+      if (n > 0) remaining -= n
+      n
+    }
+
+  override def skip(n: Long): Long = {
+    val skipped = super.skip(math.min(n, remaining))
+    if (skipped > 0) remaining -= skipped
+    skipped
+  }
+
+  override def available(): Int = math.min(super.available().toLong, remaining).toInt
+
+  override def markSupported(): Boolean = false
+}
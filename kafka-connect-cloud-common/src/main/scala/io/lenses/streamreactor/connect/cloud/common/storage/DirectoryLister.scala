@@ -22,6 +22,9 @@ trait DirectoryLister {
 
   /**
     * @param wildcardExcludes allows ignoring paths containing certain strings.  Mainly it is used to prevent us from reading anything inside the .indexes key prefix, as these should be ignored by the source.
+    * @param parallelism the maximum number of list requests in flight at once. Sibling prefixes are listed concurrently
+    *                    up to this limit, so the search takes time proportional to the depth of the layout rather than
+    *                    the number of prefixes in it.
     */
   def findDirectories(
     bucketAndPrefix:  CloudLocation,
@@ -29,5 +32,6 @@ trait DirectoryLister {
     recurseLevels:    Int,
     exclude:          Set[String],
     wildcardExcludes: Set[String],
+    parallelism:      Int = 1,
   ): IO[Set[String]]
 }
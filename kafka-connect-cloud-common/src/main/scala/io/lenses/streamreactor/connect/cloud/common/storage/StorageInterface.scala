@@ -15,12 +15,15 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.storage
 
+import cats.implicits.toBifunctorOps
 import io.lenses.streamreactor.connect.cloud.common.config.ObjectMetadata
 import io.lenses.streamreactor.connect.cloud.common.model.UploadableFile
 import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
 
+import java.io.EOFException
 import java.io.InputStream
 import java.time.Instant
+import scala.util.Try
 
 trait StorageInterface[SM <: FileMetadata] extends ResultProcessors {
 
@@ -61,12 +64,101 @@ trait StorageInterface[SM <: FileMetadata] extends ResultProcessors {
 
   def getBlob(bucket: String, path: String): Either[FileLoadError, InputStream]
 
+  /**
+    * Gets a byte range of a blob.
+    *
+    * Implementations should only request the range from the remote. The default implementation streams the blob
+    * from the start, skips the bytes before the range and stops reading at its end, so the range is never held in
+    * memory. Negative ranges, and ranges ending beyond the largest possible offset, are rejected.
+    *
+    * @param bucket The bucket containing the blob.
+    * @param path The path of the blob.
+    * @param start The offset of the first byte of the range.
+    * @param length The number of bytes in the range.
+    * @return Either a FileLoadError, or a stream of the bytes in the range.
+    */
+  def getBlobRange(bucket: String, path: String, start: Long, length: Long): Either[FileLoadError, InputStream] =
+    StorageInterface.validateRange(path, start, length).flatMap { _ =>
+      getBlobFrom(bucket, path, start).map(new BoundedInputStream(_, length))
+    }
+
+  /**
+    * Gets a blob from a byte offset to its end.
+    *
+    * Implementations should only request the remainder from the remote. The default implementation streams the blob
+    * from the start and skips the bytes before the offset.
+    *
+    * @param bucket The bucket containing the blob.
+    * @param path The path of the blob.
+    * @param start The offset of the first byte to read.
+    * @return Either a FileLoadError, or a stream of the bytes from the offset.
+    */
+  def getBlobFrom(bucket: String, path: String, start: Long): Either[FileLoadError, InputStream] =
+    getBlob(bucket, path).flatMap { stream =>
+      Try {
+        var skipped = 0L
+        while (skipped < start) {
+          val n = stream.skip(start - skipped)
+          if (n <= 0) {
+            stream.close()
+            throw new EOFException(s"Reached the end of $path before position $start")
+          }
+          skipped += n
+        }
+        stream
+      }.toEither.leftMap(FileLoadError(_, path))
+    }
+
   def getBlobAsString(bucket: String, path: String): Either[FileLoadError, String]
 
   def getMetadata(bucket: String, path: String): Either[FileLoadError, ObjectMetadata]
 
   def writeStringToFile(bucket: String, path: String, data: UploadableString): Either[UploadError, Unit]
 
+  /**
+    * Gets a blob as a string along with its version, or None if the blob does not exist.
+    *
+    * The default implementation does not track versions and reports the content itself as the version.
+    *
+    * @param bucket The bucket containing the blob.
+    * @param path The path of the blob.
+    * @return Either a FileLoadError, or the optional content and version of the blob.
+    */
+  def getBlobAsStringWithVersion(bucket: String, path: String): Either[FileLoadError, Option[VersionedString]] =
+    pathExists(bucket, path).flatMap {
+      case true  => getBlobAsString(bucket, path).map(content => Some(VersionedString(content, content)))
+      case false => Right(Option.empty[VersionedString])
+    }
+
+  /**
+    * Whether [[writeStringIfVersion]] is conditional on the remote. Without it, the writes of two tasks to the same
+    * blob are not detected, and the last one wins.
+    */
+  def supportsConditionalWrites: Boolean = false
+
+  /**
+    * Writes a string to a blob only if the blob is still at the expected version, or does not exist when no version
+    * is expected.
+    *
+    * Implementations should make the write conditional on the remote, and report it with
+    * [[supportsConditionalWrites]]. The default implementation writes the blob unconditionally.
+    *
+    * @param bucket The bucket containing the blob.
+    * @param path The path of the blob.
+    * @param data The content to write.
+    * @param expectedVersion The version returned by the last read or write of the blob, or None if it is expected to be
+    *                        absent.
+    * @return Either a PreconditionFailedError if the blob has been modified since, another UploadError, or the new
+    *         version of the blob.
+    */
+  def writeStringIfVersion(
+    bucket:          String,
+    path:            String,
+    data:            UploadableString,
+    expectedVersion: Option[String],
+  ): Either[UploadError, String] =
+    writeStringToFile(bucket, path, data).map(_ => data.data)
+
   def deleteFiles(bucket: String, files: Seq[String]): Either[FileDeleteError, Unit]
 
   def mvFile(oldBucket: String, oldPath: String, newBucket: String, newPath: String): Either[FileMoveError, Unit]
@@ -80,3 +172,16 @@ trait StorageInterface[SM <: FileMetadata] extends ResultProcessors {
     */
   def createDirectoryIfNotExists(bucket: String, path: String): Either[FileCreateError, Unit]
 }
+
+object StorageInterface {
+
+  /**
+    * Checks a byte range requested from a blob can be addressed.
+    */
+  def validateRange(path: String, start: Long, length: Long): Either[FileLoadError, Unit] =
+    Either.cond(
+      start >= 0 && length >= 0 && start <= Long.MaxValue - length,
+      (),
+      FileLoadError(new IllegalArgumentException(s"Invalid range of $length bytes from position $start"), path),
+    )
+}
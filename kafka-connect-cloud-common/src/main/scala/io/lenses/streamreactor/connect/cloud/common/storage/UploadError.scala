@@ -63,3 +63,7 @@ case class FileNameParseError(exception: Throwable, fileName: String) extends Up
 case class FileListError(exception: Throwable, bucket: String, path: Option[String]) extends UploadError {
   override def message() = s"error listing files (${path}) ${exception.getMessage}"
 }
+
+case class PreconditionFailedError(exception: Throwable, fileName: String) extends UploadError {
+  override def message() = s"file ($fileName) has been modified concurrently ${exception.getMessage}"
+}
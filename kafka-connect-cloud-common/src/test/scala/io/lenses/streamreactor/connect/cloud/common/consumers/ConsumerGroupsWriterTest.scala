@@ -16,12 +16,20 @@
 package io.lenses.streamreactor.connect.cloud.common.consumers
 
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
 import org.apache.kafka.connect.sink.SinkRecord
 import org.scalatest.funsuite.AnyFunSuite
 import org.scalatest.matchers.should.Matchers
 
 import java.nio.ByteBuffer
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.atomic.AtomicReference
+import scala.concurrent.duration.Duration
+import scala.concurrent.duration.DurationInt
+import scala.jdk.CollectionConverters.CollectionHasAsScala
 
 class ConsumerGroupsWriterTest extends AnyFunSuite with Matchers {
   private val taskId = ConnectorTaskId("connectorA", 1, 1)
@@ -289,6 +297,119 @@ class ConsumerGroupsWriterTest extends AnyFunSuite with Matchers {
     )
     deletes shouldBe empty
   }
+  test("coalesce the offsets until the flush") {
+    val location = CloudObjectKey("bucket", None)
+    val writes   = new ConcurrentLinkedQueue[(String, Long)]()
+    val uploader = new Uploader {
+      override def upload(source: ByteBuffer, bucket: String, path: String): Either[Throwable, Unit] = {
+        writes.add(path -> source.getLong)
+        Right(())
+      }
+      override def delete(bucket: String, path: String): Either[Throwable, Unit] = Right(())
+      override def close(): Unit = {}
+    }
+    val writer = new ConsumerGroupsWriter(location, uploader, taskId, ConsumerGroupsWriterOptions(1.hour, 4))
+
+    writer.write(List(offsetRecord("group1", "topic1", 1, 123L), offsetRecord("group1", "topic1", 2, 456L))) shouldBe
+      Right(())
+    writer.write(List(offsetRecord("group1", "topic1", 1, 789L))) shouldBe Right(())
+    writes.asScala shouldBe empty
+
+    writer.flush() shouldBe Right(())
+    writes.asScala should contain theSameElementsAs List(
+      ("group1/topic1/1", 789L),
+      ("group1/topic1/2", 456L),
+    )
+
+    writes.clear()
+    writer.flush() shouldBe Right(())
+    writes.asScala shouldBe empty
+  }
+
+  test("upload the offsets concurrently, up to the upload parallelism") {
+    val location   = CloudObjectKey("bucket", None)
+    val running    = new AtomicInteger(0)
+    val maxRunning = new AtomicInteger(0)
+    val uploader = new Uploader {
+      override def upload(source: ByteBuffer, bucket: String, path: String): Either[Throwable, Unit] = {
+        val current = running.incrementAndGet()
+        maxRunning.accumulateAndGet(current, (a, b) => Math.max(a, b))
+        Thread.sleep(50)
+        running.decrementAndGet()
+        Right(())
+      }
+      override def delete(bucket: String, path: String): Either[Throwable, Unit] = Right(())
+      override def close(): Unit = {}
+    }
+    val writer = new ConsumerGroupsWriter(location, uploader, taskId, ConsumerGroupsWriterOptions(Duration.Zero, 2))
+
+    writer.write((1 to 6).map(partition => offsetRecord("group1", "topic1", partition, 1L)).toList) shouldBe Right(())
+    maxRunning.get() should be <= 2
+  }
+
+  test("retry the offsets which failed to upload on the next flush") {
+    val location = CloudObjectKey("bucket", None)
+    val failing  = new AtomicBoolean(true)
+    val writes   = new ConcurrentLinkedQueue[(String, Long)]()
+    val uploader = new Uploader {
+      override def upload(source: ByteBuffer, bucket: String, path: String): Either[Throwable, Unit] =
+        if (failing.get()) Left(new RuntimeException("Boom!"))
+        else {
+          writes.add(path -> source.getLong)
+          Right(())
+        }
+      override def delete(bucket: String, path: String): Either[Throwable, Unit] = Right(())
+      override def close(): Unit = {}
+    }
+    val writer = new ConsumerGroupsWriter(location, uploader, taskId, ConsumerGroupsWriterOptions(1.hour, 4))
+
+    writer.write(List(offsetRecord("group1", "topic1", 1, 123L))) shouldBe Right(())
+    writer.flush().isLeft shouldBe true
+
+    failing.set(false)
+    writer.flush() shouldBe Right(())
+    writes.asScala.toList shouldBe List(("group1/topic1/1", 123L))
+  }
+
+  test("drop the pending offsets of the closed partitions") {
+    val location = CloudObjectKey("bucket", None)
+    val writes   = new ConcurrentLinkedQueue[(String, Long)]()
+    val uploader = new Uploader {
+      override def upload(source: ByteBuffer, bucket: String, path: String): Either[Throwable, Unit] = {
+        writes.add(path -> source.getLong)
+        Right(())
+      }
+      override def delete(bucket: String, path: String): Either[Throwable, Unit] = Right(())
+      override def close(): Unit = {}
+    }
+    val writer = new ConsumerGroupsWriter(location, uploader, taskId, ConsumerGroupsWriterOptions(1.hour, 4))
+
+    writer.write(
+      List(offsetRecord("group1", "topic1", 1, 123L, 77), offsetRecord("group2", "topic1", 1, 456L, 78)),
+    ) shouldBe Right(())
+    writer.drop(Set(TopicPartition(Topic("__consumer_offsets"), 77)))
+
+    writer.flush() shouldBe Right(())
+    writes.asScala.toList shouldBe List(("group2/topic1/1", 456L))
+  }
+
+  private def offsetRecord(
+    group:           String,
+    topic:           String,
+    partition:       Int,
+    offset:          Long,
+    sourcePartition: Int = 77,
+  ): SinkRecord =
+    new SinkRecord(
+      "__consumer_offsets",
+      sourcePartition,
+      null,
+      generateOffsetKey(group, topic, partition),
+      null,
+      generateOffsetDetails(offset),
+      100,
+    )
+
   private def generateOffsetKey(group: String, topic: String, partition: Int): Array[Byte] = {
     val buffer = ByteBuffer.allocate(256)
     buffer.putShort(0.toShort)
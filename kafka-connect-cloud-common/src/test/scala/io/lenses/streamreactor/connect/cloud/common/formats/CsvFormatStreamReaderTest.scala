@@ -73,6 +73,23 @@ class CsvFormatStreamReaderTest extends AnyFlatSpec with Matchers with MockitoSu
 
   }
 
+  "next" should "resume after the headers from the byte offset of a previous read" in {
+    val bytes   = SampleData.recordsAsCsvWithHeaders.mkString("\n").getBytes()
+    val initial = new CsvStreamReader(new ByteArrayInputStream(bytes), hasHeaders = true)
+    initial.next() should be(SampleData.recordsAsCsv.head)
+    val position = initial.byteOffset.getOrElse(fail("No byte offset recorded"))
+    initial.close()
+
+    val resumed = new CsvStreamReader(
+      new ByteArrayInputStream(bytes, position.toInt, bytes.length - position.toInt),
+      hasHeaders    = false,
+      startPosition = position,
+    )
+    resumed.toList should be(SampleData.recordsAsCsv.tail)
+    resumed.byteOffset should be(Some(bytes.length.toLong))
+    resumed.close()
+  }
+
   private def setUpReader(recordsToReturn: List[String], includesHeaders: Boolean): CsvStreamReader =
     new CsvStreamReader(
       new ByteArrayInputStream(
@@ -17,14 +17,19 @@ package io.lenses.streamreactor.connect.cloud.common.formats
 
 import cats.implicits.toBifunctorOps
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.ParquetStreamReader
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilter
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilterOperator
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetReadSettings
 import org.apache.kafka.connect.data.Struct
 import org.scalatest.EitherValues
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 
+import java.io.ByteArrayInputStream
 import java.io.InputStream
 import java.nio.file.Files
 import java.nio.file.Paths
+import scala.jdk.CollectionConverters.ListHasAsScala
 import scala.util.Try
 import scala.util.Using
 
@@ -62,6 +67,89 @@ class ParquetFormatStreamReaderTest extends AnyFlatSpec with Matchers with Eithe
     target.value.size should be(1_000_000)
   }
 
+  "ranged iteration" should "read parquet files by fetching byte ranges" in {
+    val parquetFile = "/parquet/1.parquet"
+    val bytes       = Files.readAllBytes(Paths.get(getClass.getResource(parquetFile).toURI))
+    var fetched     = 0L
+    val readRangeF: (Long, Long) => Either[Throwable, InputStream] = (start, length) => {
+      fetched += length
+      Try(new ByteArrayInputStream(bytes, start.toInt, length.toInt)).toEither
+    }
+    val target = ParquetStreamReader.ranged(bytes.length.toLong, readRangeF)
+    val list   = target.value.toList
+    list should have size 200
+    list(199).value().asInstanceOf[Struct].getString("name") should be(
+      "cfmfgbDpeklnFumaugcdcHokwtockrhsyflNqKbuwsAnXpxqzicbLzleviwhZaaIaylptfegvwFwe",
+    )
+    fetched should be <= bytes.length.toLong
+  }
+
+  "direct iteration" should "decode parquet files into the same values as the Avro path" in {
+    val parquetFile = "/parquet/1.parquet"
+    val bytes       = Files.readAllBytes(Paths.get(getClass.getResource(parquetFile).toURI))
+    val readRangeF: (Long, Long) => Either[Throwable, InputStream] = (start, length) =>
+      Try(new ByteArrayInputStream(bytes, start.toInt, length.toInt)).toEither
+
+    val direct = ParquetStreamReader.ranged(bytes.length.toLong, readRangeF, ParquetReadSettings(directDecoding = true))
+    val avro   = ParquetStreamReader.ranged(bytes.length.toLong, readRangeF)
+
+    val directList = direct.value.toList
+    val avroList   = avro.value.toList
+    directList should have size 200
+    directList.zip(avroList).foreach {
+      case (d, a) =>
+        val directStruct = d.value().asInstanceOf[Struct]
+        val avroStruct   = a.value().asInstanceOf[Struct]
+        directStruct.getString("name") should be(avroStruct.getString("name"))
+        directStruct.getString("title") should be(avroStruct.getString("title"))
+        directStruct.getFloat64("salary") should be(avroStruct.getFloat64("salary"))
+        d.schema().fields().asScala.map(f => f.name() -> f.schema().`type`()) should be(
+          a.schema().fields().asScala.map(f => f.name() -> f.schema().`type`()),
+        )
+    }
+  }
+
+  "projected iteration" should "only read the requested columns" in {
+    val (size, readRangeF) = rangedResource("/parquet/1.parquet")
+    List(true, false).foreach { direct =>
+      val settings = ParquetReadSettings(directDecoding = direct, columns = Seq("name"))
+      val list     = ParquetStreamReader.ranged(size, readRangeF, settings).value.toList
+      list should have size 200
+      list.head.schema().fields().asScala.map(_.name()) should be(Seq("name"))
+      list(199).value().asInstanceOf[Struct].getString("name") should be(
+        "cfmfgbDpeklnFumaugcdcHokwtockrhsyflNqKbuwsAnXpxqzicbLzleviwhZaaIaylptfegvwFwe",
+      )
+    }
+  }
+
+  "filtered iteration" should "only return the records matching the filter" in {
+    val (size, readRangeF) = rangedResource("/parquet/1.parquet")
+    val name               = "cfmfgbDpeklnFumaugcdcHokwtockrhsyflNqKbuwsAnXpxqzicbLzleviwhZaaIaylptfegvwFwe"
+    List(true, false).foreach { direct =>
+      val settings =
+        ParquetReadSettings(directDecoding = direct, filters = Seq(ParquetFilter("name", ParquetFilterOperator.Eq, name)))
+      val list = ParquetStreamReader.ranged(size, readRangeF, settings).value.toList
+      list should have size 1
+      list.head.value().asInstanceOf[Struct].getString("name") should be(name)
+    }
+  }
+
+  it should "return no records when the filter excludes every row group" in {
+    val (size, readRangeF) = rangedResource("/parquet/1.parquet")
+    val settings = ParquetReadSettings(
+      directDecoding = true,
+      filters        = Seq(ParquetFilter("salary", ParquetFilterOperator.Lt, "-1000000000")),
+    )
+    ParquetStreamReader.ranged(size, readRangeF, settings).value.toList should be(empty)
+  }
+
+  private def rangedResource(fileName: String): (Long, (Long, Long) => Either[Throwable, InputStream]) = {
+    val bytes = Files.readAllBytes(Paths.get(getClass.getResource(fileName).toURI))
+    val readRangeF: (Long, Long) => Either[Throwable, InputStream] = (start, length) =>
+      Try(new ByteArrayInputStream(bytes, start.toInt, length.toInt)).toEither
+    bytes.length.toLong -> readRangeF
+  }
+
   private def getFileSize(fileName: String): Long = {
     val filePath = Paths.get(getClass.getResource(fileName).toURI)
     Try(Files.size(filePath)).toEither.leftMap(throw _).merge
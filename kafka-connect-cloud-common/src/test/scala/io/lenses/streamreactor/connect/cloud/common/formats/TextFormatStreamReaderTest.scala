@@ -15,6 +15,7 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.formats
 
+import io.lenses.streamreactor.connect.cloud.common.config.ReaderBuilderContext
 import io.lenses.streamreactor.connect.cloud.common.formats.reader.TextStreamReader
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.JsonFormatWriter
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
@@ -28,6 +29,7 @@ import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.NullSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
+import io.lenses.streamreactor.connect.cloud.common.source.split.FileSplit
 
 import java.io.ByteArrayInputStream
 import java.time.Instant
@@ -50,6 +52,71 @@ class TextFormatStreamReaderTest extends AnyFlatSpec with Matchers {
 
   }
 
+  "byteOffset" should "point right after the last line returned" in {
+    val reader = new TextStreamReader(new ByteArrayInputStream("first\r\nsecond\nthird".getBytes))
+
+    reader.byteOffset should be(Some(0L))
+    reader.next() should be("first")
+    reader.hasNext should be(true)
+    reader.byteOffset should be(Some(7L))
+    reader.next() should be("second")
+    reader.byteOffset should be(Some(14L))
+    reader.next() should be("third")
+    reader.byteOffset should be(Some(19L))
+    reader.hasNext should be(false)
+  }
+
+  "read" should "resume from the byte offset of a previous read" in {
+    val bytes   = writeRecordsToOutputStream.readAllBytes()
+    val initial = new TextStreamReader(new ByteArrayInputStream(bytes))
+    initial.next() should be(SampleData.recordsAsJson(0))
+    val position = initial.byteOffset.getOrElse(fail("No byte offset recorded"))
+
+    val resumed = new TextStreamReader(
+      new ByteArrayInputStream(bytes, position.toInt, bytes.length - position.toInt),
+      position,
+    )
+    resumed.next() should be(SampleData.recordsAsJson(1))
+    resumed.next() should be(SampleData.recordsAsJson(2))
+    resumed.hasNext should be(false)
+    resumed.byteOffset should be(Some(bytes.length.toLong))
+  }
+
+  "read" should "return every line once across the splits of an object" in {
+    val bytes = "a\nbb\r\nccc\n\ndddd\reeeee".getBytes
+    val lines = (1L to bytes.length.toLong).map { splitSize =>
+      FileSplit.plan("file.json", bytes.length.toLong, splitSize).flatMap { split =>
+        val start = ReaderBuilderContext.startPosition(None, Some(split))
+        new TextStreamReader(
+          new ByteArrayInputStream(bytes, start.toInt, bytes.length - start.toInt),
+          start,
+          split.end,
+          alignToLine = split.start > 0,
+        ).toList
+      }
+    }
+
+    lines.foreach(_ should be(List("a", "bb", "ccc", "", "dddd", "eeeee")))
+  }
+
+  "read" should "resume a split from the byte offset of a previous read" in {
+    val bytes  = "first\nsecond\nthird\nfourth\n".getBytes
+    val split  = FileSplit("file.json", 1, 3L, 19L)
+    val start  = ReaderBuilderContext.startPosition(None, Some(split))
+    val input  = new ByteArrayInputStream(bytes, start.toInt, bytes.length - start.toInt)
+    val reader = new TextStreamReader(input, start, split.end, alignToLine = true)
+
+    reader.next() should be("second")
+    val position = reader.byteOffset.getOrElse(fail("Missing byte offset"))
+
+    val resumed = new TextStreamReader(
+      new ByteArrayInputStream(bytes, position.toInt, bytes.length - position.toInt),
+      position,
+      split.end,
+    )
+    resumed.toList should be(List("third"))
+  }
+
   private def writeRecordsToOutputStream = {
     val outputStream     = new CloudByteArrayOutputStream()
     val jsonFormatWriter = new JsonFormatWriter(outputStream)
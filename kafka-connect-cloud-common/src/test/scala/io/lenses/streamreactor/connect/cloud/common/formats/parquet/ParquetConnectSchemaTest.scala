@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetConnectSchema
+import org.apache.kafka.connect.data.Date
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.Timestamp
+import org.apache.parquet.schema.MessageTypeParser
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ParquetConnectSchemaTest extends AnyFlatSpec with Matchers {
+
+  private def toConnect(schema: String): Schema =
+    ParquetConnectSchema.toConnectSchema(MessageTypeParser.parseMessageType(schema))
+
+  "toConnectSchema" should "map primitives and their optionality" in {
+    val schema = toConnect(
+      """message record {
+        |  required binary name (STRING);
+        |  optional double salary;
+        |  required int32 age;
+        |  optional int64 id;
+        |  required boolean active;
+        |  optional binary payload;
+        |}""".stripMargin,
+    )
+
+    schema.`type`() shouldBe Schema.Type.STRUCT
+    schema.field("name").schema() shouldBe Schema.STRING_SCHEMA
+    schema.field("salary").schema() shouldBe Schema.OPTIONAL_FLOAT64_SCHEMA
+    schema.field("age").schema() shouldBe Schema.INT32_SCHEMA
+    schema.field("id").schema() shouldBe Schema.OPTIONAL_INT64_SCHEMA
+    schema.field("active").schema() shouldBe Schema.BOOLEAN_SCHEMA
+    schema.field("payload").schema() shouldBe Schema.OPTIONAL_BYTES_SCHEMA
+  }
+
+  it should "map logical types" in {
+    val schema = toConnect(
+      """message record {
+        |  required int32 day (DATE);
+        |  required int64 created (TIMESTAMP(MILLIS,true));
+        |  required int64 micros (TIMESTAMP(MICROS,true));
+        |  required fixed_len_byte_array(16) amount (DECIMAL(38,4));
+        |  required int32 small (INT(8,true));
+        |}""".stripMargin,
+    )
+
+    schema.field("day").schema() shouldBe Date.SCHEMA
+    schema.field("created").schema() shouldBe Timestamp.SCHEMA
+    schema.field("micros").schema() shouldBe Schema.INT64_SCHEMA
+    schema.field("amount").schema() shouldBe Decimal.schema(4)
+    schema.field("small").schema() shouldBe Schema.INT8_SCHEMA
+  }
+
+  it should "map 3-level and legacy 2-level lists" in {
+    val schema = toConnect(
+      """message record {
+        |  optional group tags (LIST) {
+        |    repeated group list {
+        |      optional binary element (STRING);
+        |    }
+        |  }
+        |  required group scores (LIST) {
+        |    repeated int32 array;
+        |  }
+        |  repeated int64 ids;
+        |}""".stripMargin,
+    )
+
+    val tags = schema.field("tags").schema()
+    tags.`type`() shouldBe Schema.Type.ARRAY
+    tags.isOptional shouldBe true
+    tags.valueSchema() shouldBe Schema.OPTIONAL_STRING_SCHEMA
+
+    val scores = schema.field("scores").schema()
+    scores.`type`() shouldBe Schema.Type.ARRAY
+    scores.valueSchema() shouldBe Schema.INT32_SCHEMA
+
+    val ids = schema.field("ids").schema()
+    ids.`type`() shouldBe Schema.Type.ARRAY
+    ids.valueSchema() shouldBe Schema.INT64_SCHEMA
+  }
+
+  it should "map maps and nested structs" in {
+    val schema = toConnect(
+      """message record {
+        |  optional group attributes (MAP) {
+        |    repeated group key_value {
+        |      required binary key (STRING);
+        |      optional int32 value;
+        |    }
+        |  }
+        |  required group address {
+        |    required binary street (STRING);
+        |    optional binary city (STRING);
+        |  }
+        |}""".stripMargin,
+    )
+
+    val attributes = schema.field("attributes").schema()
+    attributes.`type`() shouldBe Schema.Type.MAP
+    attributes.keySchema() shouldBe Schema.STRING_SCHEMA
+    attributes.valueSchema() shouldBe Schema.OPTIONAL_INT32_SCHEMA
+
+    val address = schema.field("address").schema()
+    address.`type`() shouldBe Schema.Type.STRUCT
+    address.field("street").schema() shouldBe Schema.STRING_SCHEMA
+    address.field("city").schema() shouldBe Schema.OPTIONAL_STRING_SCHEMA
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetFilterPredicate
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilter
+import io.lenses.streamreactor.connect.cloud.common.source.config.ParquetFilterOperator
+import org.apache.parquet.filter2.predicate.FilterApi
+import org.apache.parquet.io.api.Binary
+import org.apache.parquet.schema.LogicalTypeAnnotation
+import org.apache.parquet.schema.MessageType
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.Types
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ParquetFilterPredicateTest extends AnyFlatSpec with Matchers {
+
+  private val schema: MessageType = Types.buildMessage()
+    .optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("name")
+    .optional(PrimitiveTypeName.INT32).as(LogicalTypeAnnotation.decimalType(2, 9)).named("price")
+    .optional(PrimitiveTypeName.INT32).as(LogicalTypeAnnotation.dateType()).named("day")
+    .optional(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY).length(4).as(LogicalTypeAnnotation.decimalType(2, 9)).named(
+      "amount",
+    )
+    .optional(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY).length(16).as(LogicalTypeAnnotation.uuidType()).named("id")
+    .optional(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY).length(4).named("raw")
+    .named("record")
+
+  private def predicate(column: String, operator: ParquetFilterOperator, value: String) =
+    ParquetFilterPredicate(schema, Seq(ParquetFilter(column, operator, value)))
+
+  "ParquetFilterPredicate" should "compare strings with their UTF-8 bytes" in {
+    predicate("name", ParquetFilterOperator.Eq, "UK") shouldBe
+      FilterApi.eq(FilterApi.binaryColumn("name"), Binary.fromString("UK"))
+  }
+
+  it should "compare decimals with their unscaled value" in {
+    predicate("price", ParquetFilterOperator.Gt, "12.5") shouldBe
+      FilterApi.gt(FilterApi.intColumn("price"), Int.box(1250))
+  }
+
+  it should "compare dates with their epoch day" in {
+    predicate("day", ParquetFilterOperator.GtEq, "1970-01-11") shouldBe
+      FilterApi.gtEq(FilterApi.intColumn("day"), Int.box(10))
+  }
+
+  it should "compare fixed length decimals with their sign extended two's complement bytes" in {
+    predicate("amount", ParquetFilterOperator.Lt, "-1.00") shouldBe
+      FilterApi.lt(FilterApi.binaryColumn("amount"),
+                   Binary.fromConstantByteArray(Array(0xff, 0xff, 0xff, 0x9c).map(_.toByte)),
+      )
+  }
+
+  it should "compare UUIDs with their 16 bytes" in {
+    val expected = Binary.fromConstantByteArray(Array.tabulate[Byte](16)(i => if (i == 15) 1 else 0))
+    predicate("id", ParquetFilterOperator.Eq, "00000000-0000-0000-0000-000000000001") shouldBe
+      FilterApi.eq(FilterApi.binaryColumn("id"), expected)
+  }
+
+  it should "reject a decimal value with more fractional digits than the column" in {
+    an[IllegalArgumentException] should be thrownBy predicate("price", ParquetFilterOperator.Eq, "1.234")
+  }
+
+  it should "reject fixed length columns without a supported logical type" in {
+    an[IllegalArgumentException] should be thrownBy predicate("raw", ParquetFilterOperator.Eq, "abcd")
+  }
+}
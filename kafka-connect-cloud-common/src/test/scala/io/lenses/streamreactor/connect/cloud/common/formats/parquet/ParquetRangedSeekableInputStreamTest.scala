@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.parquet
+
+import cats.implicits.catsSyntaxEitherId
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.parquet.ParquetRangedSeekableInputStream
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+import java.io.EOFException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import scala.collection.mutable.ListBuffer
+
+class ParquetRangedSeekableInputStreamTest extends AnyFlatSpec with Matchers {
+
+  private val bytes = "abcdefghijklmnopqrstuvwxyz".getBytes
+
+  private class RangeRecorder {
+    val ranges = ListBuffer.empty[(Long, Long)]
+
+    def apply(start: Long, length: Long): Either[Throwable, InputStream] = {
+      ranges += start -> length
+      new ByteArrayInputStream(bytes, start.toInt, length.toInt).asRight
+    }
+  }
+
+  private def stream(recorder: RangeRecorder, footerCacheSize: Int = 4, minRangeSize: Int = 4) =
+    new ParquetRangedSeekableInputStream(bytes.length.toLong, recorder.apply, footerCacheSize, minRangeSize)
+
+  "read" should "fetch and cache the tail of the file" in {
+    val recorder = new RangeRecorder
+    val target   = stream(recorder)
+
+    target.seek(22)
+    target.read().toChar should be('w')
+    target.seek(24)
+    target.read().toChar should be('y')
+    target.read().toChar should be('z')
+    target.read() should be(-1)
+
+    recorder.ranges.toList should be(List(22L -> 4L))
+  }
+
+  "read" should "reuse the tail of the file fetched by another stream sharing the footer cache" in {
+    val recorder    = new RangeRecorder
+    val footerCache = new ParquetRangedSeekableInputStream.FooterCache
+
+    List(1, 2).foreach { _ =>
+      val target = new ParquetRangedSeekableInputStream(bytes.length.toLong, recorder.apply, 4, 4, footerCache)
+      target.seek(22)
+      target.read().toChar should be('w')
+      target.close()
+    }
+
+    recorder.ranges.toList should be(List(22L -> 4L))
+  }
+
+  "seek" should "go backwards without restarting a download" in {
+    val recorder = new RangeRecorder
+    val target   = stream(recorder)
+
+    target.seek(5)
+    target.read().toChar should be('f')
+    target.seek(4)
+    target.read().toChar should be('e')
+    target.getPos should be(5L)
+
+    recorder.ranges.toList should be(List(5L -> 4L, 4L -> 4L))
+  }
+
+  "readFully" should "fetch large reads in a single range straight into the buffer" in {
+    val recorder = new RangeRecorder
+    val target   = stream(recorder)
+    val buffer   = new Array[Byte](10)
+
+    target.seek(2)
+    target.readFully(buffer)
+
+    new String(buffer) should be("cdefghijkl")
+    recorder.ranges.toList should be(List(2L -> 10L))
+  }
+
+  "readFully" should "fill a ByteBuffer across the window and the footer" in {
+    val recorder = new RangeRecorder
+    val target   = stream(recorder, footerCacheSize = 6, minRangeSize = 8)
+    val buffer   = ByteBuffer.allocate(4)
+
+    target.seek(18)
+    target.readFully(buffer)
+
+    new String(buffer.array()) should be("stuv")
+    recorder.ranges.toList should be(List(18L -> 2L, 20L -> 6L))
+  }
+
+  "readFully" should "fail when reading past the end of the file" in {
+    val target = stream(new RangeRecorder)
+
+    target.seek(24)
+    assertThrows[EOFException] {
+      target.readFully(new Array[Byte](4))
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.reader
+
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+import java.nio.charset.StandardCharsets
+
+class ByteCountingLineReaderTest extends AnyFunSuite with Matchers {
+
+  private def reader(content: String, startPosition: Long = 0L, bufferSize: Int = 64 * 1024) =
+    new ByteCountingLineReader(
+      new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+      startPosition,
+      bufferSize,
+    )
+
+  private def readAll(lineReader: ByteCountingLineReader): List[(String, Long)] =
+    Iterator.continually(lineReader.readLine().map(_ -> lineReader.position))
+      .takeWhile(_.isDefined)
+      .flatten
+      .toList
+
+  test("splits lines on all line terminators") {
+    readAll(reader("a\nb\r\nc\rd")) shouldBe List("a" -> 2L, "b" -> 5L, "c" -> 7L, "d" -> 8L)
+  }
+
+  test("keeps empty lines but not a trailing terminator") {
+    readAll(reader("a\n\nb\n")) shouldBe List("a" -> 2L, "" -> 3L, "b" -> 5L)
+  }
+
+  test("returns nothing for an empty stream") {
+    readAll(reader("")) shouldBe empty
+  }
+
+  test("counts bytes rather than characters") {
+    readAll(reader("żółw\nok")) shouldBe List("żółw" -> 8L, "ok" -> 10L)
+  }
+
+  test("reads lines spanning several buffers") {
+    readAll(reader("first line\r\nsecond line\n", bufferSize = 3)) shouldBe List(
+      "first line"  -> 12L,
+      "second line" -> 24L,
+    )
+  }
+
+  test("reports positions relative to the start of the object") {
+    readAll(reader("c\nd", startPosition = 100L)) shouldBe List("c" -> 102L, "d" -> 103L)
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet
+
+import io.lenses.streamreactor.connect.cloud.common.formats.reader.ParquetStreamReader
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.ParquetFormatWriter
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
+import io.lenses.streamreactor.connect.cloud.common.sink.config.ParquetWriteSettings
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.NullSinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ToAvroDataConverter
+import io.lenses.streamreactor.connect.cloud.common.stream.CloudByteArrayOutputStream
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData.topic
+import org.apache.kafka.connect.data.Date
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaBuilder
+import org.apache.kafka.connect.data.Struct
+import org.apache.kafka.connect.data.Timestamp
+import org.apache.parquet.avro.AvroSchemaConverter
+import org.scalatest.EitherValues
+import org.scalatest.OptionValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.time.Instant
+import scala.jdk.CollectionConverters.ListHasAsScala
+import scala.jdk.CollectionConverters.MapHasAsJava
+import scala.jdk.CollectionConverters.SeqHasAsJava
+import scala.util.Try
+
+class ConnectParquetWriterTest extends AnyFlatSpec with Matchers with EitherValues with OptionValues {
+  private implicit val compressionCodec: CompressionCodec = UNCOMPRESSED.toCodec()
+
+  private val addressSchema = SchemaBuilder.struct()
+    .field("street", Schema.STRING_SCHEMA)
+    .field("city", Schema.OPTIONAL_STRING_SCHEMA)
+    .build()
+
+  private val schema = SchemaBuilder.struct()
+    .field("name", Schema.STRING_SCHEMA)
+    .field("age", Schema.OPTIONAL_INT8_SCHEMA)
+    .field("score", Schema.FLOAT64_SCHEMA)
+    .field("active", Schema.BOOLEAN_SCHEMA)
+    .field("payload", Schema.OPTIONAL_BYTES_SCHEMA)
+    .field("balance", Decimal.builder(2).optional().build())
+    .field("born", Date.builder().optional().build())
+    .field("updated", Timestamp.SCHEMA)
+    .field("address", addressSchema)
+    .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+    .field("attributes", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.OPTIONAL_INT32_SCHEMA).optional().build())
+    .build()
+
+  private val structs = List(
+    new Struct(schema)
+      .put("name", "sam")
+      .put("age", 42.toByte)
+      .put("score", 1.5)
+      .put("active", true)
+      .put("payload", Array[Byte](1, 2, 3))
+      .put("balance", new java.math.BigDecimal("100.43"))
+      .put("born", Date.toLogical(Date.SCHEMA, 10000))
+      .put("updated", new java.util.Date(1700000000000L))
+      .put("address", new Struct(addressSchema).put("street", "main street").put("city", "london"))
+      .put("tags", List("a", "b").asJava)
+      .put("attributes", Map[String, Integer]("x" -> 1, "y" -> null).asJava),
+    new Struct(schema)
+      .put("name", "laura")
+      .put("score", 2.5)
+      .put("active", false)
+      .put("updated", new java.util.Date(1700000001000L))
+      .put("address", new Struct(addressSchema).put("street", "high street"))
+      .put("tags", List.empty[String].asJava),
+  )
+
+  "ConnectParquetWriter" should "write the same file as the Avro writer" in {
+    val direct = write(structs, ParquetWriteSettings.Default)
+    val avro   = write(structs, ParquetWriteSettings(directWrite = false))
+
+    direct should be(avro)
+  }
+
+  it should "write values which read back through Avro" in {
+    val read = readBack(write(structs, ParquetWriteSettings.Default))
+    read should have size 2
+    read.head.getString("name") should be("sam")
+    read.head.getStruct("address").getString("city") should be("london")
+    read.head.getArray[String]("tags").asScala should be(List("a", "b"))
+    read(1).get("age") should be(null)
+    read(1).getStruct("address").get("city") should be(null)
+  }
+
+  it should "compile no writer for maps without string keys" in {
+    val intKeys = SchemaBuilder.struct()
+      .field("attributes", SchemaBuilder.map(Schema.INT32_SCHEMA, Schema.STRING_SCHEMA).build())
+      .build()
+    val messageType = new AvroSchemaConverter().convert(ToAvroDataConverter.convertSchema(intKeys))
+
+    ParquetConnectWriters.structWriter(intKeys, messageType) should be(None)
+  }
+
+  it should "fall back to the Avro writer for maps without string keys" in {
+    val intKeys = SchemaBuilder.struct()
+      .field("attributes", SchemaBuilder.map(Schema.INT32_SCHEMA, Schema.STRING_SCHEMA).build())
+      .build()
+    val struct = new Struct(intKeys).put("attributes", Map[Integer, String](Int.box(1) -> "one").asJava)
+
+    write(List(struct), ParquetWriteSettings.Default) should be(
+      write(List(struct), ParquetWriteSettings(directWrite = false)),
+    )
+  }
+
+  it should "write structs of a compatible schema by field name" in {
+    val evolved = SchemaBuilder.struct()
+      .field("postcode", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("street", Schema.STRING_SCHEMA)
+      .build()
+    val struct = new Struct(evolved).put("postcode", "N1").put("street", "main street")
+
+    val outputStream = new CloudByteArrayOutputStream()
+    val writer = ConnectParquetWriter.builder(
+      new ParquetOutputFile(outputStream),
+      addressSchema,
+      ToAvroDataConverter.convertSchema(addressSchema),
+    ).value.build()
+    writer.write(struct)
+    writer.close()
+
+    val read = readBack(outputStream.toByteArray)
+    read should have size 1
+    read.head.getString("street") should be("main street")
+    read.head.get("city") should be(null)
+  }
+
+  private def write(values: List[Struct], settings: ParquetWriteSettings): Array[Byte] = {
+    val outputStream = new CloudByteArrayOutputStream()
+    val writer       = new ParquetFormatWriter(outputStream, settings)
+    values.zipWithIndex.foreach {
+      case (struct, index) =>
+        writer.write(
+          MessageDetail(NullSinkData(None),
+                        StructSinkData(struct),
+                        Map.empty,
+                        Some(Instant.now()),
+                        topic,
+                        0,
+                        Offset(index.toLong),
+          ),
+        ).value
+    }
+    writer.complete().value
+    outputStream.toByteArray
+  }
+
+  private def readBack(bytes: Array[Byte]): List[Struct] = {
+    val readRangeF: (Long, Long) => Either[Throwable, InputStream] = (start, length) =>
+      Try[InputStream](new ByteArrayInputStream(bytes, start.toInt, length.toInt)).toEither
+    ParquetStreamReader.ranged(bytes.length.toLong, readRangeF).value.toList.map(_.value().asInstanceOf[Struct])
+  }
+}
@@ -21,7 +21,7 @@ import org.scalatest.funsuite.AnyFunSuiteLike
 
 class CompatibilitySchemaChangeDetectorTest extends AnyFunSuiteLike {
 
-  private val detector = CompatibilitySchemaChangeDetector
+  private val detector = new CompatibilitySchemaChangeDetector()
 
   def createSchema(fields: (String, Schema)*): Schema = {
     val builder = SchemaBuilder.struct()
@@ -59,4 +59,13 @@ class CompatibilitySchemaChangeDetectorTest extends AnyFunSuiteLike {
     assert(detector.detectSchemaChange(schema1, schema2))
   }
 
+  test("detectSchemaChange keeps the result for each way round of the schemas") {
+    val schema1 = createSchema("field1" -> Schema.STRING_SCHEMA)
+    val schema2 = createSchema("field1" -> Schema.STRING_SCHEMA, "field2" -> Schema.INT32_SCHEMA)
+    assert(!detector.detectSchemaChange(schema1, schema2))
+    assert(detector.detectSchemaChange(schema2, schema1))
+    assert(!detector.detectSchemaChange(schema1, schema2))
+    assert(detector.detectSchemaChange(schema2, schema1))
+  }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.formats.writer.schema
+
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ConnectParquetWriter
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.parquet.ConnectParquetWriter.CompiledSchema
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ToAvroDataConverter
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaBuilder
+import org.scalatest.OptionValues
+import org.scalatest.funsuite.AnyFunSuiteLike
+import org.scalatest.matchers.should.Matchers
+
+class SchemaCacheTest extends AnyFunSuiteLike with Matchers with OptionValues {
+
+  private def createSchema(name: String, fields: String*): Schema = {
+    val builder = SchemaBuilder.struct().name(name)
+    fields.foreach(builder.field(_, Schema.STRING_SCHEMA))
+    builder.build()
+  }
+
+  test("canonical returns the first instance seen for equal schemas") {
+    val cache = new SchemaCache()
+
+    val first  = createSchema("canonical", "a")
+    val second = createSchema("canonical", "a")
+
+    cache.canonical(first) should be theSameInstanceAs first
+    cache.canonical(second) should be theSameInstanceAs first
+  }
+
+  test("sameSchema compares the schemas by value") {
+    val cache = new SchemaCache()
+
+    val first  = createSchema("same", "a")
+    val second = createSchema("same", "a")
+    val other  = createSchema("same", "b")
+
+    cache.sameSchema(first, second) shouldBe true
+    cache.sameSchema(first, other) shouldBe false
+  }
+
+  test("parquetSchema compiles each distinct schema once") {
+    val cache = new SchemaCache()
+
+    var compilations = 0
+    val compile: Schema => Option[CompiledSchema] = schema => {
+      compilations += 1
+      ConnectParquetWriter.compile(schema, ToAvroDataConverter.convertSchema(schema))
+    }
+    val first  = createSchema("parquet", "a")
+    val second = createSchema("parquet", "a")
+
+    val compiled = cache.parquetSchema(first)(compile)
+    compiled should not be empty
+    cache.parquetSchema(second)(compile).value should be theSameInstanceAs compiled.value
+    compilations shouldBe 1
+  }
+
+  test("derived builds the schema once for equal schemas and the same tag") {
+    val cache = new SchemaCache()
+
+    var builds = 0
+    def build(): Schema = {
+      builds += 1
+      SchemaBuilder.struct().field("wrapped", Schema.STRING_SCHEMA).build()
+    }
+    val first  = createSchema("derived", "a")
+    val second = createSchema("derived", "a")
+
+    val derived = cache.derived("wrapper", Seq(first))(build())
+    cache.derived("wrapper", Seq(second))(build()) should be theSameInstanceAs derived
+    builds shouldBe 1
+
+    cache.derived("other", Seq(first))(build()) should not be theSameInstanceAs(derived)
+    builds shouldBe 2
+  }
+
+  test("caches keep the schemas apart") {
+    val first  = createSchema("apart", "a")
+    val second = createSchema("apart", "a")
+
+    new SchemaCache().canonical(first) should be theSameInstanceAs first
+    new SchemaCache().canonical(second) should be theSameInstanceAs second
+  }
+}
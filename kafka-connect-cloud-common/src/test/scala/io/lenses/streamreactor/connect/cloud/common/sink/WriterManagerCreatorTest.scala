@@ -26,11 +26,16 @@ import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.Schema
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexMode
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
 import io.lenses.streamreactor.connect.cloud.common.sink.seek.IndexManager
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.ManifestIndexManager
 import io.lenses.streamreactor.connect.cloud.common.sink.writer.WriterManager
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import org.apache.kafka.connect.errors.ConnectException
 import org.mockito.MockitoSugar
 import org.scalatest.OptionValues
 import org.scalatest.funsuite.AnyFunSuite
@@ -48,8 +53,10 @@ class WriterManagerCreatorTest extends AnyFunSuite with Matchers with MockitoSug
     compressionCodec:     CompressionCodec,
     connectorRetryConfig: RetryConfig,
     errorPolicy:          NoopErrorPolicy,
-    logMetrics:           Boolean              = false,
-    schemaChangeDetector: SchemaChangeDetector = DefaultSchemaChangeDetector,
+    logMetrics:           Boolean                   = false,
+    schemaChangeDetector: SchemaChangeDetector      = DefaultSchemaChangeDetector,
+    writerBudget:         WriterBudget              = WriterBudget.Unlimited,
+    compactionOptions:    Option[CompactionOptions] = None,
   ) extends CloudSinkConfig[FakeConnectionConfig]
 
   case class FakeFileMetadata(file: String, lastModified: Instant) extends FileMetadata
@@ -75,4 +82,38 @@ class WriterManagerCreatorTest extends AnyFunSuite with Matchers with MockitoSug
     indexManager.value shouldBe a[IndexManager[_]]
   }
 
+  test("create a ManifestIndexManager when the manifest index mode is configured") {
+
+    val config = FakeCloudSinkConfig(
+      connectionConfig     = FakeConnectionConfig(),
+      bucketOptions        = Seq.empty,
+      indexOptions         = IndexOptions(maxIndexFiles = 10, ".indexes", IndexMode.Manifest).some,
+      compressionCodec     = CompressionCodecName.ZSTD.toCodec(),
+      errorPolicy          = NoopErrorPolicy(),
+      connectorRetryConfig = new RetryConfig(1, 1L, 1.0),
+    )
+
+    val conditionalStorage = mock[StorageInterface[FakeFileMetadata]]
+    when(conditionalStorage.supportsConditionalWrites).thenReturn(true)
+
+    val writerManagerCreator = new WriterManagerCreator[FakeFileMetadata, FakeCloudSinkConfig]()
+    val (indexManager, _)    = writerManagerCreator.from(config)(connectorTaskId, conditionalStorage)
+    indexManager.value shouldBe a[ManifestIndexManager[_]]
+  }
+
+  test("reject the manifest index mode when the storage has no conditional writes") {
+
+    val config = FakeCloudSinkConfig(
+      connectionConfig     = FakeConnectionConfig(),
+      bucketOptions        = Seq.empty,
+      indexOptions         = IndexOptions(maxIndexFiles = 10, ".indexes", IndexMode.Manifest).some,
+      compressionCodec     = CompressionCodecName.ZSTD.toCodec(),
+      errorPolicy          = NoopErrorPolicy(),
+      connectorRetryConfig = new RetryConfig(1, 1L, 1.0),
+    )
+
+    val writerManagerCreator = new WriterManagerCreator[FakeFileMetadata, FakeCloudSinkConfig]()
+    a[ConnectException] shouldBe thrownBy(writerManagerCreator.from(config))
+  }
+
 }
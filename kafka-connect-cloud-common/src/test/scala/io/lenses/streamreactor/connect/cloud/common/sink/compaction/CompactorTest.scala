@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.compaction
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.catsSyntaxOptionId
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.config.DataStorageSettings
+import io.lenses.streamreactor.connect.cloud.common.config.JsonFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.LocalStagingArea
+import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingType.LeftPad
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.KeyNamer
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.OffsetFileNamer
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.TestFileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.InMemoryStorageInterface
+import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
+import io.lenses.streamreactor.connect.cloud.common.storage.UploadFailedError
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.mockito.MockitoSugar
+import org.scalatest.BeforeAndAfter
+import org.scalatest.EitherValues
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import scala.concurrent.duration.DurationInt
+
+class CompactorTest extends AnyFunSuite with Matchers with EitherValues with MockitoSugar with BeforeAndAfter {
+
+  private implicit val connectorTaskId:        ConnectorTaskId        = ConnectorTaskId("connector", 1, 0)
+  private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
+
+  private val bucket         = "bucket"
+  private val fileNamer      = new OffsetFileNamer(LeftPad.toPaddingStrategy(5, '0'), "json")
+  private val record         = "{\"a\":1}\n"
+  private val topicPartition = Topic("topic").withPartition(0)
+
+  private implicit var storageInterface: InMemoryStorageInterface = _
+
+  before {
+    storageInterface = new InMemoryStorageInterface()
+  }
+
+  private val dataStorage =
+    DataStorageSettings(envelope = false, key = false, value = true, metadata = false, headers = false)
+
+  private def compactor(
+    minFiles:   Int  = 2,
+    targetSize: Long = 1024L,
+    pageSize:   Int  = Compactor.PageSize,
+  ): Compactor[TestFileMetadata] = {
+    val keyNamer = mock[KeyNamer]
+    when(keyNamer.fileNamer).thenReturn(fileNamer)
+    val bucketOptions = CloudSinkBucketOptions(
+      sourceTopic      = None,
+      bucketAndPrefix  = CloudLocation(bucket, "prefix/".some),
+      formatSelection  = JsonFormatSelection,
+      keyNamer         = keyNamer,
+      localStagingArea = LocalStagingArea(Files.createTempDirectory("compaction").toFile),
+      dataStorage      = dataStorage,
+    )
+    new Compactor[TestFileMetadata](
+      CompactionOptions(1.minute, minFiles, targetSize),
+      Seq(bucketOptions),
+      ".indexes",
+      CompressionCodec(UNCOMPRESSED),
+      pageSize,
+    )
+  }
+
+  private def objectKey(offset: Int, earliest: Int, latest: Int, partition: Int = 0): String =
+    f"prefix/topic/$partition/$offset%05d_${earliest}_$latest.json"
+
+  private def putObjects(offsets: Int*): Unit = putPartitionObjects(0, offsets: _*)
+
+  private def putPartitionObjects(partition: Int, offsets: Int*): Unit =
+    offsets.foreach(offset => storageInterface.put(bucket, objectKey(offset, offset, offset, partition), record))
+
+  private def compact(compactor: Compactor[TestFileMetadata], assigned: Set[TopicPartition] = Set(topicPartition)) =
+    compactor.compact(() => assigned)
+
+  test("merges the committed objects, except the newest one") {
+    putObjects(1, 2, 3, 4, 5)
+
+    compact(compactor()).value shouldBe 4
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(4, 1, 4), objectKey(5, 5, 5))
+    storageInterface.content(bucket, objectKey(4, 1, 4)) shouldBe Some(record * 4)
+  }
+
+  test("leaves the groups with fewer objects than the minimum") {
+    putObjects(1, 2, 3)
+
+    compact(compactor(minFiles = 3)).value shouldBe 0
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(1, 1, 1), objectKey(2, 2, 2), objectKey(3, 3, 3))
+  }
+
+  test("keeps the merged objects under the target size") {
+    putObjects(1, 2, 3, 4, 5)
+
+    compact(compactor(targetSize = record.length * 2L)).value shouldBe 4
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(2, 1, 2), objectKey(4, 3, 4), objectKey(5, 5, 5))
+  }
+
+  test("does not merge the objects the indexes point to") {
+    putObjects(1, 2, 3, 4, 5)
+    val index = ".indexes/connector/topic/00000/00000000000000000002"
+    storageInterface.put(bucket, index, objectKey(2, 2, 2))
+
+    compact(compactor()).value shouldBe 2
+
+    storageInterface.keys(bucket) shouldBe Seq(
+      index,
+      objectKey(1, 1, 1),
+      objectKey(2, 2, 2),
+      objectKey(4, 3, 4),
+      objectKey(5, 5, 5),
+    )
+  }
+
+  test("completes a merge left in progress") {
+    putObjects(1, 2)
+    val staged  = ".indexes/.compaction/connector/staged/merge"
+    val journal = ".indexes/.compaction/connector/journal/merge.json"
+    storageInterface.put(bucket, staged, record * 2)
+    storageInterface.put(
+      bucket,
+      journal,
+      CompactionJournal(
+        "topic",
+        0,
+        objectKey(2, 1, 2),
+        staged,
+        (record * 2).length.toLong,
+        sources = Seq(objectKey(1, 1, 1), objectKey(2, 2, 2)),
+      ).asJson.noSpaces,
+    )
+
+    compact(compactor(minFiles = 10)).value shouldBe 0
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(2, 1, 2))
+    storageInterface.content(bucket, objectKey(2, 1, 2)) shouldBe Some(record * 2)
+  }
+
+  test("does not delete the merged objects when the merged object is missing") {
+    putObjects(1, 2)
+    val journal = ".indexes/.compaction/connector/journal/merge.json"
+    storageInterface.put(
+      bucket,
+      journal,
+      CompactionJournal(
+        "topic",
+        0,
+        objectKey(2, 1, 2),
+        "missing",
+        (record * 2).length.toLong,
+        sources = Seq(objectKey(1, 1, 1), objectKey(2, 2, 2)),
+      ).asJson.noSpaces,
+    )
+
+    compact(compactor(minFiles = 10)).value shouldBe 0
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(1, 1, 1), objectKey(2, 2, 2))
+  }
+
+  test("does not delete the merged objects when the target is one of them, but the merged object is missing") {
+    putObjects(1, 2)
+    val journal = ".indexes/.compaction/connector/journal/merge.json"
+    storageInterface.put(
+      bucket,
+      journal,
+      CompactionJournal(
+        "topic",
+        0,
+        objectKey(2, 2, 2),
+        "missing",
+        (record * 2).length.toLong,
+        sources = Seq(objectKey(1, 1, 1), objectKey(2, 2, 2)),
+      ).asJson.noSpaces,
+    )
+
+    compact(compactor(minFiles = 10)).value shouldBe 0
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(1, 1, 1), objectKey(2, 2, 2))
+  }
+
+  test("only compacts the topic partitions assigned to the task") {
+    putPartitionObjects(0, 1, 2, 3)
+    putPartitionObjects(1, 1, 2, 3)
+
+    compact(compactor(), Set(Topic("topic").withPartition(1))).value shouldBe 2
+
+    storageInterface.keys(bucket) shouldBe Seq(
+      objectKey(1, 1, 1),
+      objectKey(2, 2, 2),
+      objectKey(3, 3, 3),
+      objectKey(2, 1, 2, partition = 1),
+      objectKey(3, 3, 3, partition = 1),
+    )
+  }
+
+  test("lists the objects a page at a time") {
+    putPartitionObjects(0, 1, 2, 3, 4, 5)
+    putPartitionObjects(1, 1, 2, 3)
+
+    compact(compactor(pageSize = 2), Set(topicPartition, Topic("topic").withPartition(1))).value shouldBe 6
+
+    storageInterface.keys(bucket) shouldBe Seq(
+      objectKey(4, 1, 4),
+      objectKey(5, 5, 5),
+      objectKey(2, 1, 2, partition = 1),
+      objectKey(3, 3, 3, partition = 1),
+    )
+  }
+
+  test("leaves the objects already merged up to the target size") {
+    putObjects(1, 2)
+    storageInterface.put(bucket, objectKey(4, 3, 4), record * 2)
+    putObjects(5, 6, 7)
+
+    compact(compactor(targetSize = record.length * 2L)).value shouldBe 4
+
+    storageInterface.keys(bucket) shouldBe Seq(
+      objectKey(2, 1, 2),
+      objectKey(4, 3, 4),
+      objectKey(6, 5, 6),
+      objectKey(7, 7, 7),
+    )
+  }
+
+  test("deletes the merged object staged when its journal cannot be written") {
+    storageInterface = new InMemoryStorageInterface {
+      override def writeStringToFile(bucket: String, path: String, data: UploadableString): Either[UploadError, Unit] =
+        UploadFailedError(new IOException("unavailable"), new File(path)).asLeft
+    }
+    putObjects(1, 2, 3)
+
+    compact(compactor()).left.value.message() should include("unavailable")
+
+    storageInterface.keys(bucket) shouldBe Seq(objectKey(1, 1, 1), objectKey(2, 2, 2), objectKey(3, 3, 3))
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.compaction
+
+import io.lenses.streamreactor.connect.cloud.common.config.AvroFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.config.CsvFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.config.FormatOptions.WithHeaders
+import io.lenses.streamreactor.connect.cloud.common.config.JsonFormatSelection
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.GZIP
+import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodecName.UNCOMPRESSED
+import io.lenses.streamreactor.connect.cloud.common.storage.FileLoadError
+import org.scalatest.EitherValues
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.nio.charset.StandardCharsets
+
+class ObjectMergerTest extends AnyFunSuite with Matchers with EitherValues {
+
+  private val uncompressed = CompressionCodec(UNCOMPRESSED)
+
+  private def source(content: String): () => Either[FileLoadError, InputStream] =
+    () => Right(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+
+  private def merge(merger: ObjectMerger, contents: String*): (Int, String) = {
+    val out    = new ByteArrayOutputStream()
+    val merged = merger.merge(contents.map(source), out).value
+    (merged, out.toString(StandardCharsets.UTF_8))
+  }
+
+  test("only merges the uncompressed line based formats") {
+    ObjectMerger(JsonFormatSelection, uncompressed) should not be empty
+    ObjectMerger(AvroFormatSelection, uncompressed) shouldBe empty
+    ObjectMerger(JsonFormatSelection, CompressionCodec(GZIP)) shouldBe empty
+  }
+
+  test("joins the lines of the objects") {
+    val merger = ObjectMerger(JsonFormatSelection, uncompressed).get
+
+    merge(merger, "{\"a\":1}\n", "{\"a\":2}", "{\"a\":3}\n") shouldBe (3, "{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n")
+  }
+
+  test("keeps the header of the first csv object") {
+    val merger = ObjectMerger(CsvFormatSelection(Set(WithHeaders)), uncompressed).get
+
+    merge(merger, "a,b\n1,2\n", "a,b\n3,4\n") shouldBe (2, "a,b\n1,2\n3,4\n")
+  }
+
+  test("stops at the first csv object with a different header") {
+    val merger = ObjectMerger(CsvFormatSelection(Set(WithHeaders)), uncompressed).get
+
+    merge(merger, "a,b\n1,2\n", "a,b\n3,4\n", "a,c\n5,6\n", "a,b\n7,8\n") shouldBe (2, "a,b\n1,2\n3,4\n")
+  }
+
+  test("reports the objects which cannot be loaded") {
+    val merger = ObjectMerger(JsonFormatSelection, uncompressed).get
+    val failed: () => Either[FileLoadError, InputStream] =
+      () => Left(FileLoadError(new IllegalStateException("boom"), "path"))
+
+    merger.merge(Seq(source("{\"a\":1}\n"), failed), new ByteArrayOutputStream()).isLeft shouldBe true
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import org.apache.kafka.common.config.ConfigDef
+import org.apache.kafka.common.config.ConfigException
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.jdk.CollectionConverters.MapHasAsJava
+
+class CompactionSettingsTest extends AnyFlatSpec with Matchers {
+
+  private val configKeys = new CompactionConfigKeys {
+    override def connectorPrefix: String = "connector"
+  }
+
+  "withCompactionConfig" should "disable the compaction by default" in {
+
+    val parsed = configKeys.withCompactionConfig(new ConfigDef()).parse(Map.empty[String, String].asJava)
+
+    parsed.get("connector.compaction.interval") shouldBe 0L
+    parsed.get("connector.compaction.min.files") shouldBe 10
+    parsed.get("connector.compaction.target.size") shouldBe 128L * 1024 * 1024
+  }
+
+  it should "require at least two objects to compact" in {
+
+    assertThrows[ConfigException] {
+      configKeys.withCompactionConfig(new ConfigDef()).parse(Map("connector.compaction.min.files" -> "1").asJava)
+    }
+  }
+
+}
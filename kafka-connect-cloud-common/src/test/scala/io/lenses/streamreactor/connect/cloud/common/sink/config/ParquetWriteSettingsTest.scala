@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import io.lenses.streamreactor.connect.cloud.common.sink.config.kcqlprops.SinkPropsSchema
+import org.apache.kafka.common.config.ConfigException
+import org.apache.parquet.column.ParquetProperties.WriterVersion
+import org.scalatest.EitherValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ParquetWriteSettingsTest extends AnyFlatSpec with Matchers with EitherValues {
+
+  private def props(map: Map[String, String]) = SinkPropsSchema.schema.readPropsMap(map)
+
+  "ParquetWriteSettings.apply" should "keep the Parquet defaults when no properties are set" in {
+    ParquetWriteSettings(props(Map.empty)).value shouldBe ParquetWriteSettings.Default
+    ParquetWriteSettings.Default.writerVersion.writerVersion shouldBe WriterVersion.PARQUET_1_0
+  }
+
+  it should "read the layout properties" in {
+    val settings = ParquetWriteSettings(
+      props(
+        Map(
+          "write.parquet.row.group.size"             -> "8388608",
+          "write.parquet.page.size"                  -> "65536",
+          "write.parquet.page.size.check.min.rows"   -> "10",
+          "write.parquet.page.size.check.max.rows"   -> "1000",
+          "write.parquet.dictionary.enabled"         -> "false",
+          "write.parquet.dictionary.page.size"       -> "32768",
+          "write.parquet.bloom.filter.columns"       -> "id, address.city",
+          "write.parquet.bloom.filter.ndv"           -> "5000",
+          "write.parquet.writer.version"             -> "V2",
+          "write.parquet.statistics.truncate.length" -> "64",
+          "write.parquet.direct"                     -> "false",
+        ),
+      ),
+    ).value
+
+    settings shouldBe ParquetWriteSettings(
+      rowGroupSize             = 8388608L,
+      pageSize                 = 65536,
+      minRowsForPageSizeCheck  = 10,
+      maxRowsForPageSizeCheck  = 1000,
+      dictionaryEnabled        = false,
+      dictionaryPageSize       = 32768,
+      bloomFilterColumns       = Seq("id", "address.city"),
+      bloomFilterNdv           = Some(5000L),
+      writerVersion            = ParquetWriterVersion.V2,
+      statisticsTruncateLength = Some(64),
+      directWrite              = false,
+    )
+  }
+
+  it should "reject a size which is not positive" in {
+    ParquetWriteSettings(props(Map("write.parquet.page.size" -> "0"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "reject an unknown writer version" in {
+    ParquetWriteSettings(props(Map("write.parquet.writer.version" -> "v3"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "reject a minimum page size check above the maximum" in {
+    ParquetWriteSettings(
+      props(Map("write.parquet.page.size.check.min.rows" -> "500", "write.parquet.page.size.check.max.rows" -> "100")),
+    ).left.value shouldBe a[ConfigException]
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.config
+
+import org.apache.kafka.common.config.ConfigDef
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.jdk.CollectionConverters.MapHasAsJava
+
+class WriterBudgetSettingsTest extends AnyFlatSpec with Matchers {
+
+  private val configKeys = new WriterBudgetConfigKeys {
+    override def connectorPrefix: String = "connector"
+  }
+
+  "withWriterBudgetConfig" should "leave the writer budget unbounded by default" in {
+
+    val parsed = configKeys.withWriterBudgetConfig(new ConfigDef()).parse(Map.empty[String, String].asJava)
+
+    parsed.get("connector.max.open.writers") shouldBe 0
+    parsed.get("connector.max.buffered.bytes") shouldBe 0L
+  }
+
+  "WriterBudget" should "be exceeded by either limit" in {
+
+    val budget = WriterBudget(Some(2), Some(100L))
+
+    budget.isBounded shouldBe true
+    budget.isExceeded(2, 100L) shouldBe false
+    budget.isExceeded(3, 0L) shouldBe true
+    budget.isExceeded(1, 101L) shouldBe true
+    WriterBudget.Unlimited.isBounded shouldBe false
+    WriterBudget.Unlimited.isExceeded(Int.MaxValue, Long.MaxValue) shouldBe false
+  }
+
+}
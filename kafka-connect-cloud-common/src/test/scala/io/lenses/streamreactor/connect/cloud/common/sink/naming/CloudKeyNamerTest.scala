@@ -31,7 +31,11 @@ import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingS
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingStrategy
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.NullSinkData
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StringSinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StructSinkData
 import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaBuilder
+import org.apache.kafka.connect.data.Struct
 import org.mockito.ArgumentMatchers.anyString
 import org.mockito.MockitoSugar
 import org.scalatest.EitherValues
@@ -89,6 +93,39 @@ class CloudKeyNamerTest extends AnyFunSuite with Matchers with OptionValues with
     either.value shouldBe Map(HeaderPartitionField(PartitionNamePath("h")) -> "val1/val2")
   }
 
+  test("the partition values are read from nested struct fields of each schema") {
+    val partitionSelection =
+      PartitionSelection(isCustom = false, List(ValuePartitionField(PartitionNamePath("address", "city"))), Values)
+    val keyNamer = CloudKeyNamer(
+      formatSelection,
+      partitionSelection,
+      new OffsetFileNamer(paddingStrategy, JsonFormatSelection.extension),
+      paddingService,
+    )
+
+    def partitionValues(city: Schema, value: String): Map[PartitionField, String] = {
+      val addressSchema = SchemaBuilder.struct().field("city", city).build()
+      val schema        = SchemaBuilder.struct().field("address", addressSchema).build()
+      val struct =
+        new Struct(schema).put("address", new Struct(addressSchema).put("city", value))
+      keyNamer.processPartitionValues(
+        MessageDetail(
+          NullSinkData(None),
+          StructSinkData(struct),
+          Map.empty,
+          None,
+          topicPartition.topic,
+          topicPartition.partition,
+          topicPartition.offset,
+        ),
+        topicPartition.toTopicPartition,
+      ).value
+    }
+
+    partitionValues(Schema.STRING_SCHEMA, "london") shouldBe Map(partitionSelection.partitions.head -> "london")
+    partitionValues(Schema.OPTIONAL_STRING_SCHEMA, null) shouldBe Map(partitionSelection.partitions.head -> "[missing]")
+  }
+
   test("stagingFile should generate the correct staging file path with no prefix") {
     val stagingDirectory = Files.createTempDirectory("myTempDir").toFile
 
@@ -15,6 +15,7 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.sink.naming
 
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.sink.config.padding.PaddingType.LeftPad
 import org.scalatest.funsuite.AnyFunSuite
@@ -42,4 +43,39 @@ class FileNamerTest extends AnyFunSuite with Matchers {
 
     result shouldEqual "topic(00009_00081).avro"
   }
+
+  test("OffsetFileNamer.parse should read back the file name") {
+
+    val namer = new OffsetFileNamer(paddingStrategy, extension)
+
+    namer.parse("00081_1_9.avro") shouldEqual Some(NamedFile("00081_1_9.avro", None, Offset(81), Some(1L), Some(9L)))
+    namer.parse("00081_1_9.json") shouldEqual None
+    namer.parse("topic(00009_00081).avro") shouldEqual None
+  }
+
+  test("OffsetFileNamer.mergedFileName should name the file after the last offset and the whole timestamp range") {
+
+    val namer = new OffsetFileNamer(paddingStrategy, extension)
+    val files = Seq("00079_3_5.avro", "00081_1_9.avro", "00080_2_4.avro").flatMap(namer.parse)
+
+    namer.mergedFileName(files) shouldEqual "00081_1_9.avro"
+  }
+
+  test("TopicPartitionOffsetFileNamer.parse should read back the file name") {
+
+    val namer = new TopicPartitionOffsetFileNamer(paddingStrategy, paddingStrategy, extension)
+
+    namer.parse("topic(00009_00081).avro") shouldEqual Some(
+      NamedFile("topic(00009_00081).avro", Some(Topic("topic").withPartition(9)), Offset(81), None, None),
+    )
+    namer.parse("00081_1_9.avro") shouldEqual None
+  }
+
+  test("TopicPartitionOffsetFileNamer.mergedFileName should name the file after the last offset") {
+
+    val namer = new TopicPartitionOffsetFileNamer(paddingStrategy, paddingStrategy, extension)
+    val files = Seq("topic(00009_00079).avro", "topic(00009_00081).avro").flatMap(namer.parse)
+
+    namer.mergedFileName(files) shouldEqual "topic(00009_00081).avro"
+  }
 }
@@ -23,6 +23,7 @@ import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.sink.BatchCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.FatalCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.NonFatalCloudSinkError
 import io.lenses.streamreactor.connect.cloud.common.sink.naming.IndexFilenames
@@ -383,4 +384,57 @@ class IndexManagerTest extends AnyFlatSpec with MockitoSugar with EitherValues w
     result shouldBe a[NonFatalCloudSinkError]
   }
 
+  "open" should "seek the topic/partitions concurrently" in {
+    val partitions = (0 until 8).map(Topic("myTopic").withPartition)
+    partitions.foreach { tp =>
+      val indexFile = f".indexes/sinkName/myTopic/${tp.partition}%05d/${tp.partition * 10}%020d"
+      when(storageInterface.listKeysRecursive(bucketName, f".indexes/sinkName/myTopic/${tp.partition}%05d/".some))
+        .thenReturn(
+          ListOfKeysResponse[TestFileMetadata](
+            bucketName,
+            f".indexes/sinkName/myTopic/${tp.partition}%05d/".some,
+            List(indexFile),
+            TestFileMetadata(indexFile, Instant.now()),
+          ).some.asRight,
+        )
+      when(storageInterface.getBlobAsString(bucketName, indexFile)).thenReturn(s"myTopic/${tp.partition}.json".asRight)
+    }
+    when(storageInterface.pathExists(anyString(), anyString())).thenReturn(true.asRight)
+    when(storageInterface.deleteFiles(eqTo(bucketName), any[Seq[String]])).thenReturn(().asRight)
+
+    val parallelIndexManager = new IndexManager(
+      maxIndexes,
+      new IndexFilenames(".indexes"),
+      _ => CloudLocation(bucketName, none, none, none).asRight,
+      seekParallelism = 4,
+    )
+
+    parallelIndexManager.open(partitions.toSet).value should be(
+      partitions.map(tp => tp -> Offset(tp.partition.toLong * 10)).toMap,
+    )
+    parallelIndexManager.getSeekedOffsetForTopicPartition(partitions(3)).value should be(Offset(30))
+  }
+
+  "open" should "aggregate the errors of the concurrent seeks" in {
+    val partitions = (0 until 4).map(Topic("myTopic").withPartition)
+    when(storageInterface.listKeysRecursive(anyString(), any[Option[String]])).thenReturn(none.asRight)
+
+    val parallelIndexManager = new IndexManager(
+      maxIndexes,
+      new IndexFilenames(".indexes"),
+      {
+        case tp if tp.partition == 1 => FatalCloudSinkError("No bucket configured", tp).asLeft
+        case _                       => CloudLocation(bucketName, none, none, none).asRight
+      },
+      seekParallelism = 4,
+    )
+
+    parallelIndexManager.open(partitions.toSet).left.value match {
+      case BatchCloudSinkError(fatal, nonFatal) =>
+        fatal.map(_.topicPartition) should be(Set(partitions(1)))
+        nonFatal should be(empty)
+      case other => fail(s"Unexpected error $other")
+    }
+  }
+
 }
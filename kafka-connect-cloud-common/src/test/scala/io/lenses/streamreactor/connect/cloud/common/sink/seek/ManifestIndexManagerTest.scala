@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.seek
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.catsSyntaxOptionId
+import cats.implicits.none
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.sink.FatalCloudSinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.IndexFilenames
+import io.lenses.streamreactor.connect.cloud.common.storage._
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData.cloudLocationValidator
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.ArgumentMatchers.{ eq => eqTo }
+import org.mockito.MockitoSugar
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.BeforeAndAfter
+import org.scalatest.EitherValues
+import org.scalatest.OptionValues
+
+import java.time.Instant
+
+class ManifestIndexManagerTest
+    extends AnyFlatSpec
+    with MockitoSugar
+    with EitherValues
+    with OptionValues
+    with BeforeAndAfter {
+
+  private implicit val connectorTaskId:  ConnectorTaskId                    = ConnectorTaskId("sinkName", 1, 1)
+  private implicit val storageInterface: StorageInterface[TestFileMetadata] = mock[StorageInterface[TestFileMetadata]]
+
+  private val bucketName = "my-bucket"
+
+  private val targetPath     = "myPrefix/myTopic/5/100.json"
+  private val nextTargetPath = "myPrefix/myTopic/5/200.json"
+  private val manifestPath   = ".indexes/sinkName/myTopic/00005.manifest.json"
+  private val topicPartition = Topic("myTopic").withPartition(5)
+
+  private def manifestString(manifest: IndexManifest): UploadableString =
+    UploadableString(manifest.asJson.noSpaces)
+
+  private def newIndexManager() = new ManifestIndexManager(
+    5,
+    new IndexFilenames(".indexes"),
+    _ => CloudLocation(targetPath, none, none, none).asRight,
+  )
+
+  before {
+    when(storageInterface.system()).thenReturn("TestaCloud")
+  }
+
+  after {
+    reset(storageInterface)
+  }
+
+  "write" should "create the manifest for a topic/partition" in {
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn("v1".asRight)
+
+    val res = newIndexManager().write(bucketName, targetPath, topicPartition.withOffset(Offset(100)))
+
+    res.value should be(manifestPath)
+    verify(storageInterface).writeStringIfVersion(
+      bucketName,
+      manifestPath,
+      manifestString(IndexManifest(none, PendingIndex(100, targetPath).some)),
+      none,
+    )
+  }
+
+  "write" should "record the cleaned file as committed on the next write, without listing or deleting" in {
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn("v1".asRight, "v2".asRight)
+
+    val indexManager = newIndexManager()
+    val written      = indexManager.write(bucketName, targetPath, topicPartition.withOffset(Offset(100))).value
+    indexManager.clean(bucketName, written, topicPartition).value should be(0)
+    indexManager.write(bucketName, nextTargetPath, topicPartition.withOffset(Offset(200))).value should be(
+      manifestPath,
+    )
+
+    verify(storageInterface).writeStringIfVersion(
+      bucketName,
+      manifestPath,
+      manifestString(IndexManifest(100L.some, PendingIndex(200, nextTargetPath).some)),
+      "v1".some,
+    )
+    verify(storageInterface, never).listKeysRecursive(any[String], any[Option[String]])
+    verify(storageInterface, never).deleteFiles(any[String], any[Seq[String]])
+  }
+
+  "write" should "fail when another writer has modified the manifest" in {
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn(PreconditionFailedError(new IllegalStateException("412"), manifestPath).asLeft)
+    when(storageInterface.getBlobAsStringWithVersion(bucketName, manifestPath)).thenReturn(
+      VersionedString(IndexManifest(50L.some, none).asJson.noSpaces, "v9").some.asRight,
+    )
+
+    val res = newIndexManager().write(bucketName, targetPath, topicPartition.withOffset(Offset(100)))
+
+    res.left.value shouldBe a[FatalCloudSinkError]
+  }
+
+  "write" should "accept a failed condition when the manifest already holds the write" in {
+    val manifest = IndexManifest(none, PendingIndex(100, targetPath).some)
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn(PreconditionFailedError(new IllegalStateException("412"), manifestPath).asLeft)
+    when(storageInterface.getBlobAsStringWithVersion(bucketName, manifestPath)).thenReturn(
+      VersionedString(manifest.asJson.noSpaces, "v1").some.asRight,
+    )
+
+    val res = newIndexManager().write(bucketName, targetPath, topicPartition.withOffset(Offset(100)))
+
+    res.value should be(manifestPath)
+  }
+
+  "initial seek" should "seek the pending file when it exists" in {
+    when(storageInterface.getBlobAsStringWithVersion(bucketName, manifestPath)).thenReturn(
+      VersionedString(IndexManifest(100L.some, PendingIndex(200, nextTargetPath).some).asJson.noSpaces, "v3")
+        .some.asRight,
+    )
+    when(storageInterface.pathExists(bucketName, nextTargetPath)).thenReturn(true.asRight)
+
+    newIndexManager().initialSeek(topicPartition, bucketName).value should be(
+      topicPartition.withOffset(Offset(200)).some,
+    )
+    verify(storageInterface, never).listKeysRecursive(any[String], any[Option[String]])
+  }
+
+  "initial seek" should "seek the committed offset when the pending file does not exist" in {
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn("v4".asRight)
+    when(storageInterface.getBlobAsStringWithVersion(bucketName, manifestPath)).thenReturn(
+      VersionedString(IndexManifest(100L.some, PendingIndex(200, nextTargetPath).some).asJson.noSpaces, "v3")
+        .some.asRight,
+    )
+    when(storageInterface.pathExists(bucketName, nextTargetPath)).thenReturn(false.asRight)
+
+    val indexManager = newIndexManager()
+    indexManager.initialSeek(topicPartition, bucketName).value should be(topicPartition.withOffset(Offset(100)).some)
+
+    indexManager.write(bucketName, nextTargetPath, topicPartition.withOffset(Offset(200))).value should be(
+      manifestPath,
+    )
+    verify(storageInterface).writeStringIfVersion(
+      bucketName,
+      manifestPath,
+      manifestString(IndexManifest(100L.some, PendingIndex(200, nextTargetPath).some)),
+      "v3".some,
+    )
+  }
+
+  "initial seek" should "migrate from the index files when there is no manifest" in {
+    val legacyIndex = ".indexes/sinkName/myTopic/00005/00000000000000000070"
+    when(storageInterface.getBlobAsStringWithVersion(bucketName, manifestPath)).thenReturn(none.asRight)
+    when(storageInterface.listKeysRecursive(any[String], any[Option[String]])).thenReturn(
+      ListOfKeysResponse[TestFileMetadata](
+        bucketName,
+        ".indexes/sinkName/myTopic/00005/".some,
+        List(legacyIndex),
+        TestFileMetadata(legacyIndex, Instant.now()),
+      ).some.asRight,
+    )
+    when(storageInterface.getBlobAsString(bucketName, legacyIndex)).thenReturn("myPrefix/myTopic/5/70.json".asRight)
+    when(storageInterface.pathExists(bucketName, "myPrefix/myTopic/5/70.json")).thenReturn(true.asRight)
+    when(storageInterface.deleteFiles(eqTo(bucketName), any[Seq[String]])).thenReturn(().asRight)
+    when(
+      storageInterface.writeStringIfVersion(anyString(), anyString(), any[UploadableString], any[Option[String]]),
+    ).thenReturn("v1".asRight)
+
+    val indexManager = newIndexManager()
+    indexManager.initialSeek(topicPartition, bucketName).value should be(topicPartition.withOffset(Offset(70)).some)
+
+    val written = indexManager.write(bucketName, targetPath, topicPartition.withOffset(Offset(100))).value
+    verify(storageInterface).writeStringIfVersion(
+      bucketName,
+      manifestPath,
+      manifestString(IndexManifest(70L.some, PendingIndex(100, targetPath).some)),
+      none,
+    )
+
+    indexManager.clean(bucketName, written, topicPartition).value should be(1)
+    verify(storageInterface).deleteFiles(bucketName, Seq(legacyIndex))
+  }
+
+}
@@ -17,6 +17,7 @@ package io.lenses.streamreactor.connect.cloud.common.sink.transformers
 
 import io.lenses.streamreactor.connect.cloud.common.config.DataStorageSettings
 import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.BooleanSinkData
@@ -31,6 +32,9 @@ import org.scalatest.matchers.should.Matchers
 import java.time.Instant
 
 class DataSchemaBuilderTest extends AnyFunSuite with Matchers {
+
+  implicit private val schemaCache: SchemaCache = new SchemaCache()
+
   test("create envelope schema containing Key, Values, Headers, and Metadata") {
     val storageSettings =
       DataStorageSettings(envelope = true, value = true, key = true, metadata = true, headers = true)
@@ -17,6 +17,7 @@ package io.lenses.streamreactor.connect.cloud.common.sink.transformers
 
 import io.lenses.streamreactor.connect.cloud.common.config.DataStorageSettings
 import io.lenses.streamreactor.connect.cloud.common.formats.writer._
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaCache
 import io.lenses.streamreactor.connect.cloud.common.model.Offset
 import io.lenses.streamreactor.connect.cloud.common.model.Topic
 import io.lenses.streamreactor.connect.cloud.common.sink.conversion.ArraySinkData
@@ -39,6 +40,9 @@ import scala.jdk.CollectionConverters.MapHasAsJava
 import scala.jdk.CollectionConverters.SeqHasAsJava
 
 class EnvelopeWithSchemaTransformerTests extends AnyFunSuite with Matchers {
+
+  implicit private val schemaCache: SchemaCache = new SchemaCache()
+
   test("returns an error when the topic does not match") {
     val transformer = EnvelopeWithSchemaTransformer(Topic("different"), DataStorageSettings.enabled)
     val expected = MessageDetail(
@@ -262,6 +266,28 @@ class EnvelopeWithSchemaTransformerTests extends AnyFunSuite with Matchers {
     )
     run(settings, expected)
   }
+  test("messages with equal schemas share the envelope schema") {
+    def message(offset: Long) = MessageDetail(
+      StringSinkData("key", Some(Schema.STRING_SCHEMA)),
+      StructSinkData(SampleData.Users(offset.toInt)),
+      Map("header1" -> StringSinkData("value1", Some(SchemaBuilder.string().build()))),
+      Some(Instant.now()),
+      Topic("topic1"),
+      0,
+      Offset(offset),
+    )
+    val transformer = EnvelopeWithSchemaTransformer(Topic("topic1"), DataStorageSettings.enabled)
+    val first       = transformer.transform(message(1)).getOrElse(fail("Should have returned a message"))
+    val second      = transformer.transform(message(2)).getOrElse(fail("Should have returned a message"))
+
+    first.value.schema().get should be theSameInstanceAs second.value.schema().get
+
+    val withoutMetadata =
+      EnvelopeWithSchemaTransformer(Topic("topic1"), DataStorageSettings.enabled.copy(metadata = false))
+        .transform(message(3)).getOrElse(fail("Should have returned a message"))
+    withoutMetadata.value.schema().get should not be theSameInstanceAs(first.value.schema().get)
+  }
+
   private def run(settings: DataStorageSettings, expected: MessageDetail): Assertion = {
     val transformer = EnvelopeWithSchemaTransformer(Topic("topic1"), settings)
     val actual      = transformer.transform(expected).getOrElse(fail("Should have returned a message"))
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.writer
+
+import cats.implicits.catsSyntaxEitherId
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.FormatWriter
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.MessageDetail
+import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.SchemaChangeDetector
+import io.lenses.streamreactor.connect.cloud.common.model.Offset
+import io.lenses.streamreactor.connect.cloud.common.model.Topic
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartition
+import io.lenses.streamreactor.connect.cloud.common.model.TopicPartitionOffset
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableFile
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.sink.SinkError
+import io.lenses.streamreactor.connect.cloud.common.sink.commit.CommitPolicy
+import io.lenses.streamreactor.connect.cloud.common.sink.commit.Count
+import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionField
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WholeKeyPartitionField
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
+import io.lenses.streamreactor.connect.cloud.common.sink.conversion.StringSinkData
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.KeyNamer
+import io.lenses.streamreactor.connect.cloud.common.sink.naming.ObjectKeyBuilder
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.IndexManager
+import io.lenses.streamreactor.connect.cloud.common.storage.FileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import org.apache.kafka.clients.consumer.OffsetAndMetadata
+import org.mockito.ArgumentMatchersSugar._
+import org.mockito.MockitoSugar
+import org.scalatest.EitherValues
+import org.scalatest.funsuite.AnyFunSuiteLike
+import org.scalatest.matchers.should.Matchers
+
+import java.io.File
+
+class WriterManagerTest extends AnyFunSuiteLike with Matchers with MockitoSugar with EitherValues {
+
+  private implicit val connectorTaskId: ConnectorTaskId = ConnectorTaskId("test-connector", 1, 1)
+
+  private val topic          = Topic("topic")
+  private val bytesPerRecord = 100L
+
+  private def createManager(
+    writerBudget:  WriterBudget,
+    writerIndexer: WriterIndexer[FileMetadata] = new WriterIndexer[FileMetadata](None),
+  )(
+    implicit
+    storageInterface: StorageInterface[FileMetadata],
+  ): WriterManager[FileMetadata] = {
+    val keyNamer = mock[KeyNamer]
+    when(keyNamer.processPartitionValues(any[MessageDetail], any[TopicPartition])).thenAnswer(
+      (messageDetail: MessageDetail, _: TopicPartition) =>
+        Map[PartitionField, String](WholeKeyPartitionField -> messageDetail.key.toString).asRight[SinkError],
+    )
+    val objKeyBuilderFn: (TopicPartition, Map[PartitionField, String]) => ObjectKeyBuilder =
+      (topicPartition, partitionValues) =>
+        (offset: Offset, _: Long, _: Long) =>
+          CloudLocation("bucket", path = Some(s"$topicPartition/${partitionValues.values.mkString}/$offset")).asRight
+    val formatWriterFn: (TopicPartition, File) => Either[SinkError, FormatWriter] = (_, _) =>
+      new FormatWriter {
+        private var pointer = 0L
+
+        override def rolloverFileOnSchemaChange(): Boolean = false
+
+        override def write(message: MessageDetail): Either[Throwable, Unit] = {
+          pointer += bytesPerRecord
+          ().asRight
+        }
+
+        override def getPointer: Long = pointer
+
+        override def complete(): Either[SinkError, Unit] = ().asRight
+      }.asRight
+    new WriterManager[FileMetadata](
+      _ => CommitPolicy(Count(1000)).asRight,
+      _ => CloudLocation("bucket").asRight,
+      _ => keyNamer.asRight,
+      (_, _) => File.createTempFile("writer-manager", ".staging").asRight,
+      objKeyBuilderFn,
+      formatWriterFn,
+      writerIndexer,
+      _.asRight,
+      mock[SchemaChangeDetector],
+      writerBudget,
+    )
+  }
+
+  private def storage(): StorageInterface[FileMetadata] = {
+    val storageInterface = mock[StorageInterface[FileMetadata]]
+    when(storageInterface.uploadFile(any[UploadableFile], anyString(), anyString())).thenReturn(().asRight)
+    storageInterface
+  }
+
+  private def write(manager: WriterManager[FileMetadata], partition: Int, key: String, offset: Long) =
+    manager.write(
+      topic.withPartition(partition).withOffset(Offset(offset)),
+      MessageDetail(StringSinkData(key), StringSinkData("value"), Map.empty, None, topic, partition, Offset(offset)),
+    )
+
+  private def committedPartitions(manager: WriterManager[FileMetadata]): Set[Int] =
+    manager.preCommit((0 to 3).map(p => topic.withPartition(p) -> new OffsetAndMetadata(0)).toMap)
+      .keySet.map(_.partition)
+
+  test("writers are not committed early when the budget is unlimited") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget.Unlimited)
+
+    (0 to 3).foreach(p => write(manager, p, s"key-$p", 1L).value shouldBe ())
+
+    committedPartitions(manager) shouldBe empty
+    verify(storageInterface, never).uploadFile(any[UploadableFile], anyString(), anyString())
+  }
+
+  test("the least recently written topic partition is committed when too many writers are open") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget(Some(2), None))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 1, "b", 1L).value shouldBe ()
+    write(manager, 0, "a", 2L).value shouldBe ()
+    committedPartitions(manager) shouldBe empty
+
+    write(manager, 2, "c", 1L).value shouldBe ()
+    committedPartitions(manager) shouldBe Set(1)
+  }
+
+  test("all the writers of the least recently written topic partition are committed together") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget(Some(2), None))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 0, "b", 2L).value shouldBe ()
+    write(manager, 1, "c", 1L).value shouldBe ()
+
+    committedPartitions(manager) shouldBe Set(0)
+    verify(storageInterface, times(2)).uploadFile(any[UploadableFile], anyString(), anyString())
+
+    write(manager, 1, "d", 2L).value shouldBe ()
+    committedPartitions(manager) shouldBe Set(0)
+  }
+
+  test("the least recently written topic partition is committed when too many bytes are buffered") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget(None, Some(250L)))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 1, "b", 1L).value shouldBe ()
+    committedPartitions(manager) shouldBe empty
+
+    write(manager, 1, "b", 2L).value shouldBe ()
+    committedPartitions(manager) shouldBe Set(0)
+
+    write(manager, 2, "c", 1L).value shouldBe ()
+    committedPartitions(manager) shouldBe Set(0, 1)
+  }
+
+  test("writers closed by a clean up no longer count towards the budget") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget(Some(2), None))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 1, "b", 1L).value shouldBe ()
+    manager.cleanUp(topic.withPartition(0))
+    write(manager, 2, "c", 1L).value shouldBe ()
+
+    committedPartitions(manager) shouldBe empty
+  }
+
+  test("the idle writers of a committed topic partition are dropped, keeping its committed offset") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val manager = createManager(WriterBudget(Some(2), None))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 0, "b", 2L).value shouldBe ()
+    write(manager, 1, "c", 3L).value shouldBe ()
+
+    manager.writerCount shouldBe 2
+    manager.preCommit(Map(topic.withPartition(0) -> new OffsetAndMetadata(0)))
+      .get(topic.withPartition(0)).map(_.offset()) shouldBe Some(2L)
+
+    write(manager, 0, "a", 4L).value shouldBe ()
+    manager.writerCount shouldBe 3
+  }
+
+  test("the records sent again for a dropped writer are skipped") {
+    implicit val storageInterface: StorageInterface[FileMetadata] = storage()
+    val indexManager = mock[IndexManager[FileMetadata]]
+    when(indexManager.getSeekedOffsetForTopicPartition(any[TopicPartition])).thenReturn(None)
+    when(indexManager.write(anyString(), anyString(), any[TopicPartitionOffset])).thenReturn("index".asRight)
+    when(indexManager.clean(anyString(), anyString(), any[TopicPartition])).thenReturn(1.asRight)
+    val manager = createManager(WriterBudget(Some(2), None), new WriterIndexer[FileMetadata](Some(indexManager)))
+
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 0, "b", 2L).value shouldBe ()
+    write(manager, 1, "c", 3L).value shouldBe ()
+    manager.writerCount shouldBe 2
+
+    // Connect sends the batch again, after a retriable error
+    write(manager, 0, "a", 1L).value shouldBe ()
+    write(manager, 0, "b", 2L).value shouldBe ()
+    write(manager, 2, "d", 1L).value shouldBe ()
+    write(manager, 3, "e", 1L).value shouldBe ()
+
+    verify(storageInterface, times(1)).uploadFile(any[UploadableFile], anyString(), contains("/a/"))
+  }
+}
@@ -57,4 +57,44 @@ class SourceWatermarkTest extends AnyFlatSpec with Matchers {
     )
   }
 
+  "fromSourceOffset" should "include the byte offset when there is one" in {
+    val nowInst = Instant.now
+    SourceWatermark.offset(
+      CloudLocation("test-bucket", "test-prefix".some).withPath("test-path"),
+      100L,
+      nowInst,
+      lastLine   = false,
+      byteOffset = 2048L.some,
+    ).asScala.toMap shouldBe Map(
+      "path" -> "test-path",
+      "line" -> "100",
+      "ts"   -> nowInst.toEpochMilli.toString,
+      "last" -> "f",
+      "byte" -> "2048",
+    )
+  }
+
+  "mapToOffset" should "read the byte offset when there is one" in {
+    val root = CloudLocation("test-bucket", "test-prefix".some)
+    val offsetMap = Map(
+      "path" -> "test-path",
+      "line" -> "100",
+      "ts"   -> "1000",
+      "last" -> "f",
+      "byte" -> "2048",
+    )
+    val location = SourceWatermark.mapToOffset(root, offsetMap)
+
+    location.flatMap(_.line) shouldBe Some(100)
+    location.flatMap(_.byteOffset) shouldBe Some(2048L)
+  }
+
+  "mapToOffset" should "fall back to the line when there is no byte offset" in {
+    val root     = CloudLocation("test-bucket", "test-prefix".some)
+    val location = SourceWatermark.mapToOffset(root, Map("path" -> "test-path", "line" -> "100", "ts" -> "1000"))
+
+    location.flatMap(_.line) shouldBe Some(100)
+    location.flatMap(_.byteOffset) shouldBe None
+  }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.checkpoint
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.catsSyntaxOptionId
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.TestFileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.FileLoadError
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchersSugar._
+import org.mockito.MockitoSugar
+import org.scalatest.OptionValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.time.Instant
+
+class ListingCheckpointStoreTest extends AnyFlatSpec with Matchers with MockitoSugar with OptionValues {
+  private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
+
+  private val taskId     = ConnectorTaskId("my-connector", 1, 0)
+  private val location   = CloudLocation("bucket", "data/2024/".some)
+  private val checkpoint =
+    ListingCheckpoint("data/2024/0001.json".some, "data/2024/0002.tmp", Instant.ofEpochMilli(1000))
+
+  "ListingCheckpointStore" should "not store anything when disabled" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val store            = ListingCheckpointStore(enabled = false, storageInterface, taskId)
+
+    store.saveListing(location, checkpoint)
+    store.loadListing(location) should be(None)
+    verifyZeroInteractions(storageInterface)
+  }
+
+  "StorageListingCheckpointStore" should "write the listing checkpoint under the source index directory" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.writeStringToFile(anyString(), anyString(), any[UploadableString])).thenReturn(
+      ().asRight[UploadError],
+    )
+    val store = new StorageListingCheckpointStore(storageInterface, taskId)
+
+    store.saveListing(location, checkpoint)
+
+    val captor = ArgumentCaptor.forClass(classOf[UploadableString])
+    verify(storageInterface).writeStringToFile(
+      eqTo("bucket"),
+      eqTo(".indexes/.source/my-connector/data/2024/listing.json"),
+      captor.capture(),
+    )
+    decode[ListingCheckpoint](captor.getValue.data) should be(Right(checkpoint))
+  }
+
+  it should "load a previously saved listing checkpoint" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val path             = ".indexes/.source/my-connector/data/2024/listing.json"
+    val json =
+      """{"lastFile":"data/2024/0001.json","continuation":"data/2024/0002.tmp","lastModified":"1970-01-01T00:00:01Z"}"""
+    when(storageInterface.pathExists("bucket", path)).thenReturn(true.asRight[FileLoadError])
+    when(storageInterface.getBlobAsString("bucket", path)).thenReturn(json.asRight[FileLoadError])
+
+    new StorageListingCheckpointStore(storageInterface, taskId).loadListing(location).value should be(checkpoint)
+  }
+
+  it should "return nothing when there is no checkpoint" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists(anyString(), anyString())).thenReturn(false.asRight[FileLoadError])
+
+    new StorageListingCheckpointStore(storageInterface, taskId).loadListing(location) should be(None)
+  }
+
+  it should "ignore a checkpoint it cannot read" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists(anyString(), anyString())).thenReturn(true.asRight[FileLoadError])
+    when(storageInterface.getBlobAsString(anyString(), anyString())).thenReturn("not json".asRight[FileLoadError])
+
+    new StorageListingCheckpointStore(storageInterface, taskId).loadListing(location) should be(None)
+  }
+
+  it should "only load the checkpointed partitions the task still owns" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val owningTask       = ConnectorTaskId("my-connector", 2, 0)
+    val partitions       = (1 to 10).map(i => s"data/$i/").toSet
+    val root             = CloudLocation("bucket", "data/".some)
+    val path             = ".indexes/.source/my-connector/data/partitions-0.json"
+    when(storageInterface.pathExists("bucket", path)).thenReturn(true.asRight[FileLoadError])
+    when(storageInterface.getBlobAsString("bucket", path)).thenReturn(
+      PartitionsCheckpoint(partitions).asJson.noSpaces.asRight[FileLoadError],
+    )
+
+    val loaded = new StorageListingCheckpointStore(storageInterface, owningTask).loadPartitions(root).value
+
+    loaded.partitions should be(partitions.filter(owningTask.ownsDir))
+  }
+
+  it should "keep the checkpoint of a bucket without prefix at the top of the connector directory" in {
+    val store = new StorageListingCheckpointStore(mock[StorageInterface[TestFileMetadata]], taskId)
+
+    store.checkpointPath(CloudLocation("bucket"), "listing.json") should be(
+      "bucket" -> ".indexes/.source/my-connector/listing.json",
+    )
+    store.checkpointPath(CloudLocation("bucket", "data".some), "listing.json") should be(
+      "bucket" -> ".indexes/.source/my-connector/data/listing.json",
+    )
+  }
+
+  it should "keep the checkpoints in the configured location, per source bucket" in {
+    val location = CheckpointLocation(CloudLocation("checkpoints", "source-state".some).some)
+    val store    = new StorageListingCheckpointStore(mock[StorageInterface[TestFileMetadata]], taskId, location)
+
+    store.checkpointPath(CloudLocation("bucket", "data".some), "listing.json") should be(
+      "checkpoints" -> "source-state/my-connector/bucket/data/listing.json",
+    )
+  }
+
+  "CheckpointLocation" should "recognise the keys of the checkpoints" in {
+    val default = CheckpointLocation.Default
+    default.contains("my-connector", "bucket", ".indexes/.source/my-connector/listing.json") should be(true)
+    default.contains("my-connector", "bucket", "data/file.json") should be(false)
+
+    val location = CheckpointLocation(CloudLocation("checkpoints", "source-state".some).some)
+    location.contains("my-connector", "checkpoints", "source-state/my-connector/bucket/listing.json") should be(true)
+    location.contains("my-connector", "checkpoints", "source-state-data/file.json") should be(false)
+    location.contains("my-connector", "bucket", "source-state/my-connector/bucket/listing.json") should be(false)
+  }
+}
@@ -15,6 +15,10 @@
  */
 package io.lenses.streamreactor.connect.cloud.common.source.config
 
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
 import org.apache.kafka.common.config.types.Password
 import org.scalatest.OptionValues
 import org.scalatest.flatspec.AnyFlatSpec
@@ -22,6 +26,7 @@ import org.scalatest.matchers.should.Matchers
 
 import java.lang
 import java.util
+import scala.concurrent.duration.DurationInt
 
 class CloudSourceSettingsTest extends AnyFlatSpec with Matchers with OptionValues with CloudSourceSettingsKeys {
 
@@ -104,6 +109,102 @@ class CloudSourceSettingsTest extends AnyFlatSpec with Matchers with OptionValue
     }
   }
 
+  "getPollParallelism" should "default to polling sequentially" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getPollParallelism(Map.empty) should be(SOURCE_POLL_PARALLELISM_DEFAULT)
+  }
+
+  "getPollParallelism" should "return the configured parallelism" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getPollParallelism(Map(SOURCE_POLL_PARALLELISM -> 8)) should be(8)
+  }
+
+  "getListingCheckpointEnabled" should "default to not checkpointing the listing" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getListingCheckpointEnabled(Map.empty) should be(false)
+  }
+
+  "getListingCheckpointEnabled" should "return the configured value" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getListingCheckpointEnabled(Map(SOURCE_LISTING_CHECKPOINT_ENABLED -> true)) should be(true)
+  }
+
+  "getListingCheckpointLocation" should "keep the checkpoints in the source buckets by default" in {
+    implicit val validator: CloudLocationValidator = SampleData.cloudLocationValidator
+    val settings: CloudSourceSettings = mockSettingsObject(includes = ".txt", excludes = ".log")
+
+    settings.getListingCheckpointLocation(Map.empty) should be(Right(CheckpointLocation.Default))
+  }
+
+  "getListingCheckpointLocation" should "parse the configured bucket and prefix" in {
+    implicit val validator: CloudLocationValidator = SampleData.cloudLocationValidator
+    val settings: CloudSourceSettings = mockSettingsObject(includes = ".txt", excludes = ".log")
+
+    settings.getListingCheckpointLocation(
+      Map(SOURCE_LISTING_CHECKPOINT_LOCATION -> "checkpoints:source-state"),
+    ) should be(Right(CheckpointLocation(Some(CloudLocation("checkpoints", Some("source-state"))))))
+  }
+  "getFileNotificationSettings" should "default to discovering files by listing only" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getFileNotificationSettings(Map.empty) should be(FileNotificationSettings.Disabled)
+  }
+  "getFileNotificationSettings" should "return the configured local notifications" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    val notifications = settings.getFileNotificationSettings(
+      Map[String, Any](
+        SOURCE_NOTIFICATIONS_TYPE                      -> "LOCAL",
+        SOURCE_NOTIFICATIONS_LOCAL_PATH                -> "/data/buckets",
+        SOURCE_NOTIFICATIONS_RECONCILE_INTERVAL_MILLIS -> 30000L,
+      ),
+    )
+    notifications.notificationType should be(FileNotificationType.Local)
+    notifications.localPath should be(Some("/data/buckets"))
+    notifications.reconcileInterval should be(30.seconds)
+    notifications.enabled should be(true)
+  }
+
+  "getFileSplitSize" should "default to not splitting objects" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getFileSplitSize(Map.empty) should be(0L)
+  }
+
+  "getFileSplitSize" should "return the configured split size" in {
+    val settings: CloudSourceSettings = mockSettingsObject(
+      includes = ".txt,.csv",
+      excludes = ".log",
+    )
+
+    settings.getFileSplitSize(Map(SOURCE_SPLIT_SIZE -> 134217728L)) should be(134217728L)
+  }
+
   override def connectorPrefix: String = "my.connector"
 
   private def mockSettingsObject(includes: String, excludes: String) = new CloudSourceSettings {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.config
+
+import io.lenses.streamreactor.connect.cloud.common.source.config.kcqlprops.CloudSourcePropsSchema
+import org.apache.kafka.common.config.ConfigException
+import org.scalatest.EitherValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class ParquetReadSettingsTest extends AnyFlatSpec with Matchers with EitherValues {
+
+  private def props(map: Map[String, String]) = CloudSourcePropsSchema.schema.readPropsMap(map)
+
+  "ParquetReadSettings.apply" should "decode through Avro when no properties are set" in {
+    ParquetReadSettings(props(Map.empty)).value shouldBe ParquetReadSettings.Default
+    ParquetReadSettings.Default.directDecoding shouldBe false
+  }
+
+  it should "enable direct decoding" in {
+    ParquetReadSettings(props(Map("read.parquet.direct" -> "true"))).value.directDecoding shouldBe true
+  }
+
+  it should "reject a value that is not a boolean" in {
+    ParquetReadSettings(props(Map("read.parquet.direct" -> "maybe"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "read the projected columns" in {
+    ParquetReadSettings(props(Map("read.parquet.columns" -> "name, salary"))).value.columns shouldBe Seq(
+      "name",
+      "salary",
+    )
+  }
+
+  it should "parse the filter conditions" in {
+    val settings = ParquetReadSettings(
+      props(Map("read.parquet.filter" -> "country = 'UK' and year >= 2020 AND address.city != London")),
+    ).value
+
+    settings.filters shouldBe Seq(
+      ParquetFilter("country", ParquetFilterOperator.Eq, "UK"),
+      ParquetFilter("year", ParquetFilterOperator.GtEq, "2020"),
+      ParquetFilter("address.city", ParquetFilterOperator.NotEq, "London"),
+    )
+  }
+
+  it should "not split the conditions on an and within a quoted value" in {
+    val settings = ParquetReadSettings(
+      props(Map("read.parquet.filter" -> "company = 'Smith and Sons' and name = O'Brien and year > 2020")),
+    ).value
+
+    settings.filters shouldBe Seq(
+      ParquetFilter("company", ParquetFilterOperator.Eq, "Smith and Sons"),
+      ParquetFilter("name", ParquetFilterOperator.Eq, "O'Brien"),
+      ParquetFilter("year", ParquetFilterOperator.Gt, "2020"),
+    )
+  }
+
+  it should "reject a filter which cannot be parsed" in {
+    ParquetReadSettings(props(Map("read.parquet.filter" -> "country ~ UK"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "reject a filter on a column outside of the projection" in {
+    ParquetReadSettings(
+      props(Map("read.parquet.columns" -> "name", "read.parquet.filter" -> "salary > 10")),
+    ).left.value shouldBe a[ConfigException]
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.config
+
+import io.lenses.streamreactor.connect.cloud.common.source.config.kcqlprops.CloudSourcePropsSchema
+import org.apache.kafka.common.config.ConfigException
+import org.scalatest.EitherValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class PrefetchSettingsTest extends AnyFlatSpec with Matchers with EitherValues {
+
+  private def props(map: Map[String, String]) = CloudSourcePropsSchema.schema.readPropsMap(map)
+
+  "PrefetchSettings.apply" should "disable the prefetch when no properties are set" in {
+    val settings = PrefetchSettings(props(Map.empty)).value
+
+    settings shouldBe PrefetchSettings.Disabled
+    settings.enabled shouldBe false
+  }
+
+  it should "read the depth and the memory cap" in {
+    val settings = PrefetchSettings(
+      props(Map("read.prefetch.depth" -> "4", "read.prefetch.max.bytes" -> "1048576")),
+    ).value
+
+    settings shouldBe PrefetchSettings(4, 1048576L)
+    settings.enabled shouldBe true
+  }
+
+  it should "reject a negative depth" in {
+    PrefetchSettings(props(Map("read.prefetch.depth" -> "-1"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "reject a depth above the maximum" in {
+    PrefetchSettings(props(Map("read.prefetch.depth" -> "17"))).left.value shouldBe a[ConfigException]
+  }
+
+  it should "share the memory cap between the objects opened ahead" in {
+    PrefetchSettings(4, 1000L).readAheadBytes shouldBe 250
+    PrefetchSettings(1, 10L * Int.MaxValue).readAheadBytes shouldBe Int.MaxValue - 8
+    PrefetchSettings.Disabled.readAheadBytes shouldBe 0
+  }
+
+  it should "reject a memory cap that is not positive" in {
+    PrefetchSettings(props(Map("read.prefetch.max.bytes" -> "0"))).left.value shouldBe a[ConfigException]
+  }
+}
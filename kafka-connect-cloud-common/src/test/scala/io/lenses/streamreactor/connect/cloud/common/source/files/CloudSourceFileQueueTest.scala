@@ -22,6 +22,7 @@ import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
 import io.lenses.streamreactor.connect.cloud.common.sink.seek.TestFileMetadata
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.ListingCheckpoint
 import io.lenses.streamreactor.connect.cloud.common.source.config.DeletePostProcessAction
 import io.lenses.streamreactor.connect.cloud.common.storage.FileListError
 import io.lenses.streamreactor.connect.cloud.common.storage.ListOfKeysResponse
@@ -35,6 +36,7 @@ import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 
 import java.time.Instant
+import scala.collection.mutable.ListBuffer
 
 class CloudSourceFileQueueTest extends AnyFlatSpec with Matchers with MockitoSugar with BeforeAndAfter {
   private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
@@ -212,6 +214,162 @@ class CloudSourceFileQueueTest extends AnyFlatSpec with Matchers with MockitoSug
 
   }
 
+  "list" should "keep listing past batches where every file was filtered out" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+
+    doAnswer((lastFile: Option[TestFileMetadata]) =>
+      lastFile.map(_.file) match {
+        case None          => filteredBatch("a.tmp")
+        case Some("a.tmp") => filteredBatch("b.tmp")
+        case Some("b.tmp") => extract(-1).map(_.copy(files = files.take(1))).asRight[FileListError]
+        case Some(_)       => none.asRight
+      },
+    ).when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val sourceFileQueue = new CloudSourceFileQueue(taskId, batchListerFn)
+
+    sourceFileQueue.next() should be(Right(Some(fileLocs(0).atLine(-1).withTimestamp(lastModified))))
+    verify(batchListerFn, times(3))(any[Option[TestFileMetadata]])
+  }
+
+  "list" should "list at most MaxPagesPerNext filtered batches per call and carry on from there" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+
+    doAnswer((lastFile: Option[TestFileMetadata]) => filteredBatch(lastFile.map(_.file).getOrElse("a") + ".tmp"))
+      .when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val sourceFileQueue = new CloudSourceFileQueue(taskId, batchListerFn)
+
+    sourceFileQueue.next() should be(Right(None))
+    verify(batchListerFn, times(CloudSourceFileQueue.MaxPagesPerNext))(any[Option[TestFileMetadata]])
+
+    sourceFileQueue.next() should be(Right(None))
+    verify(batchListerFn, times(CloudSourceFileQueue.MaxPagesPerNext * 2))(any[Option[TestFileMetadata]])
+  }
+
+  "list" should "stop listing when a filtered batch does not move the listing forward" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+
+    doAnswer((_: Option[TestFileMetadata]) => filteredBatch("a.tmp")).when(batchListerFn)(
+      any[Option[TestFileMetadata]],
+    )
+
+    val sourceFileQueue = new CloudSourceFileQueue(taskId, batchListerFn)
+
+    sourceFileQueue.next() should be(Right(None))
+    verify(batchListerFn, times(2))(any[Option[TestFileMetadata]])
+  }
+
+  "list" should "checkpoint the listing progress after each refill" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+    doAnswer(x => listBatch(x)).when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val checkpoints     = ListBuffer.empty[ListingCheckpoint]
+    val sourceFileQueue = fromCheckpoint(batchListerFn, CloudLocation(bucket, prefix.some), none, checkpoints += _)
+
+    sourceFileQueue.next() should be(Right(Some(fileLocs(0).atLine(-1).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(Some(fileLocs(1).atLine(-1).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(Some(fileLocs(2).atLine(-1).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(Some(fileLocs(3).atLine(-1).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(None))
+
+    checkpoints.toSeq should be(
+      Seq(
+        ListingCheckpoint(files(1).some, files(1), lastModified),
+        ListingCheckpoint(files(3).some, files(3), lastModified),
+      ),
+    )
+  }
+
+  "list" should "resume after the checkpoint continuation when it was taken after the starting file" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+    doAnswer(x => listBatch(x)).when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val sourceFileQueue = fromCheckpoint(
+      batchListerFn,
+      fileLocs(0).atLine(1000).withTimestamp(lastModified),
+      ListingCheckpoint(files(0).some, files(2), lastModified).some,
+      _ => (),
+    )
+
+    sourceFileQueue.next() should be(Right(Some(fileLocs(0).atLine(1000).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(Some(fileLocs(3).atLine(-1).withTimestamp(lastModified))))
+    verify(batchListerFn)(TestFileMetadata(files(2), lastModified).some)
+  }
+
+  "list" should "resume from the starting file when the checkpoint is for a different file" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+    doAnswer(x => listBatch(x)).when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val sourceFileQueue = fromCheckpoint(
+      batchListerFn,
+      fileLocs(0).atLine(1000).withTimestamp(lastModified),
+      ListingCheckpoint(files(1).some, files(2), lastModified).some,
+      _ => (),
+    )
+
+    sourceFileQueue.next() should be(Right(Some(fileLocs(0).atLine(1000).withTimestamp(lastModified))))
+    sourceFileQueue.next() should be(Right(Some(fileLocs(1).atLine(-1).withTimestamp(lastModified))))
+    verify(batchListerFn)(TestFileMetadata(files(0), lastModified).some)
+  }
+
+  "list" should "resume after the checkpoint continuation when nothing has been read yet" in {
+
+    val batchListerFn =
+      mock[Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]]]
+    doAnswer(x => listBatch(x)).when(batchListerFn)(any[Option[TestFileMetadata]])
+
+    val sourceFileQueue = fromCheckpoint(
+      batchListerFn,
+      CloudLocation(bucket, prefix.some),
+      ListingCheckpoint(none, files(1), lastModified).some,
+      _ => (),
+    )
+
+    sourceFileQueue.next() should be(Right(Some(fileLocs(2).atLine(-1).withTimestamp(lastModified))))
+    verify(batchListerFn)(TestFileMetadata(files(1), lastModified).some)
+  }
+
+  private def filteredBatch(lastListed: String): Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]] =
+    ListOfKeysResponse(bucket, prefix.some, Seq.empty[String], TestFileMetadata(lastListed, lastModified)).some.asRight
+
+  private def fromCheckpoint(
+    batchListerFn: Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]],
+    startingFile:  CloudLocation,
+    checkpoint:    Option[ListingCheckpoint],
+    checkpointFn:  ListingCheckpoint => Unit,
+  ): CloudSourceFileQueue[TestFileMetadata] = {
+    val mockStorageIface = mock[StorageInterface[TestFileMetadata]]
+    when(
+      mockStorageIface.seekToFile(
+        anyString(),
+        anyString(),
+        any[Option[Instant]],
+      ),
+    ).thenAnswer((_: String, file: String, _: Option[Instant]) => TestFileMetadata(file, lastModified).some)
+
+    CloudSourceFileQueue.from(batchListerFn,
+                              mockStorageIface,
+                              startingFile,
+                              taskId,
+                              Option.empty,
+                              checkpoint,
+                              checkpointFn,
+    )
+  }
+
   private def verifyRefreshAndRollover(
     batchListerFn:   Option[TestFileMetadata] => Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]],
     sourceFileQueue: CloudSourceFileQueue[TestFileMetadata],
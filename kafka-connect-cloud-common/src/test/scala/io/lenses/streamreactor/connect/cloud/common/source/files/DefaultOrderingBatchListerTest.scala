@@ -29,6 +29,8 @@ import org.scalatest.OptionValues
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 
+import java.time.Instant
+
 class DefaultOrderingBatchListerTest
     extends AnyFlatSpec
     with Matchers
@@ -46,13 +48,28 @@ class DefaultOrderingBatchListerTest
 
   "listBatch" should "return first result when no TopicPartitionOffset has been provided" in {
 
-    val serviceResponse: ListOfKeysResponse[TestFileMetadata] = mock[ListOfKeysResponse[TestFileMetadata]]
+    val serviceResponse: ListOfKeysResponse[TestFileMetadata] =
+      ListOfKeysResponse(bucket, prefix.some, Seq("prefix/file1"), TestFileMetadata("prefix/file1", Instant.now()))
     when(storageInterface.list(bucket, prefix.some, None, 10))
       .thenReturn(serviceResponse.some.asRight)
 
     listerFn(none).value.value should be(serviceResponse)
   }
 
+  "listBatch" should "leave out the excluded keys but keep the last listed file" in {
+    val lastListed = TestFileMetadata(".indexes/.source/listing.json", Instant.now())
+    when(storageInterface.list(bucket, none, None, 10)).thenReturn(
+      ListOfKeysResponse(bucket, none, Seq("file1", ".indexes/.source/listing.json"), lastListed).some.asRight,
+    )
+
+    val response = DefaultOrderingBatchLister.listBatch(storageInterface, bucket, none, 10, _.startsWith(".indexes/"))(
+      none,
+    ).value.value
+
+    response.files should be(Seq("file1"))
+    response.latestFileMetadata should be(lastListed)
+  }
+
   "listBatch" should "return empty when no results are found" in {
 
     when(storageInterface.list(bucket, prefix.some, None, 10)).thenReturn(
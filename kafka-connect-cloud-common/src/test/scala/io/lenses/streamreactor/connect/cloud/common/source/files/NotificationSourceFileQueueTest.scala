@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.files
+
+import cats.data.Validated
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotification
+import io.lenses.streamreactor.connect.cloud.common.source.notification.FileNotificationSubscription
+import io.lenses.streamreactor.connect.cloud.common.storage.FileListError
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import scala.collection.mutable
+import scala.concurrent.duration._
+
+class NotificationSourceFileQueueTest extends AnyFunSuite with Matchers {
+
+  implicit val cloudLocationValidator: CloudLocationValidator = (location: CloudLocation) => Validated.valid(location)
+  private val connectorTaskId = ConnectorTaskId("demo", 3, 1)
+
+  class MockTimeProvider(private var currentTime: Long) extends TimeProvider {
+    override def nanoTime(): Long = currentTime
+    def advance(duration: Duration): Unit =
+      currentTime += duration.toNanos
+  }
+
+  class RecordingSourceFileQueue(files: String*) extends SourceFileQueue {
+    val pending: mutable.Queue[String] = mutable.Queue(files: _*)
+    var calls:   Int                   = 0
+
+    override def next(): Either[FileListError, Option[CloudLocation]] = {
+      calls += 1
+      Right(Option.when(pending.nonEmpty)(CloudLocation("bucket", Some(pending.dequeue()))))
+    }
+  }
+
+  private def setup(files: String*) = {
+    val timeProvider = new MockTimeProvider(0L)
+    val delegate     = new RecordingSourceFileQueue(files: _*)
+    val subscription = new FileNotificationSubscription("bucket", "prefix/")
+    val queue = new NotificationSourceFileQueue(delegate, subscription, 1.minute, timeProvider, connectorTaskId)
+    (queue, delegate, subscription, timeProvider)
+  }
+
+  test("drains the delegate on start up") {
+    val (queue, delegate, _, _) = setup("prefix/1", "prefix/2")
+
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/1"))))
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/2"))))
+    queue.next() shouldBe Right(None)
+    delegate.calls shouldBe 3
+  }
+
+  test("does not list again until notified") {
+    val (queue, delegate, subscription, timeProvider) = setup()
+
+    queue.next() shouldBe Right(None)
+    timeProvider.advance(10.seconds)
+    queue.next() shouldBe Right(None)
+    queue.next() shouldBe Right(None)
+    delegate.calls shouldBe 1
+
+    delegate.pending.enqueue("prefix/3")
+    subscription.signal()
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/3"))))
+    delegate.calls shouldBe 2
+  }
+
+  test("keeps listing after a notification until the delegate runs dry") {
+    val (queue, delegate, subscription, _) = setup()
+
+    queue.next() shouldBe Right(None)
+    delegate.pending.enqueueAll(Seq("prefix/4", "prefix/5"))
+    subscription.signal()
+
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/4"))))
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/5"))))
+    queue.next() shouldBe Right(None)
+    queue.next() shouldBe Right(None)
+    delegate.calls shouldBe 4
+  }
+
+  test("lists again once the reconcile interval has passed without notifications") {
+    val (queue, delegate, _, timeProvider) = setup()
+
+    queue.next() shouldBe Right(None)
+    delegate.pending.enqueue("prefix/6")
+    timeProvider.advance(59.seconds)
+    queue.next() shouldBe Right(None)
+    timeProvider.advance(1.second)
+    queue.next() shouldBe Right(Some(CloudLocation("bucket", Some("prefix/6"))))
+    delegate.calls shouldBe 2
+  }
+
+  test("closes its subscription when closed") {
+    val timeProvider = new MockTimeProvider(0L)
+    var closed       = false
+    val subscription = new FileNotificationSubscription("bucket", "prefix/", _ => closed = true)
+    val queue = new NotificationSourceFileQueue(new RecordingSourceFileQueue(),
+                                                subscription,
+                                                1.minute,
+                                                timeProvider,
+                                                connectorTaskId,
+    )
+
+    queue.close()
+
+    closed shouldBe true
+  }
+
+  test("only wakes for notifications under the subscribed prefix") {
+    val subscription = new FileNotificationSubscription("bucket", "prefix/")
+
+    subscription.matches(FileNotification("bucket", "prefix/file.json")) shouldBe true
+    subscription.matches(FileNotification("bucket", "")) shouldBe true
+    subscription.matches(FileNotification("bucket", "other/file.json")) shouldBe false
+    subscription.matches(FileNotification("other", "prefix/file.json")) shouldBe false
+  }
+}
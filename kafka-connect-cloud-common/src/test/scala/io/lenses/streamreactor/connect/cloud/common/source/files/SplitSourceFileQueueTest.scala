@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.files
+
+import cats.implicits.catsSyntaxOptionId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class SplitSourceFileQueueTest extends AnyFlatSpec with Matchers {
+  private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
+
+  "next" should "return the object of the split once" in {
+    val location = CloudLocation("bucket", "data/big.json#split-1".some).withPath("data/big.json").fromStart()
+    val queue    = new SplitSourceFileQueue(location)
+
+    queue.next() should be(Right(Some(location)))
+    queue.next() should be(Right(None))
+    queue.next() should be(Right(None))
+  }
+}
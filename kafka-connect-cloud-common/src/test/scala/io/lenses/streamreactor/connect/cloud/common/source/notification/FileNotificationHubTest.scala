@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.notification
+
+import cats.data.Validated
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import scala.concurrent.duration._
+
+class FileNotificationHubTest extends AnyFunSuite with Matchers {
+
+  implicit val cloudLocationValidator: CloudLocationValidator = (location: CloudLocation) => Validated.valid(location)
+
+  class ManualFileNotificationSource extends FileNotificationSource {
+    var listener: Option[FileNotification => Unit] = None
+    var closed:   Boolean                          = false
+
+    override def start(listener: FileNotification => Unit): Unit = this.listener = Some(listener)
+
+    override def close(): Unit = closed = true
+
+    def emit(bucket: String, key: String): Unit = listener.foreach(_(FileNotification(bucket, key)))
+  }
+
+  test("signals the subscriptions matching a notification") {
+    val source = new ManualFileNotificationSource
+    val hub    = new FileNotificationHub(source, 1.minute)
+    hub.start()
+
+    val orders  = hub.subscribe(CloudLocation("bucket", Some("orders/")))
+    val refunds = hub.subscribe(CloudLocation("bucket", Some("refunds/")))
+
+    source.emit("bucket", "orders/2024/01/file.json")
+
+    orders.takeSignal() shouldBe true
+    orders.takeSignal() shouldBe false
+    refunds.takeSignal() shouldBe false
+  }
+
+  test("signals every subscription below a prefix notification") {
+    val source = new ManualFileNotificationSource
+    val hub    = new FileNotificationHub(source, 1.minute)
+    hub.start()
+
+    val january  = hub.subscribe(CloudLocation("bucket", Some("orders/2024/01/")))
+    val february = hub.subscribe(CloudLocation("bucket", Some("orders/2024/02/")))
+    val other    = hub.subscribe(CloudLocation("other", Some("orders/2024/01/")))
+
+    source.emit("bucket", "orders/")
+
+    january.takeSignal() shouldBe true
+    february.takeSignal() shouldBe true
+    other.takeSignal() shouldBe false
+  }
+
+  test("signals a subscription without a prefix for any file in its bucket") {
+    val source = new ManualFileNotificationSource
+    val hub    = new FileNotificationHub(source, 1.minute)
+    hub.start()
+
+    val subscription = hub.subscribe(CloudLocation("bucket"))
+
+    source.emit("bucket", "any/file.json")
+
+    subscription.takeSignal() shouldBe true
+  }
+
+  test("stops signalling a subscription once it is closed") {
+    val source = new ManualFileNotificationSource
+    val hub    = new FileNotificationHub(source, 1.minute)
+    hub.start()
+
+    val orders = hub.subscribe(CloudLocation("bucket", Some("orders/")))
+    orders.close()
+
+    source.emit("bucket", "orders/2024/01/file.json")
+
+    orders.takeSignal() shouldBe false
+  }
+
+  test("closes the notification source") {
+    val source = new ManualFileNotificationSource
+    val hub    = new FileNotificationHub(source, 1.minute)
+
+    hub.close()
+
+    source.closed shouldBe true
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.notification
+
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import org.scalatest.BeforeAndAfter
+import org.scalatest.funsuite.AnyFunSuite
+import org.scalatest.matchers.should.Matchers
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class LocalFileNotificationSourceTest extends AnyFunSuite with Matchers with BeforeAndAfter {
+
+  private val connectorTaskId = ConnectorTaskId("demo", 1, 0)
+
+  private var root: Path = _
+
+  before {
+    root = Files.createTempDirectory("local-notifications")
+  }
+
+  after {
+    val _ = root.toFile.delete()
+  }
+
+  test("maps paths below the root to bucket and key") {
+    val source = new LocalFileNotificationSource(root, connectorTaskId)
+
+    source.toNotification(root.resolve("bucket/prefix/file.json"), isDirectory = false) shouldBe
+      Some(FileNotification("bucket", "prefix/file.json"))
+    source.toNotification(root.resolve("bucket/prefix"), isDirectory = true) shouldBe
+      Some(FileNotification("bucket", "prefix/"))
+    source.toNotification(root.resolve("bucket"), isDirectory = true) shouldBe
+      Some(FileNotification("bucket", ""))
+    source.toNotification(root.resolve("file.json"), isDirectory = false) shouldBe None
+
+    source.close()
+  }
+
+  test("reports files created in a watched bucket") {
+    val bucket = Files.createDirectories(root.resolve("bucket/prefix"))
+    val source = new LocalFileNotificationSource(root, connectorTaskId)
+    val received = new LinkedBlockingQueue[FileNotification]()
+    source.start(notification => { val _ = received.offer(notification) })
+
+    try {
+      val _ = Files.createFile(bucket.resolve("file.json"))
+      received.poll(30, TimeUnit.SECONDS) shouldBe FileNotification("bucket", "prefix/file.json")
+    } finally {
+      source.close()
+      Files.delete(bucket.resolve("file.json"))
+      Files.delete(bucket)
+      Files.delete(root.resolve("bucket"))
+    }
+  }
+}
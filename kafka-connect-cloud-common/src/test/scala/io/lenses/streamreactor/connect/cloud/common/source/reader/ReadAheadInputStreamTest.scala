@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.reader
+
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+
+class ReadAheadInputStreamTest extends AnyFlatSpec with Matchers {
+
+  private class TrackingInputStream(bytes: Array[Byte]) extends ByteArrayInputStream(bytes) {
+    var closed = false
+    override def close(): Unit = closed = true
+  }
+
+  private val data = "0123456789".getBytes
+
+  "ReadAheadInputStream" should "serve the bytes read ahead and then the rest of the stream" in {
+    val underlying = new TrackingInputStream(data)
+    val stream     = new ReadAheadInputStream(underlying, 4)
+
+    underlying.available() shouldBe 6
+    new String(stream.readAllBytes()) shouldBe "0123456789"
+    underlying.closed shouldBe false
+
+    stream.close()
+    underlying.closed shouldBe true
+  }
+
+  it should "release the underlying stream once the whole object has been read ahead" in {
+    val underlying = new TrackingInputStream(data)
+    val stream     = new ReadAheadInputStream(underlying, 64)
+
+    underlying.closed shouldBe true
+    stream.available() shouldBe 10
+    stream.read() shouldBe '0'.toInt
+    stream.skip(5) shouldBe 5
+    new String(stream.readAllBytes()) shouldBe "6789"
+    stream.read() shouldBe -1
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.reader
+
+import cats.effect.unsafe.implicits.global
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.catsSyntaxOptionId
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.config.PrefetchSettings
+import io.lenses.streamreactor.connect.cloud.common.source.files.SourceFileQueue
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.mockito.MockitoSugar
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import scala.jdk.CollectionConverters.CollectionHasAsScala
+
+class ReaderPrefetcherTest extends AnyFlatSpec with Matchers with MockitoSugar {
+  private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
+
+  private val connectorTaskId = ConnectorTaskId("sourceName", 1, 1)
+  private val root            = CloudLocation("myBucket", "myPrefix".some)
+  private val file1           = root.withPath("myPrefix/1.json").fromStart()
+  private val file2           = root.withPath("myPrefix/2.json").fromStart()
+  private val file3           = root.withPath("myPrefix/3.json").fromStart()
+
+  private class RecordingBuilder {
+    val built   = new ConcurrentLinkedQueue[CloudLocation]()
+    val readers = Map(file1 -> mock[ResultReader], file2 -> mock[ResultReader], file3 -> mock[ResultReader])
+
+    def apply(location: CloudLocation): Either[Throwable, ResultReader] = {
+      built.add(location)
+      readers(location).asRight
+    }
+
+    def builtLocations: List[CloudLocation] = built.asScala.toList
+  }
+
+  "next" should "read the queue and build the reader on demand when the prefetch is disabled" in {
+    val fileSource = mock[SourceFileQueue]
+    when(fileSource.next()).thenReturn(file1.some.asRight)
+    val builder = new RecordingBuilder
+    val prefetcher = new ReaderPrefetcher(fileSource,
+                                          builder.apply,
+                                          builder.apply,
+                                          PrefetchSettings.Disabled,
+                                          connectorTaskId,
+    )
+
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file1).some
+    prefetcher.prefetch().unsafeRunSync()
+
+    verify(fileSource, times(1)).next()
+    builder.builtLocations shouldBe List(file1)
+  }
+
+  "next" should "return None when the queue has no files" in {
+    val fileSource = mock[SourceFileQueue]
+    when(fileSource.next()).thenReturn(None.asRight)
+    val builder = new RecordingBuilder
+    val prefetcher =
+      new ReaderPrefetcher(fileSource, builder.apply, builder.apply, PrefetchSettings(2, 100), connectorTaskId)
+
+    prefetcher.next().unsafeRunSync() shouldBe None
+    builder.builtLocations shouldBe empty
+  }
+
+  "prefetch" should "open the next files in the background and hand them out in the queue order" in {
+    val fileSource = mock[SourceFileQueue]
+    when(fileSource.next()).thenReturn(file1.some.asRight, file2.some.asRight, file3.some.asRight, None.asRight)
+    val builder         = new RecordingBuilder
+    val prefetchBuilder = new RecordingBuilder
+    val prefetcher = new ReaderPrefetcher(
+      fileSource,
+      builder.apply,
+      location => prefetchBuilder.apply(location).map(_ => builder.readers(location)),
+      PrefetchSettings(2, 100),
+      connectorTaskId,
+    )
+
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file1).some
+    prefetcher.prefetch().unsafeRunSync()
+    verify(fileSource, times(3)).next()
+
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file2).some
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file3).some
+    builder.builtLocations shouldBe List(file1)
+    prefetchBuilder.builtLocations.toSet shouldBe Set(file2, file3)
+    prefetchBuilder.builtLocations.size shouldBe 2
+  }
+
+  "prefetch" should "open files whatever their size, without asking the storage for it" in {
+    val fileSource = mock[SourceFileQueue]
+    when(fileSource.next()).thenReturn(file1.some.asRight, file2.some.asRight, None.asRight)
+    val builder = new RecordingBuilder
+    val prefetcher =
+      new ReaderPrefetcher(fileSource, builder.apply, builder.apply, PrefetchSettings(1, 1), connectorTaskId)
+
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file1).some
+    prefetcher.prefetch().unsafeRunSync()
+
+    prefetcher.next().unsafeRunSync() shouldBe builder.readers(file2).some
+    builder.builtLocations shouldBe List(file1, file2)
+  }
+
+  "close" should "close the readers opened in the background" in {
+    val fileSource = mock[SourceFileQueue]
+    when(fileSource.next()).thenReturn(file1.some.asRight, file2.some.asRight, None.asRight)
+    val builder = new RecordingBuilder
+    val prefetcher =
+      new ReaderPrefetcher(fileSource, builder.apply, builder.apply, PrefetchSettings(1, 100), connectorTaskId)
+
+    prefetcher.next().unsafeRunSync()
+    prefetcher.prefetch().unsafeRunSync()
+    prefetcher.close().unsafeRunSync()
+
+    builder.builtLocations shouldBe List(file1, file2)
+    verify(builder.readers(file2)).close()
+    verify(builder.readers(file1), never).close()
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import cats.implicits.catsSyntaxEitherId
+import cats.implicits.catsSyntaxOptionId
+import io.circe.parser.decode
+import io.circe.syntax.EncoderOps
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocation
+import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.TestFileMetadata
+import io.lenses.streamreactor.connect.cloud.common.storage.FileLoadError
+import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
+import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
+import io.lenses.streamreactor.connect.cloud.common.utils.SampleData
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchersSugar._
+import org.mockito.MockitoSugar
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.collection.mutable
+
+class FileSplitStoreTest extends AnyFlatSpec with Matchers with MockitoSugar {
+  private implicit val cloudLocationValidator: CloudLocationValidator = SampleData.cloudLocationValidator
+
+  private val taskId    = ConnectorTaskId("my-connector", 2, 1)
+  private val root      = CloudLocation("bucket", "data/".some)
+  private val indexPath = ".indexes/.source/my-connector/data/splits-1.json"
+  private val manifest  = FileSplitManifest("data/big.json", 250L, FileSplit.plan("data/big.json", 250L, 100L))
+
+  "FileSplitStore" should "not split anything when disabled" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val store            = FileSplitStore(enabled = false, storageInterface, taskId)
+
+    store.publish(root, manifest) should be(false)
+    store.complete(root, manifest.splits.head) should be(false)
+    store.load(root) should be(PublishedSplits.Empty)
+    verifyZeroInteractions(storageInterface)
+  }
+
+  "StorageFileSplitStore" should "add the splits to the index of the task" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists("bucket", indexPath)).thenReturn(false.asRight[FileLoadError])
+    when(storageInterface.writeStringToFile(anyString(), anyString(), any[UploadableString])).thenReturn(
+      ().asRight[UploadError],
+    )
+
+    new StorageFileSplitStore(storageInterface, taskId).publish(root, manifest) should be(true)
+
+    val captor = ArgumentCaptor.forClass(classOf[UploadableString])
+    verify(storageInterface).writeStringToFile(eqTo("bucket"), eqTo(indexPath), captor.capture())
+    decode[FileSplitIndex](captor.getValue.data) should be(Right(FileSplitIndex(Seq(manifest))))
+  }
+
+  it should "keep the first splits of an object published twice" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists("bucket", indexPath)).thenReturn(true.asRight[FileLoadError])
+    when(storageInterface.getBlobAsString("bucket", indexPath)).thenReturn(
+      FileSplitIndex(Seq(manifest)).asJson.noSpaces.asRight[FileLoadError],
+    )
+    val store = new StorageFileSplitStore(storageInterface, taskId)
+
+    store.publish(root, manifest.copy(splits = FileSplit.plan("data/big.json", 250L, 50L))) should be(true)
+    store.publish(root, manifest) should be(true)
+
+    verify(storageInterface, never).writeStringToFile(anyString(), anyString(), any[UploadableString])
+    verify(storageInterface, times(1)).getBlobAsString("bucket", indexPath)
+  }
+
+  it should "not split an object when the index cannot be read, rather than overwrite it" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists("bucket", indexPath)).thenReturn(true.asRight[FileLoadError])
+    when(storageInterface.getBlobAsString("bucket", indexPath)).thenReturn("not json".asRight[FileLoadError])
+
+    new StorageFileSplitStore(storageInterface, taskId).publish(root, manifest) should be(false)
+
+    verify(storageInterface, never).writeStringToFile(anyString(), anyString(), any[UploadableString])
+  }
+
+  it should "load the splits published by every task" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val other            = FileSplitManifest("data/other.csv", 150L, FileSplit.plan("data/other.csv", 150L, 100L))
+    Seq(0 -> other, 1 -> manifest).foreach {
+      case (taskNo, published) =>
+        val path = s".indexes/.source/my-connector/data/splits-$taskNo.json"
+        when(storageInterface.pathExists("bucket", path)).thenReturn(true.asRight[FileLoadError])
+        when(storageInterface.getBlobAsString("bucket", path)).thenReturn(
+          FileSplitIndex(Seq(published)).asJson.noSpaces.asRight[FileLoadError],
+        )
+    }
+
+    new StorageFileSplitStore(storageInterface, taskId).load(root) should be(
+      PublishedSplits(other.splits ++ manifest.splits, Set.empty),
+    )
+  }
+
+  it should "record the splits read by the task in its index" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists("bucket", indexPath)).thenReturn(false.asRight[FileLoadError])
+    when(storageInterface.writeStringToFile(anyString(), anyString(), any[UploadableString])).thenReturn(
+      ().asRight[UploadError],
+    )
+    val store = new StorageFileSplitStore(storageInterface, taskId)
+
+    store.complete(root, manifest.splits.head) should be(true)
+    store.complete(root, manifest.splits.head) should be(true)
+
+    val captor = ArgumentCaptor.forClass(classOf[UploadableString])
+    verify(storageInterface, times(1)).writeStringToFile(eqTo("bucket"), eqTo(indexPath), captor.capture())
+    decode[FileSplitIndex](captor.getValue.data) should be(
+      Right(FileSplitIndex(Seq.empty, Seq(manifest.splits.head.key))),
+    )
+  }
+
+  it should "not load the splits read by any task, and drop the objects read to the end from its index" in {
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    val other            = FileSplitManifest("data/other.csv", 150L, FileSplit.plan("data/other.csv", 150L, 100L))
+    Seq(
+      0 -> FileSplitIndex(Seq(other), manifest.splits.take(2).map(_.key)),
+      1 -> FileSplitIndex(Seq(manifest), manifest.splits.drop(2).map(_.key) ++ other.splits.take(1).map(_.key)),
+    ).foreach {
+      case (taskNo, index) =>
+        val path = s".indexes/.source/my-connector/data/splits-$taskNo.json"
+        when(storageInterface.pathExists("bucket", path)).thenReturn(true.asRight[FileLoadError])
+        when(storageInterface.getBlobAsString("bucket", path)).thenReturn(index.asJson.noSpaces.asRight[FileLoadError])
+    }
+    when(storageInterface.writeStringToFile(anyString(), anyString(), any[UploadableString])).thenReturn(
+      ().asRight[UploadError],
+    )
+
+    val published = new StorageFileSplitStore(storageInterface, taskId).load(root)
+
+    published.pending should be(other.splits.drop(1))
+    published.completed should be((manifest.splits ++ other.splits.take(1)).map(_.key).toSet)
+    val captor = ArgumentCaptor.forClass(classOf[UploadableString])
+    verify(storageInterface).writeStringToFile(eqTo("bucket"), eqTo(indexPath), captor.capture())
+    decode[FileSplitIndex](captor.getValue.data) should be(
+      Right(FileSplitIndex(Seq.empty, other.splits.take(1).map(_.key), Seq(FileSplitTombstone("data/big.json", 250L)))),
+    )
+  }
+
+  it should "not split again an object read to the end" in {
+    val storageInterface = inMemoryStorage()
+    val store            = new StorageFileSplitStore(storageInterface, taskId)
+    val location         = root.withPath("data/big.json")
+
+    new FileSplitter(root, 100L, store).split(location, 250L) should be(true)
+    manifest.splits.foreach(split => store.complete(root, split) should be(true))
+    store.load(root).pending should be(empty)
+
+    // after a restart, the partition resumes before the object and lists it again
+    val restarted = new StorageFileSplitStore(storageInterface, taskId)
+    new FileSplitter(root, 100L, restarted).split(location, 250L) should be(true)
+    restarted.load(root) should be(PublishedSplits.Empty)
+  }
+
+  it should "split again an object overwritten since it was read to the end" in {
+    val storageInterface =
+      inMemoryStorage(FileSplitIndex(Seq.empty, tombstones = Seq(FileSplitTombstone("data/big.json", 150L))).some)
+    val store = new StorageFileSplitStore(storageInterface, taskId)
+
+    store.publish(root, manifest) should be(true)
+    store.load(root).pending should be(manifest.splits)
+  }
+
+  it should "drop the tombstones once the committed watermark of their partition is past them" in {
+    val tombstones = Seq(
+      FileSplitTombstone("data/a.json", 250L),
+      FileSplitTombstone("data/c.json", 250L),
+      FileSplitTombstone("data/nested/a.json", 250L),
+    )
+    val storageInterface = inMemoryStorage(FileSplitIndex(Seq.empty, tombstones = tombstones).some)
+    val store            = new StorageFileSplitStore(storageInterface, taskId)
+
+    store.release(root, root.withPath("data/b.json"))
+
+    val stored = storageInterface.getBlobAsString("bucket", indexPath).flatMap(decode[FileSplitIndex](_))
+    stored.map(_.tombstones) should be(Right(tombstones.drop(1)))
+  }
+
+  it should "read the indexes written before splits were completed" in {
+    decode[FileSplitIndex](s"""{"manifests":${Seq(manifest).asJson.noSpaces}}""") should be(
+      Right(FileSplitIndex(Seq(manifest))),
+    )
+  }
+
+  it should "keep the index of a bucket without prefix at the top of the connector directory" in {
+    val store = new StorageFileSplitStore(mock[StorageInterface[TestFileMetadata]], taskId)
+
+    store.indexPath(CloudLocation("bucket"), 0) should be("bucket" -> ".indexes/.source/my-connector/splits-0.json")
+  }
+
+  private def inMemoryStorage(index: Option[FileSplitIndex] = None): StorageInterface[TestFileMetadata] = {
+    val files            = mutable.Map.from(index.map(indexPath -> _.asJson.noSpaces))
+    val storageInterface = mock[StorageInterface[TestFileMetadata]]
+    when(storageInterface.pathExists(eqTo("bucket"), anyString())).thenAnswer((_: String, path: String) =>
+      files.contains(path).asRight[FileLoadError],
+    )
+    when(storageInterface.getBlobAsString(eqTo("bucket"), anyString())).thenAnswer((_: String, path: String) =>
+      files(path).asRight[FileLoadError],
+    )
+    when(storageInterface.writeStringToFile(eqTo("bucket"), anyString(), any[UploadableString])).thenAnswer {
+      (_: String, path: String, content: UploadableString) =>
+        files.update(path, content.data)
+        ().asRight[UploadError]
+    }
+    storageInterface
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.split
+
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class FileSplitTest extends AnyFlatSpec with Matchers {
+
+  "plan" should "cut the object into ranges of the split size, with the remainder last" in {
+    FileSplit.plan("data/file.json", 250L, 100L) should be(
+      Seq(
+        FileSplit("data/file.json", 0, 0L, 100L),
+        FileSplit("data/file.json", 1, 100L, 200L),
+        FileSplit("data/file.json", 2, 200L, 250L),
+      ),
+    )
+  }
+
+  it should "keep an object no larger than the split size whole" in {
+    FileSplit.plan("data/file.json", 100L, 100L) should be(Seq(FileSplit("data/file.json", 0, 0L, 100L)))
+  }
+
+  "key" should "identify the split within the object" in {
+    FileSplit("data/file.json", 2, 200L, 250L).key should be("data/file.json#split-2")
+  }
+}
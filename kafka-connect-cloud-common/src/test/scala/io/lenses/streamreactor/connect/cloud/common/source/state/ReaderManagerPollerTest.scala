@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.source.state
+
+import cats.effect.IO
+import cats.effect.Ref
+import cats.effect.unsafe.implicits.global
+import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
+import io.lenses.streamreactor.connect.cloud.common.source.reader.ReaderManager
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.source.SourceRecord
+import org.mockito.MockitoSugar
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.util.Collections
+import scala.concurrent.duration.DurationInt
+
+class ReaderManagerPollerTest extends AnyFlatSpec with Matchers with MockitoSugar {
+
+  private val connectorTaskId = ConnectorTaskId("sourceName", 1, 1)
+
+  private def record(value: String): SourceRecord =
+    new SourceRecord(Collections.emptyMap(), Collections.emptyMap(), "topic", 0, Schema.STRING_SCHEMA, value)
+
+  /**
+    * Creates reader managers which record the highest number of polls in flight at the same time.
+    */
+  private def readerManagers(count: Int, active: Ref[IO, Int], maxActive: Ref[IO, Int]): List[ReaderManager] =
+    (0 until count).toList.map { idx =>
+      val readerManager = mock[ReaderManager]
+      when(readerManager.poll()).thenReturn(
+        for {
+          current <- active.updateAndGet(_ + 1)
+          _       <- maxActive.update(math.max(_, current))
+          _       <- IO.sleep(50.millis)
+          _       <- active.update(_ - 1)
+        } yield Vector(record(s"record-$idx")),
+      )
+      readerManager
+    }
+
+  "poll" should "poll the reader managers one after the other with a parallelism of 1" in {
+    val active    = Ref.unsafe[IO, Int](0)
+    val maxActive = Ref.unsafe[IO, Int](0)
+    val poller    = ReaderManagerPoller(connectorTaskId, 1)
+
+    val results = poller.poll(readerManagers(3, active, maxActive)).unsafeRunSync()
+
+    results.flatten.map(_.value()) shouldBe List("record-0", "record-1", "record-2")
+    maxActive.get.unsafeRunSync() shouldBe 1
+    poller shouldBe ReaderManagerPoller.Sequential
+  }
+
+  "poll" should "poll up to the configured number of reader managers concurrently and keep their order" in {
+    val active    = Ref.unsafe[IO, Int](0)
+    val maxActive = Ref.unsafe[IO, Int](0)
+    val poller    = ReaderManagerPoller(connectorTaskId, 2)
+
+    try {
+      val results = poller.poll(readerManagers(5, active, maxActive)).unsafeRunSync()
+
+      results.flatten.map(_.value()) shouldBe (0 until 5).map(idx => s"record-$idx").toList
+      maxActive.get.unsafeRunSync() shouldBe 2
+    } finally {
+      poller.close().unsafeRunSync()
+    }
+  }
+
+  "poll" should "run the reader managers on named daemon threads" in {
+    val poller        = ReaderManagerPoller(connectorTaskId, 2)
+    val readerManager = mock[ReaderManager]
+    when(readerManager.poll()).thenReturn(
+      IO.delay {
+        val thread = Thread.currentThread()
+        Vector(record(s"${thread.getName}:${thread.isDaemon}"))
+      },
+    )
+
+    try {
+      val results = poller.poll(List(readerManager, readerManager)).unsafeRunSync()
+
+      all(results.flatten.map(_.value().toString)) should fullyMatch regex "reader-manager-poller-sourceName-1-\\d+:true"
+    } finally {
+      poller.close().unsafeRunSync()
+    }
+  }
+}
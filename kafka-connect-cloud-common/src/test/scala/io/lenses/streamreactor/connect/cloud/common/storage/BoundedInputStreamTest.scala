@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.storage
+
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import java.io.ByteArrayInputStream
+import java.nio.charset.StandardCharsets
+
+class BoundedInputStreamTest extends AnyFlatSpec with Matchers {
+
+  private def stream(limit: Long) =
+    new BoundedInputStream(new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)), limit)
+
+  "read" should "stop at the limit" in {
+    new String(stream(4).readAllBytes(), StandardCharsets.UTF_8) shouldBe "0123"
+  }
+
+  "read" should "stop at the end of the underlying stream when it is shorter than the limit" in {
+    new String(stream(Long.MaxValue).readAllBytes(), StandardCharsets.UTF_8) shouldBe "0123456789"
+  }
+
+  "read" should "report the end of the stream once the limit is reached" in {
+    val s = stream(2)
+    s.read() shouldBe '0'.toInt
+    s.read(new Array[Byte](8), 0, 8) shouldBe 1
+    s.read() shouldBe -1
+    s.read(new Array[Byte](8), 0, 8) shouldBe -1
+  }
+
+  "skip" should "not skip past the limit" in {
+    val s = stream(5)
+    s.skip(100) shouldBe 5
+    s.read() shouldBe -1
+  }
+
+  "available" should "not report bytes past the limit" in {
+    stream(3).available() shouldBe 3
+  }
+
+  "validateRange" should "reject ranges which cannot be addressed" in {
+    StorageInterface.validateRange("path", 0, 10) shouldBe Right(())
+    StorageInterface.validateRange("path", -1, 10).isLeft shouldBe true
+    StorageInterface.validateRange("path", 0, -1).isLeft shouldBe true
+    StorageInterface.validateRange("path", Long.MaxValue, 1).isLeft shouldBe true
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.storage
+
+import cats.implicits.catsSyntaxEitherId
+import io.lenses.streamreactor.connect.cloud.common.config.ObjectMetadata
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableFile
+import io.lenses.streamreactor.connect.cloud.common.model.UploadableString
+import io.lenses.streamreactor.connect.cloud.common.sink.seek.TestFileMetadata
+
+import java.io.ByteArrayInputStream
+import java.io.FileNotFoundException
+import java.io.InputStream
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.time.Instant
+import scala.collection.concurrent.TrieMap
+
+/**
+  * A storage keeping the objects in memory, for testing the code built on the storage operations.
+  */
+class InMemoryStorageInterface extends StorageInterface[TestFileMetadata] {
+
+  private val objects = TrieMap.empty[(String, String), (Array[Byte], Instant)]
+
+  def put(bucket: String, path: String, content: String): Unit = {
+    val _ = objects.put((bucket, path), (content.getBytes(StandardCharsets.UTF_8), Instant.now()))
+  }
+
+  def content(bucket: String, path: String): Option[String] =
+    objects.get((bucket, path)).map { case (bytes, _) => new String(bytes, StandardCharsets.UTF_8) }
+
+  def keys(bucket: String): Seq[String] =
+    objects.keys.collect { case (b, path) if b == bucket => path }.toSeq.sorted
+
+  override def system(): String = "InMemory"
+
+  override def uploadFile(source: UploadableFile, bucket: String, path: String): Either[UploadError, Unit] =
+    source.validate.toEither.map { file =>
+      val _ = objects.put((bucket, path), (Files.readAllBytes(file.toPath), Instant.now()))
+    }
+
+  override def close(): Unit = ()
+
+  override def pathExists(bucket: String, path: String): Either[FileLoadError, Boolean] =
+    objects.contains((bucket, path)).asRight
+
+  override def list(
+    bucket:     String,
+    prefix:     Option[String],
+    lastFile:   Option[TestFileMetadata],
+    numResults: Int,
+  ): Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]] = {
+    val files = metadata(bucket, prefix)
+      .filter(m => lastFile.forall(_.file < m.file))
+      .take(numResults)
+    processAsKey(bucket, prefix, files).asRight
+  }
+
+  override def listFileMetaRecursive(
+    bucket: String,
+    prefix: Option[String],
+  ): Either[FileListError, Option[ListOfMetadataResponse[TestFileMetadata]]] =
+    processObjectsAsFileMeta(bucket, prefix, metadata(bucket, prefix)).asRight
+
+  override def listKeysRecursive(
+    bucket: String,
+    prefix: Option[String],
+  ): Either[FileListError, Option[ListOfKeysResponse[TestFileMetadata]]] =
+    processAsKey(bucket, prefix, metadata(bucket, prefix)).asRight
+
+  override def seekToFile(
+    bucket:       String,
+    fileName:     String,
+    lastModified: Option[Instant],
+  ): Option[TestFileMetadata] =
+    objects.get((bucket, fileName)).map { case (_, modified) => TestFileMetadata(fileName, modified) }
+
+  override def getBlob(bucket: String, path: String): Either[FileLoadError, InputStream] =
+    load(bucket, path).map(new ByteArrayInputStream(_))
+
+  override def getBlobRange(
+    bucket: String,
+    path:   String,
+    start:  Long,
+    length: Long,
+  ): Either[FileLoadError, InputStream] =
+    for {
+      _     <- StorageInterface.validateRange(path, start, length)
+      bytes <- load(bucket, path)
+    } yield {
+      val offset = math.min(start, bytes.length.toLong).toInt
+      new ByteArrayInputStream(bytes, offset, math.min(length, (bytes.length - offset).toLong).toInt)
+    }
+
+  override def getBlobAsString(bucket: String, path: String): Either[FileLoadError, String] =
+    load(bucket, path).map(new String(_, StandardCharsets.UTF_8))
+
+  override def getMetadata(bucket: String, path: String): Either[FileLoadError, ObjectMetadata] =
+    objects.get((bucket, path)) match {
+      case Some((bytes, modified)) => ObjectMetadata(bytes.length.toLong, modified).asRight
+      case None                    => FileLoadError(new FileNotFoundException(path), path).asLeft
+    }
+
+  override def writeStringToFile(bucket: String, path: String, data: UploadableString): Either[UploadError, Unit] =
+    put(bucket, path, data.data).asRight
+
+  override def deleteFiles(bucket: String, files: Seq[String]): Either[FileDeleteError, Unit] =
+    files.foreach { path =>
+      val _ = objects.remove((bucket, path))
+    }.asRight
+
+  override def mvFile(
+    oldBucket: String,
+    oldPath:   String,
+    newBucket: String,
+    newPath:   String,
+  ): Either[FileMoveError, Unit] =
+    objects.remove((oldBucket, oldPath)) match {
+      case Some(value) =>
+        val _ = objects.put((newBucket, newPath), value)
+        ().asRight
+      case None => FileMoveError(new FileNotFoundException(oldPath), oldPath, newPath).asLeft
+    }
+
+  override def createDirectoryIfNotExists(bucket: String, path: String): Either[FileCreateError, Unit] = ().asRight
+
+  private def load(bucket: String, path: String): Either[FileLoadError, Array[Byte]] =
+    objects.get((bucket, path)).map(_._1).toRight(FileLoadError(new FileNotFoundException(path), path))
+
+  private def metadata(bucket: String, prefix: Option[String]): Seq[TestFileMetadata] =
+    objects.toSeq.collect {
+      case ((b, path), (_, modified)) if b == bucket && prefix.forall(path.startsWith) =>
+        TestFileMetadata(path, modified)
+    }.sortBy(_.file)
+}
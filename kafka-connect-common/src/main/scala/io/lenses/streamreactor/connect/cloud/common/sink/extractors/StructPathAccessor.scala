@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.extractors
+
+import cats.implicits._
+import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionNamePath
+import io.lenses.streamreactor.connect.cloud.common.sink.extractors.PrimitiveExtractor.anyToEither
+import io.lenses.streamreactor.connect.cloud.common.sink.extractors.StructPathAccessor._
+import org.apache.kafka.connect.data.Schema.Type._
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Field
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.Struct
+
+import java.nio.ByteBuffer
+import scala.annotation.tailrec
+
+/**
+  * Reads a path of struct fields, resolving it to the fields of a schema once rather than looking each field up by
+  * name for every struct. The last schema resolved is kept, as the records of a topic mostly share one schema instance.
+  *
+  * The values read are the ones [[StructExtractor]] returns. Paths going through maps or arrays, or ending on a
+  * complex value, are left to the extractors.
+  */
+class StructPathAccessor(path: PartitionNamePath) {
+
+  @volatile private var resolved: (Schema, ResolvedPath) = (null, Unsupported)
+
+  /**
+    * @return the value read, or None when the path is left to the extractors
+    */
+  def extract(struct: Struct): Option[Either[ExtractorError, String]] =
+    resolvedPath(struct.schema()) match {
+      case Unsupported            => None
+      case Missing                => Some(ExtractorError(ExtractorErrorType.MissingValue).asLeft[String])
+      case Resolved(fields, leaf) => Some(readPath(struct, fields, leaf))
+    }
+
+  private def resolvedPath(schema: Schema): ResolvedPath = {
+    val (lastSchema, lastPath) = resolved
+    if (lastSchema eq schema) {
+      lastPath
+    } else {
+      val path = resolve(schema)
+      resolved = schema -> path
+      path
+    }
+  }
+
+  private def resolve(schema: Schema): ResolvedPath = {
+    @tailrec
+    def loop(current: Schema, names: List[String], fields: List[Field]): ResolvedPath =
+      names match {
+        case name :: rest =>
+          Option(current.field(name)) match {
+            case None                                             => Missing
+            case Some(field) if rest.isEmpty                      => leafPath(fields.reverse.toArray, field)
+            case Some(field) if field.schema().`type`() == STRUCT => loop(field.schema(), rest, field :: fields)
+            case Some(_)                                          => Unsupported
+          }
+        case Nil => Unsupported
+      }
+    loop(schema, path.path.toList, List.empty)
+  }
+
+  private def leafPath(fields: Array[Field], leaf: Field): ResolvedPath =
+    leaf.schema().`type`() match {
+      case INT8 | INT16 | INT32 | INT64 | FLOAT32 | FLOAT64 | BOOLEAN | STRING | BYTES => Resolved(fields, leaf)
+      case _                                                                             => Unsupported
+    }
+
+  private def readPath(struct: Struct, fields: Array[Field], leaf: Field): Either[ExtractorError, String] = {
+    var current = struct
+    var i       = 0
+    while (current != null && i < fields.length) {
+      current = current.get(fields(i)).asInstanceOf[Struct]
+      i += 1
+    }
+    if (current == null) ExtractorError(ExtractorErrorType.MissingValue).asLeft[String]
+    else readLeaf(current.get(leaf), leaf.schema())
+  }
+
+  private def readLeaf(value: Any, schema: Schema): Either[ExtractorError, String] =
+    (schema.`type`(), schema.name()) match {
+      case (BYTES, Decimal.LOGICAL_NAME) =>
+        value match {
+          case bd: java.math.BigDecimal => anyToEither(bd.toPlainString)
+          case _ => ExtractorError(ExtractorErrorType.UnexpectedType).asLeft[String]
+        }
+      case (BYTES, _) =>
+        value match {
+          case bytes:  Array[Byte] => new String(bytes).asRight[ExtractorError]
+          case buffer: ByteBuffer  => new String(buffer.array()).asRight[ExtractorError]
+          case _ => ExtractorError(ExtractorErrorType.MissingValue).asLeft[String]
+        }
+      case _ => anyToEither(value)
+    }
+}
+
+object StructPathAccessor {
+
+  sealed private trait ResolvedPath
+  private case object Unsupported extends ResolvedPath
+  private case object Missing     extends ResolvedPath
+
+  /**
+    * @param fields the struct fields leading to the leaf
+    * @param leaf   the field holding the value
+    */
+  final private case class Resolved(fields: Array[Field], leaf: Field) extends ResolvedPath
+}
@@ -37,7 +37,7 @@ class LineStartLineEndReader(
   trim:               Boolean = false,
   lastEndLineMissing: Boolean = false,
 ) extends LineReader {
-  private val br = new BufferedReader(new InputStreamReader(input))
+  private lazy val br = new BufferedReader(new InputStreamReader(input))
 
   //Returns the next record or None if there are no more
   def next(): Option[String] =
@@ -51,10 +51,15 @@ class LineStartLineEndReader(
   def close(): Unit =
     input.close()
 
+  /**
+    * Reads the next line of the input, or null at the end of it.
+    */
+  protected def readLine(): String = br.readLine()
+
   private def readUntilStart(): Boolean = {
-    var line = br.readLine()
+    var line = readLine()
     while (line != null && !line.equalsIgnoreCase(start)) {
-      line = br.readLine()
+      line = readLine()
     }
     Option(line).isDefined
   }
@@ -62,11 +67,11 @@ class LineStartLineEndReader(
   private def readUntilEndOrNone(): Option[String] = {
     val builder = new StringBuilder()
     builder.append(start)
-    var line = br.readLine()
+    var line = readLine()
     while (line != null && !line.equalsIgnoreCase(end)) {
       builder.append(System.lineSeparator())
       builder.append(line)
-      line = br.readLine()
+      line = readLine()
     }
     Option(line) match {
       case Some(_) =>
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2025 Lenses.io Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lenses.streamreactor.connect.cloud.common.sink.extractors
+
+import io.lenses.streamreactor.connect.cloud.common.sink.config.PartitionNamePath
+import org.apache.kafka.connect.data.Decimal
+import org.apache.kafka.connect.data.Schema
+import org.apache.kafka.connect.data.SchemaBuilder
+import org.apache.kafka.connect.data.Struct
+import org.scalatest.EitherValues
+import org.scalatest.OptionValues
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.jdk.CollectionConverters.MapHasAsJava
+
+class StructPathAccessorTest extends AnyFlatSpec with Matchers with EitherValues with OptionValues {
+
+  private val addressSchema = SchemaBuilder.struct()
+    .field("city", Schema.OPTIONAL_STRING_SCHEMA)
+    .field("number", Schema.INT32_SCHEMA)
+    .build()
+
+  private val schema = SchemaBuilder.struct()
+    .field("name", Schema.STRING_SCHEMA)
+    .field("amount", Decimal.schema(2))
+    .field("address", SchemaBuilder.struct().optional()
+      .field("city", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("number", Schema.INT32_SCHEMA)
+      .build())
+    .field("tags", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.STRING_SCHEMA).build())
+    .build()
+
+  private def struct(city: String) =
+    new Struct(schema)
+      .put("name", "sam")
+      .put("amount", new java.math.BigDecimal("10.50"))
+      .put("address", new Struct(schema.field("address").schema()).put("city", city).put("number", 7))
+      .put("tags", Map("a" -> "b").asJava)
+
+  "extract" should "read the values the struct extractor returns" in {
+    List(
+      PartitionNamePath("name"),
+      PartitionNamePath("amount"),
+      PartitionNamePath("address", "city"),
+      PartitionNamePath("address", "number"),
+    ).foreach { path =>
+      new StructPathAccessor(path).extract(struct("london")).value should be(
+        StructExtractor.extractPathFromStruct(struct("london"), path),
+      )
+    }
+  }
+
+  it should "read the structs of each schema seen" in {
+    val accessor = new StructPathAccessor(PartitionNamePath("city"))
+    accessor.extract(new Struct(addressSchema).put("city", "paris").put("number", 1)).value.value should be("paris")
+
+    val otherSchema = SchemaBuilder.struct().field("number", Schema.INT32_SCHEMA).field("city", Schema.STRING_SCHEMA)
+      .build()
+    accessor.extract(new Struct(otherSchema).put("city", "rome").put("number", 2)).value.value should be("rome")
+  }
+
+  it should "return a missing value for absent fields and null structs" in {
+    val absent = new StructPathAccessor(PartitionNamePath("unknown")).extract(struct("london"))
+    absent.value.left.value.extractorErrorType should be(ExtractorErrorType.MissingValue)
+
+    val noAddress = struct("london").put("address", null)
+    val nullStruct = new StructPathAccessor(PartitionNamePath("address", "city")).extract(noAddress)
+    nullStruct.value.left.value.extractorErrorType should be(ExtractorErrorType.MissingValue)
+  }
+
+  it should "leave paths through maps to the extractors" in {
+    new StructPathAccessor(PartitionNamePath("tags", "a")).extract(struct("london")) should be(None)
+    new StructPathAccessor(PartitionNamePath("address")).extract(struct("london")) should be(None)
+  }
+}
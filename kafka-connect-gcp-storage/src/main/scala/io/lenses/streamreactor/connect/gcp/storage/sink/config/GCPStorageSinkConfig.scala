@@ -25,7 +25,9 @@ import io.lenses.streamreactor.connect.cloud.common.formats.writer.schema.Schema
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
 import io.lenses.streamreactor.connect.cloud.common.sink.config.CloudSinkBucketOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.CompactionOptions
 import io.lenses.streamreactor.connect.cloud.common.sink.config.IndexOptions
+import io.lenses.streamreactor.connect.cloud.common.sink.config.WriterBudget
 import io.lenses.streamreactor.connect.gcp.common.auth.GCPConnectionConfig
 import io.lenses.streamreactor.connect.gcp.storage.config.GCPConfigSettings.LOG_METRICS_CONFIG
 
@@ -53,7 +55,9 @@ object GCPStorageSinkConfig extends PropsToConfigConverter[GCPStorageSinkConfig]
       sinkBucketOptions     <- CloudSinkBucketOptions(connectorTaskId, gcpConfigDefBuilder)
       indexOptions           = gcpConfigDefBuilder.getIndexSettings
       logMetrics             = gcpConfigDefBuilder.getBoolean(LOG_METRICS_CONFIG)
-      schemaChangeDetector   = gcpConfigDefBuilder.schemaChangeDetector(),
+      schemaChangeDetector   = gcpConfigDefBuilder.schemaChangeDetector()
+      writerBudget           = gcpConfigDefBuilder.getWriterBudget
+      compactionOptions      = gcpConfigDefBuilder.getCompactionOptions
     } yield GCPStorageSinkConfig(
       gcpConnectionSettings,
       sinkBucketOptions,
@@ -64,6 +68,8 @@ object GCPStorageSinkConfig extends PropsToConfigConverter[GCPStorageSinkConfig]
       connectorRetryConfig = gcpConfigDefBuilder.getRetryConfig,
       logMetrics           = logMetrics,
       schemaChangeDetector = schemaChangeDetector,
+      writerBudget         = writerBudget,
+      compactionOptions    = compactionOptions,
     )
   }
 
@@ -79,4 +85,6 @@ case class GCPStorageSinkConfig(
   errorPolicy:          ErrorPolicy,
   logMetrics:           Boolean,
   schemaChangeDetector: SchemaChangeDetector,
+  writerBudget:         WriterBudget              = WriterBudget.Unlimited,
+  compactionOptions:    Option[CompactionOptions] = None,
 ) extends CloudSinkConfig[GCPConnectionConfig]
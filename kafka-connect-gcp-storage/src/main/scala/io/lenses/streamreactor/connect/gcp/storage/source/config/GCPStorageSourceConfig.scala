@@ -21,8 +21,10 @@ import io.lenses.streamreactor.connect.cloud.common.config.traits.CloudSourceCon
 import io.lenses.streamreactor.connect.cloud.common.config.traits.PropsToConfigConverter
 import io.lenses.streamreactor.connect.cloud.common.model.CompressionCodec
 import io.lenses.streamreactor.connect.cloud.common.model.location.CloudLocationValidator
+import io.lenses.streamreactor.connect.cloud.common.source.checkpoint.CheckpointLocation
 import io.lenses.streamreactor.connect.cloud.common.source.config.CloudSourceBucketOptions
 import io.lenses.streamreactor.connect.cloud.common.source.config.EmptySourceBackoffSettings
+import io.lenses.streamreactor.connect.cloud.common.source.config.FileNotificationSettings
 import io.lenses.streamreactor.connect.cloud.common.source.config.PartitionSearcherOptions
 import io.lenses.streamreactor.connect.cloud.common.storage.ExtensionFilter
 import io.lenses.streamreactor.connect.gcp.common.auth.GCPConnectionConfig
@@ -53,7 +55,8 @@ object GCPStorageSourceConfig extends PropsToConfigConverter[GCPStorageSourceCon
         gcpConfigDefBuilder,
         gcpConfigDefBuilder.getPartitionExtractor(parsedValues),
       )
-      backoff = gcpConfigDefBuilder.getEmptySourceBackoffSettings(parsedValues)
+      backoff             = gcpConfigDefBuilder.getEmptySourceBackoffSettings(parsedValues)
+      checkpointLocation <- gcpConfigDefBuilder.getListingCheckpointLocation(parsedValues)
     } yield GCPStorageSourceConfig(
       gcpConnectionSettings,
       sbo,
@@ -62,6 +65,11 @@ object GCPStorageSourceConfig extends PropsToConfigConverter[GCPStorageSourceCon
       gcpConfigDefBuilder.getSourceExtensionFilter,
       backoff,
       gcpConfigDefBuilder.getWriteWatermarkToHeaders,
+      gcpConfigDefBuilder.getPollParallelism(parsedValues),
+      gcpConfigDefBuilder.getListingCheckpointEnabled(parsedValues),
+      gcpConfigDefBuilder.getFileNotificationSettings(parsedValues),
+      gcpConfigDefBuilder.getFileSplitSize(parsedValues),
+      checkpointLocation,
     )
 
   }
@@ -76,4 +84,9 @@ case class GCPStorageSourceConfig(
   extensionFilter:            Option[ExtensionFilter],
   emptySourceBackoffSettings: EmptySourceBackoffSettings,
   writeWatermarkToHeaders:    Boolean,
+  pollParallelism:            Int = 1,
+  listingCheckpointEnabled:   Boolean = false,
+  fileNotifications:          FileNotificationSettings = FileNotificationSettings.Disabled,
+  fileSplitSize:              Long = 0L,
+  listingCheckpointLocation:  CheckpointLocation = CheckpointLocation.Default,
 ) extends CloudSourceConfig[GCPStorageFileMetadata]
@@ -34,6 +34,10 @@ object GCPStorageSourceConfigDef extends CommonConfigDef with CloudSourceSetting
     addSourceFilteringSettings(settings)
     addSourceEmptyResultsBackoffSettings(settings)
     addSourceWatermarkSettings(settings)
+    addSourcePollSettings(settings)
+    addSourceListingCheckpointSettings(settings)
+    addSourceNotificationSettings(settings)
+    addSourceSplitSettings(settings)
   }
 }
 
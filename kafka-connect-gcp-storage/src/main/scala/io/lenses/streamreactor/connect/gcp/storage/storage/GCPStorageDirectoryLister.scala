@@ -16,6 +16,7 @@
 package io.lenses.streamreactor.connect.gcp.storage.storage
 
 import cats.effect.IO
+import cats.effect.std.Semaphore
 import com.google.cloud.storage.Storage
 import com.google.cloud.storage.Storage.BlobListOption
 import com.typesafe.scalalogging.LazyLogging
@@ -40,6 +41,7 @@ class GCPStorageDirectoryLister(connectorTaskId: ConnectorTaskId, storage: Stora
     * @param recurseLevels The maximum recursion levels to search within directories.
     * @param exclude The set of directory prefixes to exclude from the search.  We ignore paths containing certain strings.  Mainly it is used to prevent us from reading anything inside the .indexes key prefix, as these should be ignored by the source.
     * @param wildcardExcludes The set of wildcard patterns to exclude from the search.
+    * @param parallelism The maximum number of directories listed at once.
     * @return An IO containing a set of directory paths found within the specified cloud location.
     */
   override def findDirectories(
@@ -48,19 +50,19 @@ class GCPStorageDirectoryLister(connectorTaskId: ConnectorTaskId, storage: Stora
     recurseLevels:    Int,
     exclude:          Set[String],
     wildcardExcludes: Set[String],
+    parallelism:      Int,
   ): IO[Set[String]] = {
 
     /**
-      * Recursively lists subdirectories within the specified cloud location prefix up to a certain recursion level.
+      * Lists the subdirectories directly within the specified cloud location prefix.
       *
-      * This method iterates through the subdirectories of the given prefix within a cloud location, up to the specified recursion level.
       * It filters the results based on ownership, exclusions, and wildcard patterns.
       *
       * @param prefix        The prefix within the cloud location to search for subdirectories.
-      * @param recurseLevels The maximum recursion levels to search within subdirectories.
-      * @return An iterable collection of subdirectory paths found within the specified prefix with the indicated recursion level.
+      * @param recurseLevels The maximum recursion levels to search within subdirectories, used for logging.
+      * @return The subdirectory paths found directly within the specified prefix.
       */
-    def listSubdirs(prefix: String, recurseLevels: Int): Iterable[String] = {
+    def listSubdirs(prefix: String, recurseLevels: Int): IO[List[String]] = IO.blocking {
       val blobListOptions = BlobListOption.dedupe(
         BlobListOption.delimiter("/"),
         BlobListOption.pageSize(filesLimit.toLong),
@@ -83,23 +85,29 @@ class GCPStorageDirectoryLister(connectorTaskId: ConnectorTaskId, storage: Stora
         }
 
       logger.trace(s"[$connectorTaskId] Searching directory $prefix for $recurseLevels, found ${foundResults.size}")
-
-      foundResults.flatMap {
-        case d: String if recurseLevels > 1 =>
-          listSubdirs(d, recurseLevels - 1)
-        case _ =>
-          foundResults
-      }
-
+      foundResults
     }
 
+    /**
+      * Recursively lists subdirectories up to a certain recursion level. Sibling directories are walked on their own
+      * fibers, while the permits bound how many of them are listed at once across the whole search.
+      */
+    def walk(prefix: String, recurseLevels: Int, permits: Semaphore[IO]): IO[List[String]] =
+      for {
+        foundResults <- permits.permit.surround(listSubdirs(prefix, recurseLevels))
+        subdirs <-
+          if (recurseLevels > 1) IO.parTraverse(foundResults)(walk(_, recurseLevels - 1, permits)).map(_.flatten)
+          else IO.pure(foundResults)
+      } yield subdirs
+
     val preWithTrailingSlash: String = ensureTrailingSlash(bucketAndPrefix.prefixOrDefault())
 
     if (recurseLevels == 0) {
       IO(Set(preWithTrailingSlash))
     } else {
       for {
-        iterator <- IO(listSubdirs(preWithTrailingSlash, recurseLevels))
+        permits  <- Semaphore[IO](math.max(parallelism, 1).toLong)
+        iterator <- walk(preWithTrailingSlash, recurseLevels, permits)
       } yield iterator.toSet
     }
   }
@@ -24,6 +24,7 @@ import com.google.cloud.storage.BlobId
 import com.google.cloud.storage.BlobInfo
 import com.google.cloud.storage.Storage
 import com.google.cloud.storage.Storage.BlobListOption
+import com.google.cloud.storage.StorageException
 import com.typesafe.scalalogging.LazyLogging
 import io.lenses.streamreactor.connect.cloud.common.config.ConnectorTaskId
 import io.lenses.streamreactor.connect.cloud.common.config.ObjectMetadata
@@ -37,9 +38,11 @@ import io.lenses.streamreactor.connect.cloud.common.storage.FileLoadError
 import io.lenses.streamreactor.connect.cloud.common.storage.FileMoveError
 import io.lenses.streamreactor.connect.cloud.common.storage.ListOfKeysResponse
 import io.lenses.streamreactor.connect.cloud.common.storage.ListOfMetadataResponse
+import io.lenses.streamreactor.connect.cloud.common.storage.PreconditionFailedError
 import io.lenses.streamreactor.connect.cloud.common.storage.StorageInterface
 import io.lenses.streamreactor.connect.cloud.common.storage.UploadError
 import io.lenses.streamreactor.connect.cloud.common.storage.UploadFailedError
+import io.lenses.streamreactor.connect.cloud.common.storage.VersionedString
 
 import java.io.InputStream
 import java.nio.channels.Channels
@@ -116,6 +119,28 @@ class GCPStorageStorageInterface(
         throw new IllegalStateException("No/null blob found (file doesn't exist?)")
     }
 
+  override def getBlobRange(
+    bucket: String,
+    path:   String,
+    start:  Long,
+    length: Long,
+  ): Either[FileLoadError, InputStream] =
+    StorageInterface.validateRange(path, start, length).flatMap { _ =>
+      Try {
+        val reader = storage.reader(BlobId.of(bucket, path))
+        reader.seek(start)
+        reader.limit(start + length)
+        Channels.newInputStream(reader)
+      }.toEither.leftMap(FileLoadError(_, path))
+    }
+
+  override def getBlobFrom(bucket: String, path: String, start: Long): Either[FileLoadError, InputStream] =
+    Try {
+      val reader = storage.reader(BlobId.of(bucket, path))
+      reader.seek(start)
+      Channels.newInputStream(reader)
+    }.toEither.leftMap(FileLoadError(_, path))
+
   override def getBlobAsString(bucket: String, path: String): Either[FileLoadError, String] =
     usingBlob[String](bucket, path) {
       case Some(blob) =>
@@ -164,6 +189,64 @@ class GCPStorageStorageInterface(
     } yield ()
   }
 
+  override def getBlobAsStringWithVersion(
+    bucket: String,
+    path:   String,
+  ): Either[FileLoadError, Option[VersionedString]] =
+    usingBlob[Option[VersionedString]](bucket, path) {
+      maybeBlob =>
+        maybeBlob.filter(_.exists()).map(blob =>
+          VersionedString(new String(blob.getContent()), blob.getGeneration.toString),
+        )
+    }
+
+  override def supportsConditionalWrites: Boolean = true
+
+  /**
+    * Writes the string with a generation precondition, matching the generation of the expected version.
+    */
+  override def writeStringIfVersion(
+    bucket:          String,
+    path:            String,
+    data:            UploadableString,
+    expectedVersion: Option[String],
+  ): Either[UploadError, String] = {
+    logger.debug(s"[{}] Uploading file from data string ({}) to Storage {}:{} if at version {}",
+                 connectorTaskId.show,
+                 data,
+                 bucket,
+                 path,
+                 expectedVersion,
+    )
+    for {
+      content <- data.validate.toEither
+      blob <- Try {
+        val precondition = expectedVersion.fold(Storage.BlobTargetOption.doesNotExist())(version =>
+          Storage.BlobTargetOption.generationMatch(version.toLong),
+        )
+        storage.create(BlobInfo.newBuilder(BlobId.of(bucket, path)).build(), content.getBytes, precondition)
+      }.toEither.leftMap[UploadError] {
+        case ex: StorageException if ex.getCode == 412 =>
+          logger.warn(s"[{}] File {}:{} is no longer at version {}",
+                      connectorTaskId.show,
+                      bucket,
+                      path,
+                      expectedVersion,
+          )
+          PreconditionFailedError(ex, path)
+        case ex =>
+          logger.error(s"[{}] Failed upload from data string ({}) to Storage {}:{}",
+                       connectorTaskId.show,
+                       data,
+                       bucket,
+                       path,
+                       ex,
+          )
+          FileCreateError(ex, content)
+      }
+    } yield blob.getGeneration.toString
+  }
+
   override def deleteFiles(bucket: String, files: Seq[String]): Either[FileDeleteError, Unit] =
     if (files.nonEmpty) {
       val blobIds = files.map(BlobId.of(bucket, _))
@@ -281,7 +364,10 @@ class GCPStorageStorageInterface(
       case Left(ex) => FileListError(ex, bucket, prefix).asLeft
       case Right(page) =>
         val pageValues = page.getValues.asScala
-        val keys       = filterKeys(pageValues.map(_.getName).toSeq).filterNot(f => lastFile.map(_.file).contains(f))
+        // As with S3, empty objects are skipped, but the last listed blob is still where the next listing continues
+        // from, so a page where everything is filtered out is not listed again
+        val keys = filterKeys(pageValues.filter(_.getSize > 0).map(_.getName).toSeq)
+          .filterNot(f => lastFile.map(_.file).contains(f))
         logger.trace(
           s"[${connectorTaskId.show}] Last file: $lastFile, Prefix: $prefix Page: ${pageValues.map(_.getName)}, Keys: $keys",
         )
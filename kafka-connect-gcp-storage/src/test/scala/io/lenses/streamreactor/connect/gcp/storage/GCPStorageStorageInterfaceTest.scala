@@ -31,6 +31,7 @@ package io.lenses.streamreactor.connect.gcp.storage
  * limitations under the License.
  */
 import cats.implicits.catsSyntaxOptionId
+import cats.implicits.none
 import com.google.cloud.ReadChannel
 import com.google.cloud.RestorableState
 import com.google.cloud.storage.Blob
@@ -46,6 +47,8 @@ import io.lenses.streamreactor.connect.cloud.common.storage._
 import io.lenses.streamreactor.connect.gcp.storage.storage.GCPStorageFileMetadata
 import io.lenses.streamreactor.connect.gcp.storage.storage.GCPStorageStorageInterface
 import SamplePages.emptyPage
+import SamplePages.mockBlob
+import SamplePages.mockBlobPage
 import SamplePages.pages
 import com.google.cloud.storage.CopyWriter
 import com.google.cloud.storage.Storage.CopyRequest
@@ -440,6 +443,25 @@ class GCPStorageStorageInterfaceTest
     metadata.latestFileMetadata.file should be(metadata.files.last)
   }
 
+  "list" should "skip empty blobs but continue from the last listed blob" in {
+    val bucket     = "test-bucket"
+    val prefix     = "test-prefix"
+    val numResults = 3
+
+    val emptyBlob = mockBlob(0, 2)
+    when(emptyBlob.getSize).thenReturn(0L)
+    doReturn(mockBlobPage(IndexedSeq(mockBlob(0, 0), mockBlob(0, 1), emptyBlob))).when(client).list(
+      bucket,
+      BlobListOption.pageSize(numResults.toLong),
+      BlobListOption.prefix(prefix),
+    )
+    val result = storageInterface.list(bucket, prefix.some, none, numResults)
+
+    val metadata: ListOfKeysResponse[GCPStorageFileMetadata] = result.value.value
+    metadata.files should be(Seq("0.txt", "1.txt"))
+    metadata.latestFileMetadata.file should be("2.txt")
+  }
+
   "list" should "return None when no more keys are found" in {
     val bucket       = "test-bucket"
     val prefix       = "non-existing-prefix"
@@ -54,6 +54,7 @@ object SamplePages extends MockitoSugar {
     val blobName = s"${(page * 10) + no}.txt"
     when(blob.getCreateTimeOffsetDateTime).thenReturn(OffsetDateTime.now())
     when(blob.getName).thenReturn(blobName)
+    when(blob.getSize).thenReturn(10L)
     blob
   }
 }